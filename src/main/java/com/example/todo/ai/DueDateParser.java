@@ -0,0 +1,377 @@
+package com.example.todo.ai;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Due-date expressions in free text: "2025-03-01", "today", "tomorrow 14:00", "next friday",
+ * "fri 2pm", "in 3 days", "in 2 hours", "eom", "end of week", "at 9:30", ...
+ * <p>
+ * The text is tokenized once into word classes (lexicon lookup). The grammar is a fixed set of
+ * class sequences, compiled at class-load time into a trie-shaped transition table; matching is
+ * a longest-match walk over that table from each token, not a list of regexes tried in turn.
+ * Matched tokens are then resolved against "now" in the caller's timezone.
+ * <p>
+ * Conventions: a bare / "this" weekday is the next one on or after today, "next &lt;weekday&gt;" is
+ * strictly after today; "next week" is next Monday; "end of week" is Friday of this week (the next
+ * Friday on weekends); "eom" is the last day of this month. Date-only expressions get a default
+ * time (ISO date 00:00, relative words their configured hour, everything else 09:00, end-of-* 18:00).
+ * A time on its own means today, or tomorrow if that time has already passed.
+ * "sat"/"sun" are not weekday abbreviations: they are ordinary words too often.
+ */
+public final class DueDateParser {
+
+    // ---- token classes (columns of the transition table) ----
+    static final int OTHER = 0, DATE = 1, RELDAY = 2, WEEKDAY = 3, NEXT = 4, THIS = 5, IN = 6, NUM = 7,
+            UNIT = 8, END_OF = 9, END = 10, OF = 11, THE = 12, TIME = 13, AMPM = 14, NOON = 15, AT = 16, PREP = 17,
+            WORDNUM = 18;
+    private static final int CLASSES = 19;
+
+    // UNIT values
+    static final int MINUTE = 0, HOUR = 1, DAY = 2, WEEK = 3, MONTH = 4;
+    // END_OF values reuse UNIT values (DAY / WEEK / MONTH)
+
+    private static final LocalTime DEFAULT_TIME = LocalTime.of(9, 0);
+    private static final LocalTime END_OF_TIME = LocalTime.of(18, 0);
+    private static final int MAX_WORD = 9;
+
+    private static final int[][] TABLE;
+    private static final boolean[] ACCEPT;
+    private static final Map<String, long[]> BASE_LEXICON = new HashMap<>();
+
+    static {
+        // date parts; PREP ("on", "by") may precede any of them
+        int[][] dateParts = {
+                {DATE}, {RELDAY}, {WEEKDAY}, {THIS, WEEKDAY}, {NEXT, WEEKDAY}, {NEXT, UNIT},
+                {IN, NUM, UNIT}, {IN, WORDNUM, UNIT}, {END_OF}, {END, OF, UNIT}, {END, OF, THE, UNIT},
+        };
+        // hours are digits only: word numerals ("a", "an", "one"...) are amounts after "in", otherwise
+        // "sync with a PM" / "tomorrow at a cafe" would read as 1pm / 1:00
+        int[][] timeParts = {
+                {TIME}, {TIME, AMPM}, {NUM, AMPM}, {NOON},
+                {AT, TIME}, {AT, TIME, AMPM}, {AT, NUM, AMPM}, {AT, NUM}, {AT, NOON},
+        };
+        List<int[]> productions = new ArrayList<>();
+        for (int[] d : dateParts) {
+            for (int[] withPrep : new int[][]{d, concat(new int[]{PREP}, d)}) {
+                productions.add(withPrep);
+                for (int[] t : timeParts) {
+                    productions.add(concat(withPrep, t));
+                    productions.add(concat(t, withPrep));
+                }
+            }
+        }
+        // time on its own must be unambiguous: "14:00", "2pm", "at 9:30", "noon" — not "at 5"
+        for (int[] t : timeParts) {
+            if (!(t[0] == AT && t.length == 2 && t[1] == NUM)) productions.add(t);
+        }
+
+        List<int[]> rows = new ArrayList<>();
+        List<Boolean> accept = new ArrayList<>();
+        rows.add(emptyRow());
+        accept.add(false);
+        for (int[] p : productions) {
+            int s = 0;
+            for (int cls : p) {
+                if (rows.get(s)[cls] < 0) {
+                    rows.get(s)[cls] = rows.size();
+                    rows.add(emptyRow());
+                    accept.add(false);
+                }
+                s = rows.get(s)[cls];
+            }
+            accept.set(s, true);
+        }
+        TABLE = rows.toArray(new int[0][]);
+        ACCEPT = new boolean[accept.size()];
+        for (int i = 0; i < ACCEPT.length; i++) ACCEPT[i] = accept.get(i);
+
+        word(WEEKDAY, DayOfWeek.MONDAY.getValue(), "mon", "monday");
+        word(WEEKDAY, DayOfWeek.TUESDAY.getValue(), "tue", "tues", "tuesday");
+        word(WEEKDAY, DayOfWeek.WEDNESDAY.getValue(), "wed", "wednesday");
+        word(WEEKDAY, DayOfWeek.THURSDAY.getValue(), "thu", "thur", "thurs", "thursday");
+        word(WEEKDAY, DayOfWeek.FRIDAY.getValue(), "fri", "friday");
+        word(WEEKDAY, DayOfWeek.SATURDAY.getValue(), "saturday");
+        word(WEEKDAY, DayOfWeek.SUNDAY.getValue(), "sunday");
+        word(NEXT, 0, "next");
+        word(THIS, 0, "this", "coming");
+        word(IN, 0, "in");
+        word(PREP, 0, "on", "by");
+        word(AT, 0, "at");
+        word(END, 0, "end");
+        word(OF, 0, "of");
+        word(THE, 0, "the");
+        word(NOON, 12, "noon", "midday");
+        word(AMPM, 0, "am");
+        word(AMPM, 12, "pm");
+        word(UNIT, MINUTE, "min", "mins", "minute", "minutes");
+        word(UNIT, HOUR, "h", "hr", "hrs", "hour", "hours");
+        word(UNIT, DAY, "d", "day", "days");
+        word(UNIT, WEEK, "w", "wk", "wks", "week", "weeks");
+        word(UNIT, MONTH, "mo", "month", "months");
+        word(END_OF, DAY, "eod");
+        word(END_OF, WEEK, "eow");
+        word(END_OF, MONTH, "eom");
+        String[] numerals = {"a", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten", "eleven", "twelve"};
+        for (int i = 0; i < numerals.length; i++) word(WORDNUM, Math.max(1, i), numerals[i]);
+        word(WORDNUM, 1, "an");
+    }
+
+    /** A word the grammar treats as "today + plusDays" with a default hour (from {@link InterpretRules#getRelativeDue()}). */
+    public record RelativeDay(String word, int plusDays, int hour, int ruleIndex) {}
+
+    /**
+     * @param kind    DATE for an explicit YYYY-MM-DD, RELDAY for a relative-day word, otherwise 0
+     * @param ruleIdx index of the relative-day rule for RELDAY, else -1
+     */
+    public record Match(OffsetDateTime due, int start, int end, int kind, int ruleIdx) {}
+
+    private final Map<String, long[]> lexicon;
+
+    public DueDateParser(List<RelativeDay> relativeDays) {
+        lexicon = new HashMap<>(BASE_LEXICON);
+        for (RelativeDay r : relativeDays) {
+            String w = r.word().toLowerCase(Locale.ROOT);
+            if (w.length() > MAX_WORD || !w.chars().allMatch(Character::isLetter)) continue; // substring-only rule
+            // value packs days / hour / rule index
+            lexicon.put(w, new long[]{RELDAY, ((long) r.ruleIndex() << 32) | ((r.plusDays() & 0xFFFFL) << 8) | r.hour()});
+        }
+    }
+
+    /**
+     * Finds the due date in {@code text}. An expression containing an explicit date wins,
+     * otherwise the leftmost one. Returns null if there is none.
+     */
+    public Match parse(CharSequence text, ZonedDateTime now) {
+        Tokens tk = tokenize(text);
+        Match best = null;
+        int i = 0;
+        while (i < tk.n) {
+            int s = 0, lastAccept = -1;
+            for (int j = i; j < tk.n; j++) {
+                s = TABLE[s][tk.cls[j]];
+                if (s < 0) break;
+                if (ACCEPT[s]) lastAccept = j;
+            }
+            if (lastAccept < 0) { i++; continue; }
+            Match m = resolve(tk, i, lastAccept + 1, now);
+            if (m == null) { i++; continue; }
+            if (m.kind() == DATE) return m;
+            if (best == null) best = m;
+            i = lastAccept + 1;
+        }
+        return best;
+    }
+
+    private Match resolve(Tokens tk, int from, int to, ZonedDateTime now) {
+        int dateCls = -1, kindValue = 0, amount = -1, unit = -1, endOf = -1, ruleIdx = -1;
+        boolean next = false, inMode = false, endMode = false, timeSet = false;
+        LocalDate date = null;
+        int hour = 0, minute = 0, relHour = -1, relDays = 0;
+
+        for (int j = from; j < to; j++) {
+            long v = tk.val[j];
+            switch (tk.cls[j]) {
+                case DATE -> { dateCls = DATE; date = LocalDate.of((int) (v >> 16), (int) (v >> 8) & 0xFF, (int) v & 0xFF); }
+                case RELDAY -> { dateCls = RELDAY; ruleIdx = (int) (v >>> 32); relDays = (short) ((v >> 8) & 0xFFFF); relHour = (int) (v & 0xFF); }
+                case WEEKDAY -> { dateCls = WEEKDAY; kindValue = (int) v; }
+                case NEXT -> next = true;
+                case IN -> inMode = true;
+                case END -> endMode = true;
+                case END_OF -> { dateCls = END_OF; endOf = (int) v; }
+                case UNIT -> {
+                    if (inMode) { dateCls = IN; unit = (int) v; }
+                    else if (endMode) { dateCls = END_OF; endOf = (int) v; }
+                    else { dateCls = NEXT; unit = (int) v; }
+                }
+                case NUM, WORDNUM -> {
+                    if (inMode && amount < 0) amount = (int) v;
+                    else { hour = (int) v; minute = 0; timeSet = true; }
+                }
+                case TIME -> { hour = (int) (v >> 8); minute = (int) (v & 0xFF); timeSet = true; }
+                case AMPM -> {
+                    if (hour < 1 || hour > 12) return null;
+                    hour = hour % 12 + (int) v;
+                }
+                case NOON -> { hour = 12; minute = 0; timeSet = true; }
+                default -> { /* THIS, OF, THE, AT, PREP: structure only */ }
+            }
+        }
+        if (timeSet && (hour > 23 || minute > 59)) return null;
+
+        LocalDate today = now.toLocalDate();
+        LocalTime defaultTime = DEFAULT_TIME;
+        switch (dateCls) {
+            case DATE -> defaultTime = LocalTime.MIDNIGHT;
+            case RELDAY -> { date = today.plusDays(relDays); defaultTime = LocalTime.of(relHour, 0); }
+            case WEEKDAY -> {
+                DayOfWeek dow = DayOfWeek.of(kindValue);
+                date = today.with(next ? TemporalAdjusters.next(dow) : TemporalAdjusters.nextOrSame(dow));
+                // "mon 9:00" said on Monday at noon means next Monday
+                LocalTime t = timeSet ? LocalTime.of(hour, minute) : DEFAULT_TIME;
+                if (date.equals(today) && !t.isAfter(now.toLocalTime())) date = date.plusWeeks(1);
+            }
+            case NEXT -> {
+                if (unit == WEEK) date = today.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+                else if (unit == MONTH) date = today.with(TemporalAdjusters.firstDayOfNextMonth());
+                else if (unit == DAY) date = today.plusDays(1);
+                else return null; // "next hour"
+            }
+            case IN -> {
+                if (amount <= 0) return null;
+                switch (unit) {
+                    case MINUTE, HOUR -> {
+                        ZonedDateTime at = now.plus(amount, unit == HOUR ? ChronoUnit.HOURS : ChronoUnit.MINUTES)
+                                .truncatedTo(ChronoUnit.MINUTES);
+                        return new Match(at.toOffsetDateTime(), tk.start[from], tk.end[to - 1], 0, -1);
+                    }
+                    case DAY -> date = today.plusDays(amount);
+                    case WEEK -> date = today.plusWeeks(amount);
+                    default -> date = today.plusMonths(amount);
+                }
+            }
+            case END_OF -> {
+                defaultTime = END_OF_TIME;
+                if (endOf == DAY) date = today;
+                else if (endOf == WEEK) date = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+                else if (endOf == MONTH) date = today.with(TemporalAdjusters.lastDayOfMonth());
+                else return null;
+            }
+            default -> {
+                // time only
+                if (!timeSet) return null;
+                date = today;
+                if (!LocalTime.of(hour, minute).isAfter(now.toLocalTime())) date = today.plusDays(1);
+            }
+        }
+        LocalTime time = timeSet ? LocalTime.of(hour, minute) : defaultTime;
+        ZonedDateTime due = ZonedDateTime.of(date, time, now.getZone());
+        int kind = dateCls == DATE || dateCls == RELDAY ? dateCls : 0;
+        return new Match(due.toOffsetDateTime(), tk.start[from], tk.end[to - 1], kind, ruleIdx);
+    }
+
+    // ---- tokenizer: one pass, lowercases per char, looks words up in the lexicon ----
+
+    private static final class Tokens {
+        int n;
+        int[] cls, start, end;
+        long[] val;
+
+        Tokens(int cap) {
+            cls = new int[cap];
+            start = new int[cap];
+            end = new int[cap];
+            val = new long[cap];
+        }
+
+        void add(int c, long v, int s, int e) {
+            if (n == cls.length) {
+                int cap = n * 2;
+                cls = Arrays.copyOf(cls, cap);
+                start = Arrays.copyOf(start, cap);
+                end = Arrays.copyOf(end, cap);
+                val = Arrays.copyOf(val, cap);
+            }
+            cls[n] = c; val[n] = v; start[n] = s; end[n] = e;
+            n++;
+        }
+    }
+
+    private Tokens tokenize(CharSequence text) {
+        int len = text.length();
+        Tokens tk = new Tokens(16);
+        char[] word = new char[MAX_WORD];
+        int i = 0;
+        while (i < len) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int s = i;
+                while (i < len && isDigit(text.charAt(i))) i++;
+                int digits = i - s;
+                // YYYY-MM-DD
+                if (digits == 4 && i + 6 <= len && text.charAt(i) == '-' && isDigit(text.charAt(i + 1)) && isDigit(text.charAt(i + 2))
+                        && text.charAt(i + 3) == '-' && isDigit(text.charAt(i + 4)) && isDigit(text.charAt(i + 5))
+                        && (i + 6 == len || !isDigit(text.charAt(i + 6)))) {
+                    int y = num(text, s, 4), mo = num(text, i + 1, 2), d = num(text, i + 4, 2);
+                    i += 6;
+                    if (validDate(y, mo, d)) tk.add(DATE, ((long) y << 16) | ((long) mo << 8) | d, s, i);
+                    else tk.add(OTHER, 0, s, i);
+                    continue;
+                }
+                // H:MM / HH:MM
+                if (digits <= 2 && i + 3 <= len && text.charAt(i) == ':' && isDigit(text.charAt(i + 1)) && isDigit(text.charAt(i + 2))
+                        && (i + 3 == len || !isDigit(text.charAt(i + 3)))) {
+                    int h = num(text, s, digits), m = num(text, i + 1, 2);
+                    i += 3;
+                    tk.add(h <= 23 && m <= 59 ? TIME : OTHER, ((long) h << 8) | m, s, i);
+                    continue;
+                }
+                tk.add(digits <= 3 ? NUM : OTHER, digits <= 3 ? num(text, s, digits) : 0, s, i);
+                continue;
+            }
+            if (Character.isLetter(c)) {
+                int s = i;
+                boolean tag = s > 0 && text.charAt(s - 1) == '#';
+                int wl = 0;
+                while (i < len && Character.isLetter(text.charAt(i))) {
+                    if (wl < MAX_WORD) word[wl] = Character.toLowerCase(text.charAt(i));
+                    wl++;
+                    i++;
+                }
+                long[] lex = !tag && wl <= MAX_WORD ? lexicon.get(new String(word, 0, wl)) : null;
+                if (lex != null) tk.add((int) lex[0], lex[1], s, i);
+                else tk.add(OTHER, 0, s, i);
+                continue;
+            }
+            if (c == '@') tk.add(AT, 0, i, i + 1);
+            else if (c != ' ' && c != ',' && c != '.' && c != '\t' && c != '\n' && c != '\r') tk.add(OTHER, 0, i, i + 1);
+            i++;
+        }
+        return tk;
+    }
+
+    private static boolean validDate(int y, int m, int d) {
+        try {
+            LocalDate.of(y, m, d);
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+
+    private static int num(CharSequence text, int from, int len) {
+        int v = 0;
+        for (int i = from; i < from + len; i++) v = v * 10 + (text.charAt(i) - '0');
+        return v;
+    }
+
+    private static void word(int cls, long value, String... words) {
+        for (String w : words) BASE_LEXICON.put(w, new long[]{cls, value});
+    }
+
+    private static int[] emptyRow() {
+        int[] r = new int[CLASSES];
+        Arrays.fill(r, -1);
+        return r;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+}
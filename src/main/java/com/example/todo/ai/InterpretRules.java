@@ -0,0 +1,137 @@
+package com.example.todo.ai;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyword rules for {@code /ai/interpret}, bound from {@code ai.rules.*}.
+ * Defaults reproduce the original hard-coded heuristics; any list set in config replaces the default list.
+ * Inside each list the first rule whose keyword occurs anywhere in the text wins (list order, not text order).
+ */
+@ConfigurationProperties(prefix = "ai.rules")
+public class InterpretRules {
+
+    private String reason = "Rule-based heuristics";
+    private double baseConfidence = 0.2;
+    private double maxConfidence = 0.95;
+
+    private double tagScore = 0.2;
+    private double isoDateScore = 0.15;   // YYYY-MM-DD anywhere in the text, wins over relativeDue
+
+    // "next friday", "in 3 days", "eom", "mon 14:00" ... (DueDateParser); off = only ISO dates + relativeDue keywords
+    private boolean naturalDates = true;
+    private double naturalDateScore = 0.1;
+
+    private List<ValueRule> priority = new ArrayList<>(List.of(
+            new ValueRule("!high", "High", 0.2),
+            new ValueRule("!med", "Medium", 0.1),
+            new ValueRule("!low", "Low", 0.05)));
+
+    private List<DueRule> relativeDue = new ArrayList<>(List.of(
+            new DueRule("tomorrow", 1, 9, 0.08),
+            new DueRule("today", 0, 18, 0.05)));
+
+    private List<ValueRule> completed = new ArrayList<>(List.of(
+            new ValueRule("done", "true", 0.05),
+            new ValueRule("complete", "true", 0.05),
+            new ValueRule("todo", "false", 0.02)));
+
+    // "<prefix><first word after keyword>"
+    private List<ValueRule> titleVerbs = new ArrayList<>(List.of(
+            new ValueRule("call", "Call ", 0.1),
+            new ValueRule("email", "Email ", 0.1),
+            new ValueRule("buy", "Buy ", 0.1)));
+
+    // no verb matched: the text without #tags becomes the title if it is short enough
+    private double fallbackTitleScore = 0.05;
+    private int fallbackTitleMaxLength = 80;
+    private int fallbackTitleTruncateAt = 60;
+
+    public static class ValueRule {
+        private String keyword;
+        private String value;
+        private double score;
+
+        public ValueRule() {}
+        public ValueRule(String keyword, String value, double score) {
+            this.keyword = keyword;
+            this.value = value;
+            this.score = score;
+        }
+
+        public String getKeyword() { return keyword; }
+        public void setKeyword(String keyword) { this.keyword = keyword; }
+        public String getValue() { return value; }
+        public void setValue(String value) { this.value = value; }
+        public double getScore() { return score; }
+        public void setScore(double score) { this.score = score; }
+    }
+
+    public static class DueRule {
+        private String keyword;
+        private int plusDays;
+        private int hour;        // UTC
+        private double score;
+
+        public DueRule() {}
+        public DueRule(String keyword, int plusDays, int hour, double score) {
+            this.keyword = keyword;
+            this.plusDays = plusDays;
+            this.hour = hour;
+            this.score = score;
+        }
+
+        public String getKeyword() { return keyword; }
+        public void setKeyword(String keyword) { this.keyword = keyword; }
+        public int getPlusDays() { return plusDays; }
+        public void setPlusDays(int plusDays) { this.plusDays = plusDays; }
+        public int getHour() { return hour; }
+        public void setHour(int hour) { this.hour = hour; }
+        public double getScore() { return score; }
+        public void setScore(double score) { this.score = score; }
+    }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+
+    public double getBaseConfidence() { return baseConfidence; }
+    public void setBaseConfidence(double baseConfidence) { this.baseConfidence = baseConfidence; }
+
+    public double getMaxConfidence() { return maxConfidence; }
+    public void setMaxConfidence(double maxConfidence) { this.maxConfidence = maxConfidence; }
+
+    public double getTagScore() { return tagScore; }
+    public void setTagScore(double tagScore) { this.tagScore = tagScore; }
+
+    public double getIsoDateScore() { return isoDateScore; }
+    public void setIsoDateScore(double isoDateScore) { this.isoDateScore = isoDateScore; }
+
+    public boolean isNaturalDates() { return naturalDates; }
+    public void setNaturalDates(boolean naturalDates) { this.naturalDates = naturalDates; }
+
+    public double getNaturalDateScore() { return naturalDateScore; }
+    public void setNaturalDateScore(double naturalDateScore) { this.naturalDateScore = naturalDateScore; }
+
+    public List<ValueRule> getPriority() { return priority; }
+    public void setPriority(List<ValueRule> priority) { this.priority = priority; }
+
+    public List<DueRule> getRelativeDue() { return relativeDue; }
+    public void setRelativeDue(List<DueRule> relativeDue) { this.relativeDue = relativeDue; }
+
+    public List<ValueRule> getCompleted() { return completed; }
+    public void setCompleted(List<ValueRule> completed) { this.completed = completed; }
+
+    public List<ValueRule> getTitleVerbs() { return titleVerbs; }
+    public void setTitleVerbs(List<ValueRule> titleVerbs) { this.titleVerbs = titleVerbs; }
+
+    public double getFallbackTitleScore() { return fallbackTitleScore; }
+    public void setFallbackTitleScore(double fallbackTitleScore) { this.fallbackTitleScore = fallbackTitleScore; }
+
+    public int getFallbackTitleMaxLength() { return fallbackTitleMaxLength; }
+    public void setFallbackTitleMaxLength(int fallbackTitleMaxLength) { this.fallbackTitleMaxLength = fallbackTitleMaxLength; }
+
+    public int getFallbackTitleTruncateAt() { return fallbackTitleTruncateAt; }
+    public void setFallbackTitleTruncateAt(int fallbackTitleTruncateAt) { this.fallbackTitleTruncateAt = fallbackTitleTruncateAt; }
+}
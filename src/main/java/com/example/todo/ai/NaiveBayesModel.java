@@ -0,0 +1,271 @@
+package com.example.todo.ai;
+
+import com.example.todo.util.LongIntHashMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multinomial naive Bayes over title words, one instance per user: which category and priority
+ * would this user give a task with this title. Counts live in {@link LongIntHashMap}s keyed by
+ * {@code (label << 32) | wordHash}; training is an O(words) add/remove, so the model follows
+ * creates, edits and deletes incrementally. A prediction looks at no more than
+ * {@link #MAX_WORDS} words per label, and labels are capped, so its cost does not grow with the
+ * user's history. Laplace smoothing; not thread-safe.
+ */
+public final class NaiveBayesModel {
+
+    public record Prediction(String label, double probability) { }
+
+    static final int MAX_WORDS = 16;
+    private static final byte FORMAT = 1;
+
+    private final Head category;
+    private final Head priority;
+    private int documents;
+
+    public NaiveBayesModel(int maxCategories) {
+        this.category = new Head(maxCategories);
+        this.priority = new Head(8);
+    }
+
+    private NaiveBayesModel(Head category, Head priority, int documents) {
+        this.category = category;
+        this.priority = priority;
+        this.documents = documents;
+    }
+
+    /** Titles trained on (and not removed since). */
+    public int documents() { return documents; }
+
+    public void add(CharSequence title, String category, String priority) {
+        update(title, category, priority, 1);
+    }
+
+    public void remove(CharSequence title, String category, String priority) {
+        update(title, category, priority, -1);
+    }
+
+    /** Most likely category for the title, or null if there is nothing to go on. */
+    public Prediction predictCategory(CharSequence title) {
+        int[] words = words(title);
+        return words.length == 0 ? null : category.predict(words);
+    }
+
+    public Prediction predictPriority(CharSequence title) {
+        int[] words = words(title);
+        return words.length == 0 ? null : priority.predict(words);
+    }
+
+    private void update(CharSequence title, String cat, String prio, int delta) {
+        int[] words = words(title);
+        if (words.length == 0) return;
+        if (delta < 0 && documents == 0) return;
+        documents += delta;
+        category.update(words, cat, delta);
+        priority.update(words, prio, delta);
+    }
+
+    // hashes of the first MAX_WORDS words (letters/digits, lower-cased, at least 2 chars)
+    static int[] words(CharSequence text) {
+        if (text == null) return new int[0];
+        int[] out = new int[MAX_WORDS];
+        int n = 0;
+        int i = 0, len = text.length();
+        while (i < len && n < MAX_WORDS) {
+            while (i < len && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int h = 0x811c9dc5;
+            int chars = 0;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) {
+                h = (h ^ Character.toLowerCase(text.charAt(i++))) * 0x01000193;
+                chars++;
+            }
+            if (chars >= 2) out[n++] = h ^ (h >>> 16);
+        }
+        return n == MAX_WORDS ? out : Arrays.copyOf(out, n);
+    }
+
+    // ---------- snapshots
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT);
+            out.writeInt(documents);
+            category.write(out);
+            priority.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static NaiveBayesModel fromBytes(byte[] snapshot) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+            byte format = in.readByte();
+            if (format != FORMAT) throw new IllegalArgumentException("Unknown model snapshot format " + format);
+            int documents = in.readInt();
+            Head category = Head.read(in);
+            Head priority = Head.read(in);
+            return new NaiveBayesModel(category, priority, documents);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt model snapshot", e);
+        }
+    }
+
+    // one classifier: labels of one field with their document and word counts
+    private static final class Head {
+        final int maxLabels;
+        final List<String> labels = new ArrayList<>();
+        int[] docs;
+        long[] wordTotals;
+        int totalDocs;
+        final LongIntHashMap counts;       // (label << 32) | word → occurrences
+        final LongIntHashMap vocabulary;   // word → occurrences over all labels
+
+        Head(int maxLabels) {
+            this(maxLabels, new LongIntHashMap(64), new LongIntHashMap(64));
+        }
+
+        private Head(int maxLabels, LongIntHashMap counts, LongIntHashMap vocabulary) {
+            if (maxLabels <= 0) throw new IllegalArgumentException("maxLabels must be > 0");
+            this.maxLabels = maxLabels;
+            this.docs = new int[maxLabels];
+            this.wordTotals = new long[maxLabels];
+            this.counts = counts;
+            this.vocabulary = vocabulary;
+        }
+
+        void update(int[] words, String label, int delta) {
+            if (label == null || label.isBlank()) return;
+            int idx = labels.indexOf(label);
+            if (idx < 0) {
+                if (delta < 0) return;
+                idx = allocate(label);
+                if (idx < 0) return;        // label table full: this label is not learned
+            }
+            if (delta < 0 && docs[idx] == 0) return;
+            docs[idx] += delta;
+            totalDocs += delta;
+            for (int w : words) {
+                long key = ((long) idx << 32) | (w & 0xffffffffL);
+                if (delta < 0 && counts.get(key) == 0) continue;
+                counts.add(key, delta);
+                vocabulary.add(w, delta);
+                wordTotals[idx] += delta;
+            }
+        }
+
+        private int allocate(String label) {
+            if (labels.size() < maxLabels) {
+                labels.add(label);
+                return labels.size() - 1;
+            }
+            // reuse a label nobody has any more; its word counts are already back to zero
+            for (int i = 0; i < labels.size(); i++) {
+                if (docs[i] == 0) {
+                    labels.set(i, label);
+                    wordTotals[i] = 0;
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        Prediction predict(int[] words) {
+            if (totalDocs <= 0) return null;
+            double v = Math.max(1, vocabulary.size());
+            int best = -1;
+            double bestLog = Double.NEGATIVE_INFINITY;
+            double[] logs = new double[labels.size()];
+            for (int l = 0; l < labels.size(); l++) {
+                if (docs[l] <= 0) {
+                    logs[l] = Double.NEGATIVE_INFINITY;
+                    continue;
+                }
+                double lp = Math.log((double) docs[l] / totalDocs);
+                double denom = Math.log(wordTotals[l] + v);
+                for (int w : words) {
+                    int c = counts.get(((long) l << 32) | (w & 0xffffffffL));
+                    lp += Math.log(c + 1.0) - denom;
+                }
+                logs[l] = lp;
+                if (lp > bestLog) {
+                    bestLog = lp;
+                    best = l;
+                }
+            }
+            if (best < 0) return null;
+            double sum = 0;
+            for (double lp : logs) sum += Math.exp(lp - bestLog);
+            return new Prediction(labels.get(best), 1 / sum);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(maxLabels);
+            out.writeInt(labels.size());
+            for (int i = 0; i < labels.size(); i++) {
+                out.writeUTF(labels.get(i));
+                out.writeInt(docs[i]);
+                out.writeLong(wordTotals[i]);
+            }
+            out.writeInt(totalDocs);
+            writeMap(out, counts);
+            writeMap(out, vocabulary);
+        }
+
+        static Head read(DataInputStream in) throws IOException {
+            int maxLabels = in.readInt();
+            int n = in.readInt();
+            if (maxLabels <= 0 || n < 0 || n > maxLabels) throw new IOException("bad label table");
+            List<String> labels = new ArrayList<>(n);
+            int[] docs = new int[maxLabels];
+            long[] totals = new long[maxLabels];
+            for (int i = 0; i < n; i++) {
+                labels.add(in.readUTF());
+                docs[i] = in.readInt();
+                totals[i] = in.readLong();
+            }
+            int totalDocs = in.readInt();
+            Head h = new Head(maxLabels, readMap(in), readMap(in));
+            h.labels.addAll(labels);
+            h.docs = docs;
+            h.wordTotals = totals;
+            h.totalDocs = totalDocs;
+            return h;
+        }
+
+        private static void writeMap(DataOutputStream out, LongIntHashMap map) throws IOException {
+            out.writeInt(map.size());
+            IOException[] failure = new IOException[1];
+            map.forEach((k, v) -> {
+                if (failure[0] != null) return;
+                try {
+                    out.writeLong(k);
+                    out.writeInt(v);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+
+        private static LongIntHashMap readMap(DataInputStream in) throws IOException {
+            int n = in.readInt();
+            if (n < 0) throw new IOException("bad map size");
+            LongIntHashMap map = new LongIntHashMap(n);
+            for (int i = 0; i < n; i++) map.add(in.readLong(), in.readInt());
+            return map;
+        }
+    }
+}
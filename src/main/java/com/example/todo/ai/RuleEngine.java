@@ -0,0 +1,274 @@
+package com.example.todo.ai;
+
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.util.KeywordAutomaton;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link InterpretRules} compiled once into a single left-to-right scan of the text.
+ * <p>
+ * One pass feeds every char to an Aho–Corasick automaton over all rule keywords (recording the first
+ * position of each), collects {@code #tags} and spots the first {@code YYYY-MM-DD} with a rolling
+ * shape mask. Rule groups are then resolved from those positions without touching the text again,
+ * except to read the word after a title verb. Due dates go through {@link DueDateParser} first;
+ * the ISO / keyword rules only apply when it finds nothing. Immutable; one instance serves all threads.
+ */
+public final class RuleEngine {
+
+    public static final long NO_DEADLINE = 0L;
+
+    // \d{4}-\d{2}-\d{2}, newest char in bit 0
+    private static final int DATE_DIGITS = 0b1111011011;
+    private static final int DATE_DASHES = 0b0000100100;
+    private static final int DATE_WINDOW = 0x3FF;
+
+    private final InterpretRules rules;
+    private final Clock clock;
+    private final KeywordAutomaton automaton;
+    private final DueDateParser dates;     // null when ai.rules.natural-dates=false
+    // keyword indices of each group, in rule order
+    private final int priorityFrom, dueFrom, completedFrom, titleFrom, keywordCount;
+    private final String[] priorityValues;
+    private final double[] priorityScores;
+    private final InterpretRules.DueRule[] dueRules;
+    private final boolean[] completedValues;
+    private final double[] completedScores;
+    private final String[] titlePrefixes;
+    private final double[] titleScores;
+
+    private RuleEngine(InterpretRules rules, Clock clock) {
+        this.rules = rules;
+        this.clock = clock;
+        List<String> keywords = new ArrayList<>();
+
+        priorityFrom = keywords.size();
+        priorityValues = new String[rules.getPriority().size()];
+        priorityScores = new double[priorityValues.length];
+        for (int i = 0; i < priorityValues.length; i++) {
+            InterpretRules.ValueRule r = rules.getPriority().get(i);
+            keywords.add(r.getKeyword());
+            priorityValues[i] = r.getValue();
+            priorityScores[i] = r.getScore();
+        }
+
+        dueFrom = keywords.size();
+        dueRules = rules.getRelativeDue().toArray(new InterpretRules.DueRule[0]);
+        List<DueDateParser.RelativeDay> relativeDays = new ArrayList<>();
+        for (int i = 0; i < dueRules.length; i++) {
+            InterpretRules.DueRule r = dueRules[i];
+            if (r.getHour() < 0 || r.getHour() > 23) {
+                throw new IllegalArgumentException("ai.rules.relative-due hour must be 0..23: " + r.getKeyword());
+            }
+            keywords.add(r.getKeyword());
+            relativeDays.add(new DueDateParser.RelativeDay(r.getKeyword(), r.getPlusDays(), r.getHour(), i));
+        }
+        dates = rules.isNaturalDates() ? new DueDateParser(relativeDays) : null;
+
+        completedFrom = keywords.size();
+        completedValues = new boolean[rules.getCompleted().size()];
+        completedScores = new double[completedValues.length];
+        for (int i = 0; i < completedValues.length; i++) {
+            InterpretRules.ValueRule r = rules.getCompleted().get(i);
+            if (!"true".equalsIgnoreCase(r.getValue()) && !"false".equalsIgnoreCase(r.getValue())) {
+                throw new IllegalArgumentException("ai.rules.completed value must be true/false: " + r.getKeyword());
+            }
+            keywords.add(r.getKeyword());
+            completedValues[i] = Boolean.parseBoolean(r.getValue());
+            completedScores[i] = r.getScore();
+        }
+
+        titleFrom = keywords.size();
+        titlePrefixes = new String[rules.getTitleVerbs().size()];
+        titleScores = new double[titlePrefixes.length];
+        for (int i = 0; i < titlePrefixes.length; i++) {
+            InterpretRules.ValueRule r = rules.getTitleVerbs().get(i);
+            keywords.add(r.getKeyword());
+            titlePrefixes[i] = r.getValue() == null ? "" : r.getValue();
+            titleScores[i] = r.getScore();
+        }
+
+        keywordCount = keywords.size();
+        automaton = new KeywordAutomaton(keywords);
+    }
+
+    public static RuleEngine compile(InterpretRules rules) {
+        return new RuleEngine(rules, Clock.systemUTC());
+    }
+
+    public static RuleEngine compile(InterpretRules rules, Clock clock) {
+        return new RuleEngine(rules, clock);
+    }
+
+    public static RuleEngine defaults() {
+        return compile(new InterpretRules());
+    }
+
+    public record Interpretation(TaskPatchDto patch, double confidence, String reason) {}
+
+    /** Thrown when a scan runs past its deadline. Stackless: it is control flow, not an error. */
+    public static final class BudgetExceededException extends RuntimeException {
+        public BudgetExceededException() { super("interpretation budget exceeded", null, false, false); }
+    }
+
+    public Interpretation interpret(CharSequence text) {
+        return interpret(text, NO_DEADLINE, ZoneOffset.UTC);
+    }
+
+    public Interpretation interpret(CharSequence text, long deadlineNanos) {
+        return interpret(text, deadlineNanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * @param deadlineNanos {@link System#nanoTime()} value to stop at, or {@link #NO_DEADLINE}
+     * @param zone          caller's timezone; relative dates ("tomorrow", "fri 14:00") are resolved in it
+     */
+    public Interpretation interpret(CharSequence text, long deadlineNanos, ZoneId zone) {
+        final int n = text.length();
+        final int[] first = new int[keywordCount];
+        Arrays.fill(first, -1);
+        List<String> tags = null;
+        int[] tagSpans = null;          // [hashPos, end) pairs, for the fallback title
+        int tagCount = 0;
+        int tagFrom = -1;               // first char after '#', while inside a tag
+        int digits = 0, dashes = 0, dateEnd = -1;
+        int state = automaton.root();
+
+        for (int i = 0; i <= n; i++) {
+            char c = i < n ? text.charAt(i) : '\0';   // sentinel closes a trailing tag
+            if (tagFrom >= 0 && !isTagChar(c)) {
+                if (i > tagFrom) {
+                    if (tags == null) { tags = new ArrayList<>(); tagSpans = new int[8]; }
+                    tags.add(text.subSequence(tagFrom, i).toString());
+                    if (tagCount * 2 + 2 > tagSpans.length) tagSpans = Arrays.copyOf(tagSpans, tagSpans.length * 2);
+                    tagSpans[tagCount * 2] = tagFrom - 1;
+                    tagSpans[tagCount * 2 + 1] = i;
+                    tagCount++;
+                }
+                tagFrom = -1;
+            }
+            if (i == n) break;
+            if ((i & 1023) == 1023 && deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0) {
+                throw new BudgetExceededException();
+            }
+            if (c == '#') tagFrom = i + 1;
+
+            state = automaton.step(state, c);
+            for (int k : automaton.matches(state)) {
+                if (first[k] < 0) first[k] = i - automaton.length(k) + 1;
+            }
+
+            if (dateEnd < 0) {
+                digits = ((digits << 1) | (c >= '0' && c <= '9' ? 1 : 0)) & DATE_WINDOW;
+                dashes = ((dashes << 1) | (c == '-' ? 1 : 0)) & DATE_WINDOW;
+                if (digits == DATE_DIGITS && dashes == DATE_DASHES) dateEnd = i + 1;
+            }
+        }
+
+        TaskPatchDto patch = new TaskPatchDto();
+        double score = 0.0;
+
+        if (tags != null) { patch.tags = tags; score += rules.getTagScore(); }
+
+        for (int i = 0; i < priorityValues.length; i++) {
+            if (first[priorityFrom + i] >= 0) { patch.priority = priorityValues[i]; score += priorityScores[i]; break; }
+        }
+
+        DueDateParser.Match due = dates == null ? null : dates.parse(text, ZonedDateTime.now(clock.withZone(zone)));
+        if (due != null) {
+            patch.dueDate = due.due();
+            score += due.kind() == DueDateParser.DATE ? rules.getIsoDateScore()
+                    : due.kind() == DueDateParser.RELDAY ? dueRules[due.ruleIdx()].getScore()
+                    : rules.getNaturalDateScore();
+        } else if (dateEnd >= 0) {
+            // a malformed date (2025-13-45) still blocks the relative rules, as the regex version did
+            int s = dateEnd - 10;
+            try {
+                patch.dueDate = LocalDate.of(num(text, s, 4), num(text, s + 5, 2), num(text, s + 8, 2))
+                        .atStartOfDay(zone).toOffsetDateTime();
+                score += rules.getIsoDateScore();
+            } catch (DateTimeException ignored) {}
+        } else {
+            for (int i = 0; i < dueRules.length; i++) {
+                if (first[dueFrom + i] >= 0) {
+                    InterpretRules.DueRule r = dueRules[i];
+                    patch.dueDate = ZonedDateTime.now(clock.withZone(zone)).plusDays(r.getPlusDays())
+                            .withHour(r.getHour()).withMinute(0).withSecond(0).withNano(0).toOffsetDateTime();
+                    score += r.getScore();
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < completedValues.length; i++) {
+            if (first[completedFrom + i] >= 0) { patch.completed = completedValues[i]; score += completedScores[i]; break; }
+        }
+
+        boolean titled = false;
+        for (int i = 0; i < titlePrefixes.length; i++) {
+            int at = first[titleFrom + i];
+            if (at >= 0) {
+                patch.title = titlePrefixes[i] + wordAfter(text, at + automaton.length(titleFrom + i));
+                score += titleScores[i];
+                titled = true;
+                break;
+            }
+        }
+        if (!titled) {
+            String t = withoutSpans(text, tagSpans, tagCount).trim();
+            if (!t.isEmpty() && t.length() <= rules.getFallbackTitleMaxLength()) {
+                int cut = rules.getFallbackTitleTruncateAt();
+                patch.title = t.length() > cut ? t.substring(0, cut) + "..." : t;
+                score += rules.getFallbackTitleScore();
+            }
+        }
+
+        double confidence = Math.min(rules.getMaxConfidence(), rules.getBaseConfidence() + score);
+        return new Interpretation(patch, confidence, rules.getReason());
+    }
+
+    private static boolean isTagChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    private static boolean isWordDelimiter(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+                || c == ',' || c == ';' || c == '.';
+    }
+
+    // first word after the keyword: skip blanks, stop at whitespace/,;. (same as trim + split("[\\s,;.]+")[0])
+    private static String wordAfter(CharSequence text, int from) {
+        int end = text.length();
+        while (end > from && text.charAt(end - 1) <= ' ') end--;
+        int s = from;
+        while (s < end && text.charAt(s) <= ' ') s++;
+        int e = s;
+        while (e < end && !isWordDelimiter(text.charAt(e))) e++;
+        return text.subSequence(s, e).toString();
+    }
+
+    private static String withoutSpans(CharSequence text, int[] spans, int count) {
+        if (count == 0) return text.toString();
+        StringBuilder sb = new StringBuilder(text.length());
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            sb.append(text, pos, spans[i * 2]);
+            pos = spans[i * 2 + 1];
+        }
+        return sb.append(text, pos, text.length()).toString();
+    }
+
+    private static int num(CharSequence text, int from, int len) {
+        int v = 0;
+        for (int i = from; i < from + len; i++) v = v * 10 + (text.charAt(i) - '0');
+        return v;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todo.config;
+
+import com.example.todo.ai.InterpretRules;
+import com.example.todo.ai.RuleEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(InterpretRules.class)
+public class AiConfig {
+
+    // rules are compiled once at startup; a bad rule set fails the boot instead of the first request
+    @Bean
+    public RuleEngine ruleEngine(InterpretRules rules) {
+        return RuleEngine.compile(rules);
+    }
+
+    // rule evaluation is pure CPU work: a fixed pool sized to the cores, bounded queue,
+    // and when it is full the request thread evaluates the item itself (back-pressure instead of 503s)
+    @Bean(name = "aiBatchExecutor", destroyMethod = "shutdown")
+    public ExecutorService aiBatchExecutor(@Value("${ai.batch.parallelism:0}") int parallelism,
+                                           @Value("${ai.batch.queue-capacity:4096}") int queueCapacity) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "ai-batch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), tf, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.todo.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Also imported by the JPA / JDBC test slices (src/test/resources/META-INF/spring/*.imports),
+ * which don't scan @Configuration classes but do run Flyway.
+ */
+@Configuration
+public class FlywayConfig {
+
+    // Flyway takes its Postgres advisory lock inside a transaction by default; CREATE INDEX CONCURRENTLY
+    // (V7+) waits for every open transaction to finish, that one included, and hangs forever.
+    // Set as a raw Flyway property: Boot's spring.flyway.postgresql.* only binds for Flyway 10+.
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
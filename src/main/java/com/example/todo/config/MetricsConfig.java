@@ -0,0 +1,104 @@
+package com.example.todo.config;
+
+import com.example.todo.metrics.HibernateRequestListeners;
+import com.example.todo.metrics.JdbcTiming;
+import com.example.todo.metrics.RequestMetricsFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Metrics wiring on top of the actuator defaults (scraped from {@code /actuator/prometheus} on the
+ * management port). Hikari, JVM, Hibernate statistics and {@code http.server.requests} are
+ * auto-configured; percentile histograms are switched on in application.yml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // http.server.requests gets a "handler" tag (TaskController#patch): uri+method alone can't tell
+    // apart endpoints that share a template, and it's what people search for on the dashboard
+    @Bean
+    public DefaultServerRequestObservationConvention handlerTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    static KeyValue handler(ServerRequestObservationContext context) {
+        Object h = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return KeyValue.of("handler", h instanceof HandlerMethod hm
+                ? hm.getBeanType().getSimpleName() + "#" + hm.getMethod().getName()
+                : "none");
+    }
+
+    // per-request statement / entity load / collection fetch counts, see RequestMetricsFilter
+    @Bean
+    public HibernatePropertiesCustomizer requestStatsHibernateCustomizer() {
+        HibernateRequestListeners listeners = new HibernateRequestListeners();
+        return props -> {
+            props.put(AvailableSettings.STATEMENT_INSPECTOR, listeners);
+            props.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(listeners));
+        };
+    }
+
+    // a bean here rather than @Component, so MVC test slices (no MeterRegistry) don't pick it up
+    @Bean
+    public RequestMetricsFilter requestMetricsFilter(MeterRegistry meters,
+                                                     @Value("${todo.diagnostics.server-timing:true}") boolean serverTiming,
+                                                     @Value("${todo.diagnostics.slow-request:PT1S}") Duration slowRequest,
+                                                     @Value("${todo.diagnostics.slow-request-max-statements:50}") int maxSql) {
+        return new RequestMetricsFilter(meters, serverTiming, slowRequest, maxSql);
+    }
+
+    // statement count / DB time / pool wait per request; static so it doesn't pull this config in early
+    @Bean
+    static BeanPostProcessor jdbcTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ds && !(bean instanceof ProxyDataSource) ? JdbcTiming.wrap(ds) : bean;
+            }
+        };
+    }
+
+    // ...and a span per statement, switched on once all singletons (tracer included) exist
+    @Bean
+    public SmartInitializingSingleton jdbcTracing(ObjectProvider<DataSource> dataSources,
+                                                  ObjectProvider<ObservationRegistry> observations) {
+        return () -> observations.ifAvailable(registry -> dataSources.forEach(ds -> JdbcTiming.observeWith(ds, registry)));
+    }
+
+    // queue depth and active threads of the /ai/interpret/batch pool (binds gauges, doesn't wrap the executor)
+    @Bean
+    public MeterBinder aiBatchExecutorMetrics(@Qualifier("aiBatchExecutor") ExecutorService aiBatchExecutor) {
+        return new ExecutorServiceMetrics(aiBatchExecutor, "aiBatch", Tags.empty());
+    }
+}
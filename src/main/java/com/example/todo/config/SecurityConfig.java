@@ -1,15 +1,19 @@
 package com.example.todo.config;
 
 import com.example.todo.security.JwtAuthenticationFilter;
+import com.example.todo.security.PublicEndpoints;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -74,12 +78,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, Environment env) throws Exception {
         http.cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers(HttpMethod.POST, "/auth/google", "/auth/logout").permitAll()
-                    .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/actuator/health", "/actuator/health", "/actuator/health/**", "/actuator/health/readiness", "/actuator/health/liveness", "/readyz", "/livez").permitAll()
+                    .requestMatchers(PublicEndpoints.PATTERNS).permitAll()
+                    .requestMatchers(managementEndpoints(env)).permitAll()
+                    // operator endpoints (JFR); controllers also carry @PreAuthorize
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
                     .anyRequest().authenticated()
             )
@@ -91,4 +97,17 @@ public class SecurityConfig {
                 );
         return http.build();
     }
+
+    /**
+     * Exposed actuator endpoints (Prometheus scrape, metrics, info) on the management server only.
+     * The management context reuses this filter chain; with management on its own port (loopback
+     * :8081 by default) EndpointRequest matches only requests served by that port, so nothing opens
+     * on the public one. If both ever share a port, nothing is opened at all and they stay authenticated.
+     */
+    private static RequestMatcher managementEndpoints(Environment env) {
+        if (ManagementPortType.get(env) != ManagementPortType.DIFFERENT) {
+            return request -> false;
+        }
+        return EndpointRequest.to("health", "info", "prometheus", "metrics");
+    }
 }
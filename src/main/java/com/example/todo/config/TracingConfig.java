@@ -0,0 +1,46 @@
+package com.example.todo.config;
+
+import com.example.todo.tracing.JsonLinesSpanExporter;
+import com.example.todo.tracing.TailSamplingSpanExporter;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tracing on top of the actuator's OpenTelemetry setup (micrometer-tracing bridge). Spans come from
+ * observations: the server request, {@code todo.auth} (JWT filter), {@code todo.handler} (controller
+ * method), {@code todo.service} (@Observed services) and {@code todo.jdbc} (one per statement).
+ * <p>
+ * Head sampling keeps everything (management.tracing.sampling.probability: 1.0); the decision is made
+ * per finished trace by {@link TailSamplingSpanExporter}, in front of every exporter: the local JSON
+ * lines file, and OTLP when management.otlp.tracing.endpoint points at a collector.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnExpression("!'${todo.tracing.file:}'.isBlank()")
+    public JsonLinesSpanExporter traceFileExporter(@Value("${todo.tracing.file}") Path file,
+                                                   @Value("${todo.tracing.file-max-size:100MB}") DataSize maxSize) {
+        return new JsonLinesSpanExporter(file, maxSize.toBytes());
+    }
+
+    // replaces the auto-configured BatchSpanProcessor (same exporters, tail sampling in between)
+    @Bean
+    public BatchSpanProcessor otelSpanProcessor(ObjectProvider<SpanExporter> exporters,
+                                                @Value("${todo.tracing.slow-trace:PT0.5S}") Duration slowTrace,
+                                                @Value("${todo.tracing.keep-ratio:0.01}") double keepRatio,
+                                                @Value("${todo.tracing.max-buffered-spans:20000}") int maxBufferedSpans) {
+        SpanExporter all = SpanExporter.composite(exporters.orderedStream().toList());
+        return BatchSpanProcessor.builder(new TailSamplingSpanExporter(all, slowTrace, keepRatio, maxBufferedSpans))
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.config;
+
+import com.example.todo.metrics.RequestTimingInterceptor;
+import com.example.todo.tracing.HandlerObservationInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ObservationRegistry> observations;
+
+    public WebConfig(ObjectProvider<ObservationRegistry> observations) {
+        this.observations = observations;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // handler / response-writing boundaries for Server-Timing and the slow-request log
+        registry.addInterceptor(new RequestTimingInterceptor());
+        // a span per controller method (MVC test slices have no registry: NOOP)
+        registry.addInterceptor(new HandlerObservationInterceptor(observations.getIfAvailable(() -> ObservationRegistry.NOOP)));
+    }
+}
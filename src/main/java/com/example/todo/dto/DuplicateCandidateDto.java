@@ -0,0 +1,17 @@
+// src/main/java/com/example/todo/dto/DuplicateCandidateDto.java
+package com.example.todo.dto;
+
+import java.util.UUID;
+
+public class DuplicateCandidateDto {
+    public UUID id;
+    public String title;
+    public double similarity;      // estimated Jaccard similarity of the words, 0..1
+
+    public DuplicateCandidateDto() {}
+    public DuplicateCandidateDto(UUID id, String title, double similarity) {
+        this.id = id;
+        this.title = title;
+        this.similarity = similarity;
+    }
+}
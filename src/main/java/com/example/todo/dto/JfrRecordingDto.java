@@ -0,0 +1,24 @@
+// src/main/java/com/example/todo/dto/JfrRecordingDto.java
+package com.example.todo.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class JfrRecordingDto {
+    public long id;
+    public String profile;          // JFR settings: "default" (~1% overhead) or "profile" (~2%, denser samples)
+    public String state;            // RUNNING, STOPPED, ...
+    public Instant startedAt;
+    public Duration duration;       // requested; the recording stops itself after this
+    public Long sizeBytes;          // .jfr size once stopped
+
+    public JfrRecordingDto() {}
+    public JfrRecordingDto(long id, String profile, String state, Instant startedAt, Duration duration, Long sizeBytes) {
+        this.id = id;
+        this.profile = profile;
+        this.state = state;
+        this.startedAt = startedAt;
+        this.duration = duration;
+        this.sizeBytes = sizeBytes;
+    }
+}
@@ -0,0 +1,29 @@
+// src/main/java/com/example/todo/dto/JfrSummaryDto.java
+package com.example.todo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JfrSummaryDto {
+    public long executionSamples;
+    public long allocationSamples;
+    public long sampledAllocationBytes;     // sum of sample weights, an estimate of what was allocated
+
+    public List<Entry> hotMethods = new ArrayList<>();       // innermost app frame on CPU samples (inclusive)
+    public List<Entry> topFrames = new ArrayList<>();        // leaf frame of CPU samples, any package (self time)
+    public List<Entry> allocationSites = new ArrayList<>();  // innermost app frame + line, by sampled bytes
+    public List<Entry> allocatedTypes = new ArrayList<>();   // allocated class, by sampled bytes
+
+    public static class Entry {
+        public String name;
+        public long value;          // samples, or bytes for allocations
+        public double percent;
+
+        public Entry() {}
+        public Entry(String name, long value, double percent) {
+            this.name = name;
+            this.value = value;
+            this.percent = percent;
+        }
+    }
+}
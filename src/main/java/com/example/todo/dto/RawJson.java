@@ -0,0 +1,52 @@
+// src/main/java/com/example/todo/dto/RawJson.java
+package com.example.todo.dto;
+
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JSON text that is written to the response as-is (like {@code @JsonRawValue}),
+ * so metadata read from the DB is never parsed into a Map just to be serialized again.
+ * The text must already be valid JSON — it comes from our own column.
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+public record RawJson(String json) {
+
+    public static RawJson of(String json) {
+        return json == null ? null : new RawJson(json);
+    }
+
+    @JsonCreator
+    public static RawJson fromNode(JsonNode node) {
+        return node == null || node.isNull() ? null : new RawJson(node.toString());
+    }
+
+    /** Parses on demand, for the rare Java caller that needs the values. */
+    public Map<String, Object> asMap() {
+        try {
+            return Json.MAP_READER.readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse metadata JSON", e);
+        }
+    }
+
+    @Override
+    public String toString() { return json; }
+
+    static class Serializer extends StdSerializer<RawJson> {
+        Serializer() { super(RawJson.class); }
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeRawValue(value.json());
+        }
+    }
+}
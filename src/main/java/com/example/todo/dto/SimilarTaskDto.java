@@ -0,0 +1,17 @@
+// src/main/java/com/example/todo/dto/SimilarTaskDto.java
+package com.example.todo.dto;
+
+import java.util.UUID;
+
+public class SimilarTaskDto {
+    public UUID id;
+    public String title;
+    public double similarity;      // cosine of the n-gram vectors, -1..1
+
+    public SimilarTaskDto() {}
+    public SimilarTaskDto(UUID id, String title, double similarity) {
+        this.id = id;
+        this.title = title;
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,15 @@
+// src/main/java/com/example/todo/dto/TagFacetDto.java
+package com.example.todo.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TagFacetDto {
+    public String tag;
+    public long count;
+    public Map<String, Long> byStatus = new LinkedHashMap<>();    // "TODO" | "DONE"
+    public Map<String, Long> byPriority = new LinkedHashMap<>();  // "High" | "Medium" | "Low"
+
+    public TagFacetDto() {}
+    public TagFacetDto(String tag) { this.tag = tag; }
+}
@@ -4,7 +4,6 @@ package com.example.todo.dto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -19,10 +18,11 @@ public class TaskDto {
     public String status;          // "TODO"  | "DONE"
     public List<String> tags;
     public String source;
-    public Map<String,Object> metadata;
+    public RawJson metadata;        // passed through from the DB column as-is
     public UUID ownerId;
     public String ownerEmail;
     public Integer version;
     public OffsetDateTime createdAt;
     public OffsetDateTime updatedAt;
+    public List<DuplicateCandidateDto> possibleDuplicates;  // create response only: similar tasks the caller already owns
 }
@@ -0,0 +1,17 @@
+package com.example.todo.dto;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class UserTaskStatsDto {
+    public long total;
+    public long open;
+    public long done;
+    public Map<String, Long> openByPriority = new LinkedHashMap<>(); // "High" | "Medium" | "Low"
+    public long overdue;   // open, due before today (UTC)
+    public long dueToday;  // open, due today (UTC)
+    public OffsetDateTime updatedAt;
+
+    public UserTaskStatsDto() {}
+}
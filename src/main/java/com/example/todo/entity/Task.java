@@ -53,10 +53,10 @@ public class Task {
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
-    // вместо jsonb с кастомным типом → LOB TEXT
-    @Lob
-    @Column(name = "metadata", columnDefinition = "TEXT")
-    private String metadata; // JSON как строка (можно сериализовать вручную через Jackson)
+    // jsonb; держим как строку — Hibernate передаёт JSON-текст без разбора
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "metadata", columnDefinition = "jsonb")
+    private String metadata;
 
     private String source;
 
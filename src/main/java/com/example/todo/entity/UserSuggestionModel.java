@@ -0,0 +1,61 @@
+package com.example.todo.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+// знімок NaiveBayesModel користувача; пишеться native upsert'ом з UserSuggestionModelRepository
+@Entity
+@Immutable
+@Table(name = "user_suggestion_model")
+public class UserSuggestionModel {
+
+    @Id
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "snapshot", columnDefinition = "bytea", nullable = false)
+    private byte[] snapshot;
+
+    @Column(name = "documents", nullable = false)
+    private int documents;
+
+    // when the model was last rebuilt from the task table (not when the snapshot was written)
+    @Column(name = "built_at", nullable = false)
+    private OffsetDateTime builtAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    public UserSuggestionModel() {}
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public byte[] getSnapshot() { return snapshot; }
+    public void setSnapshot(byte[] snapshot) { this.snapshot = snapshot; }
+
+    public int getDocuments() { return documents; }
+    public void setDocuments(int documents) { this.documents = documents; }
+
+    public OffsetDateTime getBuiltAt() { return builtAt; }
+    public void setBuiltAt(OffsetDateTime builtAt) { this.builtAt = builtAt; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserSuggestionModel that)) return false;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(userId);
+    }
+}
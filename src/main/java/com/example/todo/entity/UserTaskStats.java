@@ -0,0 +1,88 @@
+package com.example.todo.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+// читается одним PK-lookup; пишется только native upsert'ами из UserTaskStatsRepository
+@Entity
+@Immutable
+@Table(name = "user_task_stats")
+public class UserTaskStats {
+
+    @Id
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "total", nullable = false)
+    private int total;
+
+    @Column(name = "open_count", nullable = false)
+    private int openCount;
+
+    @Column(name = "done_count", nullable = false)
+    private int doneCount;
+
+    @Column(name = "open_high", nullable = false)
+    private int openHigh;
+
+    @Column(name = "open_med", nullable = false)
+    private int openMed;
+
+    @Column(name = "open_low", nullable = false)
+    private int openLow;
+
+    // {"yyyy-MM-dd": openTasksDueThatDay}, UTC days
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "due_buckets", columnDefinition = "jsonb", nullable = false)
+    private String dueBuckets;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    public UserTaskStats() {}
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getOpenCount() { return openCount; }
+    public void setOpenCount(int openCount) { this.openCount = openCount; }
+
+    public int getDoneCount() { return doneCount; }
+    public void setDoneCount(int doneCount) { this.doneCount = doneCount; }
+
+    public int getOpenHigh() { return openHigh; }
+    public void setOpenHigh(int openHigh) { this.openHigh = openHigh; }
+
+    public int getOpenMed() { return openMed; }
+    public void setOpenMed(int openMed) { this.openMed = openMed; }
+
+    public int getOpenLow() { return openLow; }
+    public void setOpenLow(int openLow) { this.openLow = openLow; }
+
+    public String getDueBuckets() { return dueBuckets; }
+    public void setDueBuckets(String dueBuckets) { this.dueBuckets = dueBuckets; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserTaskStats that)) return false;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(userId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.todo.exception;
 
+import com.example.todo.profiling.JfrProfiler;
 import com.example.todo.security.FirebaseIdTokenVerifier;
 import com.example.todo.service.TaskService.PreconditionFailedException;
 import jakarta.persistence.EntityNotFoundException;
@@ -74,6 +75,12 @@ public class RestExceptionHandler {
                 .body(basic(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage()));
     }
 
+    @ExceptionHandler(JfrProfiler.RecordingConflict.class)
+    public ResponseEntity<Object> handleRecordingConflict(JfrProfiler.RecordingConflict ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(basic(HttpStatus.CONFLICT, "Conflict", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAll(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
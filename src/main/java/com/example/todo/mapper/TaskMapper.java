@@ -2,12 +2,12 @@ package com.example.todo.mapper;
 
 import com.example.todo.dto.TaskCreateDto;
 import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.RawJson;
 import com.example.todo.dto.TaskPatchDto;
 import com.example.todo.entity.Task;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.todo.util.Json;
 import org.mapstruct.*;
 
 import java.util.Map;
@@ -22,7 +22,8 @@ public interface TaskMapper {
     @Mapping(target = "ownerId", source = "owner.id")
     @Mapping(target = "ownerEmail", source = "owner.email")
     @Mapping(target = "status", expression = "java(entity.getStatus() == null ? null : entity.getStatus().name())")
-    @Mapping(target = "metadata", source = "metadata", qualifiedByName = "jsonToMap")
+    @Mapping(target = "metadata", source = "metadata", qualifiedByName = "jsonToRaw")
+    @Mapping(target = "possibleDuplicates", ignore = true) // filled by TaskService on create only
     TaskDto toDto(Task entity);
 
     // ===== Create DTO → Entity =====
@@ -71,11 +72,17 @@ public interface TaskMapper {
     default TaskStatus toDbStatus(Boolean completed) { return completed != null && completed ? TaskStatus.DONE : TaskStatus.TODO; }
 
     // ===== metadata JSON ↔ Map =====
+    // read path: no parsing, the stored JSON text goes straight into the response
+    @Named("jsonToRaw")
+    default RawJson jsonToRaw(String json) {
+        return RawJson.of(json);
+    }
+
     @Named("jsonToMap")
     default Map<String, Object> jsonToMap(String json) {
         if (json == null) return null;
         try {
-            return new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+            return Json.MAP_READER.readValue(json);
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse metadata JSON", e);
         }
@@ -85,7 +92,7 @@ public interface TaskMapper {
     default String mapToJson(Map<String, Object> map) {
         if (map == null) return null;
         try {
-            return new ObjectMapper().writeValueAsString(map);
+            return Json.WRITER.writeValueAsString(map);
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize metadata map", e);
         }
@@ -0,0 +1,56 @@
+// src/main/java/com/example/todo/metrics/HibernateRequestListeners.java
+package com.example.todo.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Counts SQL statements, entity loads and lazy collection fetches into {@link RequestStats#current()}.
+ * Hibernate's own statistics are global; these answer "how much ORM work did this request do".
+ * Registered through {@code hibernate.session_factory.statement_inspector} and
+ * {@code hibernate.integrator_provider} (see {@code MetricsConfig}).
+ */
+public final class HibernateRequestListeners
+        implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener, Integrator {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStats s = RequestStats.current();
+        if (s != null) s.statements++;
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStats s = RequestStats.current();
+        if (s != null) s.entityLoads++;
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStats s = RequestStats.current();
+        if (s != null) s.collectionFetches++;
+    }
+
+    // appended after Hibernate's defaults, so they only observe
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,139 @@
+// src/main/java/com/example/todo/metrics/JdbcTiming.java
+package com.example.todo.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JDBC-level view of a request: every statement that reaches the driver (JPA, native, JdbcTemplate)
+ * with its wall time, plus the wait for a pooled connection. Installed by wrapping the application
+ * DataSource in a datasource-proxy {@link ProxyDataSource} (see {@code MetricsConfig}); unwrap()
+ * still reaches Hikari, so pool metrics and driver-specific APIs keep working.
+ * <p>
+ * Inside a traced operation each statement also becomes a {@code todo.jdbc} span (statement text,
+ * operation, rows affected); statements outside one (Flyway, startup) are not traced.
+ */
+public final class JdbcTiming implements QueryExecutionListener {
+
+    // long IN lists / generated SQL are cut for the log, the statement shape is what matters
+    static final int MAX_SQL_CHARS = 500;
+
+    private static final String OBSERVATION = "todo.jdbc";
+
+    // set once the context is up (see observeWith): the DataSource is wrapped long before the tracing beans exist
+    volatile ObservationRegistry observations = ObservationRegistry.NOOP;
+
+    JdbcTiming() { }
+
+    public static DataSource wrap(DataSource dataSource) {
+        JdbcTiming timing = new JdbcTiming();
+        TimedDataSource proxy = new TimedDataSource(dataSource, timing);
+        proxy.setProxyConfig(ProxyConfig.Builder.create()
+                .dataSourceName("todo")
+                .queryListener(timing)
+                .build());
+        return proxy;
+    }
+
+    /** Starts a {@code todo.jdbc} span per statement on a DataSource returned by {@link #wrap}. */
+    public static void observeWith(DataSource dataSource, ObservationRegistry observations) {
+        if (dataSource instanceof TimedDataSource t) t.timing.observations = observations;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStats s = RequestStats.current();
+        if (s != null) s.jdbcStart = System.nanoTime();
+        ObservationRegistry registry = observations;
+        if (registry.getCurrentObservation() != null) {
+            String query = query(queryInfoList);
+            Observation observation = Observation.createNotStarted(OBSERVATION, registry)
+                    .contextualName("sql " + operation(query))
+                    .lowCardinalityKeyValue("db.operation", operation(query))
+                    .highCardinalityKeyValue("db.statement", query);
+            if (execInfo.isBatch()) observation.highCardinalityKeyValue("db.batch_size", Integer.toString(execInfo.getBatchSize()));
+            execInfo.addCustomValue(OBSERVATION, observation.start());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation != null) {
+            long rows = rows(execInfo.getResult());
+            if (rows >= 0) observation.highCardinalityKeyValue("db.rows_affected", Long.toString(rows));
+            if (execInfo.getThrowable() != null) observation.error(execInfo.getThrowable());
+            observation.stop();
+        }
+        RequestStats s = RequestStats.current();
+        if (s == null || s.jdbcStart == 0) return;
+        long nanos = System.nanoTime() - s.jdbcStart;
+        s.jdbcStart = 0;
+        s.jdbcExecutions++;
+        s.jdbcNanos += nanos;
+        s.addSql(query(queryInfoList), nanos, execInfo.isBatch() ? execInfo.getBatchSize() : 1);
+    }
+
+    private static String query(List<QueryInfo> queryInfoList) {
+        String query = queryInfoList.isEmpty() ? "?" : queryInfoList.get(0).getQuery();
+        return query.length() > MAX_SQL_CHARS ? query.substring(0, MAX_SQL_CHARS) + "..." : query;
+    }
+
+    // first keyword; low cardinality on purpose (it becomes a tag of the todo.jdbc timer)
+    static String operation(String sql) {
+        String s = sql.stripLeading();
+        int end = 0;
+        while (end < s.length() && Character.isLetter(s.charAt(end))) end++;
+        String op = s.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (op) {
+            case "select", "insert", "update", "delete", "with", "call" -> op;
+            default -> "other";
+        };
+    }
+
+    // executeUpdate / executeBatch results; queries return a ResultSet (rows unknown until read)
+    private static long rows(Object result) {
+        if (result instanceof Integer n) return n;
+        if (result instanceof Long n) return n;
+        if (result instanceof int[] batch) {
+            long sum = 0;
+            for (int n : batch) if (n > 0) sum += n;
+            return sum;
+        }
+        return -1;
+    }
+
+    // getConnection() is where a saturated pool shows up: time it separately from the statements
+    static final class TimedDataSource extends ProxyDataSource {
+
+        private final JdbcTiming timing;
+
+        TimedDataSource(DataSource target, JdbcTiming timing) {
+            super(target);
+            this.timing = timing;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            RequestStats s = RequestStats.current();
+            if (s == null) return super.getConnection();
+            long t0 = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                s.poolNanos += System.nanoTime() - t0;
+            }
+        }
+    }
+}
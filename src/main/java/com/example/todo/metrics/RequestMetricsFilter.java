@@ -0,0 +1,164 @@
+// src/main/java/com/example/todo/metrics/RequestMetricsFilter.java
+package com.example.todo.metrics;
+
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens {@link RequestStats} for the request and, when it completes:
+ * <ul>
+ *   <li>records {@code todo.request.statements}, {@code .entity.loads}, {@code .collection.fetches}
+ *       and {@code todo.request.db} per URI template (same {@code uri} values as
+ *       {@code http.server.requests}, so they line up on a dashboard);</li>
+ *   <li>adds a {@code Server-Timing} header (auth, pool, db, app, write, total) when an admin asks
+ *       for it with {@code X-Debug-Timing: 1} — the JWT filter buffers the body for those requests
+ *       ({@link RequestStats#responseFor}) once it knows the caller is an admin, so the header can
+ *       still include serialization;</li>
+ *   <li>logs requests slower than {@code todo.diagnostics.slow-request} as one JSON line with the
+ *       SQL they ran (logger {@code com.example.todo.slow-request}).</li>
+ * </ul>
+ * Registered by {@code MetricsConfig}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String DEBUG_HEADER = "X-Debug-Timing";
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.example.todo.slow-request");
+
+    private final MeterRegistry meters;
+    private final boolean serverTiming;
+    private final long slowNanos;
+    private final int maxSql;
+
+    public RequestMetricsFilter(MeterRegistry meters, boolean serverTiming, Duration slowRequest, int maxSql) {
+        this.meters = meters;
+        this.serverTiming = serverTiming;
+        this.slowNanos = slowRequest.isZero() ? Long.MAX_VALUE : slowRequest.toNanos();
+        this.maxSql = maxSql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStats stats = RequestStats.begin(maxSql);
+        stats.timingRequested = serverTiming && "1".equals(request.getHeader(DEBUG_HEADER));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStats.end();
+            long total = System.nanoTime() - stats.startNanos;
+            String uri = uri(request);
+            record(uri, stats);
+            ContentCachingResponseWrapper buffered = stats.timingBuffer;
+            if (buffered != null) {
+                buffered.setHeader(SERVER_TIMING, serverTiming(stats, total));
+                buffered.copyBodyToResponse();
+            }
+            if (total >= slowNanos && slowLog.isWarnEnabled()) {
+                slowLog.warn(slowRequest(request, response.getStatus(), uri, stats, total));
+            }
+        }
+    }
+
+    private void record(String uri, RequestStats stats) {
+        summary("todo.request.statements", "SQL statements prepared per request", uri).record(stats.statements);
+        summary("todo.request.entity.loads", "Entities loaded per request", uri).record(stats.entityLoads);
+        summary("todo.request.collection.fetches", "Lazy collections initialized per request", uri).record(stats.collectionFetches);
+        Timer.builder("todo.request.db")
+                .description("JDBC statement time per request")
+                .tag("uri", uri)
+                .register(meters)
+                .record(stats.jdbcNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary summary(String name, String description, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .register(meters);
+    }
+
+    // route template set by the handler mapping; unmatched requests (404s, scanners) share one tag value
+    static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String p ? p : "UNKNOWN";
+    }
+
+    static String serverTiming(RequestStats s, long totalNanos) {
+        return "auth;dur=" + ms(s.authNanos)
+                + ", pool;dur=" + ms(s.poolNanos)
+                + ", db;dur=" + ms(s.jdbcNanos) + ";desc=\"" + s.jdbcExecutions + " statements\""
+                + ", app;dur=" + ms(s.handlerNanos())
+                + ", write;dur=" + ms(s.writeNanos())
+                + ", total;dur=" + ms(totalNanos);
+    }
+
+    static String slowRequest(HttpServletRequest request, int status, String uri, RequestStats s, long totalNanos) {
+        Map<String, Object> e = new LinkedHashMap<>();
+        e.put("event", "slow_request");
+        e.put("method", request.getMethod());
+        e.put("uri", uri);
+        e.put("path", request.getRequestURI());
+        e.put("status", status);
+        e.put("userId", s.userId);
+        e.put("totalMs", millis(totalNanos));
+        e.put("authMs", millis(s.authNanos));
+        e.put("poolMs", millis(s.poolNanos));
+        e.put("dbMs", millis(s.jdbcNanos));
+        e.put("appMs", millis(s.handlerNanos()));
+        e.put("writeMs", millis(s.writeNanos()));
+        e.put("statements", s.jdbcExecutions);
+        e.put("entityLoads", s.entityLoads);
+        e.put("collectionFetches", s.collectionFetches);
+        List<Map<String, Object>> sql = new ArrayList<>(s.sql.size());
+        for (RequestStats.Sql q : s.sql) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("ms", millis(q.nanos()));
+            if (q.batchSize() > 1) row.put("batch", q.batchSize());
+            row.put("sql", q.sql());
+            sql.add(row);
+        }
+        e.put("sql", sql);
+        if (s.sqlDropped > 0) e.put("sqlDropped", s.sqlDropped);
+        try {
+            return Json.MAPPER.writeValueAsString(e);
+        } catch (JsonProcessingException ex) {
+            return e.toString();
+        }
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,123 @@
+// src/main/java/com/example/todo/metrics/RequestStats.java
+package com.example.todo.metrics;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * What one request spent its time on, bound to the request thread by {@link RequestMetricsFilter}.
+ * Fed by {@link HibernateRequestListeners} (ORM counters), {@link JdbcTiming} (pool wait, statements,
+ * DB time), the JWT filter (auth) and {@link RequestTimingInterceptor} / {@link ServerTimingAdvice}
+ * (handler and response-writing boundaries). Work on other threads (async executors, schedulers)
+ * has no current stats and is not counted.
+ */
+public final class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    /** One executed statement for the slow-request log; batches appear once with their size. */
+    public record Sql(String sql, long nanos, int batchSize) { }
+
+    final long startNanos;
+    final int maxSql;
+
+    long statements;
+    long entityLoads;
+    long collectionFetches;
+
+    long authNanos;
+    long poolNanos;
+    long jdbcExecutions;
+    long jdbcNanos;
+    long jdbcStart;
+    final List<Sql> sql = new ArrayList<>();
+    int sqlDropped;
+
+    long handlerStart;
+    long writeStart;
+    long writeEnd;
+
+    UUID userId;
+    boolean admin;
+
+    boolean timingRequested;                    // X-Debug-Timing: 1 with todo.diagnostics.server-timing on
+    ContentCachingResponseWrapper timingBuffer; // set once the caller turned out to be an admin
+
+    RequestStats(long startNanos, int maxSql) {
+        this.startNanos = startNanos;
+        this.maxSql = maxSql;
+    }
+
+    /** Stats of the request running on this thread, or null outside one. */
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    static RequestStats begin(int maxSql) {
+        RequestStats s = new RequestStats(System.nanoTime(), maxSql);
+        CURRENT.set(s);
+        return s;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Time spent authenticating the caller (token parse, signature, revocation check). */
+    public void addAuth(long nanos) {
+        authNanos += nanos;
+    }
+
+    /** The caller authenticated as {@code userId}; admins may get the Server-Timing header. */
+    public void authenticated(UUID userId, boolean admin) {
+        this.userId = userId;
+        this.admin = admin;
+    }
+
+    /**
+     * The response to pass down the chain once the caller is known: buffered for an admin who asked
+     * for Server-Timing (so the header can still cover serialization), {@code response} itself for
+     * everyone else — nobody else gets to make the server hold a whole body in memory.
+     */
+    public HttpServletResponse responseFor(HttpServletResponse response) {
+        if (!timingRequested || !admin || timingBuffer != null) return response;
+        timingBuffer = new ContentCachingResponseWrapper(response);
+        return timingBuffer;
+    }
+
+    void addSql(String query, long nanos, int batchSize) {
+        if (sql.size() < maxSql) sql.add(new Sql(query, nanos, batchSize));
+        else sqlDropped++;
+    }
+
+    public long statements() { return statements; }
+
+    public long entityLoads() { return entityLoads; }
+
+    public long collectionFetches() { return collectionFetches; }
+
+    public long jdbcExecutions() { return jdbcExecutions; }
+
+    public long jdbcNanos() { return jdbcNanos; }
+
+    public long poolNanos() { return poolNanos; }
+
+    public long authNanos() { return authNanos; }
+
+    public List<Sql> sql() { return sql; }
+
+    /** Controller time up to the start of body writing (or to completion when nothing was written). */
+    long handlerNanos() {
+        if (handlerStart == 0) return 0;
+        long end = writeStart != 0 ? writeStart : writeEnd;
+        return end == 0 ? 0 : end - handlerStart;
+    }
+
+    long writeNanos() {
+        return writeStart != 0 && writeEnd != 0 ? writeEnd - writeStart : 0;
+    }
+}
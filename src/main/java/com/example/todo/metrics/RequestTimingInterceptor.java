@@ -0,0 +1,23 @@
+// src/main/java/com/example/todo/metrics/RequestTimingInterceptor.java
+package com.example.todo.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Marks where the controller starts and where the request is done (after the body is written). */
+public class RequestTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStats s = RequestStats.current();
+        if (s != null && s.handlerStart == 0) s.handlerStart = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStats s = RequestStats.current();
+        if (s != null) s.writeEnd = System.nanoTime();
+    }
+}
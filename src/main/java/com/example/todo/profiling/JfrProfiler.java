@@ -0,0 +1,219 @@
+// src/main/java/com/example/todo/profiling/JfrProfiler.java
+package com.example.todo.profiling;
+
+import com.example.todo.dto.JfrRecordingDto;
+import com.example.todo.dto.JfrSummaryDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-demand Java Flight Recorder sessions for /api/admin/jfr. One recording at a time; it runs with
+ * one of the JDK's settings files and stops itself after the requested duration (or on /stop), the
+ * .jfr is written to {@code todo.profiling.directory}. The last {@code keep-recordings} files are
+ * kept for download, older ones are deleted.
+ */
+@Component
+public class JfrProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrProfiler.class);
+
+    static final Set<String> PROFILES = Set.of("default", "profile");
+    static final String APP_PACKAGE = "com.example.todo.";
+
+    /** Another recording is still running (409). */
+    public static class RecordingConflict extends RuntimeException {
+        public RecordingConflict(String msg) { super(msg); }
+    }
+
+    private final String directory;
+    private final Duration maxDuration;
+    private final int keep;
+
+    private Path dir;
+    private long nextId = 1;
+    private final Map<Long, Session> sessions = new LinkedHashMap<>();
+
+    private static final class Session {
+        final long id;
+        final String profile;
+        final Recording recording;
+        final Path file;
+        final Instant startedAt;
+        final Duration duration;
+        JfrSummaryDto summary;
+        int summaryTop;
+
+        Session(long id, String profile, Recording recording, Path file, Instant startedAt, Duration duration) {
+            this.id = id;
+            this.profile = profile;
+            this.recording = recording;
+            this.file = file;
+            this.startedAt = startedAt;
+            this.duration = duration;
+        }
+
+        boolean done() {
+            RecordingState s = recording.getState();
+            return s == RecordingState.STOPPED || s == RecordingState.CLOSED;
+        }
+    }
+
+    public JfrProfiler(@Value("${todo.profiling.directory:}") String directory,
+                       @Value("${todo.profiling.max-duration:PT5M}") Duration maxDuration,
+                       @Value("${todo.profiling.keep-recordings:3}") int keep) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.keep = keep;
+    }
+
+    public synchronized JfrRecordingDto start(String profile, Duration duration) {
+        if (!PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("profile must be one of " + PROFILES);
+        }
+        if (duration == null || duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be positive and at most " + maxDuration);
+        }
+        for (Session s : sessions.values()) {
+            if (!s.done()) throw new RecordingConflict("Recording " + s.id + " is still running");
+        }
+
+        long id = nextId++;
+        Path file = directory().resolve("todo-" + id + ".jfr");
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(profile));
+            recording.setName("todo-" + id);
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setDestination(file);     // written here when the duration is up or on stop()
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot set up JFR recording", e);
+        }
+        recording.start();
+        Session session = new Session(id, profile, recording, file, Instant.now(), duration);
+        sessions.put(id, session);
+        evictOld();
+        log.info("JFR recording {} started: profile={}, duration={}", id, profile, duration);
+        return toDto(session);
+    }
+
+    public synchronized JfrRecordingDto status(long id) {
+        return toDto(session(id));
+    }
+
+    public synchronized JfrRecordingDto stop(long id) {
+        Session s = session(id);
+        if (!s.done()) {
+            s.recording.stop();
+            log.info("JFR recording {} stopped early", id);
+        }
+        return toDto(s);
+    }
+
+    /** The .jfr of a finished recording. */
+    public synchronized Path file(long id) {
+        Session s = session(id);
+        if (!s.done() || !Files.exists(s.file)) {
+            throw new RecordingConflict("Recording " + id + " is still running");
+        }
+        return s.file;
+    }
+
+    public JfrSummaryDto summary(long id, int top) {
+        Path file = file(id);
+        synchronized (this) {
+            Session s = session(id);
+            if (s.summary != null && s.summaryTop == top) return s.summary;
+        }
+        try {
+            // parsed outside the lock: a few seconds for a 5-minute "profile" recording
+            JfrSummaryDto dto = JfrSummaries.summarize(file, APP_PACKAGE, top);
+            synchronized (this) {
+                Session s = session(id);
+                s.summary = dto;
+                s.summaryTop = top;
+            }
+            return dto;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Session s : sessions.values()) discard(s);
+        sessions.clear();
+    }
+
+    private Session session(long id) {
+        Session s = sessions.get(id);
+        if (s == null) throw new EntityNotFoundException("Recording not found");
+        return s;
+    }
+
+    private void evictOld() {
+        Iterator<Session> it = sessions.values().iterator();
+        while (sessions.size() > keep && it.hasNext()) {
+            Session oldest = it.next();
+            if (!oldest.done()) break;
+            discard(oldest);
+            it.remove();
+        }
+    }
+
+    private static void discard(Session s) {
+        s.recording.close();
+        try {
+            Files.deleteIfExists(s.file);
+        } catch (IOException e) {
+            log.warn("Cannot delete {}: {}", s.file, e.toString());
+        }
+    }
+
+    private Path directory() {
+        if (dir == null) {
+            try {
+                dir = StringUtils.hasText(directory)
+                        ? Files.createDirectories(Path.of(directory))
+                        : Files.createTempDirectory("todo-jfr");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return dir;
+    }
+
+    private static JfrRecordingDto toDto(Session s) {
+        Long size = null;
+        if (s.done()) {
+            try {
+                size = Files.exists(s.file) ? Files.size(s.file) : null;
+            } catch (IOException ignored) {
+                // size stays unknown
+            }
+        }
+        // JFR closes a recording with a destination once it is written; for callers both mean "done"
+        String state = s.done() ? RecordingState.STOPPED.name() : s.recording.getState().name();
+        return new JfrRecordingDto(s.id, s.profile, state, s.startedAt, s.duration, size);
+    }
+}
@@ -0,0 +1,97 @@
+// src/main/java/com/example/todo/profiling/JfrSummaries.java
+package com.example.todo.profiling;
+
+import com.example.todo.dto.JfrSummaryDto;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a .jfr file with {@code jdk.jfr.consumer} and ranks:
+ * <ul>
+ *   <li>hot methods — per CPU sample, the innermost frame in our packages (so a sample spent inside
+ *       Jackson counts for the TaskMapper / controller method that called it);</li>
+ *   <li>top frames — the leaf frame of each CPU sample, whatever the package;</li>
+ *   <li>allocation sites — sampled allocation weight by innermost app frame and line;</li>
+ *   <li>allocated types — sampled allocation weight by class.</li>
+ * </ul>
+ * Allocation weight comes from {@code jdk.ObjectAllocationSample} (JDK 16+ default/profile settings)
+ * and, when enabled, the TLAB events.
+ */
+public final class JfrSummaries {
+
+    private JfrSummaries() {}
+
+    public static JfrSummaryDto summarize(Path jfr, String packagePrefix, int top) throws IOException {
+        Map<String, Long> hot = new HashMap<>();
+        Map<String, Long> leaf = new HashMap<>();
+        Map<String, Long> sites = new HashMap<>();
+        Map<String, Long> types = new HashMap<>();
+        JfrSummaryDto dto = new JfrSummaryDto();
+
+        try (RecordingFile file = new RecordingFile(jfr)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent e = file.readEvent();
+                switch (e.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        RecordedStackTrace stack = e.getStackTrace();
+                        if (stack == null || stack.getFrames().isEmpty()) continue;
+                        dto.executionSamples++;
+                        leaf.merge(method(stack.getFrames().get(0)), 1L, Long::sum);
+                        RecordedFrame app = firstAppFrame(stack, packagePrefix);
+                        if (app != null) hot.merge(method(app), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocation(dto, e, e.getLong("weight"), packagePrefix, sites, types);
+                    case "jdk.ObjectAllocationInNewTLAB" -> allocation(dto, e, e.getLong("tlabSize"), packagePrefix, sites, types);
+                    case "jdk.ObjectAllocationOutsideTLAB" -> allocation(dto, e, e.getLong("allocationSize"), packagePrefix, sites, types);
+                    default -> { }
+                }
+            }
+        }
+
+        dto.hotMethods = top(hot, dto.executionSamples, top);
+        dto.topFrames = top(leaf, dto.executionSamples, top);
+        dto.allocationSites = top(sites, dto.sampledAllocationBytes, top);
+        dto.allocatedTypes = top(types, dto.sampledAllocationBytes, top);
+        return dto;
+    }
+
+    private static void allocation(JfrSummaryDto dto, RecordedEvent e, long bytes, String packagePrefix,
+                                   Map<String, Long> sites, Map<String, Long> types) {
+        dto.allocationSamples++;
+        dto.sampledAllocationBytes += bytes;
+        if (e.getClass("objectClass") != null) types.merge(e.getClass("objectClass").getName(), bytes, Long::sum);
+        RecordedStackTrace stack = e.getStackTrace();
+        RecordedFrame app = stack == null ? null : firstAppFrame(stack, packagePrefix);
+        if (app != null) sites.merge(method(app) + ":" + app.getLineNumber(), bytes, Long::sum);
+    }
+
+    private static RecordedFrame firstAppFrame(RecordedStackTrace stack, String packagePrefix) {
+        for (RecordedFrame f : stack.getFrames()) {
+            if (f.isJavaFrame() && f.getMethod().getType().getName().startsWith(packagePrefix)) return f;
+        }
+        return null;
+    }
+
+    private static String method(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName();
+    }
+
+    private static List<JfrSummaryDto.Entry> top(Map<String, Long> counts, long total, int n) {
+        List<JfrSummaryDto.Entry> out = new ArrayList<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(n)
+                .forEach(en -> out.add(new JfrSummaryDto.Entry(en.getKey(), en.getValue(),
+                        total == 0 ? 0 : Math.round(en.getValue() * 1000.0 / total) / 10.0)));
+        return out;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todo.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * Filter on a single top-level metadata key, compared as text ({@code metadata ->> key}).
+ * Either {@code eq}, or a half-open range {@code [from, to)} (not both); range bounds are optional.
+ */
+public record MetadataKeyFilter(String key, @Nullable String eq, @Nullable String from, @Nullable String to) {
+
+    // keys end up as SQL literals (the planner only matches an expression index on a literal key), so keep them boring
+    private static final Pattern KEY = Pattern.compile("[A-Za-z][A-Za-z0-9_]{0,47}");
+
+    public MetadataKeyFilter {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid metadata key: " + key);
+        }
+        if (eq == null && from == null && to == null) {
+            throw new IllegalArgumentException("Metadata key filter needs a value or a range");
+        }
+        if (eq != null && (from != null || to != null)) {
+            throw new IllegalArgumentException("Metadata key filter takes either a value or a range, not both");
+        }
+    }
+
+    public static boolean isValidKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    public boolean isRange() {
+        return eq == null && (from != null || to != null);
+    }
+}
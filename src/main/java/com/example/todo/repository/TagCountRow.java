@@ -0,0 +1,9 @@
+package com.example.todo.repository;
+
+// one row of the tag facet aggregate: (tag, status, priority) → count
+public interface TagCountRow {
+    String getTag();
+    String getStatus();
+    String getPriority();
+    long getCnt();
+}
@@ -0,0 +1,8 @@
+package com.example.todo.repository;
+
+import java.util.UUID;
+
+// task text + owner, for (re)building the per-node similarity index
+public interface TaskIndexRow extends TaskTextRow {
+    UUID getOwnerId();
+}
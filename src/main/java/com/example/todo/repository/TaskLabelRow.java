@@ -0,0 +1,10 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.enums.TaskPriority;
+
+// title + the labels the user gave it, for (re)training the suggestion model
+public interface TaskLabelRow {
+    String getTitle();
+    String getCategory();
+    TaskPriority getPriority();
+}
@@ -13,16 +13,25 @@ import java.util.UUID;
 
 public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
 
-    @Query("select t from Task t left join com.example.todo.entity.TaskShare s on s.task = t where t.id = :id and (t.owner.id = :userId or s.user.id = :userId)")
+    // task_access (V8) holds the owner and every share: one primary-key probe (user_id, task_id)
+    @Query(value = """
+        SELECT t.*
+        FROM task_access a
+        JOIN task t ON t.id = a.task_id
+        WHERE a.user_id = :userId AND a.task_id = :id
+    """, nativeQuery = true)
     Optional<Task> findAuthorizedById(@Param("id") UUID id, @Param("userId") UUID userId);
 
+    // walks the caller's task_access range newest first (idx_task_access_user_updated) and stops at
+    // 100 matches; an OR of task.owner_id with task_share can use no index at all (see QueryPlanIT)
     @Query(value = """
-        SELECT DISTINCT t.*
-        FROM task t
-        LEFT JOIN task_share s ON s.task_id = t.id
-        WHERE (t.owner_id = :userId OR s.user_id = :userId)
+        SELECT t.*
+        FROM task_access a
+        JOIN task t ON t.id = a.task_id
+        WHERE a.user_id = :userId
           AND (:status IS NULL OR t.status = CAST(:status AS task_status))
           AND (:priority IS NULL OR t.priority = CAST(:priority AS task_priority))
+          AND (:metadata IS NULL OR t.metadata @> CAST(:metadata AS jsonb))
           AND (
               :q IS NULL
               OR t.title       ILIKE :q
@@ -35,11 +44,38 @@ public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositor
                       AND tt.tag ILIKE :q
               )
           )
-        ORDER BY t.updated_at DESC
+        ORDER BY a.updated_at DESC
         LIMIT 100
     """, nativeQuery = true)
     List<Task> findAllAccessibleNative(@Param("userId") UUID userId,
                                        @Param("q") String q,
                                        @Param("status") String status,
-                                       @Param("priority") String priority);
+                                       @Param("priority") String priority,
+                                       @Param("metadata") String metadata);
+
+    // single aggregate over the caller's accessible tasks; folded into per-tag facets in TaskService
+    @Query(value = """
+        SELECT tt.tag AS tag, CAST(t.status AS text) AS status, CAST(t.priority AS text) AS priority, COUNT(*) AS cnt
+        FROM task_access a
+        JOIN task t ON t.id = a.task_id
+        JOIN task_tags tt ON tt.task_id = t.id
+        WHERE a.user_id = :userId
+        GROUP BY tt.tag, t.status, t.priority
+    """, nativeQuery = true)
+    List<TagCountRow> countTagsAccessible(@Param("userId") UUID userId);
+
+    @Query("select t.id as id, t.title as title, t.description as description from Task t where t.owner.id = :ownerId")
+    List<TaskTextRow> findTextsByOwner(@Param("ownerId") UUID ownerId);
+
+    @Query("select t.title as title, t.category as category, t.priority as priority from Task t where t.owner.id = :ownerId")
+    List<TaskLabelRow> findLabelsByOwner(@Param("ownerId") UUID ownerId);
+
+    // most recently updated first: what the similarity index keeps when it can't hold everything
+    @Query(value = """
+        SELECT t.id AS id, t.owner_id AS ownerId, t.title AS title, t.description AS description
+        FROM task t
+        ORDER BY t.updated_at DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<TaskIndexRow> findRecentForIndex(@Param("limit") int limit);
 }
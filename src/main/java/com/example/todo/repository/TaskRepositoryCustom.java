@@ -6,8 +6,16 @@ import com.example.todo.entity.enums.TaskStatus;
 import org.springframework.lang.Nullable;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskRepositoryCustom {
     List<Task> findAllAccessible(UUID userId, @Nullable String q, @Nullable TaskStatus status, @Nullable TaskPriority priority);
+
+    // native list query with the key filter as (metadata ->> 'key'), so a promoted key's expression index is used
+    List<Task> findAllAccessibleByMetadataKey(UUID userId, MetadataKeyFilter filter, @Nullable String q,
+                                              @Nullable TaskStatus status, @Nullable TaskPriority priority,
+                                              @Nullable String metadataContains);
+
+    Optional<Task> findAccessibleByMetadataValue(UUID userId, String key, String value);
 }
@@ -3,6 +3,8 @@ package com.example.todo.repository;
 import com.example.todo.entity.TaskShare;
 import com.example.todo.entity.TaskShare.TaskShareId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,5 +13,8 @@ import java.util.UUID;
 public interface TaskShareRepository extends JpaRepository<TaskShare, TaskShareId> {
     Optional<TaskShare> findByTask_IdAndUser_Id(UUID taskId, UUID userId);
     List<TaskShare> findByTask_Id(UUID taskId);
-    void deleteByTask_IdAndUser_Id(UUID taskId, UUID userId);
+    long deleteByTask_IdAndUser_Id(UUID taskId, UUID userId);
+
+    @Query("select s.task.id from TaskShare s where s.user.id = :userId")
+    List<UUID> findTaskIdsSharedWith(@Param("userId") UUID userId);
 }
@@ -0,0 +1,10 @@
+package com.example.todo.repository;
+
+import java.util.UUID;
+
+// id + free text of a task, for building the duplicate-detection index without loading entities
+public interface TaskTextRow {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+}
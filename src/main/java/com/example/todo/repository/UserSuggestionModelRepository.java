@@ -0,0 +1,32 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.UserSuggestionModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface UserSuggestionModelRepository extends JpaRepository<UserSuggestionModel, UUID> {
+
+    // last writer wins; a snapshot never replaces one built more recently (by another node)
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO user_suggestion_model AS m (user_id, snapshot, documents, built_at, updated_at)
+        VALUES (:userId, :snapshot, :documents, :builtAt, now())
+        ON CONFLICT (user_id) DO UPDATE SET
+            snapshot   = EXCLUDED.snapshot,
+            documents  = EXCLUDED.documents,
+            built_at   = EXCLUDED.built_at,
+            updated_at = now()
+        WHERE m.built_at <= EXCLUDED.built_at
+        """, nativeQuery = true)
+    int upsert(@Param("userId") UUID userId,
+               @Param("snapshot") byte[] snapshot,
+               @Param("documents") int documents,
+               @Param("builtAt") OffsetDateTime builtAt);
+}
@@ -0,0 +1,109 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.UserTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, UUID> {
+
+    // adds deltas to a user's counters (creating the row on first use);
+    // a due-day move is expressed as -1 on dayOut and +1 on dayIn
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_task_stats AS s
+            (user_id, total, open_count, done_count, open_high, open_med, open_low, due_buckets, updated_at)
+        VALUES (:userId, :total, :open, :done, :high, :med, :low,
+                task_stats_bump(task_stats_bump(CAST('{}' AS jsonb), CAST(:dayOut AS text), -1), CAST(:dayIn AS text), 1),
+                now())
+        ON CONFLICT (user_id) DO UPDATE SET
+            total       = s.total + EXCLUDED.total,
+            open_count  = s.open_count + EXCLUDED.open_count,
+            done_count  = s.done_count + EXCLUDED.done_count,
+            open_high   = s.open_high + EXCLUDED.open_high,
+            open_med    = s.open_med + EXCLUDED.open_med,
+            open_low    = s.open_low + EXCLUDED.open_low,
+            due_buckets = task_stats_bump(task_stats_bump(s.due_buckets, CAST(:dayOut AS text), -1), CAST(:dayIn AS text), 1),
+            updated_at  = now()
+        """, nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("total") int total,
+                   @Param("open") int open,
+                   @Param("done") int done,
+                   @Param("high") int high,
+                   @Param("med") int med,
+                   @Param("low") int low,
+                   @Param("dayOut") String dayOut,
+                   @Param("dayIn") String dayIn);
+
+    @Query(value = "SELECT id FROM app_user WHERE (CAST(:after AS uuid) IS NULL OR id > CAST(:after AS uuid)) ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findUserIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    // row locks taken in id order (same order writers use), so a concurrent task write either
+    // commits before the recompute below sees it, or applies its delta on top of the fresh value
+    @Query(value = "SELECT user_id FROM user_task_stats WHERE user_id IN (:ids) ORDER BY user_id FOR UPDATE",
+            nativeQuery = true)
+    List<UUID> lockRows(@Param("ids") Collection<UUID> ids);
+
+    // recomputes the given users from task/task_share; only rows that actually differ are written,
+    // so the returned count is the number of drifted (or missing) rows
+    @Modifying
+    @Query(value = """
+        WITH acc AS (
+            SELECT owner_id AS user_id, id AS task_id FROM task WHERE owner_id IN (:ids)
+            UNION
+            SELECT user_id, task_id FROM task_share WHERE user_id IN (:ids)
+        ),
+        counts AS (
+            SELECT a.user_id,
+                   count(*) AS total,
+                   count(*) FILTER (WHERE t.status = 'TODO') AS open_count,
+                   count(*) FILTER (WHERE t.status = 'DONE') AS done_count,
+                   count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'HIGH') AS open_high,
+                   count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'MED')  AS open_med,
+                   count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'LOW')  AS open_low
+            FROM acc a JOIN task t ON t.id = a.task_id
+            GROUP BY a.user_id
+        ),
+        buckets AS (
+            SELECT user_id, jsonb_object_agg(day, cnt) AS due_buckets
+            FROM (
+                SELECT a.user_id, to_char(t.due_at AT TIME ZONE 'UTC', 'YYYY-MM-DD') AS day, count(*) AS cnt
+                FROM acc a JOIN task t ON t.id = a.task_id
+                WHERE t.status = 'TODO' AND t.due_at IS NOT NULL
+                GROUP BY 1, 2
+            ) d
+            GROUP BY user_id
+        )
+        INSERT INTO user_task_stats AS s
+            (user_id, total, open_count, done_count, open_high, open_med, open_low, due_buckets, updated_at)
+        SELECT u.id,
+               COALESCE(c.total, 0), COALESCE(c.open_count, 0), COALESCE(c.done_count, 0),
+               COALESCE(c.open_high, 0), COALESCE(c.open_med, 0), COALESCE(c.open_low, 0),
+               COALESCE(b.due_buckets, CAST('{}' AS jsonb)), now()
+        FROM app_user u
+        LEFT JOIN counts c ON c.user_id = u.id
+        LEFT JOIN buckets b ON b.user_id = u.id
+        WHERE u.id IN (:ids)
+        ON CONFLICT (user_id) DO UPDATE SET
+            total       = EXCLUDED.total,
+            open_count  = EXCLUDED.open_count,
+            done_count  = EXCLUDED.done_count,
+            open_high   = EXCLUDED.open_high,
+            open_med    = EXCLUDED.open_med,
+            open_low    = EXCLUDED.open_low,
+            due_buckets = EXCLUDED.due_buckets,
+            updated_at  = now()
+        WHERE (s.total, s.open_count, s.done_count, s.open_high, s.open_med, s.open_low, s.due_buckets)
+              IS DISTINCT FROM
+              (EXCLUDED.total, EXCLUDED.open_count, EXCLUDED.done_count, EXCLUDED.open_high, EXCLUDED.open_med,
+               EXCLUDED.open_low, EXCLUDED.due_buckets)
+        """, nativeQuery = true)
+    int recompute(@Param("ids") Collection<UUID> ids);
+}
@@ -3,8 +3,10 @@ package com.example.todo.repository.impl;
 import com.example.todo.entity.Task;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.repository.MetadataKeyFilter;
 import com.example.todo.repository.TaskRepositoryCustom;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.springframework.stereotype.Repository;
@@ -12,6 +14,7 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -59,4 +62,55 @@ public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
         TypedQuery<Task> query = em.createQuery(cq).setMaxResults(100);
         return query.getResultList();
     }
+
+    // owner + shares in one index range (task_access, V8); kept as a semi-join so the metadata
+    // expression index can still drive when the key filter is the more selective side
+    private static final String ACCESS_PREDICATE =
+            "t.id IN (SELECT a.task_id FROM task_access a WHERE a.user_id = :userId)";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findAllAccessibleByMetadataKey(UUID userId, MetadataKeyFilter filter, String q,
+                                                     TaskStatus status, TaskPriority priority,
+                                                     String metadataContains) {
+        // key is validated by MetadataKeyFilter, safe to inline as a literal
+        String expr = "(t.metadata ->> '" + filter.key() + "')";
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM task t WHERE ").append(ACCESS_PREDICATE);
+        if (filter.eq() != null) sql.append(" AND ").append(expr).append(" = :eq");
+        if (filter.eq() == null && filter.from() != null) sql.append(" AND ").append(expr).append(" >= :from");
+        if (filter.eq() == null && filter.to() != null) sql.append(" AND ").append(expr).append(" < :to");
+        if (status != null) sql.append(" AND t.status = CAST(:status AS task_status)");
+        if (priority != null) sql.append(" AND t.priority = CAST(:priority AS task_priority)");
+        if (metadataContains != null) sql.append(" AND t.metadata @> CAST(:metadata AS jsonb)");
+        if (StringUtils.hasText(q)) {
+            sql.append(" AND (t.title ILIKE :q OR t.description ILIKE :q OR t.category ILIKE :q")
+               .append(" OR EXISTS (SELECT 1 FROM task_tags tt WHERE tt.task_id = t.id AND tt.tag ILIKE :q))");
+        }
+        // range scans come back in index order; everything else by recency like the main list
+        sql.append(filter.isRange() ? " ORDER BY " + expr + ", t.updated_at DESC" : " ORDER BY t.updated_at DESC");
+        sql.append(" LIMIT 100");
+
+        Query query = em.createNativeQuery(sql.toString(), Task.class).setParameter("userId", userId);
+        if (filter.eq() != null) query.setParameter("eq", filter.eq());
+        if (filter.eq() == null && filter.from() != null) query.setParameter("from", filter.from());
+        if (filter.eq() == null && filter.to() != null) query.setParameter("to", filter.to());
+        if (status != null) query.setParameter("status", status.name());
+        if (priority != null) query.setParameter("priority", priority.name());
+        if (metadataContains != null) query.setParameter("metadata", metadataContains);
+        if (StringUtils.hasText(q)) query.setParameter("q", "%" + q + "%");
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Task> findAccessibleByMetadataValue(UUID userId, String key, String value) {
+        var filter = new MetadataKeyFilter(key, value, null, null);
+        String sql = "SELECT t.* FROM task t WHERE (t.metadata ->> '" + filter.key() + "') = :eq AND " + ACCESS_PREDICATE
+                + " ORDER BY t.updated_at DESC LIMIT 1";
+        List<Task> found = em.createNativeQuery(sql, Task.class)
+                .setParameter("eq", value)
+                .setParameter("userId", userId)
+                .getResultList();
+        return found.stream().findFirst();
+    }
 }
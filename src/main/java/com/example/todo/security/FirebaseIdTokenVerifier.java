@@ -10,12 +10,17 @@ import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.net.URL;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class FirebaseIdTokenVerifier {
@@ -26,9 +31,20 @@ public class FirebaseIdTokenVerifier {
     private final String projectId;
     private final String expectedIssuer;
     private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+    // включає похід за JWK, коли ключів ще немає в кеші Nimbus
+    private final Timer verifySuccess;
+    private final Timer verifyFailure;
 
-    public FirebaseIdTokenVerifier(@Value("${firebase.project-id}") String projectId) throws Exception {
+    public FirebaseIdTokenVerifier(String projectId) throws Exception {
+        this(projectId, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public FirebaseIdTokenVerifier(@Value("${firebase.project-id}") String projectId,
+                                   MeterRegistry meters) throws Exception {
         this.projectId = projectId;
+        this.verifySuccess = Timer.builder("todo.firebase.verify").tag("outcome", "success").register(meters);
+        this.verifyFailure = Timer.builder("todo.firebase.verify").tag("outcome", "failure").register(meters);
         this.expectedIssuer = "https://securetoken.google.com/" + projectId;
 
         // JWK source з кешем усередині Nimbus
@@ -42,6 +58,18 @@ public class FirebaseIdTokenVerifier {
     }
 
     public Payload verify(String idToken) {
+        long t0 = System.nanoTime();
+        try {
+            Payload p = doVerify(idToken);
+            verifySuccess.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            return p;
+        } catch (InvalidToken e) {
+            verifyFailure.record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Payload doVerify(String idToken) {
         try {
             JWTClaimsSet claims = jwtProcessor.process(idToken, null);
 
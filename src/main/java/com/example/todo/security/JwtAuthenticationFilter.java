@@ -1,27 +1,74 @@
 package com.example.todo.security;
 
+import com.example.todo.metrics.RequestStats;
+import com.example.todo.security.JwtService.Verification;
+import com.example.todo.tracing.Spans;
 import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final JwtService jwtService;
+    private final TokenRevocationService revocation;
+    private final Set<String> adminEmails;
+    private final ObservationRegistry observations;
+
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationService revocation) {
+        this(jwtService, revocation, "", ObservationRegistry.NOOP);
+    }
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    // MVC test slices have no ObservationRegistry
+    @Autowired
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationService revocation,
+                                   @Value("${todo.admin.emails:}") String adminEmails,
+                                   ObjectProvider<ObservationRegistry> observations) {
+        this(jwtService, revocation, adminEmails, observations.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    // admins = operators by e-mail (todo.admin.emails, comma-separated); they get ROLE_ADMIN on top of ROLE_USER
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRevocationService revocation,
+                                   String adminEmails, ObservationRegistry observations) {
         this.jwtService = jwtService;
+        this.revocation = revocation;
+        this.observations = observations;
+        this.adminEmails = Arrays.stream(adminEmails.split(","))
+                .map(e -> e.trim().toLowerCase(Locale.ROOT))
+                .filter(e -> !e.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // permitAll routes and CORS preflights: don't scan headers/cookies or verify anything
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.matches(request);
     }
 
     @Override
@@ -29,6 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain)
             throws ServletException, IOException {
+        long t0 = System.nanoTime();
         String token = null;
 
         // 1) Authorization: Bearer <jwt>
@@ -48,24 +96,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (token != null) {
-            try {
-                JWTClaimsSet claims = jwtService.verifyToken(token);
-                String sub = claims.getSubject();
-                if (sub == null) throw new RuntimeException("Missing sub claim");
-                UUID userId = UUID.fromString(sub);
-                String email = claims.getStringClaim("email");
-                String name = claims.getStringClaim("name");
-
-                UserPrincipal principal = new UserPrincipal(userId, email, name);
-                var authentication =
-                        new UsernamePasswordAuthenticationToken(principal, null, List.of(() -> "ROLE_USER"));
+            // todo.auth span: child of the server span; the user id also goes on the server span itself
+            Observation observation = Observation.start("todo.auth", observations);
+            UserPrincipal principal;
+            try (Observation.Scope ignored = observation.openScope()) {
+                Verification v = jwtService.verify(token);
+                principal = v.isValid() && !revocation.isRevoked(v.claims().getJWTID())
+                        ? toPrincipal(v.claims())
+                        : null;
+                observation.lowCardinalityKeyValue("outcome", principal != null ? "authenticated" : "rejected");
+                if (principal != null) observation.highCardinalityKeyValue("enduser.id", principal.getId().toString());
+            } finally {
+                observation.stop();
+            }
+            if (principal != null) {
+                boolean admin = isAdmin(principal);
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null,
+                        admin ? ADMIN_AUTHORITIES : USER_AUTHORITIES);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-            } catch (Exception ex) {
+                RequestStats stats = RequestStats.current();
+                if (stats != null) stats.authenticated(principal.getId(), admin);
+                Spans.attr("enduser.id", principal.getId().toString());
+            } else {
                 SecurityContextHolder.clearContext();
             }
         }
 
-        filterChain.doFilter(request, response);
+        RequestStats stats = RequestStats.current();
+        if (stats == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        stats.addAuth(System.nanoTime() - t0);
+        // buffered only for an admin who asked for Server-Timing, now that we know who the caller is
+        filterChain.doFilter(request, stats.responseFor(response));
     }
 
+    private boolean isAdmin(UserPrincipal principal) {
+        return !adminEmails.isEmpty() && principal.getEmail() != null
+                && adminEmails.contains(principal.getEmail().toLowerCase(Locale.ROOT));
+    }
+
+    private static UserPrincipal toPrincipal(JWTClaimsSet claims) {
+        String sub = claims.getSubject();
+        if (sub == null) return null;
+        UUID userId;
+        try {
+            userId = UUID.fromString(sub);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Object email = claims.getClaim("email");
+        Object name = claims.getClaim("name");
+        return new UserPrincipal(userId,
+                email instanceof String s ? s : null,
+                name instanceof String s ? s : null);
+    }
 }
@@ -4,40 +4,72 @@ import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
     private final String issuer;
     private final byte[] secret;
+    // signer/verifier are thread-safe: build once instead of per request
+    private final JWSSigner signer;
+    private final JWSVerifier verifier;
+    // todo.jwt.verify{status=...}, one timer per outcome, looked up once
+    private final Map<Status, Timer> verifyTimers = new EnumMap<>(Status.class);
 
+    public JwtService(String issuer, String secret) {
+        this(issuer, secret, new SimpleMeterRegistry());
+    }
+
+    @Autowired
     public JwtService(@Value("${jwt.issuer}") String issuer,
-                      @Value("${jwt.secret}") String secret) {
+                      @Value("${jwt.secret}") String secret,
+                      MeterRegistry meters) {
         this.issuer = issuer;
         if (secret == null || secret.length() < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 32 bytes for HS256");
         }
 
         this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        try {
+            this.signer = new MACSigner(this.secret);
+            this.verifier = new MACVerifier(this.secret);
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("Invalid JWT secret", e);
+        }
+        for (Status st : Status.values()) {
+            verifyTimers.put(st, Timer.builder("todo.jwt.verify")
+                    .description("App JWT verification on the request path")
+                    .tag("status", st.name())
+                    .register(meters));
+        }
     }
 
     public String issueToken(UUID userId, String email, String displayName) {
         try {
-            JWSSigner signer = new MACSigner(secret);
+            Instant now = Instant.now();
             JWTClaimsSet claims = new JWTClaimsSet.Builder()
                     .issuer(issuer)
                     .subject(userId.toString())
+                    .jwtID(UUID.randomUUID().toString())
                     .claim("email", email)
                     .claim("name", displayName)
-                    .issueTime(Date.from(Instant.now()))
-                    .expirationTime(Date.from(Instant.now().plusSeconds(7 * 24 * 3600)))
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(now.plusSeconds(7 * 24 * 3600)))
                     .build();
             JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
             SignedJWT signedJWT = new SignedJWT(header, claims);
@@ -49,18 +81,82 @@ public class JwtService {
     }
 
     public JWTClaimsSet verifyToken(String token) throws Exception {
-        SignedJWT jwt = SignedJWT.parse(token);
-        JWSVerifier verifier = new MACVerifier(secret);
-        if (!jwt.verify(verifier)) {
-            throw new IllegalArgumentException("Invalid JWT signature");
+        Verification v = verify(token);
+        if (!v.isValid()) {
+            throw new IllegalArgumentException(v.status().message);
+        }
+        return v.claims();
+    }
+
+    /**
+     * Exception-free variant of {@link #verifyToken(String)} for the request hot path.
+     * Cheap checks (shape, exp, iss) run before the HMAC, so expired or foreign
+     * tokens never pay for the signature check.
+     */
+    public Verification verify(String token) {
+        long t0 = System.nanoTime();
+        Verification v = doVerify(token);
+        verifyTimers.get(v.status()).record(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        return v;
+    }
+
+    private Verification doVerify(String token) {
+        if (token == null || token.isEmpty() || !hasJwsShape(token)) {
+            return Verification.MALFORMED;
+        }
+        SignedJWT jwt;
+        JWTClaimsSet claims;
+        try {
+            jwt = SignedJWT.parse(token);
+            claims = jwt.getJWTClaimsSet();
+        } catch (ParseException e) {
+            return Verification.MALFORMED;
         }
-        JWTClaimsSet claims = jwt.getJWTClaimsSet();
-        if (claims.getExpirationTime() == null || claims.getExpirationTime().before(new java.util.Date())) {
-            throw new IllegalArgumentException("JWT expired");
+        Date exp = claims.getExpirationTime();
+        if (exp == null || exp.before(new Date())) {
+            return Verification.EXPIRED;
         }
         if (!issuer.equals(claims.getIssuer())) {
-            throw new IllegalArgumentException("Invalid issuer");
+            return Verification.WRONG_ISSUER;
         }
-        return claims;
+        try {
+            if (!jwt.verify(verifier)) {
+                return Verification.BAD_SIGNATURE;
+            }
+        } catch (JOSEException e) {
+            return Verification.BAD_SIGNATURE;
+        }
+        return Verification.valid(claims);
+    }
+
+    // header.payload.signature — exactly two dots
+    private static boolean hasJwsShape(String token) {
+        int first = token.indexOf('.');
+        if (first <= 0) return false;
+        int second = token.indexOf('.', first + 1);
+        return second > first + 1 && second < token.length() - 1 && token.indexOf('.', second + 1) < 0;
+    }
+
+    public enum Status {
+        VALID("OK"),
+        MALFORMED("Malformed JWT"),
+        EXPIRED("JWT expired"),
+        WRONG_ISSUER("Invalid issuer"),
+        BAD_SIGNATURE("Invalid JWT signature");
+
+        final String message;
+        Status(String message) { this.message = message; }
+    }
+
+    public record Verification(Status status, JWTClaimsSet claims) {
+        // failures carry no claims, so they can be shared
+        static final Verification MALFORMED = new Verification(Status.MALFORMED, null);
+        static final Verification EXPIRED = new Verification(Status.EXPIRED, null);
+        static final Verification WRONG_ISSUER = new Verification(Status.WRONG_ISSUER, null);
+        static final Verification BAD_SIGNATURE = new Verification(Status.BAD_SIGNATURE, null);
+
+        public boolean isValid() { return status == Status.VALID; }
+
+        public static Verification valid(JWTClaimsSet claims) { return new Verification(Status.VALID, claims); }
     }
 }
@@ -0,0 +1,52 @@
+package com.example.todo.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes that {@code SecurityConfig} leaves open ({@code permitAll}).
+ * Shared with {@link JwtAuthenticationFilter} so it can skip token work on them.
+ */
+public final class PublicEndpoints {
+
+    public static final String[] PATTERNS = {
+            "/auth/**",
+            "/swagger-ui/**",
+            "/v3/api-docs/**",
+            "/actuator/health",
+            "/actuator/health/**",
+            "/readyz",
+            "/livez"
+    };
+
+    private static final List<PathPattern> COMPILED = Arrays.stream(PATTERNS)
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private PublicEndpoints() {}
+
+    /**
+     * CORS preflight (OPTIONS with Origin and Access-Control-Request-Method) or a permitAll route —
+     * no authentication needed. Any other OPTIONS is an ordinary request and goes through the filter.
+     */
+    public static boolean matches(HttpServletRequest request) {
+        if (CorsUtils.isPreFlightRequest(request)) return true;
+        String uri = request.getRequestURI();
+        if (uri == null) return false;
+        String ctx = request.getContextPath();
+        if (ctx != null && !ctx.isEmpty() && uri.startsWith(ctx)) {
+            uri = uri.substring(ctx.length());
+        }
+        PathContainer path = PathContainer.parsePath(uri);
+        for (PathPattern p : COMPILED) {
+            if (p.matches(path)) return true;
+        }
+        return false;
+    }
+}
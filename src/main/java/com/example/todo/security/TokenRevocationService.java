@@ -0,0 +1,84 @@
+package com.example.todo.security;
+
+import com.example.todo.entity.RevokedToken;
+import com.example.todo.repository.RevokedTokenRepository;
+import com.example.todo.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked JWT ids (jti).
+ * <p>
+ * Each node keeps a Bloom filter of revoked jtis, so a non-revoked token (the common case)
+ * is answered from memory. Only possible hits go to the {@code revoked_token} table.
+ * The filter is rebuilt from the table on a schedule, which also picks up revocations
+ * made on other nodes (they become visible after at most one sync interval).
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository repo;
+    private final int expectedInsertions;
+    private final double fpp;
+
+    private volatile BloomFilter filter;
+    // revoked on this node but maybe not yet visible to a concurrent rebuild
+    private final Map<String, OffsetDateTime> recent = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository repo,
+                                  @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${jwt.revocation.fpp:0.01}") double fpp) {
+        this.repo = repo;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.filter = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) return false;
+        if (!filter.mightContain(jti)) return false;
+        return repo.existsById(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, OffsetDateTime expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(OffsetDateTime.now())) return;
+        if (!repo.existsById(jti)) {
+            repo.save(new RevokedToken(jti, expiresAt));
+        }
+        recent.put(jti, expiresAt);
+        filter.put(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT30S}")
+    @Transactional
+    public void sync() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int purged = repo.deleteExpired(now);
+        List<String> active = repo.findActiveJtis(now);
+
+        BloomFilter next = new BloomFilter(Math.max(expectedInsertions, active.size() * 2), fpp);
+        active.forEach(next::put);
+        Set<String> loaded = new HashSet<>(active);
+        recent.entrySet().removeIf(e -> loaded.contains(e.getKey()) || !e.getValue().isAfter(now));
+        recent.keySet().forEach(next::put);
+        filter = next;
+
+        if (purged > 0 || !active.isEmpty()) {
+            log.debug("Revocation filter rebuilt: {} active, {} purged", active.size(), purged);
+        }
+    }
+}
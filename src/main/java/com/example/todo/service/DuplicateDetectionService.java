@@ -0,0 +1,277 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.DuplicateCandidateDto;
+import com.example.todo.entity.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskTextRow;
+import com.example.todo.tracing.Spans;
+import com.example.todo.util.MinHashLsh;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-duplicate detection over the tasks a user owns ("Call Bob" vs "call bob re invoice").
+ * <p>
+ * Each user gets an in-memory {@link MinHashLsh} index of title + description word signatures,
+ * built from the database on first use and kept current by {@link TaskService} on create / patch /
+ * delete (applied after commit). Indexes never expire on a request: writes made on other nodes are
+ * picked up by a background rebuild of indexes older than {@code todo.duplicates.refresh-interval},
+ * which replays the local changes committed while it read; the least recently used indexes are
+ * dropped beyond {@code todo.duplicates.max-users}. Hits are re-read from the database, so a stale
+ * entry never surfaces a deleted or foreign task.
+ */
+@Service
+public class DuplicateDetectionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    // 20 bands x 3 rows: candidate probability ~0.42 at similarity 0.3, ~0.73 at 0.4, ~0.93 at 0.5
+    static final int BANDS = 20;
+    static final int ROWS = 3;
+    // long descriptions would drown the title; only their beginning counts
+    static final int DESCRIPTION_WORDS = 32;
+
+    private final TaskRepository taskRepo;
+    private final double threshold;
+    private final int maxResults;
+    private final long refreshNanos;
+    private final Map<UUID, UserIndex> indexes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DuplicateDetectionService(TaskRepository taskRepo,
+                                     @Value("${todo.duplicates.threshold:0.4}") double threshold,
+                                     @Value("${todo.duplicates.max-results:5}") int maxResults,
+                                     @Value("${todo.duplicates.max-users:200}") int maxUsers,
+                                     @Value("${todo.duplicates.refresh-interval:PT10M}") Duration refreshInterval) {
+        if (threshold <= 0 || threshold > 1) throw new IllegalArgumentException("todo.duplicates.threshold must be in (0,1]");
+        this.taskRepo = taskRepo;
+        this.threshold = threshold;
+        this.maxResults = maxResults;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, UserIndex> eldest) {
+                if (size() <= maxUsers) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    // lsh / builtAt / pending are guarded by the UserIndex itself
+    private static final class UserIndex {
+        MinHashLsh<UUID> lsh = new MinHashLsh<>(BANDS, ROWS);
+        long builtAt = System.nanoTime();
+        // changes committed while a refresh reads the table; null when no refresh is running
+        List<Delta> pending;
+    }
+
+    // sig == null: remove
+    private record Delta(UUID taskId, int[] sig) {}
+
+    /** Tasks of {@code userId} that look like the given text; for checking before a create/import. */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidateDto> findSimilar(UUID userId, String title, String description) {
+        return candidates(userId, title, description, null);
+    }
+
+    /** Tasks of {@code userId} that look like the task {@code taskId} (which the caller must be able to see). */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidateDto> findSimilarTo(UUID taskId, UUID userId) {
+        Task t = taskRepo.findAuthorizedById(taskId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
+        return candidates(userId, t.getTitle(), t.getDescription(), taskId);
+    }
+
+    // ---------- hooks from TaskService (inside its transaction)
+
+    List<DuplicateCandidateDto> onCreated(Task t) {
+        UUID ownerId = t.getOwner().getId();
+        List<DuplicateCandidateDto> similar = candidates(ownerId, t.getTitle(), t.getDescription(), t.getId());
+        afterCommit(() -> index(ownerId, t.getId(), t.getTitle(), t.getDescription()));
+        return similar;
+    }
+
+    void onChanged(Task t) {
+        UUID ownerId = t.getOwner().getId();
+        afterCommit(() -> index(ownerId, t.getId(), t.getTitle(), t.getDescription()));
+    }
+
+    void onDeleted(Task t) {
+        UUID ownerId = t.getOwner().getId();
+        afterCommit(() -> {
+            UserIndex idx = loadedIndex(ownerId);
+            if (idx != null) apply(idx, new Delta(t.getId(), null));
+        });
+    }
+
+    // ---------- internals
+
+    private List<DuplicateCandidateDto> candidates(UUID userId, String title, String description, UUID exclude) {
+        int[] sig = signature(title, description);
+        if (sig == null) return List.of();
+        UserIndex idx = index(userId);
+        List<MinHashLsh.Hit<UUID>> hits;
+        synchronized (idx) {
+            hits = idx.lsh.query(sig, threshold, maxResults + 1);
+        }
+        hits.removeIf(h -> h.key().equals(exclude));
+        if (hits.isEmpty()) return List.of();
+
+        Map<UUID, Task> current = new HashMap<>();
+        taskRepo.findAllById(hits.stream().map(MinHashLsh.Hit::key).toList()).forEach(t -> current.put(t.getId(), t));
+        List<DuplicateCandidateDto> result = new ArrayList<>();
+        for (MinHashLsh.Hit<UUID> h : hits) {
+            Task t = current.get(h.key());
+            if (t == null || t.getOwner() == null || !t.getOwner().getId().equals(userId)) continue;
+            result.add(new DuplicateCandidateDto(t.getId(), t.getTitle(), h.similarity()));
+            if (result.size() == maxResults) break;
+        }
+        return result;
+    }
+
+    static int[] signature(String title, String description) {
+        int[] sig = new int[BANDS * ROWS];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        int words = MinHashLsh.addWords(sig, title, Integer.MAX_VALUE)
+                + MinHashLsh.addWords(sig, description, DESCRIPTION_WORDS);
+        return words == 0 ? null : sig;
+    }
+
+    private UserIndex loadedIndex(UUID userId) {
+        synchronized (indexes) {
+            return indexes.get(userId);
+        }
+    }
+
+    private UserIndex index(UUID userId) {
+        UserIndex idx = loadedIndex(userId);
+        if (idx != null) {
+            hits.increment();
+            Spans.attr("todo.cache.duplicates.hit", true);
+            return idx;
+        }
+        misses.increment();
+        Spans.attr("todo.cache.duplicates.hit", false);
+        // first use only, built outside the map lock; two concurrent builds for one user are harmless,
+        // the first one stays
+        UserIndex fresh = new UserIndex();
+        fresh.lsh = build(userId);
+        synchronized (indexes) {
+            UserIndex raced = indexes.putIfAbsent(userId, fresh);
+            return raced != null ? raced : fresh;
+        }
+    }
+
+    private MinHashLsh<UUID> build(UUID userId) {
+        MinHashLsh<UUID> lsh = new MinHashLsh<>(BANDS, ROWS);
+        for (TaskTextRow row : taskRepo.findTextsByOwner(userId)) {
+            int[] sig = signature(row.getTitle(), row.getDescription());
+            if (sig != null) lsh.put(row.getId(), sig);
+        }
+        return lsh;
+    }
+
+    /**
+     * Rebuilds the loaded indexes older than the refresh interval, off the request path, so writes
+     * from other nodes show up. The index in use keeps serving meanwhile; changes committed on this
+     * node during the read are replayed onto the new one before it is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${todo.duplicates.refresh-interval:PT10M}")
+    public void refreshStale() {
+        Map<UUID, UserIndex> loaded;
+        synchronized (indexes) {
+            loaded = new HashMap<>(indexes);
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<UUID, UserIndex> e : loaded.entrySet()) {
+            UserIndex idx = e.getValue();
+            synchronized (idx) {
+                if (now - idx.builtAt < refreshNanos) continue;
+                idx.pending = new ArrayList<>();
+            }
+            long startedAt = System.nanoTime();
+            MinHashLsh<UUID> fresh;
+            try {
+                fresh = build(e.getKey());
+            } catch (RuntimeException ex) {
+                synchronized (idx) { idx.pending = null; }
+                log.warn("Duplicate index refresh for user {} failed: {}", e.getKey(), ex.toString());
+                continue;
+            }
+            synchronized (idx) {
+                for (Delta d : idx.pending) put(fresh, d);
+                idx.pending = null;
+                idx.lsh = fresh;
+                idx.builtAt = startedAt;
+            }
+        }
+    }
+
+    // only touches an index that is already loaded; otherwise the next build reads the row from the DB
+    private void index(UUID ownerId, UUID taskId, String title, String description) {
+        UserIndex idx = loadedIndex(ownerId);
+        if (idx != null) apply(idx, new Delta(taskId, signature(title, description)));
+    }
+
+    private static void apply(UserIndex idx, Delta d) {
+        synchronized (idx) {
+            put(idx.lsh, d);
+            if (idx.pending != null) idx.pending.add(d);
+        }
+    }
+
+    private static void put(MinHashLsh<UUID> lsh, Delta d) {
+        if (d.sig() == null) lsh.remove(d.taskId());
+        else lsh.put(d.taskId(), d.sig());
+    }
+
+    // cache.* meters of the per-user index LRU; a miss is a first build from the task table
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", this, s -> { synchronized (s.indexes) { return s.indexes.size(); } })
+                .tag("cache", "duplicates").register(registry);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", "duplicates").tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", "duplicates").tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "duplicates").register(registry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
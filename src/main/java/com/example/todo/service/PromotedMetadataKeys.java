@@ -0,0 +1,90 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.MetadataKeyFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Metadata keys declared hot in config ({@code todo.metadata.promoted-keys}).
+ * Each gets a B-tree expression index on {@code (metadata ->> 'key')}, built with
+ * CREATE INDEX CONCURRENTLY after startup so writes aren't blocked.
+ * Equality/range filters on these keys are routed to SQL that matches the index expression.
+ */
+@Component
+public class PromotedMetadataKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(PromotedMetadataKeys.class);
+
+    private final Set<String> keys;
+    private final boolean createIndexes;
+    private final JdbcTemplate jdbc;
+
+    public PromotedMetadataKeys(@Value("${todo.metadata.promoted-keys:externalId,project,sprint}") List<String> keys,
+                                @Value("${todo.metadata.create-indexes:true}") boolean createIndexes,
+                                JdbcTemplate jdbc) {
+        Set<String> valid = new LinkedHashSet<>();
+        Set<String> indexNames = new HashSet<>();
+        for (String k : keys) {
+            String key = k.trim();
+            if (key.isEmpty()) continue;
+            if (!MetadataKeyFilter.isValidKey(key)) {
+                throw new IllegalArgumentException("Invalid promoted metadata key: " + key);
+            }
+            // keys are case-sensitive, index names are not: externalId and externalid would share one
+            // index name and the second would silently go without an index
+            if (valid.add(key) && !indexNames.add(indexName(key))) {
+                throw new IllegalArgumentException("Promoted metadata keys differ only by case: " + key);
+            }
+        }
+        this.keys = Set.copyOf(valid);
+        this.createIndexes = createIndexes;
+        this.jdbc = jdbc;
+    }
+
+    public boolean isPromoted(String key) {
+        return keys.contains(key);
+    }
+
+    public Set<String> keys() {
+        return keys;
+    }
+
+    public static String indexName(String key) {
+        return "idx_task_meta_" + key.toLowerCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!createIndexes) return;
+        for (String key : keys) {
+            String name = indexName(key);
+            try {
+                // a failed CONCURRENTLY build leaves an INVALID index behind — drop and retry
+                Boolean valid = jdbc.query(
+                        "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?",
+                        rs -> rs.next() ? rs.getBoolean(1) : null, name);
+                if (Boolean.TRUE.equals(valid)) continue;
+                if (Boolean.FALSE.equals(valid)) {
+                    jdbc.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                jdbc.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                        + " ON task ((metadata ->> '" + key + "'))");
+                log.info("Created metadata expression index {} on key '{}'", name, key);
+            } catch (Exception e) {
+                // the app works without the index, just slower; don't fail startup
+                log.warn("Could not create metadata index {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
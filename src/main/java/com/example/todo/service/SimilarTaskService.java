@@ -0,0 +1,247 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SimilarTaskDto;
+import com.example.todo.entity.Task;
+import com.example.todo.repository.TaskIndexRow;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.util.HnswIndex;
+import com.example.todo.util.NgramVectorizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Tasks like this one" without an external embedding service.
+ * <p>
+ * Title + description are turned into hashed character-trigram vectors ({@link NgramVectorizer})
+ * and kept in one per-node {@link HnswIndex}. The index is loaded with the most recently updated
+ * tasks at startup and fed by {@link TaskService} writes after commit; all index writes run on one
+ * background thread, searches take a read lock. Memory is bounded by {@code todo.similar.max-vectors}
+ * (about 0.5 KB per vector): beyond it the oldest entries are evicted, and the graph is compacted
+ * when its spare slots run out.
+ * <p>
+ * Searches are restricted to tasks the caller owns (index tag = owner) or that are shared with them;
+ * small accessible sets are scanned exactly, larger ones go through the graph. Every hit is re-read
+ * from the database and re-checked before it is returned.
+ */
+@Service
+public class SimilarTaskService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarTaskService.class);
+
+    static final int DIM = 256;
+    static final int NGRAM = 3;
+    static final int MAX_CHARS = 512;
+    private static final int M = 12;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final int NO_OWNER = -1;
+
+    private final TaskRepository taskRepo;
+    private final TaskShareRepository shareRepo;
+    private final NgramVectorizer vectorizer = new NgramVectorizer(DIM, NGRAM);
+    private final int maxVectors;
+    private final int flatSearchLimit;
+    private final int maxVisits;
+    private final Executor writer;
+    private final ExecutorService ownExecutor;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile HnswIndex<UUID> index;
+    private final Map<UUID, Integer> ownerTags = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTag = new AtomicInteger();
+    private long generation;
+
+    @Autowired
+    public SimilarTaskService(TaskRepository taskRepo,
+                              TaskShareRepository shareRepo,
+                              @Value("${todo.similar.max-vectors:100000}") int maxVectors,
+                              @Value("${todo.similar.flat-search-limit:5000}") int flatSearchLimit,
+                              @Value("${todo.similar.max-visits:2000}") int maxVisits) {
+        this(taskRepo, shareRepo, maxVectors, flatSearchLimit, maxVisits, Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "similar-index");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    SimilarTaskService(TaskRepository taskRepo, TaskShareRepository shareRepo,
+                       int maxVectors, int flatSearchLimit, int maxVisits, Executor writer) {
+        if (maxVectors <= 0) throw new IllegalArgumentException("todo.similar.max-vectors must be > 0");
+        this.taskRepo = taskRepo;
+        this.shareRepo = shareRepo;
+        this.maxVectors = maxVectors;
+        this.flatSearchLimit = flatSearchLimit;
+        this.maxVisits = maxVisits;
+        this.writer = writer;
+        this.ownExecutor = writer instanceof ExecutorService es ? es : null;
+        this.index = newIndex();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownExecutor != null) ownExecutor.shutdownNow();
+    }
+
+    // vectors held vs todo.similar.max-vectors; oldest are evicted at the cap
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", this, s -> s.index.size()).tag("cache", "similar").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        writer.execute(() -> {
+            long t0 = System.nanoTime();
+            List<TaskIndexRow> rows = taskRepo.findRecentForIndex(maxVectors);
+            // oldest first, so eviction order follows age
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                TaskIndexRow r = rows.get(i);
+                apply(r.getId(), r.getOwnerId(), r.getTitle(), r.getDescription());
+            }
+            log.info("Similarity index loaded: {} task(s) in {} ms", index.size(), (System.nanoTime() - t0) / 1_000_000);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<SimilarTaskDto> findSimilar(UUID taskId, UUID userId, int limit) {
+        if (limit <= 0 || limit > 100) throw new IllegalArgumentException("limit must be in 1..100");
+        Task t = taskRepo.findAuthorizedById(taskId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
+        float[] q = vectorize(t.getTitle(), t.getDescription());
+        if (q == null) return List.of();
+
+        Set<UUID> shared = new HashSet<>(shareRepo.findTaskIdsSharedWith(userId));
+        int tag = ownerTags.getOrDefault(userId, NO_OWNER);
+        List<HnswIndex.Hit<UUID>> hits;
+        lock.readLock().lock();
+        try {
+            HnswIndex<UUID> idx = index;
+            int accessible = idx.countTag(tag) + shared.size();
+            hits = accessible <= flatSearchLimit
+                    ? idx.exact(q, limit + 1, tag, shared)
+                    : idx.search(q, limit + 1, Math.max(64, 4 * limit), tag, shared, maxVisits);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<UUID> ids = new ArrayList<>();
+        for (HnswIndex.Hit<UUID> h : hits) if (!h.key().equals(taskId)) ids.add(h.key());
+        if (ids.isEmpty()) return List.of();
+        Map<UUID, Task> current = new HashMap<>();
+        taskRepo.findAllById(ids).forEach(x -> current.put(x.getId(), x));
+
+        List<SimilarTaskDto> result = new ArrayList<>();
+        for (HnswIndex.Hit<UUID> h : hits) {
+            Task x = current.get(h.key());
+            if (x == null || x.getId().equals(taskId)) continue;
+            boolean visible = (x.getOwner() != null && x.getOwner().getId().equals(userId)) || shared.contains(x.getId());
+            if (!visible) continue;
+            result.add(new SimilarTaskDto(x.getId(), x.getTitle(), h.similarity()));
+            if (result.size() == limit) break;
+        }
+        return result;
+    }
+
+    // ---------- hooks from TaskService (inside its transaction)
+
+    void onSaved(Task t) {
+        UUID id = t.getId(), owner = t.getOwner().getId();
+        String title = t.getTitle(), description = t.getDescription();
+        afterCommit(() -> writer.execute(() -> apply(id, owner, title, description)));
+    }
+
+    void onDeleted(Task t) {
+        UUID id = t.getId();
+        afterCommit(() -> writer.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                index.remove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }));
+    }
+
+    // ---------- internals (writer thread only)
+
+    float[] vectorize(String title, String description) {
+        String text = description == null || description.isBlank() ? title : title + "\n" + description;
+        return vectorizer.vectorize(text, MAX_CHARS);
+    }
+
+    private void apply(UUID id, UUID owner, String title, String description) {
+        float[] v = vectorize(title, description);
+        int tag = ownerTags.computeIfAbsent(owner, k -> nextTag.getAndIncrement());
+        if (v != null && !index.hasFreeSlot()) {
+            // build the replacement without the lock (this thread is the only writer), swap under it
+            HnswIndex<UUID> compacted = index.compact(slotsFor(maxVectors), ++generation);
+            lock.writeLock().lock();
+            try {
+                index = compacted;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (v == null) {
+                index.remove(id);
+                return;
+            }
+            if (!index.contains(id) && index.size() >= maxVectors) index.evictOldest();
+            index.insert(id, v, tag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private HnswIndex<UUID> newIndex() {
+        return new HnswIndex<>(DIM, M, EF_CONSTRUCTION, slotsFor(maxVectors), 0);
+    }
+
+    // a quarter of spare slots for updates (each one takes a fresh slot) before a compaction
+    private static int slotsFor(int maxVectors) {
+        return maxVectors + Math.max(16, maxVectors / 4);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.todo.service;
 
+import com.example.todo.dto.DuplicateCandidateDto;
+import com.example.todo.dto.TagFacetDto;
 import com.example.todo.dto.TaskCreateDto;
 import com.example.todo.dto.TaskDto;
 import com.example.todo.dto.TaskPatchDto;
@@ -13,18 +15,32 @@ import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
 import com.example.todo.mapper.TaskMapper;
 import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.MetadataKeyFilter;
+import com.example.todo.repository.TagCountRow;
 import com.example.todo.repository.TaskRepository;
 import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.tracing.Spans;
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.OptimisticLockException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+// todo.service span per public method (TaskService#patchTask), child of the handler span
+@Observed(name = "todo.service")
 @Service
 public class TaskService {
 
@@ -32,28 +48,82 @@ public class TaskService {
     private final AppUserRepository userRepo;
     private final TaskShareRepository shareRepo;
     private final TaskMapper mapper;
+    private final PromotedMetadataKeys promotedKeys;
+    private final TaskStatsService stats;
+    private final DuplicateDetectionService duplicates;
+    private final SimilarTaskService similar;
+    private final TaskSuggestionService suggestions;
 
-    public TaskService(TaskRepository taskRepo, AppUserRepository userRepo, TaskShareRepository shareRepo, TaskMapper mapper) {
+    public TaskService(TaskRepository taskRepo, AppUserRepository userRepo, TaskShareRepository shareRepo, TaskMapper mapper,
+                       PromotedMetadataKeys promotedKeys, TaskStatsService stats, DuplicateDetectionService duplicates,
+                       SimilarTaskService similar, TaskSuggestionService suggestions) {
         this.taskRepo = taskRepo;
         this.userRepo = userRepo;
         this.shareRepo = shareRepo;
         this.mapper = mapper;
+        this.promotedKeys = promotedKeys;
+        this.stats = stats;
+        this.duplicates = duplicates;
+        this.similar = similar;
+        this.suggestions = suggestions;
     }
 
     @Transactional(readOnly = true)
-    public List<TaskDto> listTasks(UUID currentUserId, String q, TaskStatus status, TaskPriority priority) {
-        String qparam = StringUtils.hasText(q) ? "%" + q + "%" : null;
-        List<Task> tasks = taskRepo.findAllAccessibleNative(currentUserId, qparam, status == null ? null : status.name(), priority == null ? null : priority.name());
+    public List<TaskDto> listTasks(UUID currentUserId, String q, TaskStatus status, TaskPriority priority, String metadata,
+                                   MetadataKeyFilter keyFilter) {
+        ObjectNode contains = parseMetadataFilter(metadata);
+        List<Task> tasks;
+        if (keyFilter != null) {
+            if (keyFilter.isRange() && !promotedKeys.isPromoted(keyFilter.key())) {
+                throw new IllegalArgumentException("Range filters are only supported on promoted metadata keys");
+            }
+            // one meaning for every key: text comparison on (metadata ->> 'key'), so metaEq=5 matches 5 and "5"
+            // whether or not the key is promoted; a promoted key's B-tree expression index serves it
+            tasks = taskRepo.findAllAccessibleByMetadataKey(currentUserId, keyFilter, q, status, priority, toJson(contains));
+        } else {
+            String qparam = StringUtils.hasText(q) ? "%" + q + "%" : null;
+            tasks = taskRepo.findAllAccessibleNative(currentUserId, qparam, status == null ? null : status.name(), priority == null ? null : priority.name(),
+                    toJson(contains));
+        }
+        Spans.attr("todo.rows", tasks.size());
         return tasks.stream().map(mapper::toDto).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public TaskDto getTaskByExternalId(String externalId, UUID currentUserId) {
+        Task t = taskRepo.findAccessibleByMetadataValue(currentUserId, "externalId", externalId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found or access denied"));
+        return mapper.toDto(t);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TagFacetDto> listTagFacets(UUID currentUserId) {
+        Map<String, TagFacetDto> facets = new HashMap<>();
+        for (TagCountRow row : taskRepo.countTagsAccessible(currentUserId)) {
+            TagFacetDto f = facets.computeIfAbsent(row.getTag(), TagFacetDto::new);
+            f.count += row.getCnt();
+            f.byStatus.merge(row.getStatus(), row.getCnt(), Long::sum);
+            f.byPriority.merge(mapper.toUiPriority(TaskPriority.valueOf(row.getPriority())), row.getCnt(), Long::sum);
+        }
+        List<TagFacetDto> result = new ArrayList<>(facets.values());
+        result.sort(Comparator.comparingLong((TagFacetDto f) -> f.count).reversed().thenComparing(f -> f.tag));
+        Spans.attr("todo.rows", result.size());
+        return result;
+    }
+
     @Transactional
     public TaskDto createTask(UUID ownerId, TaskCreateDto dto) {
         Task entity = mapper.toEntity(dto);
         AppUser owner = userRepo.findById(ownerId).orElseThrow(() -> new EntityNotFoundException("Owner not found"));
         entity.setOwner(owner);
         Task saved = taskRepo.save(entity);
-        return mapper.toDto(saved);
+        stats.onCreated(saved);
+        TaskDto result = mapper.toDto(saved);
+        List<DuplicateCandidateDto> dups = duplicates.onCreated(saved);
+        if (!dups.isEmpty()) result.possibleDuplicates = dups;
+        similar.onSaved(saved);
+        suggestions.onCreated(saved);
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -66,7 +136,8 @@ public class TaskService {
     public TaskDto patchTask(UUID taskId, UUID currentUserId, Integer ifMatchVersion, TaskPatchDto patch) {
         Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
         boolean owner = t.getOwner() != null && t.getOwner().getId().equals(currentUserId);
-        boolean editor = shareRepo.findByTask_IdAndUser_Id(taskId, currentUserId)
+        // the owner needs no share lookup (one statement less on the hot patch path)
+        boolean editor = !owner && shareRepo.findByTask_IdAndUser_Id(taskId, currentUserId)
                 .map(s -> s.getRole() == ShareRole.editor)
                 .orElse(false);
         if (!owner && !editor) {
@@ -75,9 +146,15 @@ public class TaskService {
         if (ifMatchVersion == null || !ifMatchVersion.equals(t.getVersion())) {
             throw new PreconditionFailedException("Version mismatch");
         }
+        TaskStatsService.Contribution before = stats.snapshot(t);
+        TaskSuggestionService.Sample labelsBefore = suggestions.snapshot(t);
         mapper.updateFromPatch(patch, t);
         try {
             Task saved = taskRepo.save(t);
+            stats.onChanged(saved, before);
+            duplicates.onChanged(saved);
+            similar.onSaved(saved);
+            suggestions.onChanged(saved, labelsBefore);
             return mapper.toDto(saved);
         } catch (OptimisticLockException e) {
             throw new PreconditionFailedException("Optimistic lock error");
@@ -88,7 +165,12 @@ public class TaskService {
     public void deleteTask(UUID taskId, UUID currentUserId) {
         Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
         if (!t.getOwner().getId().equals(currentUserId)) throw new SecurityException("Only owner can delete");
+        List<UUID> viewers = stats.viewers(t); // shares go away with the task (ON DELETE CASCADE)
         taskRepo.delete(t);
+        stats.onDeleted(t, viewers);
+        duplicates.onDeleted(t);
+        similar.onDeleted(t);
+        suggestions.onDeleted(t);
     }
 
     @Transactional
@@ -101,12 +183,15 @@ public class TaskService {
             return userRepo.save(u);
         });
         TaskShare.TaskShareId id = new TaskShare.TaskShareId(taskId, target.getId());
+        // re-sharing only changes the role; sharing with the owner doesn't change what they see
+        boolean newViewer = !target.getId().equals(ownerId) && !shareRepo.existsById(id);
         TaskShare ts = new TaskShare();
         ts.setId(id);
         ts.setTask(t);
         ts.setUser(target);
         ts.setRole(role);
         shareRepo.save(ts);
+        if (newViewer) stats.onShared(t, target.getId());
     }
 
     @Transactional(readOnly = true)
@@ -116,9 +201,11 @@ public class TaskService {
         if (t.getOwner() == null || !t.getOwner().getId().equals(currentUserId)) {
             throw new SecurityException("Only owner can view shares");
         }
-        return shareRepo.findByTask_Id(taskId).stream()
+        List<SharedUserDto> shares = shareRepo.findByTask_Id(taskId).stream()
                 .map(s -> new SharedUserDto(s.getUser().getEmail(), s.getRole()))
                 .toList();
+        Spans.attr("todo.rows", shares.size());
+        return shares;
     }
 
     @Transactional
@@ -126,7 +213,27 @@ public class TaskService {
         Task t = taskRepo.findById(taskId).orElseThrow(() -> new EntityNotFoundException("Task not found"));
         if (!t.getOwner().getId().equals(ownerId)) throw new SecurityException("Only owner can revoke share");
         AppUser target = userRepo.findByEmail(userEmail).orElseThrow(() -> new EntityNotFoundException("User to revoke not found"));
-        shareRepo.deleteByTask_IdAndUser_Id(taskId, target.getId());
+        long removed = shareRepo.deleteByTask_IdAndUser_Id(taskId, target.getId());
+        if (removed > 0 && !target.getId().equals(ownerId)) stats.onUnshared(t, target.getId());
+    }
+
+    // metadata filter must be a JSON object, e.g. {"project":"X"}; re-serialized so only valid JSON reaches SQL
+    private static ObjectNode parseMetadataFilter(String metadata) {
+        if (!StringUtils.hasText(metadata)) return null;
+        JsonNode node;
+        try {
+            node = Json.MAPPER.readTree(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("metadata filter must be valid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("metadata filter must be a JSON object");
+        }
+        return (ObjectNode) node;
+    }
+
+    private static String toJson(ObjectNode node) {
+        return node == null || node.isEmpty() ? null : node.toString();
     }
 
     public static class PreconditionFailedException extends RuntimeException {
@@ -0,0 +1,221 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.UserTaskStatsDto;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.UserTaskStats;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.repository.UserTaskStatsRepository;
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user dashboard counters ({@code user_task_stats}) over every task a user can see.
+ * <p>
+ * {@link TaskService} reports each task/share change here inside its own transaction, so the
+ * counters commit or roll back together with the write. Reads are a single primary-key lookup.
+ * Overdue / due-today depend on the clock, so only open tasks per UTC due day are stored and the
+ * two numbers are derived on read. {@link #reconcile()} recomputes everything from
+ * {@code task}/{@code task_share} on a schedule to correct drift (cascading deletes, manual SQL, bugs).
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    // Postgres orders uuid bytewise, which is the same as the canonical string order
+    private static final Comparator<UUID> LOCK_ORDER = Comparator.comparing(UUID::toString);
+
+    private final UserTaskStatsRepository statsRepo;
+    private final TaskShareRepository shareRepo;
+    private final TaskMapper mapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public TaskStatsService(UserTaskStatsRepository statsRepo,
+                            TaskShareRepository shareRepo,
+                            TaskMapper mapper,
+                            PlatformTransactionManager txManager,
+                            @Value("${todo.stats.reconcile-batch-size:500}") int batchSize) {
+        this.statsRepo = statsRepo;
+        this.shareRepo = shareRepo;
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+    }
+
+    /** What one task adds to the counters of every user who can see it. */
+    record Contribution(boolean open, TaskPriority priority, String openDueDay) {
+        static Contribution of(Task t) {
+            boolean open = t.getStatus() != TaskStatus.DONE;
+            TaskPriority p = t.getPriority() == null ? TaskPriority.MED : t.getPriority();
+            String day = open && t.getDueAt() != null
+                    ? t.getDueAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE)
+                    : null;
+            return new Contribution(open, p, day);
+        }
+    }
+
+    Contribution snapshot(Task t) {
+        return Contribution.of(t);
+    }
+
+    // new task: nobody but the owner can see it yet
+    void onCreated(Task t) {
+        apply(List.of(t.getOwner().getId()), null, Contribution.of(t));
+    }
+
+    void onChanged(Task t, Contribution before) {
+        Contribution after = Contribution.of(t);
+        if (after.equals(before)) return;
+        apply(viewers(t), before, after);
+    }
+
+    // viewers are collected before the delete; the counters are bumped after it, so the task row
+    // is always locked before the stats rows (same order as in patch)
+    void onDeleted(Task t, List<UUID> viewers) {
+        apply(viewers, Contribution.of(t), null);
+    }
+
+    void onShared(Task t, UUID userId) {
+        apply(List.of(userId), null, Contribution.of(t));
+    }
+
+    void onUnshared(Task t, UUID userId) {
+        apply(List.of(userId), Contribution.of(t), null);
+    }
+
+    @Transactional(readOnly = true)
+    public UserTaskStatsDto getStats(UUID userId) {
+        return statsRepo.findById(userId)
+                .map(s -> toDto(s, LocalDate.now(ZoneOffset.UTC)))
+                .orElseGet(this::empty);
+    }
+
+    /**
+     * Recomputes counters from scratch, one batch of users per transaction. Each batch locks its
+     * stats rows first (in the same order writers use) and only then reads task/task_share, so a
+     * concurrent task write is either already visible to the recompute or applies its delta on top.
+     */
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 17 3 * * *}")
+    public void reconcile() {
+        UUID after = null;
+        int fixed = 0;
+        while (true) {
+            List<UUID> ids = statsRepo.findUserIdsAfter(after, batchSize);
+            if (ids.isEmpty()) break;
+            Integer n = tx.execute(status -> {
+                statsRepo.lockRows(ids);
+                return statsRepo.recompute(ids);
+            });
+            if (n != null) fixed += n;
+            if (ids.size() < batchSize) break;
+            after = ids.get(ids.size() - 1);
+        }
+        if (fixed > 0) {
+            log.info("Task stats reconciliation corrected {} user row(s)", fixed);
+        }
+    }
+
+    UserTaskStatsDto toDto(UserTaskStats s, LocalDate today) {
+        UserTaskStatsDto dto = new UserTaskStatsDto();
+        dto.total = s.getTotal();
+        dto.open = s.getOpenCount();
+        dto.done = s.getDoneCount();
+        dto.openByPriority.put(mapper.toUiPriority(TaskPriority.HIGH), (long) s.getOpenHigh());
+        dto.openByPriority.put(mapper.toUiPriority(TaskPriority.MED), (long) s.getOpenMed());
+        dto.openByPriority.put(mapper.toUiPriority(TaskPriority.LOW), (long) s.getOpenLow());
+        dto.updatedAt = s.getUpdatedAt();
+
+        String todayKey = today.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        for (Iterator<Map.Entry<String, JsonNode>> it = readBuckets(s.getDueBuckets()); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> e = it.next();
+            // ISO dates compare correctly as strings
+            int cmp = e.getKey().compareTo(todayKey);
+            if (cmp < 0) dto.overdue += e.getValue().asLong();
+            else if (cmp == 0) dto.dueToday += e.getValue().asLong();
+        }
+        return dto;
+    }
+
+    private UserTaskStatsDto empty() {
+        UserTaskStatsDto dto = new UserTaskStatsDto();
+        for (TaskPriority p : new TaskPriority[]{TaskPriority.HIGH, TaskPriority.MED, TaskPriority.LOW}) {
+            dto.openByPriority.put(mapper.toUiPriority(p), 0L);
+        }
+        return dto;
+    }
+
+    private static Iterator<Map.Entry<String, JsonNode>> readBuckets(String json) {
+        if (!StringUtils.hasText(json)) return Collections.emptyIterator();
+        try {
+            return Json.MAPPER.readTree(json).fields();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt due_buckets in user_task_stats", e);
+        }
+    }
+
+    List<UUID> viewers(Task t) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        ids.add(t.getOwner().getId());
+        shareRepo.findByTask_Id(t.getId()).forEach(s -> ids.add(s.getId().getUserId()));
+        return new ArrayList<>(ids);
+    }
+
+    private void apply(List<UUID> userIds, Contribution before, Contribution after) {
+        int total = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        int open = openCount(after) - openCount(before);
+        int done = (after != null && !after.open() ? 1 : 0) - (before != null && !before.open() ? 1 : 0);
+        int high = openWith(after, TaskPriority.HIGH) - openWith(before, TaskPriority.HIGH);
+        int med = openWith(after, TaskPriority.MED) - openWith(before, TaskPriority.MED);
+        int low = openWith(after, TaskPriority.LOW) - openWith(before, TaskPriority.LOW);
+        String dayOut = before == null ? null : before.openDueDay();
+        String dayIn = after == null ? null : after.openDueDay();
+        if (Objects.equals(dayOut, dayIn)) {
+            dayOut = null;
+            dayIn = null;
+        }
+        if (total == 0 && open == 0 && done == 0 && high == 0 && med == 0 && low == 0 && dayOut == null && dayIn == null) {
+            return;
+        }
+        List<UUID> ordered = new ArrayList<>(userIds);
+        ordered.sort(LOCK_ORDER);
+        for (UUID userId : ordered) {
+            statsRepo.applyDelta(userId, total, open, done, high, med, low, dayOut, dayIn);
+        }
+    }
+
+    private static int openCount(Contribution c) {
+        return c != null && c.open() ? 1 : 0;
+    }
+
+    private static int openWith(Contribution c, TaskPriority p) {
+        return c != null && c.open() && c.priority() == p ? 1 : 0;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.todo.service;
+
+import com.example.todo.ai.NaiveBayesModel;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.UserSuggestionModel;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskLabelRow;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.UserSuggestionModelRepository;
+import com.example.todo.tracing.Spans;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Category / priority suggestions learned from the user's own tasks ("dentist" → Health, High).
+ * <p>
+ * Each user gets a {@link NaiveBayesModel} over title words, kept in memory (least recently used
+ * ones dropped beyond {@code todo.suggest.max-users}) and trained incrementally by {@link TaskService}
+ * creates / patches / deletes after commit. Changed models are written to {@code user_suggestion_model}
+ * every {@code todo.suggest.snapshot-interval}, so a restart or another node starts from the snapshot
+ * instead of the whole history. Snapshots older than {@code todo.suggest.rebuild-after} are ignored
+ * and the model is rebuilt from the task table, which also bounds what a node misses of writes made
+ * on other nodes.
+ */
+@Service
+public class TaskSuggestionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSuggestionService.class);
+
+    /** Suggested labels; a field is null when the model is not confident enough about it. */
+    public record Suggestion(String category, String priority) { }
+
+    /** What one task contributed to its owner's model; taken before a patch, see {@link #snapshot}. */
+    record Sample(String title, String category, String priority) { }
+
+    private record Loaded(UserModel model, boolean rebuilt) { }
+
+    private static final class UserModel {
+        final NaiveBayesModel model;
+        final OffsetDateTime builtAt;
+        boolean dirty;                 // guarded by model
+
+        UserModel(NaiveBayesModel model, OffsetDateTime builtAt, boolean dirty) {
+            this.model = model;
+            this.builtAt = builtAt;
+            this.dirty = dirty;
+        }
+    }
+
+    private final TaskRepository taskRepo;
+    private final UserSuggestionModelRepository modelRepo;
+    private final TaskMapper mapper;
+    private final int maxCategories;
+    private final int minDocuments;
+    private final double minProbability;
+    private final Duration rebuildAfter;
+    private final Clock clock;
+    private final Map<UUID, UserModel> models;
+    // dirty models pushed out of the LRU before their snapshot was written
+    private final Map<UUID, UserModel> evicted = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public TaskSuggestionService(TaskRepository taskRepo,
+                                 UserSuggestionModelRepository modelRepo,
+                                 TaskMapper mapper,
+                                 @Value("${todo.suggest.max-users:500}") int maxUsers,
+                                 @Value("${todo.suggest.max-categories:64}") int maxCategories,
+                                 @Value("${todo.suggest.min-documents:20}") int minDocuments,
+                                 @Value("${todo.suggest.min-probability:0.6}") double minProbability,
+                                 @Value("${todo.suggest.rebuild-after:P1D}") Duration rebuildAfter) {
+        this(taskRepo, modelRepo, mapper, maxUsers, maxCategories, minDocuments, minProbability, rebuildAfter, Clock.systemUTC());
+    }
+
+    TaskSuggestionService(TaskRepository taskRepo, UserSuggestionModelRepository modelRepo, TaskMapper mapper,
+                          int maxUsers, int maxCategories, int minDocuments, double minProbability,
+                          Duration rebuildAfter, Clock clock) {
+        if (maxCategories <= 0) throw new IllegalArgumentException("todo.suggest.max-categories must be > 0");
+        if (minProbability < 0 || minProbability > 1) throw new IllegalArgumentException("todo.suggest.min-probability must be in [0,1]");
+        this.taskRepo = taskRepo;
+        this.modelRepo = modelRepo;
+        this.mapper = mapper;
+        this.maxCategories = maxCategories;
+        this.minDocuments = minDocuments;
+        this.minProbability = minProbability;
+        this.rebuildAfter = rebuildAfter;
+        this.clock = clock;
+        this.models = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, UserModel> eldest) {
+                if (size() <= maxUsers) return false;
+                evictions.increment();
+                synchronized (eldest.getValue().model) {
+                    if (eldest.getValue().dirty) evicted.put(eldest.getKey(), eldest.getValue());
+                }
+                return true;
+            }
+        };
+    }
+
+    /** Predictions from one user's model; cheap and safe to call from any thread. */
+    @FunctionalInterface
+    public interface Suggester {
+        /** Labels for a task titled {@code title}, or null when there is nothing confident to say. */
+        Suggestion suggest(String title);
+    }
+
+    /**
+     * Loads (or rebuilds) the user's model and returns a predictor over it. Predictions stay null
+     * until the user has {@code todo.suggest.min-documents} titled tasks; priority comes back in UI
+     * form ("High").
+     */
+    public Suggester forUser(UUID userId) {
+        UserModel m = load(userId).model();
+        return title -> predict(m.model, title);
+    }
+
+    private Suggestion predict(NaiveBayesModel model, String title) {
+        if (title == null || title.isBlank()) return null;
+        NaiveBayesModel.Prediction category, priority;
+        synchronized (model) {
+            if (model.documents() < minDocuments) return null;
+            category = model.predictCategory(title);
+            priority = model.predictPriority(title);
+        }
+        String c = confident(category), p = confident(priority);
+        return c == null && p == null ? null : new Suggestion(c, p);
+    }
+
+    private String confident(NaiveBayesModel.Prediction p) {
+        return p != null && p.probability() >= minProbability ? p.label() : null;
+    }
+
+    // ---------- hooks from TaskService (inside its transaction)
+
+    Sample snapshot(Task t) {
+        return new Sample(t.getTitle(), t.getCategory(), mapper.toUiPriority(t.getPriority()));
+    }
+
+    void onCreated(Task t) {
+        Sample s = snapshot(t);
+        UUID ownerId = t.getOwner().getId();
+        afterCommit(() -> apply(ownerId, null, s));
+    }
+
+    void onChanged(Task t, Sample before) {
+        Sample after = snapshot(t);
+        if (after.equals(before)) return;
+        UUID ownerId = t.getOwner().getId();
+        afterCommit(() -> apply(ownerId, before, after));
+    }
+
+    void onDeleted(Task t) {
+        Sample s = snapshot(t);
+        UUID ownerId = t.getOwner().getId();
+        afterCommit(() -> apply(ownerId, s, null));
+    }
+
+    // ---------- snapshots
+
+    @Scheduled(fixedDelayString = "${todo.suggest.snapshot-interval:PT2M}")
+    public void writeSnapshots() {
+        // evicted models stay reachable (load() takes them back) until their snapshot is written
+        Map<UUID, UserModel> pending = new LinkedHashMap<>(evicted);
+        synchronized (models) {
+            pending.putAll(models);
+        }
+        int written = 0;
+        for (Map.Entry<UUID, UserModel> e : pending.entrySet()) {
+            UserModel m = e.getValue();
+            byte[] bytes;
+            int documents;
+            synchronized (m.model) {
+                if (!m.dirty) continue;
+                bytes = m.model.toBytes();
+                documents = m.model.documents();
+                m.dirty = false;
+            }
+            try {
+                modelRepo.upsert(e.getKey(), bytes, documents, m.builtAt);
+                evicted.remove(e.getKey(), m);
+                written++;
+            } catch (RuntimeException ex) {
+                synchronized (m.model) { m.dirty = true; }
+                log.warn("Suggestion model snapshot for user {} failed: {}", e.getKey(), ex.toString());
+            }
+        }
+        if (written > 0) log.debug("Wrote {} suggestion model snapshot(s)", written);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writeSnapshots();
+    }
+
+    // ---------- internals
+
+    private void apply(UUID ownerId, Sample remove, Sample add) {
+        try {
+            Loaded l = load(ownerId);
+            // a model just rebuilt from the table already contains this (committed) change
+            if (l.rebuilt()) return;
+            NaiveBayesModel model = l.model().model;
+            synchronized (model) {
+                if (remove != null) model.remove(remove.title(), remove.category(), remove.priority());
+                if (add != null) model.add(add.title(), add.category(), add.priority());
+                l.model().dirty = true;
+            }
+        } catch (RuntimeException e) {
+            // suggestions are best effort; the task write itself has already committed
+            log.warn("Suggestion model update for user {} failed: {}", ownerId, e.toString());
+        }
+    }
+
+    private Loaded load(UUID userId) {
+        synchronized (models) {
+            UserModel m = models.get(userId);
+            if (m == null) {
+                m = evicted.remove(userId);
+                if (m != null) models.put(userId, m);
+            }
+            if (m != null) {
+                hits.increment();
+                Spans.attr("todo.cache.suggestions.hit", true);
+                return new Loaded(m, false);
+            }
+        }
+        misses.increment();
+        Spans.attr("todo.cache.suggestions.hit", false);
+
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        UserModel loaded = null;
+        boolean rebuilt = false;
+        UserSuggestionModel row = modelRepo.findById(userId).orElse(null);
+        if (row != null && row.getBuiltAt().plus(rebuildAfter).isAfter(now)) {
+            try {
+                loaded = new UserModel(NaiveBayesModel.fromBytes(row.getSnapshot()), row.getBuiltAt(), false);
+            } catch (IllegalArgumentException e) {
+                log.warn("Discarding suggestion model snapshot of user {}: {}", userId, e.getMessage());
+            }
+        }
+        if (loaded == null) {
+            NaiveBayesModel model = new NaiveBayesModel(maxCategories);
+            for (TaskLabelRow r : taskRepo.findLabelsByOwner(userId)) {
+                model.add(r.getTitle(), r.getCategory(), mapper.toUiPriority(r.getPriority()));
+            }
+            loaded = new UserModel(model, now, true);
+            rebuilt = true;
+        }
+
+        synchronized (models) {
+            UserModel raced = models.putIfAbsent(userId, loaded);
+            if (raced != null) return new Loaded(raced, false);
+        }
+        return new Loaded(loaded, rebuilt);
+    }
+
+    int loadedUsers() {
+        synchronized (models) {
+            return models.size();
+        }
+    }
+
+    // cache.* meters of the model LRU; a miss reads the snapshot or rebuilds from the task table
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", this, TaskSuggestionService::loadedUsers)
+                .tag("cache", "suggestions").register(registry);
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", "suggestions").tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", "suggestions").tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", "suggestions").register(registry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
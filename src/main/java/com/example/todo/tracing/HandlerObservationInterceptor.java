@@ -0,0 +1,49 @@
+// src/main/java/com/example/todo/tracing/HandlerObservationInterceptor.java
+package com.example.todo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * A child span of the server span per controller method ({@code TaskController#patch}), from just
+ * before the handler runs until the response is complete — the filters (auth, metrics) stay outside it.
+ */
+public class HandlerObservationInterceptor implements HandlerInterceptor {
+
+    private static final String OBSERVATION = HandlerObservationInterceptor.class.getName() + ".observation";
+    private static final String SCOPE = HandlerObservationInterceptor.class.getName() + ".scope";
+
+    private final ObservationRegistry observations;
+
+    public HandlerObservationInterceptor(ObservationRegistry observations) {
+        this.observations = observations;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod hm) || observations.isNoop()) return true;
+        String name = hm.getBeanType().getSimpleName() + "#" + hm.getMethod().getName();
+        Observation observation = Observation.createNotStarted("todo.handler", observations)
+                .contextualName(name)
+                .lowCardinalityKeyValue("handler", name)
+                .start();
+        request.setAttribute(OBSERVATION, observation);
+        request.setAttribute(SCOPE, observation.openScope());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(OBSERVATION) instanceof Observation observation)) return;
+        if (request.getAttribute(SCOPE) instanceof Observation.Scope scope) scope.close();
+        request.removeAttribute(OBSERVATION);
+        request.removeAttribute(SCOPE);
+        observation.highCardinalityKeyValue("http.status_code", Integer.toString(response.getStatus()));
+        if (ex != null) observation.error(ex);
+        observation.stop();
+    }
+}
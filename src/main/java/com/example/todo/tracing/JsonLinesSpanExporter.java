@@ -0,0 +1,139 @@
+// src/main/java/com/example/todo/tracing/JsonLinesSpanExporter.java
+package com.example.todo.tracing;
+
+import com.example.todo.util.Json;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline span sink: one JSON object per span and line, with the OTLP field names (traceId, spanId,
+ * parentSpanId, startTimeUnixNano, ...) so {@code jq} queries carry over to a collector later.
+ * When the file passes {@code maxBytes} it is moved to {@code <file>.1} (replacing the previous one).
+ * <pre>
+ *   jq -c 'select(.parentSpanId == null) | [.durationMs, .name, .traceId]' traces/spans.jsonl | sort -rn | head
+ * </pre>
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final Path file;
+    private final long maxBytes;
+    private BufferedWriter out;
+    private long written;
+
+    public JsonLinesSpanExporter(Path file, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                if (out == null || written >= maxBytes) open();
+                String line = Json.MAPPER.writeValueAsString(toJson(span));
+                out.write(line);
+                out.newLine();
+                written += line.length() + 1;
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Writing spans to {} failed: {}", file, e.toString());
+            closeQuietly();
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    static Map<String, Object> toJson(SpanData span) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("traceId", span.getTraceId());
+        m.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) m.put("parentSpanId", span.getParentSpanId());
+        m.put("name", span.getName());
+        m.put("kind", span.getKind().name());
+        m.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        m.put("startTimeUnixNano", span.getStartEpochNanos());
+        m.put("endTimeUnixNano", span.getEndEpochNanos());
+        m.put("durationMs", Math.round((span.getEndEpochNanos() - span.getStartEpochNanos()) / 10_000.0) / 100.0);
+        m.put("attributes", attributes(span.getAttributes()));
+        if (!span.getEvents().isEmpty()) {
+            List<Map<String, Object>> events = new ArrayList<>(span.getEvents().size());
+            for (EventData e : span.getEvents()) {
+                Map<String, Object> ev = new LinkedHashMap<>();
+                ev.put("name", e.getName());
+                ev.put("timeUnixNano", e.getEpochNanos());
+                ev.put("attributes", attributes(e.getAttributes()));
+                events.add(ev);
+            }
+            m.put("events", events);
+        }
+        if (span.getStatus().getStatusCode() != StatusCode.UNSET) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("code", span.getStatus().getStatusCode().name());
+            if (!span.getStatus().getDescription().isEmpty()) status.put("message", span.getStatus().getDescription());
+            m.put("status", status);
+        }
+        return m;
+    }
+
+    private static Map<String, Object> attributes(Attributes attributes) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        attributes.forEach((k, v) -> m.put(k.getKey(), v));
+        return m;
+    }
+
+    private void open() throws IOException {
+        closeQuietly();
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        if (Files.exists(file) && Files.size(file) >= maxBytes) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        written = Files.size(file);
+    }
+
+    private void closeQuietly() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // the next export reopens the file
+        }
+        out = null;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        closeQuietly();
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,25 @@
+// src/main/java/com/example/todo/tracing/Spans.java
+package com.example.todo.tracing;
+
+import io.opentelemetry.api.trace.Span;
+
+/**
+ * Attributes on the span that is current on this thread (the innermost observation: a service call,
+ * a handler, the server span). No-op when nothing is being traced, so callers don't need a registry.
+ */
+public final class Spans {
+
+    private Spans() { }
+
+    public static void attr(String key, long value) {
+        Span.current().setAttribute(key, value);
+    }
+
+    public static void attr(String key, boolean value) {
+        Span.current().setAttribute(key, value);
+    }
+
+    public static void attr(String key, String value) {
+        if (value != null) Span.current().setAttribute(key, value);
+    }
+}
@@ -0,0 +1,137 @@
+// src/main/java/com/example/todo/tracing/TailSamplingSpanExporter.java
+package com.example.todo.tracing;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tail sampling in front of the real exporters. Every trace is recorded (head sampling is 100%) and
+ * its spans are held here until the local root span — the server span, or a scheduler job — ends.
+ * Then the whole trace is kept if it was slow (root at least {@code slowTrace}), failed (any span with
+ * ERROR status), or falls into {@code keepRatio} by trace id; everything else is dropped. A head
+ * sampler can't do this: it decides before anyone knows the request will be a p99 outlier.
+ * <p>
+ * Children end before their root, so normally a trace arrives complete; spans that end after the
+ * decision (async work) follow it. At most {@code maxBufferedSpans} wait for a root, oldest traces go
+ * first. Called from the batch processor's single worker thread; synchronized all the same.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final int MAX_DECISIONS = 10_000;
+
+    private final SpanExporter delegate;
+    private final long slowNanos;
+    private final long ratioBound;
+    private final int maxBufferedSpans;
+
+    private final Map<String, List<SpanData>> pending = new LinkedHashMap<>();
+    private int buffered;
+    private final Map<String, Boolean> decided = new LinkedHashMap<>(256, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_DECISIONS;
+        }
+    };
+
+    private long kept;
+    private long dropped;
+
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowTrace, double keepRatio, int maxBufferedSpans) {
+        if (keepRatio < 0 || keepRatio > 1) throw new IllegalArgumentException("keepRatio must be in [0, 1]");
+        this.delegate = delegate;
+        this.slowNanos = slowTrace.toNanos();
+        // same idea as TraceIdRatioBased: compare the random low 63 bits of the trace id with a bound
+        this.ratioBound = keepRatio >= 1 ? Long.MAX_VALUE : (long) (keepRatio * Long.MAX_VALUE);
+        this.maxBufferedSpans = maxBufferedSpans;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> out = new ArrayList<>();
+        synchronized (this) {
+            for (SpanData span : spans) {
+                String traceId = span.getTraceId();
+                Boolean keep = decided.get(traceId);
+                if (keep != null) {
+                    if (keep) out.add(span);
+                    continue;
+                }
+                List<SpanData> trace = pending.computeIfAbsent(traceId, k -> new ArrayList<>());
+                trace.add(span);
+                buffered++;
+                if (isLocalRoot(span)) {
+                    pending.remove(traceId);
+                    buffered -= trace.size();
+                    keep = keep(span, trace);
+                    decided.put(traceId, keep);
+                    if (keep) {
+                        out.addAll(trace);
+                        kept++;
+                    } else {
+                        dropped++;
+                    }
+                }
+            }
+            evictOverflow();
+        }
+        return out.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(out);
+    }
+
+    boolean keep(SpanData root, List<SpanData> trace) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowNanos) return true;
+        for (SpanData s : trace) {
+            if (s.getStatus().getStatusCode() == StatusCode.ERROR) return true;
+        }
+        return ratioBound == Long.MAX_VALUE
+                || (Long.parseUnsignedLong(root.getTraceId().substring(16), 16) & Long.MAX_VALUE) < ratioBound;
+    }
+
+    // no parent in this process: nothing else of the trace will end after it here
+    private static boolean isLocalRoot(SpanData span) {
+        return !span.getParentSpanContext().isValid() || span.getParentSpanContext().isRemote();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, List<SpanData>>> it = pending.entrySet().iterator();
+        while (buffered > maxBufferedSpans && it.hasNext()) {
+            Map.Entry<String, List<SpanData>> oldest = it.next();
+            buffered -= oldest.getValue().size();
+            decided.put(oldest.getKey(), false);
+            dropped++;
+            it.remove();
+        }
+    }
+
+    // traces exported / dropped so far
+    synchronized long[] decisions() {
+        return new long[] {kept, dropped};
+    }
+
+    synchronized int buffered() {
+        return buffered;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        synchronized (this) {
+            pending.clear();
+            buffered = 0;
+        }
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.todo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Approximate nearest-neighbour index over unit vectors (cosine similarity), after Malkov &amp;
+ * Yashunin, "Efficient and robust approximate nearest neighbor search using Hierarchical Navigable
+ * Small World graphs" (HNSW): greedy descent through sparse upper layers, then a beam search of
+ * width {@code ef} on the dense bottom layer; neighbours are picked with the diversity heuristic.
+ * <p>
+ * Sized up front: {@code capacity} slots, vectors stored as int8 with a per-vector scale, links in
+ * flat int arrays. Removal only marks a slot deleted (it keeps routing searches); {@link #compact}
+ * rebuilds from the live entries once the slots run out. Each entry carries an int {@code tag}
+ * (e.g. owner) so searches can be restricted to one tag plus an explicit set of keys.
+ * <p>
+ * Not thread-safe for writes; concurrent {@code search}/{@code exact} calls are fine as long as no
+ * write runs at the same time.
+ */
+public final class HnswIndex<K> {
+
+    public record Hit<K>(K key, float similarity) { }
+
+    private final int dim;
+    private final int m;
+    private final int m0;
+    private final int efConstruction;
+    private final int capacity;
+    private final double levelMult;
+    private final SplittableRandom rnd;
+
+    private final byte[] vectors;           // slot * dim
+    private final float[] scales;
+    private final int[] tags;
+    private final int[] levelOf;
+    private final Object[] keys;
+    private final int[] layer0;             // slot * (m0 + 1): [count, neighbours...]
+    private final int[][] upper;            // levels 1..levelOf[slot], each [count, neighbours...] of m + 1
+    private final long[] deleted;
+
+    private final Map<K, Integer> slotOf = new HashMap<>();
+    private final Map<Integer, Integer> tagCounts = new HashMap<>();
+    private int used;
+    private int entry = -1;
+    private int maxLevel = -1;
+    private int evictCursor;
+
+    public HnswIndex(int dim, int m, int efConstruction, int capacity, long seed) {
+        if (dim <= 0 || m < 2 || efConstruction < m || capacity <= 0) {
+            throw new IllegalArgumentException("invalid HNSW parameters");
+        }
+        this.dim = dim;
+        this.m = m;
+        this.m0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.capacity = capacity;
+        this.levelMult = 1 / Math.log(m);
+        this.rnd = new SplittableRandom(seed);
+        this.vectors = new byte[capacity * dim];
+        this.scales = new float[capacity];
+        this.tags = new int[capacity];
+        this.levelOf = new int[capacity];
+        this.keys = new Object[capacity];
+        this.layer0 = new int[capacity * (m0 + 1)];
+        this.upper = new int[capacity][];
+        this.deleted = new long[(capacity + 63) >>> 6];
+    }
+
+    /** Live entries. */
+    public int size() { return slotOf.size(); }
+
+    public int capacity() { return capacity; }
+
+    /** False when every slot has been used (live or deleted): time to {@link #compact}. */
+    public boolean hasFreeSlot() { return used < capacity; }
+
+    public boolean contains(K key) { return slotOf.containsKey(key); }
+
+    public int countTag(int tag) { return tagCounts.getOrDefault(tag, 0); }
+
+    // ---------- writes
+
+    /** Adds {@code key} (replacing an older vector for it). Returns false if no slot is left. */
+    public boolean insert(K key, float[] unit, int tag) {
+        if (unit.length != dim) throw new IllegalArgumentException("vector must have " + dim + " dimensions");
+        if (used == capacity) return false;
+        remove(key);
+        int s = used++;
+        quantize(unit, s);
+        tags[s] = tag;
+        keys[s] = key;
+        int level = (int) (-Math.log(1 - rnd.nextDouble()) * levelMult);
+        levelOf[s] = level;
+        if (level > 0) upper[s] = new int[level * (m + 1)];
+        slotOf.put(key, s);
+        tagCounts.merge(tag, 1, Integer::sum);
+
+        if (entry < 0) {
+            entry = s;
+            maxLevel = level;
+            return true;
+        }
+        int ep = entry;
+        Query q = new Query(vectors, s * dim, scales[s]);
+        for (int l = maxLevel; l > level; l--) ep = greedy(q, ep, l);
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            long[] found = searchLayer(q, ep, efConstruction, l, NO_TAG, null, Integer.MAX_VALUE, true);
+            int[] selected = selectNeighbors(found, m, s);
+            int[] links = linksOf(s, l);
+            int off = offsetOf(s, l);
+            links[off] = selected.length;
+            System.arraycopy(selected, 0, links, off + 1, selected.length);
+            for (int nb : selected) addLink(nb, l, s);
+            ep = slotOf(found[found.length - 1]);
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entry = s;
+        }
+        return true;
+    }
+
+    public boolean remove(K key) {
+        Integer s = slotOf.remove(key);
+        if (s == null) return false;
+        deleted[s >>> 6] |= 1L << s;
+        keys[s] = null;
+        tagCounts.computeIfPresent(tags[s], (t, c) -> c == 1 ? null : c - 1);
+        return true;
+    }
+
+    /** Removes the oldest live entry (slot order is insertion order); returns its key, or null if empty. */
+    @SuppressWarnings("unchecked")
+    public K evictOldest() {
+        while (evictCursor < used && isDeleted(evictCursor)) evictCursor++;
+        if (evictCursor == used) return null;
+        K key = (K) keys[evictCursor];
+        remove(key);
+        return key;
+    }
+
+    /** A fresh index with the live entries, oldest first, and room for {@code newCapacity}. */
+    @SuppressWarnings("unchecked")
+    public HnswIndex<K> compact(int newCapacity, long seed) {
+        HnswIndex<K> next = new HnswIndex<>(dim, m, efConstruction, Math.max(newCapacity, size()), seed);
+        float[] v = new float[dim];
+        for (int s = 0; s < used; s++) {
+            if (isDeleted(s)) continue;
+            int base = s * dim;
+            for (int i = 0; i < dim; i++) v[i] = vectors[base + i] * scales[s];
+            next.insert((K) keys[s], v, tags[s]);
+        }
+        return next;
+    }
+
+    // ---------- reads
+
+    public static final int NO_TAG = Integer.MIN_VALUE;
+
+    /**
+     * Up to {@code k} most similar live entries with tag {@code tag} or key in {@code alsoAccept}
+     * ({@link #NO_TAG} and null accept everything). {@code maxVisits} caps the bottom-layer expansion
+     * when the filter is selective.
+     */
+    public List<Hit<K>> search(float[] query, int k, int ef, int tag, Set<K> alsoAccept, int maxVisits) {
+        if (entry < 0) return List.of();
+        int ep = entry;
+        Query q = query(query);
+        for (int l = maxLevel; l > 0; l--) ep = greedy(q, ep, l);
+        long[] found = searchLayer(q, ep, Math.max(ef, k), 0, tag, alsoAccept, maxVisits, false);
+        return toHits(found, k);
+    }
+
+    /** Exact scan over the entries accepted by the filter; for small accessible sets. */
+    public List<Hit<K>> exact(float[] query, int k, int tag, Set<K> alsoAccept) {
+        Query q = query(query);
+        LongHeap best = new LongHeap(k + 1);
+        for (int s = 0; s < used; s++) {
+            if (!accepted(s, tag, alsoAccept)) continue;
+            best.push(pack(similarity(q, s), s));
+            if (best.size() > k) best.pop();
+        }
+        return toHits(best.drainAscending(), k);
+    }
+
+    // ---------- internals
+
+    private boolean isDeleted(int s) {
+        return (deleted[s >>> 6] & (1L << s)) != 0;
+    }
+
+    private boolean accepted(int s, int tag, Set<K> alsoAccept) {
+        if (isDeleted(s)) return false;
+        if (tag == NO_TAG && alsoAccept == null) return true;
+        return tags[s] == tag || (alsoAccept != null && alsoAccept.contains(keys[s]));
+    }
+
+    // an int8 vector to compare against: a stored slot, or a quantized search query
+    private record Query(byte[] v, int offset, float scale) { }
+
+    private Query query(float[] v) {
+        if (v.length != dim) throw new IllegalArgumentException("vector must have " + dim + " dimensions");
+        byte[] b = new byte[dim];
+        return new Query(b, 0, quantize(v, b, 0));
+    }
+
+    private void quantize(float[] v, int s) {
+        scales[s] = quantize(v, vectors, s * dim);
+    }
+
+    private float quantize(float[] v, byte[] out, int offset) {
+        float max = 0;
+        for (float x : v) max = Math.max(max, Math.abs(x));
+        float scale = max == 0 ? 1 : max / 127f;
+        for (int i = 0; i < dim; i++) out[offset + i] = (byte) Math.round(v[i] / scale);
+        return scale;
+    }
+
+    // int dot product of the int8 vectors; the JIT vectorizes this loop
+    private float similarity(Query q, int s) {
+        byte[] a = q.v();
+        int oa = q.offset(), ob = s * dim;
+        int acc = 0;
+        for (int i = 0; i < dim; i++) acc += a[oa + i] * vectors[ob + i];
+        return acc * q.scale() * scales[s];
+    }
+
+    private float similarity(int a, int b) {
+        int ba = a * dim, bb = b * dim;
+        int acc = 0;
+        for (int i = 0; i < dim; i++) acc += vectors[ba + i] * vectors[bb + i];
+        return acc * scales[a] * scales[b];
+    }
+
+    private int[] linksOf(int s, int level) {
+        return level == 0 ? layer0 : upper[s];
+    }
+
+    private int offsetOf(int s, int level) {
+        return level == 0 ? s * (m0 + 1) : (level - 1) * (m + 1);
+    }
+
+    private int greedy(Query q, int ep, int level) {
+        float best = similarity(q, ep);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] links = linksOf(ep, level);
+            int off = offsetOf(ep, level);
+            for (int i = 1, n = links[off]; i <= n; i++) {
+                int nb = links[off + i];
+                float sim = similarity(q, nb);
+                if (sim > best) {
+                    best = sim;
+                    ep = nb;
+                    improved = true;
+                }
+            }
+        }
+        return ep;
+    }
+
+    // returns the accepted results packed (similarity, slot), worst first; while building the graph
+    // (includeDeleted) deleted nodes still count, they keep routing searches
+    private long[] searchLayer(Query q, int ep, int ef, int level, int tag, Set<K> alsoAccept, int maxVisits,
+                               boolean includeDeleted) {
+        long[] visited = new long[(used + 63) >>> 6];
+        LongHeap candidates = new LongHeap(ef * 2);     // min-heap on -similarity: best first
+        LongHeap results = new LongHeap(ef + 1);        // min-heap on similarity: worst first
+
+        float epSim = similarity(q, ep);
+        visited[ep >>> 6] |= 1L << ep;
+        candidates.push(pack(-epSim, ep));
+        if (includeDeleted || accepted(ep, tag, alsoAccept)) results.push(pack(epSim, ep));
+
+        int visits = 0;
+        while (candidates.size() > 0) {
+            long c = candidates.pop();
+            float cSim = -unpackSim(c);
+            if (results.size() >= ef && cSim < unpackSim(results.peek())) break;
+            if (++visits > maxVisits) break;
+            int cs = slotOf(c);
+            int[] links = linksOf(cs, level);
+            int off = offsetOf(cs, level);
+            for (int i = 1, n = links[off]; i <= n; i++) {
+                int nb = links[off + i];
+                if ((visited[nb >>> 6] & (1L << nb)) != 0) continue;
+                visited[nb >>> 6] |= 1L << nb;
+                float sim = similarity(q, nb);
+                if (results.size() < ef || sim > unpackSim(results.peek())) {
+                    candidates.push(pack(-sim, nb));
+                    if (includeDeleted || accepted(nb, tag, alsoAccept)) {
+                        results.push(pack(sim, nb));
+                        if (results.size() > ef) results.pop();
+                    }
+                }
+            }
+        }
+        return results.drainAscending();
+    }
+
+    // diversity heuristic: keep a candidate only if it is closer to the base than to every kept one
+    private int[] selectNeighbors(long[] ascending, int max, int base) {
+        int[] out = new int[Math.min(max, ascending.length)];
+        int n = 0;
+        for (int i = ascending.length - 1; i >= 0 && n < out.length; i--) {
+            int c = slotOf(ascending[i]);
+            if (c == base) continue;
+            float toBase = unpackSim(ascending[i]);
+            boolean keep = true;
+            for (int j = 0; j < n; j++) {
+                if (similarity(c, out[j]) > toBase) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) out[n++] = c;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private void addLink(int node, int level, int add) {
+        int[] links = linksOf(node, level);
+        int off = offsetOf(node, level);
+        int max = level == 0 ? m0 : m;
+        int n = links[off];
+        if (n < max) {
+            links[off + 1 + n] = add;
+            links[off] = n + 1;
+            return;
+        }
+        // full: re-select among the current links plus the new one
+        long[] cands = new long[n + 1];
+        for (int i = 0; i < n; i++) cands[i] = pack(similarity(node, links[off + 1 + i]), links[off + 1 + i]);
+        cands[n] = pack(similarity(node, add), add);
+        Arrays.sort(cands);
+        int[] keep = selectNeighbors(cands, max, node);
+        links[off] = keep.length;
+        System.arraycopy(keep, 0, links, off + 1, keep.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Hit<K>> toHits(long[] ascending, int k) {
+        List<Hit<K>> hits = new ArrayList<>(Math.min(k, ascending.length));
+        for (int i = ascending.length - 1; i >= 0 && hits.size() < k; i--) {
+            int s = slotOf(ascending[i]);
+            if (isDeleted(s)) continue;
+            hits.add(new Hit<>((K) keys[s], unpackSim(ascending[i])));
+        }
+        return hits;
+    }
+
+    // (similarity, slot) in one long whose natural order follows the similarity
+    private static long pack(float sim, int slot) {
+        int bits = Float.floatToIntBits(sim);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (slot & 0xffffffffL);
+    }
+
+    private static float unpackSim(long packed) {
+        int bits = (int) (packed >> 32);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static int slotOf(long packed) {
+        return (int) packed;
+    }
+
+    /** Binary min-heap of longs. */
+    private static final class LongHeap {
+        private long[] a;
+        private int n;
+
+        LongHeap(int initial) { a = new long[Math.max(4, initial)]; }
+
+        int size() { return n; }
+
+        long peek() { return a[0]; }
+
+        void push(long v) {
+            if (n == a.length) a = Arrays.copyOf(a, n * 2);
+            int i = n++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (a[p] <= v) break;
+                a[i] = a[p];
+                i = p;
+            }
+            a[i] = v;
+        }
+
+        long pop() {
+            long top = a[0];
+            long last = a[--n];
+            int i = 0;
+            while (true) {
+                int c = 2 * i + 1;
+                if (c >= n) break;
+                if (c + 1 < n && a[c + 1] < a[c]) c++;
+                if (a[c] >= last) break;
+                a[i] = a[c];
+                i = c;
+            }
+            a[i] = last;
+            return top;
+        }
+
+        long[] drainAscending() {
+            long[] out = new long[n];
+            for (int i = 0; i < out.length; i++) out[i] = pop();
+            return out;
+        }
+    }
+}
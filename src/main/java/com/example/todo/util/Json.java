@@ -0,0 +1,26 @@
+package com.example.todo.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.Map;
+
+/**
+ * One shared, pre-configured Jackson mapper for code that lives outside Spring
+ * (MapStruct default methods, DTO helpers). ObjectMapper/Reader/Writer are thread-safe
+ * once configured; reusing them keeps Jackson's serializer/deserializer caches warm.
+ */
+public final class Json {
+
+    public static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+    public static final ObjectWriter WRITER = MAPPER.writer();
+
+    private Json() {}
+}
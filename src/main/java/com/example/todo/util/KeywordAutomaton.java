@@ -0,0 +1,140 @@
+package com.example.todo.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Aho–Corasick automaton over a fixed set of keywords, matched case-insensitively.
+ * Compiled to a dense transition table over the keywords' own alphabet, so each input char
+ * costs one table lookup; chars that occur in no keyword send the automaton back to the root.
+ * Immutable and thread-safe once built.
+ */
+public final class KeywordAutomaton {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[] asciiClass = new int[128];
+    private final char[] nonAscii;     // sorted, class = 128-range offset + index
+    private final int nonAsciiBase;
+    private final int width;
+    private final int[] delta;         // state * width + class
+    private final int[][] outputs;     // keyword indices ending in each state (fail chain included)
+    private final int[] lengths;
+
+    public KeywordAutomaton(List<String> keywords) {
+        String[] kws = new String[keywords.size()];
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (int i = 0; i < kws.length; i++) {
+            String k = keywords.get(i);
+            if (k == null || k.isEmpty()) throw new IllegalArgumentException("Empty keyword at index " + i);
+            kws[i] = lower(k);
+            for (char c : kws[i].toCharArray()) alphabet.add(c);
+        }
+
+        Arrays.fill(asciiClass, -1);
+        int cls = 0;
+        StringBuilder rest = new StringBuilder();
+        for (char c : alphabet) {
+            if (c < 128) asciiClass[c] = cls++;
+            else rest.append(c);
+        }
+        this.nonAsciiBase = cls;
+        this.nonAscii = rest.toString().toCharArray();
+        this.width = Math.max(1, cls + nonAscii.length);
+
+        // trie
+        List<int[]> go = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        go.add(newRow());
+        out.add(new ArrayList<>());
+        this.lengths = new int[kws.length];
+        for (int i = 0; i < kws.length; i++) {
+            int s = 0;
+            for (char c : kws[i].toCharArray()) {
+                int a = classOf(c);
+                if (go.get(s)[a] < 0) {
+                    go.get(s)[a] = go.size();
+                    go.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                s = go.get(s)[a];
+            }
+            out.get(s).add(i);
+            lengths[i] = kws[i].length();
+        }
+
+        // BFS: failure links, folded straight into a full DFA
+        int n = go.size();
+        int[] fail = new int[n];
+        this.delta = new int[n * width];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int a = 0; a < width; a++) {
+            int t = go.get(0)[a];
+            if (t < 0) {
+                delta[a] = 0;
+            } else {
+                delta[a] = t;
+                fail[t] = 0;
+                queue.add(t);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            out.get(s).addAll(out.get(fail[s]));
+            for (int a = 0; a < width; a++) {
+                int t = go.get(s)[a];
+                if (t < 0) {
+                    delta[s * width + a] = delta[fail[s] * width + a];
+                } else {
+                    delta[s * width + a] = t;
+                    fail[t] = delta[fail[s] * width + a];
+                    queue.add(t);
+                }
+            }
+        }
+
+        this.outputs = new int[n][];
+        for (int s = 0; s < n; s++) {
+            List<Integer> o = out.get(s);
+            outputs[s] = o.isEmpty() ? NONE : o.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /** Start state. */
+    public int root() { return 0; }
+
+    /** Next state after reading {@code c} (any case). */
+    public int step(int state, char c) {
+        int a = classOf(Character.toLowerCase(c));
+        return a < 0 ? 0 : delta[state * width + a];
+    }
+
+    /** Keywords (by index) that end at the char that led to {@code state}. Do not modify. */
+    public int[] matches(int state) { return outputs[state]; }
+
+    public int length(int keyword) { return lengths[keyword]; }
+
+    public int size() { return lengths.length; }
+
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private int classOf(char c) {
+        if (c < 128) return asciiClass[c];
+        int i = Arrays.binarySearch(nonAscii, c);
+        return i < 0 ? -1 : nonAsciiBase + i;
+    }
+
+    // per-char lowering keeps keyword and input offsets aligned (String.toLowerCase may change length)
+    private static String lower(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) sb.append(Character.toLowerCase(s.charAt(i)));
+        return sb.toString();
+    }
+}
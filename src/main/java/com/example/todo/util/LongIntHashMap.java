@@ -0,0 +1,111 @@
+package com.example.todo.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing {@code long → int} map without boxing: two parallel arrays, linear probing,
+ * backward-shift deletion (no tombstones). An entry whose value drops to 0 through {@link #add}
+ * is removed, so the map only holds non-zero counts. Not thread-safe.
+ */
+public final class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntHashMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+        keys = new long[cap];
+        values = new int[cap];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int size() { return size; }
+
+    public int get(long key) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return 0;
+        }
+    }
+
+    /** Adds {@code delta} to the value of {@code key} (missing = 0); returns the new value. */
+    public int add(long key, int delta) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                int v = values[i] + delta;
+                if (v == 0) removeAt(i);
+                else values[i] = v;
+                return v;
+            }
+            if (k == EMPTY) break;
+        }
+        if (delta == 0) return 0;
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 2 > keys.length) rehash(keys.length * 2);
+        return delta;
+    }
+
+    /** Calls {@code consumer} for every entry, in table order. */
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, int value);
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) throw new IllegalArgumentException("Long.MIN_VALUE is reserved");
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void removeAt(int pos) {
+        int mask = keys.length - 1;
+        int hole = pos;
+        for (int i = (pos + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == EMPTY) continue;
+            int i = slot(oldKeys[j], mask);
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.todo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles plus a banded LSH index (MMDS ch. 3).
+ * <p>
+ * A signature of {@code bands * rows} values is split into bands; two entries become candidates
+ * when they agree on every row of at least one band, which for Jaccard similarity {@code s} happens
+ * with probability {@code 1 - (1 - s^rows)^bands}. A lookup therefore only walks the buckets of the
+ * query's own bands, never the whole index. Candidate similarity is then estimated from the
+ * signatures (fraction of equal MinHash values).
+ * <p>
+ * Storage is flat arrays indexed by slot; each bucket is a singly linked list threaded through
+ * {@code next}. Not thread-safe: callers serialize access.
+ */
+public final class MinHashLsh<K> {
+
+    public record Hit<K>(K key, double similarity) { }
+
+    private static final int MAX_HASHES = 256;
+    private static final int NONE = -1;
+
+    // h_i(x) = high 32 bits of (a_i * x + b_i); fixed seed so signatures are comparable between instances
+    private static final long[] A = new long[MAX_HASHES];
+    private static final long[] B = new long[MAX_HASHES];
+
+    static {
+        SplittableRandom rnd = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < MAX_HASHES; i++) {
+            A[i] = rnd.nextLong() | 1;
+            B[i] = rnd.nextLong();
+        }
+    }
+
+    private final int bands;
+    private final int rows;
+    private final int numHashes;
+
+    private final Map<K, Integer> slotOf = new HashMap<>();
+    private Object[] keys = new Object[16];
+    private int[] sigs;                     // slot * numHashes
+    private int[] next;                     // slot * bands + band → next slot in that bucket
+    private int[] freeSlots = new int[8];
+    private int freeCount;
+    private int highWater;                  // slots [0, highWater) have been handed out
+
+    // bucket heads: open addressing, key = (band + 1) << 32 | bandHash, 0 = empty
+    private long[] bucketKeys = new long[64];
+    private int[] bucketHeads = new int[64];
+    private int bucketCount;
+
+    // dedup of candidates across bands without clearing: seen[slot] == stamp
+    private int[] seen = new int[16];
+    private int stamp;
+
+    public MinHashLsh(int bands, int rows) {
+        if (bands <= 0 || rows <= 0 || bands * rows > MAX_HASHES) {
+            throw new IllegalArgumentException("bands * rows must be in 1.." + MAX_HASHES);
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.numHashes = bands * rows;
+        this.sigs = new int[16 * numHashes];
+        this.next = new int[16 * bands];
+    }
+
+    public int numHashes() { return numHashes; }
+
+    public int size() { return slotOf.size(); }
+
+    // ---------- signatures
+
+    /**
+     * Folds the words of {@code text} (runs of letters/digits, lower-cased, at least 2 chars) into
+     * {@code sig} (start from all {@link Integer#MAX_VALUE}), stopping after {@code maxWords}.
+     * Returns the number of words added.
+     */
+    public static int addWords(int[] sig, CharSequence text, int maxWords) {
+        if (text == null) return 0;
+        int added = 0;
+        int n = text.length();
+        int i = 0;
+        while (i < n && added < maxWords) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            long h = 0xcbf29ce484222325L;
+            int len = 0;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                h ^= Character.toLowerCase(text.charAt(i++));
+                h *= 0x100000001b3L;
+                len++;
+            }
+            if (len < 2) continue;
+            h = fmix64(h);
+            for (int k = 0; k < sig.length; k++) {
+                int v = (int) ((h * A[k] + B[k]) >>> 32);
+                if (v < sig[k]) sig[k] = v;
+            }
+            added++;
+        }
+        return added;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int eq = 0;
+        for (int i = 0; i < a.length; i++) if (a[i] == b[i]) eq++;
+        return (double) eq / a.length;
+    }
+
+    // ---------- index
+
+    /** Adds or replaces {@code key}. */
+    public void put(K key, int[] sig) {
+        checkSignature(sig);
+        Integer existing = slotOf.get(key);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unlink(slot);
+        } else {
+            slot = allocate();
+            slotOf.put(key, slot);
+            keys[slot] = key;
+        }
+        System.arraycopy(sig, 0, sigs, slot * numHashes, numHashes);
+        for (int b = 0; b < bands; b++) {
+            long bk = bucketKey(b, bandHash(sigs, slot * numHashes, b));
+            int pos = findBucket(bk);
+            next[slot * bands + b] = pos >= 0 ? bucketHeads[pos] : NONE;
+            setHead(bk, pos, slot);
+        }
+    }
+
+    public boolean remove(K key) {
+        Integer slot = slotOf.remove(key);
+        if (slot == null) return false;
+        unlink(slot);
+        keys[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Entries sharing at least one band with {@code sig} and an estimated similarity of at least
+     * {@code minSimilarity}, most similar first.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Hit<K>> query(int[] sig, double minSimilarity, int limit) {
+        checkSignature(sig);
+        if (++stamp == 0) {             // wrapped: old stamps could collide
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+        List<Hit<K>> hits = new ArrayList<>();
+        for (int b = 0; b < bands; b++) {
+            int pos = findBucket(bucketKey(b, bandHash(sig, 0, b)));
+            if (pos < 0) continue;
+            for (int s = bucketHeads[pos]; s != NONE; s = next[s * bands + b]) {
+                if (seen[s] == stamp) continue;
+                seen[s] = stamp;
+                int eq = 0;
+                int base = s * numHashes;
+                for (int i = 0; i < numHashes; i++) if (sigs[base + i] == sig[i]) eq++;
+                double sim = (double) eq / numHashes;
+                if (sim >= minSimilarity) hits.add(new Hit<>((K) keys[s], sim));
+            }
+        }
+        hits.sort((x, y) -> Double.compare(y.similarity(), x.similarity()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // ---------- internals
+
+    private void checkSignature(int[] sig) {
+        if (sig.length != numHashes) throw new IllegalArgumentException("signature must have " + numHashes + " values");
+    }
+
+    private int allocate() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        int slot = highWater++;
+        if (slot == keys.length) {
+            int cap = keys.length * 2;
+            keys = Arrays.copyOf(keys, cap);
+            sigs = Arrays.copyOf(sigs, cap * numHashes);
+            next = Arrays.copyOf(next, cap * bands);
+            seen = Arrays.copyOf(seen, cap);
+        }
+        return slot;
+    }
+
+    private void unlink(int slot) {
+        for (int b = 0; b < bands; b++) {
+            long bk = bucketKey(b, bandHash(sigs, slot * numHashes, b));
+            int pos = findBucket(bk);
+            int succ = next[slot * bands + b];
+            int head = bucketHeads[pos];
+            if (head == slot) {
+                if (succ == NONE) removeBucket(pos);
+                else bucketHeads[pos] = succ;
+            } else {
+                int prev = head;
+                while (next[prev * bands + b] != slot) prev = next[prev * bands + b];
+                next[prev * bands + b] = succ;
+            }
+        }
+    }
+
+    private int bandHash(int[] sig, int offset, int band) {
+        int h = 0x9747b28c;
+        int from = offset + band * rows;
+        for (int i = 0; i < rows; i++) {
+            h = (h ^ sig[from + i]) * 0x01000193;
+        }
+        return h ^ (h >>> 15);
+    }
+
+    private static long bucketKey(int band, int hash) {
+        return ((long) (band + 1) << 32) | (hash & 0xffffffffL);
+    }
+
+    private int findBucket(long key) {
+        int mask = bucketKeys.length - 1;
+        for (int i = (int) fmix64(key) & mask; ; i = (i + 1) & mask) {
+            long k = bucketKeys[i];
+            if (k == key) return i;
+            if (k == 0) return -1;
+        }
+    }
+
+    private void setHead(long key, int pos, int slot) {
+        if (pos >= 0) {
+            bucketHeads[pos] = slot;
+            return;
+        }
+        if ((bucketCount + 1) * 2 > bucketKeys.length) rehash(bucketKeys.length * 2);
+        int mask = bucketKeys.length - 1;
+        int i = (int) fmix64(key) & mask;
+        while (bucketKeys[i] != 0) i = (i + 1) & mask;
+        bucketKeys[i] = key;
+        bucketHeads[i] = slot;
+        bucketCount++;
+    }
+
+    // linear probing: shift later entries of the cluster back instead of leaving tombstones
+    private void removeBucket(int pos) {
+        int mask = bucketKeys.length - 1;
+        int hole = pos;
+        for (int i = (pos + 1) & mask; bucketKeys[i] != 0; i = (i + 1) & mask) {
+            int home = (int) fmix64(bucketKeys[i]) & mask;
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                bucketKeys[hole] = bucketKeys[i];
+                bucketHeads[hole] = bucketHeads[i];
+                hole = i;
+            }
+        }
+        bucketKeys[hole] = 0;
+        bucketCount--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = bucketKeys;
+        int[] oldHeads = bucketHeads;
+        bucketKeys = new long[capacity];
+        bucketHeads = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = (int) fmix64(oldKeys[j]) & mask;
+            while (bucketKeys[i] != 0) i = (i + 1) & mask;
+            bucketKeys[i] = oldKeys[j];
+            bucketHeads[i] = oldHeads[j];
+        }
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
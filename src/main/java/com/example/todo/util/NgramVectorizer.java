@@ -0,0 +1,87 @@
+package com.example.todo.util;
+
+/**
+ * Offline text vectorizer: character n-grams of the normalized text are hashed ("hashing trick")
+ * into a fixed number of signed buckets and the result is L2-normalized, so the dot product of two
+ * vectors is their cosine similarity. Normalization lower-cases letters/digits and collapses
+ * everything else into a single space; words are padded with spaces so prefixes and suffixes get
+ * their own n-grams. Stateless and thread-safe.
+ */
+public final class NgramVectorizer {
+
+    private final int dim;
+    private final int n;
+
+    public NgramVectorizer(int dim, int n) {
+        if (dim < 8 || Integer.bitCount(dim) != 1) throw new IllegalArgumentException("dim must be a power of two >= 8");
+        if (n < 2 || n > 8) throw new IllegalArgumentException("n must be in 2..8");
+        this.dim = dim;
+        this.n = n;
+    }
+
+    public int dim() { return dim; }
+
+    /** Unit vector of the text's n-grams, or {@code null} when the text has no letters/digits. */
+    public float[] vectorize(CharSequence text, int maxChars) {
+        if (text == null) return null;
+        float[] v = new float[dim];
+        char[] window = new char[n];
+        int filled = 0;             // chars in the window so far (saturates at n)
+        int grams = 0;
+        boolean pendingSpace = true;
+        int limit = Math.min(text.length(), maxChars);
+        for (int i = 0; i <= limit; i++) {
+            char c;
+            if (i == limit) {
+                if (pendingSpace) break;        // text ended on a separator (or was empty)
+                c = ' ';
+            } else {
+                char raw = text.charAt(i);
+                if (Character.isLetterOrDigit(raw)) {
+                    c = Character.toLowerCase(raw);
+                    if (filled == 0) {
+                        // leading pad
+                        window[0] = ' ';
+                        filled = 1;
+                    }
+                    pendingSpace = false;
+                } else {
+                    if (pendingSpace) continue;
+                    c = ' ';
+                    pendingSpace = true;
+                }
+            }
+            if (filled < n) {
+                window[filled++] = c;
+                if (filled < n) continue;
+            } else {
+                System.arraycopy(window, 1, window, 0, n - 1);
+                window[n - 1] = c;
+            }
+            long h = 0xcbf29ce484222325L;
+            for (int k = 0; k < n; k++) {
+                h ^= window[k];
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            // low bits pick the bucket, the top bit the sign (keeps collisions unbiased)
+            v[(int) h & (dim - 1)] += h < 0 ? -1f : 1f;
+            grams++;
+        }
+        if (grams == 0) return null;
+        double norm = 0;
+        for (float x : v) norm += x * x;
+        if (norm == 0) return null;     // every n-gram cancelled out
+        float inv = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dim; i++) v[i] *= inv;
+        return v;
+    }
+
+    public static float dot(float[] a, float[] b) {
+        float s = 0;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+}
@@ -1,105 +1,163 @@
 package com.example.todo.web;
 
+import com.example.todo.ai.RuleEngine;
 import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskSuggestionService;
+import com.example.todo.tracing.Spans;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.constraints.NotBlank;
-import java.time.OffsetDateTime;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/ai")
 @Validated
 public class AiController {
 
+    private final RuleEngine engine;
+    private final TaskSuggestionService suggestions;   // null → rules only
+    private final Executor batchExecutor;
+    private final int parallelism;
+    private final long itemBudgetNanos;
+    private final int maxBatchItems;
+
+    @Autowired
+    public AiController(RuleEngine engine,
+                        TaskSuggestionService suggestions,
+                        @Qualifier("aiBatchExecutor") Executor batchExecutor,
+                        @Value("${ai.batch.parallelism:0}") int parallelism,
+                        @Value("${ai.batch.item-budget:PT0.05S}") Duration itemBudget,
+                        @Value("${ai.batch.max-items:1000}") int maxBatchItems) {
+        this.engine = engine;
+        this.suggestions = suggestions;
+        this.batchExecutor = batchExecutor;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.itemBudgetNanos = itemBudget.toNanos();
+        this.maxBatchItems = maxBatchItems;
+    }
+
+    public AiController() {
+        this(RuleEngine.defaults(), null, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), Duration.ofMillis(50), 1000);
+    }
+
     @PostMapping("/interpret")
-    public ResponseEntity<AiResponse> interpret(@RequestBody @NotBlank Map<String, Object> body) {
+    public ResponseEntity<AiResponse> interpret(@RequestBody @NotBlank Map<String, Object> body, Authentication auth) {
         String text = Objects.toString(body.get("text"), "");
         if (text.isBlank()) return ResponseEntity.badRequest().build();
+        ZoneId zone = zoneOf(body.get("timezone"));
+        if (zone == null) return ResponseEntity.badRequest().build();
 
-        TaskPatchDto patch = new TaskPatchDto();
-        double score = 0.0;
-
-        // tags: #tag
-        Pattern tagPattern = Pattern.compile("#([A-Za-z0-9_-]+)");
-        Matcher m = tagPattern.matcher(text);
-        List<String> tags = new ArrayList<>();
-        while (m.find()) tags.add(m.group(1));
-        if (!tags.isEmpty()) { patch.tags = tags; score += 0.2; }
-
+        AiResponse resp = new AiResponse();
+        resp.proposal = interpretText(text, RuleEngine.NO_DEADLINE, zone, suggesterFor(auth));
+        return ResponseEntity.ok(resp);
+    }
 
-        String lower = text.toLowerCase(Locale.ROOT);
-        if (lower.contains("!high"))      { patch.priority = "High"; score += 0.2; }
-        else if (lower.contains("!med"))  { patch.priority = "Medium"; score += 0.1; }
-        else if (lower.contains("!low"))  { patch.priority = "Low"; score += 0.05; }
+    // body: {"texts": ["...", "..."], "timezone": "Europe/Kyiv"}; results come back in input order, one item per text
+    @PostMapping("/interpret/batch")
+    public ResponseEntity<BatchResponse> interpretBatch(@RequestBody BatchRequest body, Authentication auth) {
+        if (body == null || body.texts == null || body.texts.isEmpty() || body.texts.size() > maxBatchItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        ZoneId zone = zoneOf(body.timezone);
+        if (zone == null) return ResponseEntity.badRequest().build();
+        // the user's model is loaded here, on the request thread; workers only run predictions
+        TaskSuggestionService.Suggester personal = suggesterFor(auth);
+        List<String> texts = body.texts;
+        int n = texts.size();
+        Spans.attr("todo.batch.items", n);
+        BatchItem[] items = new BatchItem[n];
+        List<CompletableFuture<BatchItem>> futures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final int idx = i;
+            final String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                items[i] = BatchItem.failed(i, "blank");
+                futures.add(null);
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> evaluate(idx, text, zone, personal), batchExecutor));
+        }
 
-        // due date YYYY-MM-DD
-        Matcher md = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})").matcher(text);
-        if (md.find()) {
+        // each item stops itself once its budget is spent; this outer wait is only a safety net
+        // for items stuck in the queue behind other batches
+        long waves = (n + parallelism - 1) / parallelism;
+        long deadline = System.nanoTime() + itemBudgetNanos * (waves + 1);
+        for (int i = 0; i < n; i++) {
+            CompletableFuture<BatchItem> f = futures.get(i);
+            if (f == null) continue;
             try {
-                String d = md.group(1);
-                patch.dueDate = OffsetDateTime.parse(d + "T00:00:00Z"); // <-- dueDate
-                score += 0.15;
-            } catch (Exception ignored) {}
-        } else if (lower.contains("tomorrow")) {
-            patch.dueDate = OffsetDateTime.now(ZoneOffset.UTC)
-                    .plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
-            score += 0.08;
-        } else if (lower.contains("today")) {
-            patch.dueDate = OffsetDateTime.now(ZoneOffset.UTC)
-                    .withHour(18).withMinute(0).withSecond(0).withNano(0);
-            score += 0.05;
+                items[i] = f.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                f.cancel(false);
+                items[i] = BatchItem.failed(i, "timeout");
+            } catch (ExecutionException e) {
+                items[i] = BatchItem.failed(i, "failed");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                items[i] = BatchItem.failed(i, "timeout");
+            }
         }
 
-        // completed hints
-        if (lower.contains("done") || lower.contains("complete")) {
-            patch.completed = true; score += 0.05;
-        } else if (lower.contains("todo")) {
-            patch.completed = false; score += 0.02;
-        }
+        BatchResponse resp = new BatchResponse();
+        resp.items = Arrays.asList(items);
+        return ResponseEntity.ok(resp);
+    }
 
-        // title heuristic
-        if (lower.contains("call")) {
-            patch.title = "Call " + extractWordAfter(text, "call");
-            score += 0.1;
-        } else if (lower.contains("email")) {
-            patch.title = "Email " + extractWordAfter(text, "email");
-            score += 0.1;
-        } else if (lower.contains("buy")) {
-            patch.title = "Buy " + extractWordAfter(text, "buy");
-            score += 0.1;
-        } else {
-            String t = text.replaceAll("#[A-Za-z0-9_-]+", "").trim();
-            if (!t.isEmpty() && t.length() <= 80) {
-                patch.title = t.length() > 60 ? t.substring(0, 60) + "..." : t;
-                score += 0.05;
-            }
+    private BatchItem evaluate(int idx, String text, ZoneId zone, TaskSuggestionService.Suggester personal) {
+        long deadline = System.nanoTime() + itemBudgetNanos;
+        try {
+            return BatchItem.ok(idx, interpretText(text, deadline, zone, personal));
+        } catch (RuleEngine.BudgetExceededException e) {
+            return BatchItem.failed(idx, "timeout");
         }
+    }
 
-        double confidence = Math.min(0.95, 0.2 + score);
+    private AiResponse.Proposal interpretText(String text, long deadline, ZoneId zone, TaskSuggestionService.Suggester personal) {
+        return AiResponse.Proposal.of(personalize(engine.interpret(text, deadline, zone), text, personal));
+    }
 
-        AiResponse.Proposal p = new AiResponse.Proposal();
-        p.task_patch = patch;
-        p.reason = "Rule-based heuristics";
-        p.confidence = confidence;
+    private TaskSuggestionService.Suggester suggesterFor(Authentication auth) {
+        if (suggestions == null || auth == null || !(auth.getPrincipal() instanceof UserPrincipal p)) return null;
+        return suggestions.forUser(p.getId());
+    }
 
-        AiResponse resp = new AiResponse();
-        resp.proposal = p;
-        return ResponseEntity.ok(resp);
+    // fills what the rules left open (category; priority when no keyword matched) from the user's history
+    static RuleEngine.Interpretation personalize(RuleEngine.Interpretation r, String text, TaskSuggestionService.Suggester personal) {
+        TaskPatchDto patch = r.patch();
+        if (personal == null || (patch.category != null && patch.priority != null)) return r;
+        TaskSuggestionService.Suggestion s = personal.suggest(patch.title != null ? patch.title : text);
+        if (s == null) return r;
+        boolean used = false;
+        if (patch.category == null && s.category() != null) { patch.category = s.category(); used = true; }
+        if (patch.priority == null && s.priority() != null) { patch.priority = s.priority(); used = true; }
+        return used ? new RuleEngine.Interpretation(patch, r.confidence(), r.reason() + " + personal history") : r;
     }
 
-    private String extractWordAfter(String text, String keyword) {
-        int idx = text.toLowerCase(Locale.ROOT).indexOf(keyword);
-        if (idx < 0) return "";
-        String after = text.substring(idx + keyword.length()).trim();
-        if (after.isEmpty()) return "";
-        String[] parts = after.split("[\\s,;.]+");
-        return parts.length > 0 ? parts[0] : "";
+    // optional IANA zone ("Europe/Kyiv") or offset ("+02:00"); absent → UTC, invalid → null (400)
+    static ZoneId zoneOf(Object tz) {
+        if (tz == null || tz.toString().isBlank()) return ZoneOffset.UTC;
+        try {
+            return ZoneId.of(tz.toString().trim());
+        } catch (DateTimeException e) {
+            return null;
+        }
     }
 
     public static class AiResponse {
@@ -108,6 +166,43 @@ public class AiController {
             public TaskPatchDto task_patch;
             public String reason;
             public double confidence;
+
+            public static Proposal of(RuleEngine.Interpretation r) {
+                Proposal p = new Proposal();
+                p.task_patch = r.patch();
+                p.reason = r.reason();
+                p.confidence = r.confidence();
+                return p;
+            }
+        }
+    }
+
+    public static class BatchRequest {
+        public List<String> texts;
+        public String timezone;
+    }
+
+    public static class BatchResponse {
+        public List<BatchItem> items;
+    }
+
+    public static class BatchItem {
+        public int index;
+        public AiResponse.Proposal proposal;
+        public String error;           // "blank" | "timeout" | "failed"; null when proposal is set
+
+        static BatchItem ok(int index, AiResponse.Proposal p) {
+            BatchItem it = new BatchItem();
+            it.index = index;
+            it.proposal = p;
+            return it;
+        }
+
+        static BatchItem failed(int index, String error) {
+            BatchItem it = new BatchItem();
+            it.index = index;
+            it.error = error;
+            return it;
         }
     }
 }
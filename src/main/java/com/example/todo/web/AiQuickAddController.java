@@ -0,0 +1,106 @@
+package com.example.todo.web;
+
+import com.example.todo.ai.RuleEngine;
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskService;
+import com.example.todo.service.TaskSuggestionService;
+import com.example.todo.util.ETagUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.ZoneId;
+
+/**
+ * Quick add: interpret free text with the {@code /ai/interpret} rules and, if the proposal is
+ * confident enough, create the task in the same request (no proposal round trip through the client).
+ * Category / priority the rules leave open are filled from the user's history, as in {@code /ai/interpret}.
+ */
+@RestController
+@RequestMapping("/ai")
+public class AiQuickAddController {
+
+    static final String SOURCE = "ai";
+
+    private final RuleEngine engine;
+    private final TaskService taskService;
+    private final TaskSuggestionService suggestions;   // null → rules only
+    private final double defaultMinConfidence;
+
+    public AiQuickAddController(RuleEngine engine, TaskService taskService, TaskSuggestionService suggestions,
+                                @Value("${ai.quick-add.min-confidence:0.5}") double defaultMinConfidence) {
+        this.engine = engine;
+        this.taskService = taskService;
+        this.suggestions = suggestions;
+        this.defaultMinConfidence = defaultMinConfidence;
+    }
+
+    // body: {"text": "...", "minConfidence": 0.6, "timezone": "Europe/Kyiv"}; the last two are optional
+    // 201 + task when created; 200 with only the proposal when below threshold or there is no title
+    @PostMapping("/interpret-and-create")
+    public ResponseEntity<QuickAddResponse> interpretAndCreate(@RequestBody QuickAddRequest body, Authentication auth) {
+        if (body == null || !StringUtils.hasText(body.text)) return ResponseEntity.badRequest().build();
+        double threshold = body.minConfidence != null ? body.minConfidence : defaultMinConfidence;
+        if (threshold < 0 || threshold > 1) return ResponseEntity.badRequest().build();
+        ZoneId zone = AiController.zoneOf(body.timezone);
+        if (zone == null) return ResponseEntity.badRequest().build();
+
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        RuleEngine.Interpretation r = engine.interpret(body.text, RuleEngine.NO_DEADLINE, zone);
+        if (suggestions != null) r = AiController.personalize(r, body.text, suggestions.forUser(p.getId()));
+        QuickAddResponse resp = new QuickAddResponse();
+        resp.proposal = AiController.AiResponse.Proposal.of(r);
+
+        if (r.confidence() < threshold) {
+            resp.notCreatedReason = "below_threshold";
+            return ResponseEntity.ok(resp);
+        }
+        if (!StringUtils.hasText(r.patch().title)) {
+            resp.notCreatedReason = "no_title";
+            return ResponseEntity.ok(resp);
+        }
+
+        TaskDto created = taskService.createTask(p.getId(), toCreateDto(r.patch()));
+        resp.created = true;
+        resp.task = created;
+        return ResponseEntity.created(URI.create("/api/tasks/" + created.id))
+                .header(HttpHeaders.ETAG, ETagUtil.formatWeak(created.version))
+                .body(resp);
+    }
+
+    static TaskCreateDto toCreateDto(TaskPatchDto patch) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.title = patch.title;
+        dto.description = patch.description;
+        dto.category = patch.category;
+        dto.priority = patch.priority;
+        dto.dueDate = patch.dueDate;
+        dto.completed = patch.completed;
+        dto.tags = patch.tags;
+        dto.source = patch.source != null ? patch.source : SOURCE;
+        dto.metadata = patch.metadata;
+        return dto;
+    }
+
+    public static class QuickAddRequest {
+        public String text;
+        public Double minConfidence;
+        public String timezone;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class QuickAddResponse {
+        public boolean created;
+        public AiController.AiResponse.Proposal proposal;
+        public TaskDto task;                // set when created
+        public String notCreatedReason;     // "below_threshold" | "no_title"
+    }
+}
@@ -4,6 +4,7 @@ package com.example.todo.web;
 import com.example.todo.dto.AuthRequest;
 import com.example.todo.security.FirebaseIdTokenVerifier;
 import com.example.todo.security.JwtService;
+import com.example.todo.security.TokenRevocationService;
 import com.example.todo.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 @RestController
 @RequestMapping("/auth")
@@ -21,15 +24,18 @@ public class AuthController {
     private final FirebaseIdTokenVerifier firebaseVerifier;
     private final UserService userService;
     private final JwtService jwtService;
+    private final TokenRevocationService revocation;
     private final boolean isProd;
 
     public AuthController(FirebaseIdTokenVerifier firebaseVerifier,
                           UserService userService,
                           JwtService jwtService,
+                          TokenRevocationService revocation,
                           @Value("${spring.profiles.active:local}") String profile) {
         this.firebaseVerifier = firebaseVerifier;
         this.userService = userService;
         this.jwtService = jwtService;
+        this.revocation = revocation;
         this.isProd = !"local".equalsIgnoreCase(profile);
     }
 
@@ -59,7 +65,18 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(@CookieValue(name = "APP_AUTH", required = false) String cookieToken,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        // revoke server-side too, otherwise a copied token stays valid until exp
+        String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : cookieToken;
+        if (token != null && !token.isEmpty()) {
+            var v = jwtService.verify(token);
+            if (v.isValid() && v.claims().getJWTID() != null) {
+                revocation.revoke(v.claims().getJWTID(),
+                        OffsetDateTime.ofInstant(v.claims().getExpirationTime().toInstant(), ZoneOffset.UTC));
+            }
+        }
+
         ResponseCookie cookie = ResponseCookie.from("APP_AUTH", "")
                 .httpOnly(true)
                 .secure(isProd)
@@ -0,0 +1,39 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.DuplicateCandidateDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.DuplicateDetectionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tasks")
+public class DuplicateController {
+
+    private final DuplicateDetectionService duplicates;
+    public DuplicateController(DuplicateDetectionService duplicates) { this.duplicates = duplicates; }
+
+    // possible duplicates among the caller's own tasks of a text that is about to be created / imported
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateCandidateDto>> check(@RequestParam String title,
+                                                             @RequestParam(required = false) String description,
+                                                             Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(duplicates.findSimilar(p.getId(), title, description));
+    }
+
+    // possible duplicates of an existing (owned or shared) task among the caller's own tasks
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<DuplicateCandidateDto>> forTask(@PathVariable UUID id, Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(duplicates.findSimilarTo(id, p.getId()));
+    }
+}
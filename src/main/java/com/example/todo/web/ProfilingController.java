@@ -0,0 +1,74 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.JfrRecordingDto;
+import com.example.todo.dto.JfrSummaryDto;
+import com.example.todo.profiling.JfrProfiler;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * On-demand JFR for operators (ROLE_ADMIN, see todo.admin.emails):
+ * <pre>
+ *   POST /api/admin/jfr?profile=profile&amp;duration=PT60S   → 202, recording stops itself after 60s
+ *   GET  /api/admin/jfr/{id}                               → state / size
+ *   POST /api/admin/jfr/{id}/stop                          → stop early
+ *   GET  /api/admin/jfr/{id}/file                          → the .jfr (JMC, `jfr print`)
+ *   GET  /api/admin/jfr/{id}/summary?top=20                → hot methods / allocation sites in com.example.todo
+ * </pre>
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+public class ProfilingController {
+
+    private static final int MAX_TOP = 100;
+
+    private final JfrProfiler profiler;
+    public ProfilingController(JfrProfiler profiler) { this.profiler = profiler; }
+
+    @PostMapping
+    public ResponseEntity<JfrRecordingDto> start(@RequestParam(defaultValue = "default") String profile,
+                                                 @RequestParam(defaultValue = "PT30S") Duration duration) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(profiler.start(profile, duration));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JfrRecordingDto> status(@PathVariable long id) {
+        return ResponseEntity.ok(profiler.status(id));
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<JfrRecordingDto> stop(@PathVariable long id) {
+        return ResponseEntity.ok(profiler.stop(id));
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> file(@PathVariable long id) {
+        Path file = profiler.file(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<JfrSummaryDto> summary(@PathVariable long id, @RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(profiler.summary(id, Math.max(1, Math.min(top, MAX_TOP))));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.SimilarTaskDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.SimilarTaskService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tasks")
+public class SimilarTaskController {
+
+    private final SimilarTaskService similarService;
+    public SimilarTaskController(SimilarTaskService similarService) { this.similarService = similarService; }
+
+    // "tasks like this one" among tasks the caller owns or has shared with them
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarTaskDto>> similar(@PathVariable UUID id,
+                                                        @RequestParam(defaultValue = "10") int limit,
+                                                        Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(similarService.findSimilar(id, p.getId(), limit));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.UserTaskStatsDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final TaskStatsService statsService;
+    public StatsController(TaskStatsService statsService) { this.statsService = statsService; }
+
+    // dashboard totals over tasks the caller owns or has shared with them; one PK read of user_task_stats
+    @GetMapping
+    public ResponseEntity<UserTaskStatsDto> stats(Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(statsService.getStats(p.getId()));
+    }
+}
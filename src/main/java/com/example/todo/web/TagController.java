@@ -0,0 +1,27 @@
+package com.example.todo.web;
+
+import com.example.todo.dto.TagFacetDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+public class TagController {
+
+    private final TaskService taskService;
+    public TagController(TaskService taskService) { this.taskService = taskService; }
+
+    // tag → count (+ status/priority breakdown) over tasks the caller owns or has shared with them
+    @GetMapping
+    public ResponseEntity<List<TagFacetDto>> facets(Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        return ResponseEntity.ok(taskService.listTagFacets(p.getId()));
+    }
+}
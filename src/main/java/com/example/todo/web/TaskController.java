@@ -4,6 +4,7 @@ import com.example.todo.dto.*;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.repository.MetadataKeyFilter;
 import com.example.todo.security.UserPrincipal;
 import com.example.todo.service.TaskService;
 import com.example.todo.util.ETagUtil;
@@ -30,9 +31,22 @@ public class TaskController {
     public ResponseEntity<List<TaskDto>> list(@RequestParam(required = false) String q,
                                               @RequestParam(required = false) TaskStatus status,
                                               @RequestParam(required = false) TaskPriority priority,
+                                              @RequestParam(required = false) String metadata, // JSON containment, e.g. {"project":"X"}
+                                              @RequestParam(required = false) String metaKey,  // single key: metaEq or [metaFrom, metaTo)
+                                              @RequestParam(required = false) String metaEq,
+                                              @RequestParam(required = false) String metaFrom,
+                                              @RequestParam(required = false) String metaTo,
                                               Authentication auth) {
         UserPrincipal p = (UserPrincipal) auth.getPrincipal();
-        return ResponseEntity.ok(taskService.listTasks(p.getId(), q, status, priority));
+        MetadataKeyFilter keyFilter = metaKey == null ? null : new MetadataKeyFilter(metaKey, metaEq, metaFrom, metaTo);
+        return ResponseEntity.ok(taskService.listTasks(p.getId(), q, status, priority, metadata, keyFilter));
+    }
+
+    @GetMapping("/by-external-id/{externalId}")
+    public ResponseEntity<TaskDto> getByExternalId(@PathVariable String externalId, Authentication auth) {
+        UserPrincipal p = (UserPrincipal) auth.getPrincipal();
+        TaskDto dto = taskService.getTaskByExternalId(externalId, p.getId());
+        return ResponseEntity.ok().header(HttpHeaders.ETAG, ETagUtil.formatWeak(dto.version)).body(dto);
     }
 
     @PostMapping
@@ -0,0 +1,11 @@
+-- V2__revoked_token.sql
+-- server-side JWT revocation (logout); rows live until the token would expire anyway
+
+CREATE TABLE revoked_token (
+  jti        TEXT PRIMARY KEY,
+  expires_at TIMESTAMPTZ NOT NULL,
+  revoked_at TIMESTAMPTZ DEFAULT now()
+);
+
+-- periodic sync loads unexpired jtis and purges the rest
+CREATE INDEX idx_revoked_token_expires ON revoked_token(expires_at);
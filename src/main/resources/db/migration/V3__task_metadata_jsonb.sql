@@ -0,0 +1,9 @@
+-- V3__task_metadata_jsonb.sql
+-- metadata: TEXT (@Lob) -> jsonb, so it can be filtered in SQL
+
+ALTER TABLE task
+  ALTER COLUMN metadata TYPE jsonb
+  USING CASE WHEN metadata IS NULL OR btrim(metadata) = '' THEN NULL ELSE metadata::jsonb END;
+
+-- jsonb_path_ops: smaller than the default opclass and enough for @> containment
+CREATE INDEX idx_task_metadata ON task USING GIN (metadata jsonb_path_ops);
@@ -0,0 +1,5 @@
+-- V4__tag_facets_indexes.sql
+-- "shared with me" lookups: task_share PK is (task_id, user_id), useless when starting from the user
+CREATE INDEX IF NOT EXISTS idx_task_share_user ON task_share(user_id, task_id);
+
+-- tag facets join task_tags by task_id and read tag: PK (task_id, tag) already covers it (index-only scan)
@@ -0,0 +1,66 @@
+-- V5__user_task_stats.sql
+-- Per-user dashboard counters over the tasks a user can see (owned + shared with them).
+-- Maintained by TaskService in the same transaction as task/share writes; TaskStatsService
+-- periodically recomputes them from task/task_share to correct drift.
+
+CREATE TABLE user_task_stats (
+  user_id     UUID PRIMARY KEY REFERENCES app_user(id) ON DELETE CASCADE,
+  total       INT NOT NULL DEFAULT 0,
+  open_count  INT NOT NULL DEFAULT 0,
+  done_count  INT NOT NULL DEFAULT 0,
+  open_high   INT NOT NULL DEFAULT 0,
+  open_med    INT NOT NULL DEFAULT 0,
+  open_low    INT NOT NULL DEFAULT 0,
+  -- open tasks with a due date, per UTC day: {"2025-01-31": 2, ...}
+  -- "overdue"/"due today" depend on the clock, so they are derived from this map on read
+  due_buckets JSONB NOT NULL DEFAULT '{}',
+  updated_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- adds delta to one day's bucket; days that drop to zero are removed so the map stays small
+CREATE FUNCTION task_stats_bump(buckets JSONB, day TEXT, delta INT) RETURNS JSONB AS $$
+DECLARE
+  n INT;
+BEGIN
+  IF day IS NULL OR delta = 0 THEN
+    RETURN buckets;
+  END IF;
+  n := COALESCE((buckets ->> day)::int, 0) + delta;
+  IF n <= 0 THEN
+    RETURN buckets - day;
+  END IF;
+  RETURN jsonb_set(buckets, ARRAY[day], to_jsonb(n));
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- backfill existing accounts
+WITH acc AS (
+  SELECT owner_id AS user_id, id AS task_id FROM task
+  UNION
+  SELECT user_id, task_id FROM task_share
+),
+counts AS (
+  SELECT a.user_id,
+         count(*)                                                   AS total,
+         count(*) FILTER (WHERE t.status = 'TODO')                  AS open_count,
+         count(*) FILTER (WHERE t.status = 'DONE')                  AS done_count,
+         count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'HIGH') AS open_high,
+         count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'MED')  AS open_med,
+         count(*) FILTER (WHERE t.status = 'TODO' AND t.priority = 'LOW')  AS open_low
+  FROM acc a JOIN task t ON t.id = a.task_id
+  GROUP BY a.user_id
+),
+buckets AS (
+  SELECT user_id, jsonb_object_agg(day, cnt) AS due_buckets
+  FROM (
+    SELECT a.user_id, to_char(t.due_at AT TIME ZONE 'UTC', 'YYYY-MM-DD') AS day, count(*) AS cnt
+    FROM acc a JOIN task t ON t.id = a.task_id
+    WHERE t.status = 'TODO' AND t.due_at IS NOT NULL
+    GROUP BY 1, 2
+  ) d
+  GROUP BY user_id
+)
+INSERT INTO user_task_stats (user_id, total, open_count, done_count, open_high, open_med, open_low, due_buckets)
+SELECT c.user_id, c.total, c.open_count, c.done_count, c.open_high, c.open_med, c.open_low,
+       COALESCE(b.due_buckets, '{}')
+FROM counts c LEFT JOIN buckets b ON b.user_id = c.user_id;
@@ -0,0 +1,14 @@
+-- V6__user_suggestion_model.sql
+-- Snapshots of the per-user category/priority suggestion models (TaskSuggestionService).
+-- The models live in memory and follow task writes incrementally; the snapshot only saves a
+-- node from re-reading the user's whole history on first use. built_at is when the model was
+-- last rebuilt from the task table: an older snapshot is thrown away and rebuilt, which bounds
+-- the drift between nodes.
+
+CREATE TABLE user_suggestion_model (
+  user_id    UUID PRIMARY KEY REFERENCES app_user(id) ON DELETE CASCADE,
+  snapshot   BYTEA NOT NULL,
+  documents  INT NOT NULL,
+  built_at   TIMESTAMPTZ NOT NULL,
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,20 @@
+-- V7__access_path_indexes.sql
+-- Indexes for the queries we actually run (QueryPlanIT asserts on them), built without blocking writes.
+-- CONCURRENTLY can't run in a transaction: see V7__access_path_indexes.sql.conf. If a build fails
+-- it leaves an INVALID index behind; drop it and re-run (IF NOT EXISTS would otherwise skip it).
+
+-- owned side of every access check / list ("t.id IN (SELECT o.id FROM task o WHERE o.owner_id = ?)"):
+-- id in the leaf makes it an index-only scan, updated_at DESC gives a user's tasks by recency;
+-- also serves the per-owner reads (duplicate index, suggestion model) by its owner_id prefix
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_owner_updated
+  ON task (owner_id, updated_at DESC) INCLUDE (id);
+
+-- superseded by the prefix above
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_owner;
+
+-- two / three values each: a scan by status or priority alone is never cheaper than the table,
+-- and they are always combined with the access set, which is far more selective
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_priority;
+
+-- shared side (task_share(user_id, task_id)) is idx_task_share_user from V4
@@ -0,0 +1,92 @@
+-- V8__task_access.sql
+-- Who can see which task, one row per (user, task): the owner plus one row per share, with the
+-- task's updated_at copied in. Listing / get / authorization become a single index range on
+-- (user_id, ...) instead of OR-ing task.owner_id with task_share, which no index can serve.
+-- Maintained by the triggers below in the same transaction as the task / task_share write
+-- (task.updated_at itself comes from a trigger, so the copy has to live in the database too).
+
+CREATE TYPE access_role AS ENUM ('owner','editor','viewer');
+
+CREATE TABLE task_access (
+  user_id    UUID NOT NULL REFERENCES app_user(id) ON DELETE CASCADE,
+  task_id    UUID NOT NULL REFERENCES task(id) ON DELETE CASCADE,
+  role       access_role NOT NULL,
+  updated_at TIMESTAMPTZ,
+  PRIMARY KEY (user_id, task_id)
+);
+
+-- a user's tasks by recency: the list is the first 100 entries of this range
+CREATE INDEX idx_task_access_user_updated ON task_access (user_id, updated_at DESC) INCLUDE (task_id);
+-- fan-out of task updates (updated_at) to every row of a task
+CREATE INDEX idx_task_access_task ON task_access (task_id);
+
+-- === task: owner row, updated_at / owner changes ===
+CREATE FUNCTION task_access_task_trigger() RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO task_access (user_id, task_id, role, updated_at)
+    VALUES (NEW.owner_id, NEW.id, 'owner', NEW.updated_at);
+    RETURN NULL;
+  END IF;
+
+  IF NEW.owner_id IS DISTINCT FROM OLD.owner_id THEN
+    -- new owner may have had a share row; the old one keeps access only through a share
+    DELETE FROM task_access WHERE task_id = NEW.id AND (role = 'owner' OR user_id = NEW.owner_id);
+    INSERT INTO task_access (user_id, task_id, role, updated_at)
+    VALUES (NEW.owner_id, NEW.id, 'owner', NEW.updated_at);
+    INSERT INTO task_access (user_id, task_id, role, updated_at)
+    SELECT s.user_id, s.task_id, CAST(CAST(s.role AS text) AS access_role), NEW.updated_at
+    FROM task_share s
+    WHERE s.task_id = NEW.id AND s.user_id = OLD.owner_id
+    ON CONFLICT (user_id, task_id) DO NOTHING;
+  END IF;
+
+  UPDATE task_access SET updated_at = NEW.updated_at
+  WHERE task_id = NEW.id AND updated_at IS DISTINCT FROM NEW.updated_at;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_access_insert
+AFTER INSERT ON task
+FOR EACH ROW
+EXECUTE FUNCTION task_access_task_trigger();
+
+CREATE TRIGGER trg_task_access_update
+AFTER UPDATE ON task
+FOR EACH ROW
+WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id OR OLD.updated_at IS DISTINCT FROM NEW.updated_at)
+EXECUTE FUNCTION task_access_task_trigger();
+
+-- === task_share: one row per share; the owner row always wins ===
+CREATE FUNCTION task_access_share_trigger() RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP IN ('DELETE', 'UPDATE') THEN
+    DELETE FROM task_access
+    WHERE task_id = OLD.task_id AND user_id = OLD.user_id AND role <> 'owner';
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    INSERT INTO task_access (user_id, task_id, role, updated_at)
+    SELECT NEW.user_id, NEW.task_id, CAST(CAST(NEW.role AS text) AS access_role), t.updated_at
+    FROM task t
+    WHERE t.id = NEW.task_id
+    ON CONFLICT (user_id, task_id) DO NOTHING;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_access_share
+AFTER INSERT OR UPDATE OR DELETE ON task_share
+FOR EACH ROW
+EXECUTE FUNCTION task_access_share_trigger();
+
+-- === backfill ===
+INSERT INTO task_access (user_id, task_id, role, updated_at)
+SELECT owner_id, id, 'owner', updated_at FROM task;
+
+INSERT INTO task_access (user_id, task_id, role, updated_at)
+SELECT s.user_id, s.task_id, CAST(CAST(s.role AS text) AS access_role), t.updated_at
+FROM task_share s
+JOIN task t ON t.id = s.task_id
+ON CONFLICT (user_id, task_id) DO NOTHING;
@@ -0,0 +1,72 @@
+// src/test/java/com/example/todo/ai/DueDateParserBenchmark.java
+package com.example.todo.ai;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the due-date grammar on its own and inside {@link RuleEngine#interpret}.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=DueDateParserBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DueDateParserBenchmark {
+
+    // hits of every shape, plus lines with no date at all (the common quick-add case)
+    private static final String[] LINES = {
+            "call Bob next friday at 2pm #work",
+            "pay rent by end of month !high",
+            "dentist in 3 days 9:30",
+            "buy milk and bread on the way home #home",
+            "Prepare slides for the quarterly review meeting with the whole product team #work #slides",
+            "email Alice tomorrow",
+            "ship release 2025-12-31 14:00",
+            "Plan roadmap for Q1 #planning",
+    };
+
+    private DueDateParser parser;
+    private RuleEngine engine;
+    private RuleEngine keywordsOnly;
+    private ZonedDateTime now;
+    private ZoneId zone;
+
+    @Setup
+    public void setup() {
+        parser = new DueDateParser(List.of(
+                new DueDateParser.RelativeDay("tomorrow", 1, 9, 0),
+                new DueDateParser.RelativeDay("today", 0, 18, 1)));
+        engine = RuleEngine.defaults();
+        var rules = new InterpretRules();
+        rules.setNaturalDates(false);
+        keywordsOnly = RuleEngine.compile(rules);
+        zone = ZoneId.of("Europe/Kyiv");
+        now = ZonedDateTime.now(zone);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void parse(Blackhole bh) {
+        for (String line : LINES) bh.consume(parser.parse(line, now));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void interpret(Blackhole bh) {
+        for (String line : LINES) bh.consume(engine.interpret(line, RuleEngine.NO_DEADLINE, zone));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void interpretKeywordDatesOnly(Blackhole bh) {
+        for (String line : LINES) bh.consume(keywordsOnly.interpret(line, RuleEngine.NO_DEADLINE, zone));
+    }
+}
@@ -0,0 +1,81 @@
+// src/test/java/com/example/todo/ai/DueDateParserTest.java
+package com.example.todo.ai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DueDateParserTest {
+
+    private final DueDateParser parser = new DueDateParser(List.of(
+            new DueDateParser.RelativeDay("tomorrow", 1, 9, 0),
+            new DueDateParser.RelativeDay("today", 0, 18, 1)));
+
+    static Stream<Arguments> corpus() throws IOException {
+        var in = Objects.requireNonNull(DueDateParserTest.class.getResourceAsStream("/ai/due-dates.txt"));
+        try (var r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return r.lines()
+                    .filter(l -> !l.isBlank() && !l.startsWith("//"))
+                    .map(l -> l.split(" \\| "))
+                    .map(p -> Arguments.of(p[0].trim(), p[1], p[2].trim()))
+                    .toList().stream();
+        }
+    }
+
+    @ParameterizedTest(name = "[{0}] {1} -> {2}")
+    @MethodSource("corpus")
+    @DisplayName("corpus")
+    void corpus(String zoneId, String text, String expected) {
+        ZoneId zone = ZoneId.of(zoneId);
+        ZonedDateTime now = ZonedDateTime.of(2025, 3, 5, 10, 30, 0, 0, zone);
+
+        DueDateParser.Match m = parser.parse(text, now);
+
+        if (expected.equals("-")) {
+            assertThat(m).as(text).isNull();
+            return;
+        }
+        assertThat(m).as(text).isNotNull();
+        assertThat(m.due().atZoneSameInstant(zone).toLocalDateTime()).isEqualTo(LocalDateTime.parse(expected));
+        assertThat(m.due().getOffset()).isEqualTo(zone.getRules().getOffset(m.due().toInstant()));
+    }
+
+    @Test
+    @DisplayName("match reports span and kind")
+    void span_and_kind() {
+        ZonedDateTime now = ZonedDateTime.of(2025, 3, 5, 10, 30, 0, 0, ZoneId.of("UTC"));
+        var m = parser.parse("call Bob tomorrow at 2pm please", now);
+        assertThat(m.start()).isEqualTo(9);
+        assertThat(m.end()).isEqualTo(24);
+        assertThat(m.kind()).isEqualTo(DueDateParser.RELDAY);
+        assertThat(m.ruleIdx()).isEqualTo(0);
+
+        assertThat(parser.parse("x 2025-04-01", now).kind()).isEqualTo(DueDateParser.DATE);
+        assertThat(parser.parse("next friday", now).kind()).isZero();
+    }
+
+    @Test
+    @DisplayName("relative-day words come from the rules (config)")
+    void configured_relative_words() {
+        var de = new DueDateParser(List.of(new DueDateParser.RelativeDay("morgen", 1, 8, 0),
+                new DueDateParser.RelativeDay("next week", 7, 9, 1)));   // multi-word: substring rules only
+        ZonedDateTime now = ZonedDateTime.of(2025, 3, 5, 10, 30, 0, 0, ZoneId.of("Europe/Berlin"));
+        assertThat(de.parse("morgen 7:45", now).due().toLocalDateTime()).isEqualTo(LocalDateTime.parse("2025-03-06T07:45"));
+        assertThat(de.parse("tomorrow", now)).isNull();
+    }
+}
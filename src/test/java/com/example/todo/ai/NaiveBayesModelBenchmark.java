@@ -0,0 +1,63 @@
+// src/test/java/com/example/todo/ai/NaiveBayesModelBenchmark.java
+package com.example.todo.ai;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category + priority prediction and one incremental update on a user model trained on
+ * {@code history} titles; prediction time should stay flat as the history grows.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=NaiveBayesModelBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaiveBayesModelBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int history;
+
+    private static final String[] CATEGORIES = {"Work", "Home", "Health", "Shopping", "Bills", "Study", "Travel", "Family"};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+
+    private NaiveBayesModel model;
+    private String[] titles;
+    private int i;
+
+    @Setup
+    public void setup() {
+        var rnd = new SplittableRandom(42);
+        String[] vocab = new String[5000];
+        for (int w = 0; w < vocab.length; w++) vocab[w] = "word" + w;
+        titles = new String[1024];
+        model = new NaiveBayesModel(64);
+        for (int t = 0; t < history + titles.length; t++) {
+            StringBuilder sb = new StringBuilder();
+            for (int n = 2 + rnd.nextInt(5); n > 0; n--) {
+                sb.append(vocab[(int) (vocab.length * Math.pow(rnd.nextDouble(), 2))]).append(' ');
+            }
+            if (t < history) model.add(sb, CATEGORIES[rnd.nextInt(CATEGORIES.length)], PRIORITIES[rnd.nextInt(3)]);
+            else titles[t - history] = sb.toString();
+        }
+    }
+
+    @Benchmark
+    public void predict(Blackhole bh) {
+        String title = titles[i++ & (titles.length - 1)];
+        bh.consume(model.predictCategory(title));
+        bh.consume(model.predictPriority(title));
+    }
+
+    @Benchmark
+    public void addRemove() {
+        String title = titles[i++ & (titles.length - 1)];
+        model.add(title, "Work", "High");
+        model.remove(title, "Work", "High");
+    }
+}
@@ -0,0 +1,110 @@
+// src/test/java/com/example/todo/ai/NaiveBayesModelTest.java
+package com.example.todo.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NaiveBayesModelTest {
+
+    static NaiveBayesModel trained() {
+        var m = new NaiveBayesModel(16);
+        for (int i = 0; i < 5; i++) {
+            m.add("Dentist appointment " + i, "Health", "High");
+            m.add("Gym workout session", "Health", "Medium");
+            m.add("Buy milk and bread", "Shopping", "Low");
+            m.add("Buy new shoes", "Shopping", "Low");
+            m.add("Quarterly report draft", "Work", "High");
+        }
+        return m;
+    }
+
+    @Test
+    void predictsFromTitleWords() {
+        var m = trained();
+        assertThat(m.documents()).isEqualTo(25);
+        var c = m.predictCategory("buy coffee");
+        assertThat(c.label()).isEqualTo("Shopping");
+        assertThat(c.probability()).isGreaterThan(0.7);
+        assertThat(m.predictPriority("BUY coffee").label()).isEqualTo("Low");
+        assertThat(m.predictCategory("call the dentist").label()).isEqualTo("Health");
+        assertThat(m.predictPriority("dentist").label()).isEqualTo("High");
+    }
+
+    @Test
+    void nothingToGoOn() {
+        assertThat(new NaiveBayesModel(4).predictCategory("buy milk")).isNull();
+        assertThat(trained().predictCategory("!! ?")).isNull();
+        assertThat(trained().predictCategory(null)).isNull();
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        var m = trained();
+        byte[] before = m.toBytes();
+        m.add("Pay electricity bill", "Bills", "High");
+        m.remove("Pay electricity bill", "Bills", "High");
+        assertThat(m.documents()).isEqualTo(25);
+        assertThat(m.predictCategory("pay bill").label()).isNotEqualTo("Bills");
+        assertThat(NaiveBayesModel.fromBytes(before).predictCategory("buy tea"))
+                .isEqualTo(m.predictCategory("buy tea"));
+        // removing what was never learned does not go negative
+        m.remove("Something else", "Nope", "Low");
+        new NaiveBayesModel(4).remove("x y", "A", "B");
+    }
+
+    @Test
+    void relabelingMovesPrediction() {
+        var m = new NaiveBayesModel(4);
+        for (int i = 0; i < 10; i++) m.add("team standup", "Work", "Medium");
+        assertThat(m.predictCategory("standup").label()).isEqualTo("Work");
+        for (int i = 0; i < 10; i++) {
+            m.remove("team standup", "Work", "Medium");
+            m.add("team standup", "Meetings", "Medium");
+        }
+        assertThat(m.predictCategory("standup").label()).isEqualTo("Meetings");
+    }
+
+    @Test
+    void labelTableIsCappedAndFreedSlotsAreReused() {
+        var m = new NaiveBayesModel(2);
+        m.add("alpha task", "A", "Low");
+        m.add("beta task", "B", "Low");
+        m.add("gamma task", "C", "Low");           // no slot: category not learned, priority still is
+        assertThat(m.predictCategory("gamma").label()).isNotEqualTo("C");
+        m.remove("alpha task", "A", "Low");
+        m.add("gamma task", "C", "Low");
+        assertThat(m.predictCategory("gamma").label()).isEqualTo("C");
+    }
+
+    @Test
+    void snapshotRoundTrip() {
+        var m = trained();
+        var copy = NaiveBayesModel.fromBytes(m.toBytes());
+        assertThat(copy.documents()).isEqualTo(m.documents());
+        for (String t : new String[]{"buy coffee", "dentist", "report for boss", "gym"}) {
+            assertThat(copy.predictCategory(t)).isEqualTo(m.predictCategory(t));
+            assertThat(copy.predictPriority(t)).isEqualTo(m.predictPriority(t));
+        }
+        // the copy keeps learning
+        copy.add("Buy flowers", "Shopping", "Low");
+        assertThat(copy.documents()).isEqualTo(26);
+    }
+
+    @Test
+    void corruptSnapshotIsRejected() {
+        byte[] bytes = trained().toBytes();
+        assertThatThrownBy(() -> NaiveBayesModel.fromBytes(java.util.Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        bytes[0] = 99;
+        assertThatThrownBy(() -> NaiveBayesModel.fromBytes(bytes)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void wordsAreCappedAndNormalized() {
+        assertThat(NaiveBayesModel.words("Buy MILK")).containsExactly(NaiveBayesModel.words("buy, milk!"));
+        assertThat(NaiveBayesModel.words("a b c")).isEmpty();
+        assertThat(NaiveBayesModel.words("w1 w2 w3 w4 w5 w6 w7 w8 w9 w10 w11 w12 w13 w14 w15 w16 w17 w18"))
+                .hasSize(NaiveBayesModel.MAX_WORDS);
+    }
+}
@@ -0,0 +1,49 @@
+// src/test/java/com/example/todo/ai/RuleEngineBenchmark.java
+package com.example.todo.ai;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled {@link RuleEngine} vs the old regex/contains heuristics ({@link LegacyInterpreter}).
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=RuleEngineBenchmark}
+ * Allocation per op: gc.alloc.rate.norm in the output (the bench profile runs the GC profiler).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleEngineBenchmark {
+
+    // typical quick-add lines: verb + tags + priority + date, plain titles, and one long note
+    private static final String[] LINES = {
+            "call Alice #work !high 2025-12-31 done",
+            "buy milk and bread tomorrow !low #home",
+            "Plan roadmap for Q1 #planning",
+            "email Bob about the invoice, today !med",
+            "Prepare slides for the quarterly review meeting with the whole product team #work #slides",
+    };
+
+    private RuleEngine engine;
+
+    @Setup
+    public void setup() {
+        engine = RuleEngine.defaults();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void compiled(Blackhole bh) {
+        for (String line : LINES) bh.consume(engine.interpret(line));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void legacy(Blackhole bh) {
+        for (String line : LINES) bh.consume(LegacyInterpreter.interpret(line));
+    }
+}
@@ -0,0 +1,164 @@
+// src/test/java/com/example/todo/ai/RuleEngineTest.java
+package com.example.todo.ai;
+
+import com.example.todo.dto.TaskPatchDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RuleEngineTest {
+
+    // the legacy comparison covers the keyword/ISO path; natural-language dates are DueDateParserTest's job
+    private final RuleEngine engine = RuleEngine.compile(legacyDates());
+
+    private static InterpretRules legacyDates() {
+        var rules = new InterpretRules();
+        rules.setNaturalDates(false);
+        return rules;
+    }
+
+    static Stream<String> corpus() {
+        return Stream.of(
+                "call Alice #work !high 2025-12-31 done",
+                "email Bob !med 2031-02-02",
+                "buy milk !low !med",
+                "call Carol tomorrow !low",
+                "email Alice today",
+                "buy tickets 2032-03-03 tomorrow !high",
+                "todo done call Max",
+                "a".repeat(70),
+                "x".repeat(81) + " #tag",
+                "call   ",
+                "email  Alice, please",
+                "xxxxxxxxxx #one #Two todo 2030-01-01",
+                "Plan roadmap for Q1",
+                "CALL BOB !HIGH",
+                "recall the order; #a#b ##c #-_x",
+                "pay rent 2025-13-45 tomorrow",            // malformed date still blocks relative rules
+                "pay rent 2025-02-29",                      // not a leap year
+                "ref 12025-01-019 complete",
+                "call, Bob",
+                "call ,,,",
+                "call\tBob\u0001",
+                "buy.milk",
+                "#only #tags",
+                "# not a tag #",
+                "email me about the emailing of emails",
+                "  padded title with #tag in the middle  ",
+                "Überweisung erledigen !LOW today",
+                "2024-02-29 leap day",
+                "9999-12-31 end of time",
+                "today tomorrow"
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("corpus")
+    @DisplayName("same proposal as the old regex implementation")
+    void matches_legacy(String text) {
+        assertSame(LegacyInterpreter.interpret(text), engine.interpret(text));
+    }
+
+    @Test
+    @DisplayName("same proposal as the old implementation on random keyword soup")
+    void matches_legacy_random() {
+        String[] atoms = {"call", "email", "buy", "!high", "!med", "!low", "today", "tomorrow", "done", "complete",
+                "todo", "#tag", "#", "2025-01-02", "12-", "Bob", ",", ".", " ", "  ", "\t", "CaLl", "x", "-", "#a-b_c"};
+        Random rnd = new Random(42);
+        for (int n = 0; n < 2_000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + rnd.nextInt(12);
+            for (int i = 0; i < len; i++) sb.append(atoms[rnd.nextInt(atoms.length)]);
+            String text = sb.toString();
+            assertSame(LegacyInterpreter.interpret(text), engine.interpret(text));
+        }
+    }
+
+    @Test
+    @DisplayName("rules come from configuration: custom keywords, values and scores")
+    void custom_rules() {
+        var rules = new InterpretRules();
+        rules.setPriority(List.of(new InterpretRules.ValueRule("urgent", "High", 0.3)));
+        rules.setRelativeDue(List.of(new InterpretRules.DueRule("morgen", 1, 8, 0.1)));
+        rules.setTitleVerbs(List.of(new InterpretRules.ValueRule("anrufen", "Anrufen: ", 0.1)));
+        rules.setReason("custom");
+        var custom = RuleEngine.compile(rules);
+
+        var r = custom.interpret("URGENT anrufen Oma morgen !high");
+        assertThat(r.patch().priority).isEqualTo("High");
+        assertThat(r.patch().dueDate.getHour()).isEqualTo(8);
+        assertThat(r.patch().title).isEqualTo("Anrufen: Oma");
+        assertThat(r.reason()).isEqualTo("custom");
+        // 0.2 base + 0.3 + 0.1 + 0.1
+        assertThat(r.confidence()).isCloseTo(0.7, within(1e-9));
+
+        // the default keywords are gone
+        assertThat(custom.interpret("call Bob !high").patch().priority).isNull();
+    }
+
+    @Test
+    @DisplayName("invalid rule sets are rejected at compile time")
+    void invalid_rules() {
+        var badCompleted = new InterpretRules();
+        badCompleted.setCompleted(List.of(new InterpretRules.ValueRule("fin", "yes", 0.1)));
+        assertThatThrownBy(() -> RuleEngine.compile(badCompleted)).isInstanceOf(IllegalArgumentException.class);
+
+        var badHour = new InterpretRules();
+        badHour.setRelativeDue(List.of(new InterpretRules.DueRule("later", 0, 24, 0.1)));
+        assertThatThrownBy(() -> RuleEngine.compile(badHour)).isInstanceOf(IllegalArgumentException.class);
+
+        var empty = new InterpretRules();
+        empty.setPriority(List.of(new InterpretRules.ValueRule("", "High", 0.1)));
+        assertThatThrownBy(() -> RuleEngine.compile(empty)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("scan stops once the deadline has passed")
+    void deadline() {
+        String longText = "x".repeat(10_000);
+        assertThatThrownBy(() -> engine.interpret(longText, System.nanoTime() - 1))
+                .isInstanceOf(RuleEngine.BudgetExceededException.class);
+        assertThat(engine.interpret(longText, System.nanoTime() + 60_000_000_000L)).isNotNull();
+    }
+
+    private static void assertSame(RuleEngine.Interpretation expected, RuleEngine.Interpretation actual) {
+        TaskPatchDto e = expected.patch(), a = actual.patch();
+        assertThat(a.title).isEqualTo(e.title);
+        assertThat(a.priority).isEqualTo(e.priority);
+        assertThat(a.completed).isEqualTo(e.completed);
+        assertThat(a.tags).isEqualTo(e.tags);
+        // relative dates are computed from "now" in both; both truncate to the hour
+        assertThat(a.dueDate).isEqualTo(e.dueDate);
+        assertThat(actual.confidence()).isEqualTo(expected.confidence());
+        assertThat(actual.reason()).isEqualTo(expected.reason());
+    }
+
+    @Test
+    @DisplayName("natural-language dates: resolved in the caller's zone, scored by kind")
+    void natural_dates() {
+        var clock = java.time.Clock.fixed(java.time.Instant.parse("2025-03-05T10:30:00Z"), java.time.ZoneOffset.UTC);
+        var natural = RuleEngine.compile(new InterpretRules(), clock);
+        var kyiv = java.time.ZoneId.of("Europe/Kyiv");
+
+        var r = natural.interpret("call Bob next friday 14:00", RuleEngine.NO_DEADLINE, kyiv);
+        assertThat(r.patch().dueDate).isEqualTo(java.time.OffsetDateTime.parse("2025-03-07T14:00+02:00"));
+        // 0.2 base + 0.1 title + 0.1 natural date
+        assertThat(r.confidence()).isCloseTo(0.4, within(1e-9));
+
+        // relative words keep their own rule score; ISO keeps the ISO score and wins
+        assertThat(natural.interpret("call Bob tomorrow").confidence()).isCloseTo(0.2 + 0.08 + 0.1, within(1e-9));
+        var iso = natural.interpret("call Bob tomorrow 2025-04-01", RuleEngine.NO_DEADLINE, kyiv);
+        assertThat(iso.patch().dueDate).isEqualTo(java.time.OffsetDateTime.parse("2025-04-01T00:00+03:00"));
+        assertThat(iso.confidence()).isCloseTo(0.2 + 0.15 + 0.1, within(1e-9));
+
+        // glued keywords still fall back to the substring rules
+        assertThat(natural.interpret("todayish").patch().dueDate.getHour()).isEqualTo(18);
+    }
+}
@@ -0,0 +1,77 @@
+// src/test/java/com/example/todo/config/ActuatorSecurityIT.java
+package com.example.todo.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prometheus scrapes the management port without a token; the same paths on the public port stay
+ * behind authentication.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=actuator-test-secret-0123456789abcdef",
+        "management.server.port=0",
+})
+@Testcontainers
+class ActuatorSecurityIT {
+
+    @Container
+    static final PostgreSQLContainer<?> DB =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("todo")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void dbProps(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", DB::getJdbcUrl);
+        r.add("spring.datasource.username", DB::getUsername);
+        r.add("spring.datasource.password", DB::getPassword);
+    }
+
+    @LocalServerPort int port;
+    @LocalManagementPort int managementPort;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("management port: /actuator/prometheus, /metrics, /info open without a token")
+    void scrape_without_token() throws Exception {
+        // any request on the public port, so http.server.requests has a sample whatever the status
+        get(port, "/actuator/health");
+
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body()).contains("http_server_requests_seconds_bucket");
+
+        assertThat(get(managementPort, "/actuator/metrics").statusCode()).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/info").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("public port: actuator paths other than health still need a token")
+    void public_port_stays_closed() throws Exception {
+        assertThat(get(port, "/actuator/prometheus").statusCode()).isEqualTo(401);
+        assertThat(get(port, "/actuator/metrics").statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        var req = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,89 @@
+// src/test/java/com/example/todo/load/LatencyRecorder.java
+package com.example.todo.load;
+
+import java.util.*;
+
+/**
+ * Raw per-operation latencies of one load worker (no locking: one instance per thread), merged
+ * into exact percentiles at the end of a run. A few million samples are cheaper to keep and sort
+ * than to get a histogram's bucketing right.
+ */
+final class LatencyRecorder {
+
+    /** One endpoint's results; latencies in milliseconds, throughput in requests per second. */
+    record Summary(String op, long count, long errors, long conflicts,
+                   double p50, double p95, double p99, double max, double throughput) { }
+
+    private static final class Samples {
+        long[] nanos = new long[1024];
+        int size;
+        long errors;
+        long conflicts;
+
+        void add(long v) {
+            if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+            nanos[size++] = v;
+        }
+    }
+
+    private final Map<String, Samples> byOp = new HashMap<>();
+
+    void record(String op, long nanos) {
+        samples(op).add(nanos);
+    }
+
+    void error(String op) {
+        samples(op).errors++;
+    }
+
+    // expected outcome under contention (412 on a stale If-Match), counted but not an error
+    void conflict(String op) {
+        samples(op).conflicts++;
+    }
+
+    private Samples samples(String op) {
+        return byOp.computeIfAbsent(op, k -> new Samples());
+    }
+
+    static List<Summary> summarize(Collection<LatencyRecorder> recorders, double seconds) {
+        Map<String, Samples> merged = new TreeMap<>();
+        for (LatencyRecorder r : recorders) {
+            r.byOp.forEach((op, s) -> {
+                Samples m = merged.computeIfAbsent(op, k -> new Samples());
+                for (int i = 0; i < s.size; i++) m.add(s.nanos[i]);
+                m.errors += s.errors;
+                m.conflicts += s.conflicts;
+            });
+        }
+        List<Summary> out = new ArrayList<>();
+        merged.forEach((op, s) -> {
+            long[] v = Arrays.copyOf(s.nanos, s.size);
+            Arrays.sort(v);
+            out.add(new Summary(op, v.length, s.errors, s.conflicts,
+                    ms(percentile(v, 0.50)), ms(percentile(v, 0.95)), ms(percentile(v, 0.99)),
+                    ms(v.length == 0 ? 0 : v[v.length - 1]), v.length / seconds));
+        });
+        return out;
+    }
+
+    // nearest-rank
+    static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static double ms(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    static String table(List<Summary> rows) {
+        StringBuilder sb = new StringBuilder(String.format("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "conflicts", "p50 ms", "p95 ms", "p99 ms", "max ms", "req/s"));
+        for (Summary s : rows) {
+            sb.append(String.format(Locale.ROOT, "%-8s %9d %7d %9d %9.2f %9.2f %9.2f %9.2f %9.1f%n",
+                    s.op(), s.count(), s.errors(), s.conflicts(), s.p50(), s.p95(), s.p99(), s.max(), s.throughput()));
+        }
+        return sb.toString();
+    }
+}
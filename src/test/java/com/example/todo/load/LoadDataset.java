@@ -0,0 +1,71 @@
+// src/test/java/com/example/todo/load/LoadDataset.java
+package com.example.todo.load;
+
+import com.example.todo.testdata.SyntheticDataGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds the load-test database from {@link SyntheticDataGenerator} (COPY, a few million rows in a
+ * minute or two) and samples ids/emails back out of it for the load operations.
+ * <p>
+ * Shape is the generator's default spec: Zipf(1.1) tasks per user, ~30% of tasks with metadata,
+ * ~60% with a due date, up to 3 tags from a 200-word vocabulary; users form teams of 8 and ~10% of
+ * tasks are shared with 1-3 users, mostly teammates and mostly as viewers. Same seed, same data.
+ */
+final class LoadDataset {
+
+    record Access(UUID taskId, UUID userId, String email) { }
+
+    record User(UUID id, String email) { }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+
+    LoadDataset(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    void seed(int users, int tasks) throws SQLException, IOException {
+        seed(SyntheticDataGenerator.Spec.defaults(users, tasks));
+    }
+
+    void seed(SyntheticDataGenerator.Spec spec) throws SQLException, IOException {
+        try (Connection c = dataSource.getConnection()) {
+            new SyntheticDataGenerator(spec).load(c);
+        }
+    }
+
+    /** Tasks with their owners; random v4 ids make "first n by id" a uniform sample. */
+    List<Access> owned(int n) {
+        return jdbc.query("SELECT t.id, t.owner_id, u.email FROM task t JOIN app_user u ON u.id = t.owner_id ORDER BY t.id LIMIT ?",
+                LoadDataset::access, n);
+    }
+
+    List<Access> shared(int n) {
+        return jdbc.query("SELECT s.task_id, s.user_id, u.email FROM task_share s JOIN app_user u ON u.id = s.user_id ORDER BY s.task_id LIMIT ?",
+                LoadDataset::access, n);
+    }
+
+    private static Access access(ResultSet rs, int row) throws SQLException {
+        return new Access(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getString(3));
+    }
+
+    List<User> users(int n) {
+        return jdbc.query("SELECT id, email FROM app_user ORDER BY id LIMIT ?",
+                (rs, i) -> new User(rs.getObject(1, UUID.class), rs.getString(2)), n);
+    }
+
+    long count(String table) {
+        Long n = jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return n == null ? 0 : n;
+    }
+}
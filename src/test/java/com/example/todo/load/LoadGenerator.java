@@ -0,0 +1,86 @@
+// src/test/java/com/example/todo/load/LoadGenerator.java
+package com.example.todo.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-model load: {@code concurrency} workers each run weighted operations back to back
+ * (no think time) until the duration is up. Each worker has its own RNG and recorder, so the
+ * generator itself does not contend. Warm-up runs the same mix and throws its samples away.
+ */
+final class LoadGenerator {
+
+    /** One request type; {@code rec} is the calling worker's recorder. */
+    @FunctionalInterface
+    interface Operation {
+        void run(SplittableRandom rnd, LatencyRecorder rec) throws Exception;
+    }
+
+    private final Map<String, Integer> weights = new LinkedHashMap<>();
+    private final Map<String, Operation> ops = new LinkedHashMap<>();
+
+    LoadGenerator add(String name, int weight, Operation op) {
+        if (weight <= 0) throw new IllegalArgumentException("weight must be > 0");
+        weights.put(name, weight);
+        ops.put(name, op);
+        return this;
+    }
+
+    List<LatencyRecorder.Summary> run(int concurrency, Duration warmup, Duration duration, long seed) throws InterruptedException {
+        if (!warmup.isZero()) runFor(concurrency, warmup, seed ^ 0x5DEECE66DL);
+        long t0 = System.nanoTime();
+        List<LatencyRecorder> recorders = runFor(concurrency, duration, seed);
+        return LatencyRecorder.summarize(recorders, (System.nanoTime() - t0) / 1e9);
+    }
+
+    private List<LatencyRecorder> runFor(int concurrency, Duration duration, long seed) throws InterruptedException {
+        List<Operation> table = new ArrayList<>();      // one entry per unit of weight
+        ops.forEach((name, op) -> {
+            for (int i = 0; i < weights.get(name); i++) table.add(op);
+        });
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int w = 0; w < concurrency; w++) {
+            LatencyRecorder rec = new LatencyRecorder();
+            SplittableRandom rnd = root.split();
+            recorders.add(rec);
+            Thread t = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Operation op = table.get(rnd.nextInt(table.size()));
+                        try {
+                            op.run(rnd, rec);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            rec.error(nameOf(op));
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + w);
+            t.setDaemon(true);
+            t.start();
+        }
+        if (!done.await(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("load workers did not finish");
+        }
+        return recorders;
+    }
+
+    private String nameOf(Operation op) {
+        for (var e : ops.entrySet()) if (e.getValue() == op) return e.getKey();
+        return "?";
+    }
+}
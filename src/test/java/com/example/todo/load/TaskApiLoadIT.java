@@ -0,0 +1,257 @@
+// src/test/java/com/example/todo/load/TaskApiLoadIT.java
+package com.example.todo.load;
+
+import com.example.todo.security.JwtService;
+import com.example.todo.service.TaskStatsService;
+import com.example.todo.util.Json;
+import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load suite: the whole app on a random port against Postgres seeded with a realistic dataset
+ * ({@link LoadDataset}, generated by {@code SyntheticDataGenerator}), driven over HTTP by {@link LoadGenerator} with a list/search/get/patch/share
+ * mix. Prints p50/p95/p99 and throughput per endpoint, writes them to {@code target/load-report.json}
+ * and fails when an endpoint is slower than {@code load/thresholds.properties} allows.
+ * <p>
+ * Not part of the normal build: {@code mvn -Pload test}. Size and shape via system properties,
+ * e.g. {@code -Dload.tasks=200000 -Dload.concurrency=16 -Dload.duration=PT30S
+ * -Dload.threshold.list.p95=80}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=load-test-secret-0123456789abcdef",
+        // application.yml logs every Hibernate statement and bind at DEBUG/TRACE; that would be the benchmark
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "logging.level.org.springframework.boot.context.config=INFO",
+        "logging.level.org.springframework.boot.context.properties.bind=INFO",
+})
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("load")
+class TaskApiLoadIT {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskApiLoadIT.class);
+
+    private static final int USERS = Integer.getInteger("load.users", 20_000);
+    private static final int TASKS = Integer.getInteger("load.tasks", 2_000_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final String MIX = System.getProperty("load.mix", "list:25,search:15,get:40,patch:15,share:5");
+    private static final String[] SEARCH_WORDS = {"invoice", "report", "Alice", "dentist", "roadmap", "budget", "milk", "release"};
+
+    @Container
+    static final PostgreSQLContainer<?> DB =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("todo")
+                    .withUsername("test")
+                    .withPassword("test")
+                    .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_wal_size=4GB");
+
+    @DynamicPropertySource
+    static void dbProps(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", DB::getJdbcUrl);
+        r.add("spring.datasource.username", DB::getUsername);
+        r.add("spring.datasource.password", DB::getPassword);
+    }
+
+    @LocalServerPort int port;
+    @Autowired DataSource dataSource;
+    @Autowired JwtService jwt;
+    @Autowired TaskStatsService stats;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<UUID, String> tokens = new ConcurrentHashMap<>();
+    private List<LoadDataset.Access> owned;
+    private List<LoadDataset.Access> shared;
+    private List<LoadDataset.User> users;
+
+    @BeforeAll
+    void seed() throws Exception {
+        var data = new LoadDataset(dataSource);
+        long t0 = System.nanoTime();
+        data.seed(USERS, TASKS);
+        stats.reconcile();
+        log.info("Seeded {} users, {} tasks, {} shares, {} tags in {} s", data.count("app_user"), data.count("task"),
+                data.count("task_share"), data.count("task_tags"), (System.nanoTime() - t0) / 1_000_000_000);
+        owned = data.owned(50_000);
+        shared = data.shared(20_000);
+        users = data.users(5_000);
+        assertThat(owned).isNotEmpty();
+        assertThat(shared).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Mixed list/search/get/patch/share traffic stays within the latency thresholds")
+    void mixed_traffic() throws Exception {
+        LoadGenerator gen = new LoadGenerator();
+        Map<String, Integer> mix = parseMix(MIX);
+        mix.forEach((op, weight) -> gen.add(op, weight, operation(op)));
+
+        List<LatencyRecorder.Summary> results = gen.run(CONCURRENCY, WARMUP, DURATION, 42);
+        log.info("Load results ({} workers, {}):\n{}", CONCURRENCY, DURATION, LatencyRecorder.table(results));
+        writeReport(results);
+        checkThresholds(results, thresholds());
+    }
+
+    // ---------- operations
+
+    private LoadGenerator.Operation operation(String op) {
+        return switch (op) {
+            case "list" -> (rnd, rec) -> {
+                var a = pick(owned, rnd);
+                send(op, rec, get(a, "/api/tasks"), 200);
+            };
+            case "search" -> (rnd, rec) -> {
+                var a = pick(owned, rnd);
+                String q = SEARCH_WORDS[rnd.nextInt(SEARCH_WORDS.length)];
+                send(op, rec, get(a, "/api/tasks?q=" + URLEncoder.encode(q, StandardCharsets.UTF_8)), 200);
+            };
+            case "get" -> (rnd, rec) -> {
+                // mostly own tasks, some opened through a share
+                var a = rnd.nextInt(10) < 7 ? pick(owned, rnd) : pick(shared, rnd);
+                send(op, rec, get(a, "/api/tasks/" + a.taskId()), 200);
+            };
+            case "patch" -> (rnd, rec) -> {
+                var a = pick(owned, rnd);
+                var current = http.send(get(a, "/api/tasks/" + a.taskId()).build(), HttpResponse.BodyHandlers.discarding());
+                String etag = current.headers().firstValue("ETag").orElse(null);
+                if (current.statusCode() != 200 || etag == null) {
+                    rec.error(op);
+                    return;
+                }
+                String body = "{\"priority\":\"" + (rnd.nextBoolean() ? "High" : "Low") + "\",\"completed\":" + rnd.nextBoolean() + "}";
+                send(op, rec, request(a, "/api/tasks/" + a.taskId())
+                        .header("If-Match", etag)
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(body)), 200);
+            };
+            case "share" -> (rnd, rec) -> {
+                var a = pick(owned, rnd);
+                var target = pick(users, rnd);
+                if (target.id().equals(a.userId())) return;
+                String body = "{\"userEmail\":\"" + target.email() + "\",\"role\":\"viewer\"}";
+                send(op, rec, request(a, "/api/tasks/" + a.taskId() + "/share")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)), 204);
+            };
+            default -> throw new IllegalArgumentException("Unknown load operation: " + op);
+        };
+    }
+
+    private void send(String op, LatencyRecorder rec, HttpRequest.Builder req, int expected) throws Exception {
+        long t0 = System.nanoTime();
+        HttpResponse<Void> resp = http.send(req.build(), HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - t0;
+        if (resp.statusCode() == expected) rec.record(op, elapsed);
+        else if (resp.statusCode() == 412) rec.conflict(op);
+        else rec.error(op);
+    }
+
+    private HttpRequest.Builder get(LoadDataset.Access as, String path) {
+        return request(as, path).GET();
+    }
+
+    private HttpRequest.Builder request(LoadDataset.Access as, String path) {
+        String token = tokens.computeIfAbsent(as.userId(), id -> jwt.issueToken(id, as.email(), as.email()));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static <T> T pick(List<T> list, SplittableRandom rnd) {
+        return list.get(rnd.nextInt(list.size()));
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            out.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return out;
+    }
+
+    // ---------- report + thresholds
+
+    private void writeReport(List<LatencyRecorder.Summary> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", USERS);
+        report.put("tasks", TASKS);
+        report.put("concurrency", CONCURRENCY);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("mix", MIX);
+        report.put("results", results);
+        Path out = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+        log.info("Load report written to {}", out.toAbsolutePath());
+    }
+
+    // classpath defaults, overridden by -Dload.threshold.<op>.<metric>=...
+    private static Properties thresholds() throws Exception {
+        Properties p = new Properties();
+        try (InputStream in = TaskApiLoadIT.class.getResourceAsStream("/load/thresholds.properties")) {
+            if (in != null) p.load(in);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("load.threshold."))
+                .forEach(k -> p.setProperty(k.substring("load.threshold.".length()), System.getProperty(k)));
+        return p;
+    }
+
+    static void checkThresholds(List<LatencyRecorder.Summary> results, Properties limits) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRatio = Double.parseDouble(limits.getProperty("error-ratio", "0.01"));
+        for (LatencyRecorder.Summary s : results) {
+            long total = s.count() + s.errors() + s.conflicts();
+            if (total > 0 && (double) s.errors() / total > maxErrorRatio) {
+                violations.add(s.op() + ": " + s.errors() + " errors of " + total);
+            }
+            check(violations, s.op(), "p50", s.p50(), limits);
+            check(violations, s.op(), "p95", s.p95(), limits);
+            check(violations, s.op(), "p99", s.p99(), limits);
+            String minRps = limits.getProperty(s.op() + ".min-throughput");
+            if (minRps != null && s.throughput() < Double.parseDouble(minRps)) {
+                violations.add(s.op() + ": " + String.format(Locale.ROOT, "%.1f", s.throughput()) + " req/s < " + minRps);
+            }
+        }
+        assertThat(violations).as("load thresholds").isEmpty();
+    }
+
+    private static void check(List<String> violations, String op, String metric, double actualMs, Properties limits) {
+        String limit = limits.getProperty(op + "." + metric);
+        if (limit != null && actualMs > Double.parseDouble(limit)) {
+            violations.add(op + " " + metric + ": " + actualMs + " ms > " + limit + " ms");
+        }
+    }
+}
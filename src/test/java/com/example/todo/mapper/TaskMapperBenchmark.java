@@ -0,0 +1,108 @@
+// src/test/java/com/example/todo/mapper/TaskMapperBenchmark.java
+package com.example.todo.mapper;
+
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions on the task read/write paths, including the metadata jsonb ↔ RawJson / Map
+ * conversions.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=TaskMapperBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper mapper = Mappers.getMapper(TaskMapper.class);
+
+    private Task entity;
+    private TaskPatchDto patch;
+    private TaskPatchDto metadataPatch;
+    private TaskCreateDto create;
+
+    @Setup
+    public void setup() {
+        entity = task();
+
+        patch = new TaskPatchDto();
+        patch.title = "Prepare the quarterly report";
+        patch.priority = "High";
+        patch.completed = Boolean.FALSE;
+
+        metadataPatch = new TaskPatchDto();
+        metadataPatch.metadata = Map.of("externalId", "JIRA-1234", "project", "apollo", "estimate", 5,
+                "labels", List.of("backend", "q3"));
+
+        create = new TaskCreateDto();
+        create.title = "Call the dentist";
+        create.description = "Reschedule the checkup to next week";
+        create.category = "Health";
+        create.priority = "Medium";
+        create.dueDate = OffsetDateTime.of(2025, 3, 10, 9, 0, 0, 0, ZoneOffset.UTC);
+        create.tags = List.of("personal", "health");
+        create.metadata = Map.of("externalId", "CAL-77", "project", "life");
+    }
+
+    static Task task() {
+        var owner = new AppUser();
+        owner.setId(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        owner.setEmail("alice@example.com");
+        var t = new Task();
+        t.setId(UUID.fromString("00000000-0000-0000-0000-0000000000aa"));
+        t.setTitle("Prepare the quarterly report");
+        t.setDescription("Numbers from finance, slides for Monday");
+        t.setCategory("Work");
+        t.setPriority(TaskPriority.HIGH);
+        t.setStatus(TaskStatus.TODO);
+        t.setDueAt(OffsetDateTime.of(2025, 3, 7, 17, 0, 0, 0, ZoneOffset.UTC));
+        t.setTags(new ArrayList<>(List.of("work", "q1", "finance")));
+        t.setSource("web");
+        t.setMetadata("{\"externalId\":\"JIRA-1234\",\"project\":\"apollo\",\"estimate\":5,\"labels\":[\"backend\",\"q3\"]}");
+        t.setOwner(owner);
+        t.setVersion(3);
+        t.setCreatedAt(OffsetDateTime.of(2025, 3, 1, 8, 0, 0, 0, ZoneOffset.UTC));
+        t.setUpdatedAt(OffsetDateTime.of(2025, 3, 2, 8, 0, 0, 0, ZoneOffset.UTC));
+        return t;
+    }
+
+    @Benchmark
+    public Object toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Object toEntity() {
+        return mapper.toEntity(create);
+    }
+
+    @Benchmark
+    public Object updateFromPatch() {
+        mapper.updateFromPatch(patch, entity);
+        return entity;
+    }
+
+    // metadata Map → jsonb string on every call
+    @Benchmark
+    public Object updateFromPatchWithMetadata() {
+        mapper.updateFromPatch(metadataPatch, entity);
+        return entity;
+    }
+}
@@ -12,6 +12,7 @@ import com.example.todo.entity.enums.TaskStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.mapstruct.factory.Mappers;
 
 import java.time.OffsetDateTime;
@@ -46,7 +47,8 @@ class TaskMapperTest {
         assertThat(dto.completed).isTrue();
         assertThat(dto.priority).isEqualTo("High");
         assertThat(dto.ownerEmail).isEqualTo("alice@example.com");
-        assertThat(dto.metadata).containsEntry("k", "v");
+        assertThat(dto.metadata.json()).isEqualTo("{\"k\":\"v\"}");
+        assertThat(dto.metadata.asMap()).containsEntry("k", "v");
     }
 
     @Test
@@ -125,6 +127,21 @@ class TaskMapperTest {
         assertThat(back).containsEntry("key", "value").containsEntry("num", 42);
     }
 
+    @Test
+    @DisplayName("DTO metadata is written to JSON verbatim, without a Map round-trip")
+    void dto_metadata_raw_passthrough() throws Exception {
+        var entity = new Task();
+        entity.setTitle("Raw");
+        entity.setMetadata("{\"ext\":{\"id\":7,\"tags\":[\"a\"]}}");
+
+        var om = new ObjectMapper().findAndRegisterModules();
+        String json = om.writeValueAsString(mapper.toDto(entity));
+
+        assertThat(json).contains("\"metadata\":{\"ext\":{\"id\":7,\"tags\":[\"a\"]}}");
+        var back = om.readValue(json, TaskDto.class);
+        assertThat(back.metadata.asMap()).containsKey("ext");
+    }
+
     @Test
     @DisplayName("Invalid JSON input throws RuntimeException")
     void invalid_json_throws() {
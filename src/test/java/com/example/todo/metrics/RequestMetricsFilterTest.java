@@ -0,0 +1,200 @@
+// src/test/java/com/example/todo/metrics/RequestMetricsFilterTest.java
+package com.example.todo.metrics;
+
+import com.example.todo.util.Json;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsFilterTest {
+
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    RequestMetricsFilter filter = new RequestMetricsFilter(meters, true, Duration.ofSeconds(1), 2);
+    HibernateRequestListeners listeners = new HibernateRequestListeners();
+    JdbcTiming jdbc = new JdbcTiming();
+
+    @Test
+    @DisplayName("ORM work done on the request thread is recorded per URI template")
+    void records_per_request_counts() throws Exception {
+        var req = new MockHttpServletRequest("GET", "/api/tasks/42");
+        filter.doFilter(req, new MockHttpServletResponse(), (rq, rs) -> {
+            rq.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            assertThat(listeners.inspect("select 1")).isEqualTo("select 1");
+            listeners.inspect("select 2");
+            listeners.onPostLoad(null);
+            listeners.onPostLoad(null);
+            listeners.onPostLoad(null);
+            listeners.onInitializeCollection(null);
+        });
+
+        assertThat(meters.get("todo.request.statements").tag("uri", "/api/tasks/{id}").summary().totalAmount()).isEqualTo(2);
+        assertThat(meters.get("todo.request.entity.loads").tag("uri", "/api/tasks/{id}").summary().totalAmount()).isEqualTo(3);
+        assertThat(meters.get("todo.request.collection.fetches").tag("uri", "/api/tasks/{id}").summary().totalAmount()).isEqualTo(1);
+        assertThat(RequestStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("unmatched routes share the UNKNOWN tag; work outside a request is ignored")
+    void unknown_uri_and_no_request() throws Exception {
+        listeners.inspect("select outside");
+        query("select outside");
+        filter.doFilter(new MockHttpServletRequest("GET", "/nope"), new MockHttpServletResponse(), (rq, rs) -> { });
+
+        var summary = meters.get("todo.request.statements").tag("uri", "UNKNOWN").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isZero();
+    }
+
+    @Test
+    @DisplayName("JDBC executions are counted and timed; SQL kept up to the per-request cap")
+    void jdbc_timing() throws Exception {
+        var req = new MockHttpServletRequest("GET", "/api/tasks");
+        filter.doFilter(req, new MockHttpServletResponse(), (rq, rs) -> {
+            query("select a");
+            query("select b");
+            query("select c");
+            RequestStats s = RequestStats.current();
+            assertThat(s.jdbcExecutions()).isEqualTo(3);
+            assertThat(s.jdbcNanos()).isPositive();
+            assertThat(s.sql()).extracting(RequestStats.Sql::sql).containsExactly("select a", "select b");
+            assertThat(s.sqlDropped).isEqualTo(1);
+        });
+        assertThat(meters.get("todo.request.db").tag("uri", "UNKNOWN").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Server-Timing: only for admins who ask for it, body passes through unchanged")
+    void server_timing_for_admins_only() throws Exception {
+        var admin = debugRequest();
+        var adminRes = new MockHttpServletResponse();
+        filter.doFilter(admin, adminRes, (rq, rs) -> {
+            RequestStats.current().authenticated(UUID.randomUUID(), true);
+            var out = RequestStats.current().responseFor((HttpServletResponse) rs);
+            assertThat(out).isNotSameAs(rs);
+            query("select 1");
+            out.getOutputStream().write("[1,2,3]".getBytes(StandardCharsets.UTF_8));
+        });
+        assertThat(adminRes.getHeader(RequestMetricsFilter.SERVER_TIMING))
+                .startsWith("auth;dur=")
+                .contains("db;dur=", ";desc=\"1 statements\"", "app;dur=", "write;dur=", "total;dur=");
+        assertThat(adminRes.getContentAsString()).isEqualTo("[1,2,3]");
+
+        var user = debugRequest();
+        var userRes = new MockHttpServletResponse();
+        filter.doFilter(user, userRes, (rq, rs) -> {
+            RequestStats.current().authenticated(UUID.randomUUID(), false);
+            var out = RequestStats.current().responseFor((HttpServletResponse) rs);
+            assertThat(out).as("non-admins are never buffered").isSameAs(rs);
+            out.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        });
+        assertThat(userRes.getHeader(RequestMetricsFilter.SERVER_TIMING)).isNull();
+        assertThat(userRes.getContentAsString()).isEqualTo("[]");
+
+        var notAsked = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), notAsked, (rq, rs) -> {
+            RequestStats.current().authenticated(UUID.randomUUID(), true);
+            assertThat(RequestStats.current().responseFor((HttpServletResponse) rs)).isSameAs(rs);
+        });
+        assertThat(notAsked.getHeader(RequestMetricsFilter.SERVER_TIMING)).isNull();
+
+        // anonymous (the JWT filter never ran or found no token): nothing buffered, no header
+        var anonymous = new MockHttpServletResponse();
+        filter.doFilter(debugRequest(), anonymous,
+                (rq, rs) -> assertThat(RequestStats.current().responseFor((HttpServletResponse) rs)).isSameAs(rs));
+        assertThat(anonymous.getHeader(RequestMetricsFilter.SERVER_TIMING)).isNull();
+    }
+
+    @Test
+    @DisplayName("slow-request log line is JSON with the phases and the statements")
+    void slow_request_json() throws Exception {
+        var stats = new RequestStats(System.nanoTime(), 10);
+        UUID user = UUID.randomUUID();
+        stats.authenticated(user, false);
+        stats.jdbcExecutions = 2;
+        stats.jdbcNanos = 1_500_000;
+        stats.addSql("select * from task where owner_id = ?", 1_000_000, 1);
+        stats.addSql("insert into task_tags values (?, ?)", 500_000, 4);
+        var req = new MockHttpServletRequest("PATCH", "/api/tasks/42");
+
+        Map<String, Object> line = Json.MAP_READER.readValue(
+                RequestMetricsFilter.slowRequest(req, 200, "/api/tasks/{id}", stats, 2_345_678_900L));
+
+        assertThat(line).containsEntry("event", "slow_request")
+                .containsEntry("method", "PATCH")
+                .containsEntry("uri", "/api/tasks/{id}")
+                .containsEntry("userId", user.toString())
+                .containsEntry("totalMs", 2345.68)
+                .containsEntry("dbMs", 1.5)
+                .containsEntry("statements", 2);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> sql = (List<Map<String, Object>>) line.get("sql");
+        assertThat(sql).hasSize(2);
+        assertThat(sql.get(1)).containsEntry("batch", 4).containsEntry("ms", 0.5);
+    }
+
+    @Test
+    @DisplayName("inside a traced operation each statement gets a todo.jdbc observation")
+    void jdbc_observations() {
+        List<Observation.Context> stopped = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        jdbc.observations = registry;
+
+        query("select outside");
+        assertThat(stopped).isEmpty();
+
+        Observation.createNotStarted("todo.service", registry).observe(() -> {
+            query("  UPDATE task set title = ? where id = ?");
+            query("select 1");
+        });
+        assertThat(stopped).extracting(Observation.Context::getName)
+                .containsExactly("todo.jdbc", "todo.jdbc", "todo.service");
+        Observation.Context update = stopped.get(0);
+        assertThat(update.getContextualName()).isEqualTo("sql update");
+        assertThat(update.getLowCardinalityKeyValue("db.operation").getValue()).isEqualTo("update");
+        assertThat(update.getHighCardinalityKeyValue("db.statement").getValue()).isEqualTo("  UPDATE task set title = ? where id = ?");
+        assertThat(JdbcTiming.operation("\n  with recursive x as (select 1) select * from x")).isEqualTo("with");
+        assertThat(JdbcTiming.operation("vacuum analyze task")).isEqualTo("other");
+    }
+
+    private void query(String sql) {
+        var info = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        jdbc.beforeQuery(info, queries);
+        jdbc.afterQuery(info, queries);
+    }
+
+    private static MockHttpServletRequest debugRequest() {
+        var req = new MockHttpServletRequest("GET", "/api/tasks");
+        req.addHeader(RequestMetricsFilter.DEBUG_HEADER, "1");
+        return req;
+    }
+}
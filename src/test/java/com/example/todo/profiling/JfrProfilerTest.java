@@ -0,0 +1,98 @@
+// src/test/java/com/example/todo/profiling/JfrProfilerTest.java
+package com.example.todo.profiling;
+
+import com.example.todo.dto.JfrRecordingDto;
+import com.example.todo.dto.JfrSummaryDto;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JfrProfilerTest {
+
+    @TempDir
+    Path dir;
+
+    JfrProfiler profiler;
+
+    @AfterEach
+    void close() {
+        if (profiler != null) profiler.close();
+    }
+
+    @Test
+    @DisplayName("profile and duration are validated")
+    void validation() {
+        profiler = new JfrProfiler(dir.toString(), Duration.ofMinutes(5), 3);
+        assertThatThrownBy(() -> profiler.start("everything", Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.start("default", Duration.ofMinutes(6)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.start("default", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> profiler.status(42)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("record, stop, download and summarize hot methods / allocation sites in our packages")
+    void record_and_summarize() {
+        profiler = new JfrProfiler(dir.toString(), Duration.ofMinutes(5), 3);
+        JfrRecordingDto started = profiler.start("profile", Duration.ofMinutes(1));
+        assertThat(started.state).isEqualTo("RUNNING");
+        assertThatThrownBy(() -> profiler.start("default", Duration.ofSeconds(10)))
+                .isInstanceOf(JfrProfiler.RecordingConflict.class);
+        assertThatThrownBy(() -> profiler.file(started.id)).isInstanceOf(JfrProfiler.RecordingConflict.class);
+
+        burn(Duration.ofMillis(700));
+
+        JfrRecordingDto stopped = profiler.stop(started.id);
+        assertThat(stopped.state).isEqualTo("STOPPED");
+        assertThat(stopped.sizeBytes).isPositive();
+        assertThat(profiler.file(started.id)).exists().hasParent(dir);
+
+        JfrSummaryDto summary = profiler.summary(started.id, 10);
+        assertThat(summary.executionSamples).isPositive();
+        assertThat(summary.hotMethods).extracting(e -> e.name)
+                .contains("com.example.todo.profiling.JfrProfilerTest.burn");
+        assertThat(summary.allocationSites).extracting(e -> e.name)
+                .anyMatch(n -> n.startsWith("com.example.todo.profiling.JfrProfilerTest.burn:"));
+        assertThat(summary.hotMethods).hasSizeLessThanOrEqualTo(10);
+        assertThat(profiler.summary(started.id, 10)).isSameAs(summary);
+    }
+
+    @Test
+    @DisplayName("only the last keep-recordings files are kept")
+    void evicts_old_recordings() {
+        profiler = new JfrProfiler(dir.toString(), Duration.ofMinutes(5), 1);
+        long first = profiler.start("default", Duration.ofSeconds(30)).id;
+        profiler.stop(first);
+        Path firstFile = profiler.file(first);
+
+        long second = profiler.start("default", Duration.ofSeconds(30)).id;
+        assertThat(Files.exists(firstFile)).isFalse();
+        assertThatThrownBy(() -> profiler.status(first)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(profiler.status(second).state).isEqualTo("RUNNING");
+    }
+
+    // CPU and allocations attributed to this method
+    private static long burn(Duration d) {
+        long end = System.nanoTime() + d.toNanos();
+        long sum = 0;
+        while (System.nanoTime() < end) {
+            List<String> junk = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) junk.add(Integer.toString(i * 31));
+            sum += junk.hashCode();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,191 @@
+// src/test/java/com/example/todo/repository/QueryPlanIT.java
+package com.example.todo.repository;
+
+import com.example.todo.testdata.SyntheticDataGenerator;
+import com.example.todo.testsupport.QueryPlan;
+import com.example.todo.testsupport.SqlStatementCountExtension;
+import com.example.todo.testsupport.SqlStatementCounter;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite: seeds Postgres with the synthetic dataset, runs each hot repository query
+ * through the real repositories, captures the SQL Hibernate sends (with its bind values) and asserts
+ * on {@code EXPLAIN (FORMAT JSON)} of exactly that statement — no Seq Scan on the big tables and
+ * the intended index on each access path. A migration that drops or renames an index, or a query
+ * rewrite the planner can't serve from one, fails here instead of in production.
+ * <p>
+ * Dataset size via {@code -Dplan.users / -Dplan.tasks}; the default is big enough that Postgres
+ * prefers the indexes on a selective predicate (on a few hundred rows it rightly scans).
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=plan-test-secret-0123456789abcdef",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.type=WARN",
+})
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SqlStatementCountExtension.class)
+@Tag("repository")
+class QueryPlanIT {
+
+    private static final int USERS = Integer.getInteger("plan.users", 5_000);
+    private static final int TASKS = Integer.getInteger("plan.tasks", 100_000);
+
+    @Container
+    static final PostgreSQLContainer<?> DB =
+            new PostgreSQLContainer<>("postgres:16-alpine")
+                    .withDatabaseName("todo")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void dbProps(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", DB::getJdbcUrl);
+        r.add("spring.datasource.username", DB::getUsername);
+        r.add("spring.datasource.password", DB::getPassword);
+    }
+
+    @Autowired DataSource dataSource;
+    @Autowired TaskRepository tasks;
+    @Autowired TaskShareRepository shares;
+    @Autowired AppUserRepository users;
+
+    SqlStatementCounter sql;
+
+    private UUID userId;        // owns a typical number of tasks and has some shared with them
+    private UUID sharedTaskId;  // ...one of which is this
+    private UUID ownedTaskId;
+    private String email;
+
+    @BeforeAll
+    void seed() throws Exception {
+        try (Connection c = dataSource.getConnection()) {
+            new SyntheticDataGenerator(SyntheticDataGenerator.Spec.defaults(USERS, TASKS)).load(c);
+        }
+        var jdbc = new JdbcTemplate(dataSource);
+        // steady state as autovacuum leaves it: visibility map set, so index-only scans are costed as such
+        jdbc.execute("VACUUM ANALYZE task, task_share, task_tags, task_access, app_user");
+        // not a Zipf head user: their plans legitimately differ (a seq scan can win for 10% of the table)
+        Map<String, Object> row = jdbc.queryForMap("""
+                SELECT s.user_id, s.task_id, u.email
+                FROM task_share s
+                JOIN app_user u ON u.id = s.user_id
+                WHERE (SELECT count(*) FROM task t WHERE t.owner_id = s.user_id) BETWEEN 3 AND 200
+                ORDER BY s.task_id
+                LIMIT 1
+                """);
+        userId = (UUID) row.get("user_id");
+        sharedTaskId = (UUID) row.get("task_id");
+        email = (String) row.get("email");
+        ownedTaskId = jdbc.queryForObject("SELECT id FROM task WHERE owner_id = ? ORDER BY id LIMIT 1", UUID.class, userId);
+    }
+
+    @Test
+    @DisplayName("list: one ordered range of the caller's task_access rows, tasks by primary key")
+    void list_accessible() throws Exception {
+        var p = plan(() -> tasks.findAllAccessibleNative(userId, null, null, null, null));
+        assertThat(p.seqScans()).as(p.toString()).doesNotContain("task", "task_share", "task_access");
+        assertThat(p.indexes()).as(p.toString()).contains("idx_task_access_user_updated", "task_pkey");
+        assertThat(p.nodes()).as(p.toString()).contains(new QueryPlan.Node("Index Only Scan", "task_access", "idx_task_access_user_updated"));
+        // already in updated_at order: LIMIT 100 stops the walk, nothing to sort
+        assertThat(p.nodes()).as(p.toString()).extracting(QueryPlan.Node::type).doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("list with search / status filters: still driven by the access range")
+    void list_accessible_filtered() throws Exception {
+        var p = plan(() -> tasks.findAllAccessibleNative(userId, "%report%", "TODO", "HIGH", null));
+        assertThat(p.seqScans()).as(p.toString()).doesNotContain("task", "task_share", "task_access", "task_tags");
+        assertThat(p.indexes()).as(p.toString()).contains("idx_task_access_user_updated");
+    }
+
+    @Test
+    @DisplayName("list by metadata key: access set from task_access")
+    void list_by_metadata_key() throws Exception {
+        var filter = new MetadataKeyFilter("project", "Apollo", null, null);
+        var p = plan(() -> tasks.findAllAccessibleByMetadataKey(userId, filter, null, null, null, null));
+        assertThat(p.seqScans()).as(p.toString()).doesNotContain("task", "task_share", "task_access");
+        // both start with user_id; which one is a planner detail
+        assertThat(p.indexes()).as(p.toString()).containsAnyOf("idx_task_access_user_updated", "task_access_pkey");
+    }
+
+    @Test
+    @DisplayName("tag facets: aggregate over the access range, task_tags by its primary key")
+    void tag_facets() throws Exception {
+        var p = plan(() -> tasks.countTagsAccessible(userId));
+        assertThat(p.seqScans()).as(p.toString()).doesNotContain("task", "task_share", "task_access", "task_tags");
+        assertThat(p.indexes()).as(p.toString()).containsAnyOf("idx_task_access_user_updated", "task_access_pkey");
+    }
+
+    @Test
+    @DisplayName("get / authorize: one task_access primary-key probe, as owner and as sharee")
+    void authorized_by_id() throws Exception {
+        for (UUID taskId : List.of(ownedTaskId, sharedTaskId)) {
+            var p = plan(() -> tasks.findAuthorizedById(taskId, userId));
+            assertThat(p.seqScans()).as(p.toString()).isEmpty();
+            assertThat(p.indexes()).as(p.toString()).contains("task_access_pkey", "task_pkey");
+        }
+    }
+
+    @Test
+    @DisplayName("share lookups: by task via the primary key, by user via idx_task_share_user")
+    void share_lookups() throws Exception {
+        var byTaskAndUser = plan(() -> shares.findByTask_IdAndUser_Id(sharedTaskId, userId));
+        assertThat(byTaskAndUser.seqScans()).as(byTaskAndUser.toString()).isEmpty();
+        // both indexes cover (task_id, user_id) equality; either is fine
+        assertThat(byTaskAndUser.indexes()).as(byTaskAndUser.toString()).containsAnyOf("task_share_pkey", "idx_task_share_user");
+
+        var byTask = plan(() -> shares.findByTask_Id(sharedTaskId));
+        assertThat(byTask.seqScans()).as(byTask.toString()).isEmpty();
+        assertThat(byTask.indexes()).as(byTask.toString()).containsExactly("task_share_pkey");
+
+        var byUser = plan(() -> shares.findTaskIdsSharedWith(userId));
+        assertThat(byUser.seqScans()).as(byUser.toString()).isEmpty();
+        assertThat(byUser.indexes()).as(byUser.toString()).containsExactly("idx_task_share_user");
+    }
+
+    @Test
+    @DisplayName("per-owner reads (duplicate index, suggestion model) use the owner index")
+    void owner_reads() throws Exception {
+        for (QueryPlan p : List.of(plan(() -> tasks.findTextsByOwner(userId)), plan(() -> tasks.findLabelsByOwner(userId)))) {
+            assertThat(p.seqScans()).as(p.toString()).isEmpty();
+            assertThat(p.indexes()).as(p.toString()).contains("idx_task_owner_updated");
+        }
+    }
+
+    @Test
+    @DisplayName("user by email: unique index")
+    void user_by_email() throws Exception {
+        var p = plan(() -> users.findByEmail(email));
+        assertThat(p.seqScans()).as(p.toString()).isEmpty();
+        assertThat(p.indexes()).as(p.toString()).containsExactly("app_user_email_key");
+    }
+
+    // runs the repository call, expects exactly one statement and explains it with the same bind values
+    private QueryPlan plan(Runnable call) throws Exception {
+        sql.reset();
+        call.run();
+        List<SqlStatementCounter.Executed> ran = sql.executed();
+        assertThat(ran).as("statements run by the repository call: %s", sql.statements()).hasSize(1);
+        try (Connection c = dataSource.getConnection()) {
+            return QueryPlan.explain(c, ran.get(0));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+// src/test/java/com/example/todo/repository/TaskAccessIT.java
+package com.example.todo.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The V8 triggers keep task_access equal to "owner + one row per share" with the task's updated_at,
+ * whatever writes task / task_share (JPA, native SQL, COPY, cascades). Plain SQL on purpose, and
+ * no test transaction: task.updated_at is now(), which only moves between transactions.
+ */
+@JdbcTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("repository")
+class TaskAccessIT {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dbProps(DynamicPropertyRegistry r) {
+        r.add("spring.datasource.url", db::getJdbcUrl);
+        r.add("spring.datasource.username", db::getUsername);
+        r.add("spring.datasource.password", db::getPassword);
+    }
+
+    @Autowired JdbcTemplate jdbc;
+
+    UUID owner;
+    UUID viewer;
+    UUID task;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("DELETE FROM app_user");
+        owner = user("owner@example.com");
+        viewer = user("viewer@example.com");
+        task = jdbc.queryForObject("INSERT INTO task (owner_id, title) VALUES (?, 'T') RETURNING id", UUID.class, owner);
+    }
+
+    @Test
+    @DisplayName("owner row on insert; share insert / role change / delete mirrored")
+    void follows_task_and_shares() {
+        assertThat(roles()).containsExactly(Map.entry(owner, "owner"));
+
+        jdbc.update("INSERT INTO task_share (task_id, user_id, role) VALUES (?, ?, 'viewer')", task, viewer);
+        assertThat(roles()).containsOnly(Map.entry(owner, "owner"), Map.entry(viewer, "viewer"));
+
+        jdbc.update("UPDATE task_share SET role = 'editor' WHERE task_id = ? AND user_id = ?", task, viewer);
+        assertThat(roles()).containsOnly(Map.entry(owner, "owner"), Map.entry(viewer, "editor"));
+
+        jdbc.update("DELETE FROM task_share WHERE task_id = ? AND user_id = ?", task, viewer);
+        assertThat(roles()).containsExactly(Map.entry(owner, "owner"));
+
+        jdbc.update("DELETE FROM task WHERE id = ?", task);
+        assertThat(roles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("task updates carry updated_at to every access row")
+    void updated_at_fans_out() {
+        jdbc.update("INSERT INTO task_share (task_id, user_id, role) VALUES (?, ?, 'viewer')", task, viewer);
+        jdbc.update("UPDATE task SET title = 'T2' WHERE id = ?", task);
+
+        Timestamp updated = jdbc.queryForObject("SELECT updated_at FROM task WHERE id = ?", Timestamp.class, task);
+        assertThat(jdbc.queryForList("SELECT updated_at FROM task_access WHERE task_id = ?", Timestamp.class, task))
+                .hasSize(2)
+                .containsOnly(updated);
+    }
+
+    @Test
+    @DisplayName("the owner row wins over a share to the owner; ownership moves with owner_id")
+    void owner_row_wins() {
+        jdbc.update("INSERT INTO task_share (task_id, user_id, role) VALUES (?, ?, 'viewer')", task, owner);
+        jdbc.update("DELETE FROM task_share WHERE task_id = ? AND user_id = ?", task, owner);
+        assertThat(roles()).containsExactly(Map.entry(owner, "owner"));
+
+        jdbc.update("INSERT INTO task_share (task_id, user_id, role) VALUES (?, ?, 'editor')", task, viewer);
+        jdbc.update("UPDATE task SET owner_id = ? WHERE id = ?", viewer, task);
+        assertThat(roles()).containsExactly(Map.entry(viewer, "owner"));
+    }
+
+    private UUID user(String email) {
+        return jdbc.queryForObject("INSERT INTO app_user (email) VALUES (?) RETURNING id", UUID.class, email);
+    }
+
+    private Map<UUID, String> roles() {
+        Map<UUID, String> roles = new HashMap<>();
+        jdbc.query("SELECT user_id, CAST(role AS text) FROM task_access WHERE task_id = ?",
+                rs -> { roles.put(rs.getObject(1, UUID.class), rs.getString(2)); }, task);
+        return roles;
+    }
+}
@@ -135,6 +135,23 @@ class TaskRepositoryCustomImplIT {
                 .containsExactly(ownerBug.getId());
     }
 
+    @Test
+    @DisplayName("metaEq сравнивает текст (metadata ->> key): число 5 и строка \"5\" находятся одинаково, промоутнутый ключ или нет")
+    void metadata_key_eq_matches_numbers_as_text() {
+        ownerFeature.setMetadata("{\"sprint\": 5, \"estimate\": 5}");   // числа
+        ownerBug.setMetadata("{\"sprint\": \"5\", \"estimate\": \"5\"}"); // строки
+        tasks.saveAllAndFlush(List.of(ownerFeature, ownerBug));
+
+        // sprint — в todo.metadata.promoted-keys, estimate — нет; запрос и результат одни и те же
+        for (String key : List.of("sprint", "estimate")) {
+            var list = repo.findAllAccessibleByMetadataKey(ownerId, new MetadataKeyFilter(key, "5", null, null),
+                    null, null, null, null);
+            assertThat(list).as(key)
+                    .extracting(Task::getId)
+                    .containsExactlyInAnyOrder(ownerFeature.getId(), ownerBug.getId());
+        }
+    }
+
     // ---------- helpers ----------
 
     private static AppUser newUser(String email) {
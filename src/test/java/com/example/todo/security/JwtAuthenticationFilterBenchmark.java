@@ -0,0 +1,111 @@
+// src/test/java/com/example/todo/security/JwtAuthenticationFilterBenchmark.java
+package com.example.todo.security;
+
+import com.example.todo.repository.RevokedTokenRepository;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of {@link JwtAuthenticationFilter}.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=JwtAuthenticationFilterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String ISS = "bench";
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest validReq;
+    private MockHttpServletRequest expiredReq;
+    private MockHttpServletRequest garbageReq;
+    private MockHttpServletRequest absentReq;
+    private MockHttpServletRequest publicReq;
+    private MockHttpServletRequest preflightReq;
+    private MockHttpServletResponse res;
+    private FilterChain chain;
+
+    @Setup
+    public void setup() throws Exception {
+        JwtService jwt = new JwtService(ISS, SECRET);
+        // empty denylist: the Bloom filter answers without touching the repository
+        var revocation = new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), 100_000, 0.01);
+        filter = new JwtAuthenticationFilter(jwt, revocation);
+        res = new MockHttpServletResponse();
+        chain = (rq, rs) -> { };
+
+        String valid = jwt.issueToken(UUID.randomUUID(), "bench@example.com", "Bench");
+        var expiredClaims = new JWTClaimsSet.Builder()
+                .issuer(ISS)
+                .subject(UUID.randomUUID().toString())
+                .expirationTime(Date.from(Instant.now().minusSeconds(60)))
+                .build();
+        var expiredJwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), expiredClaims);
+        expiredJwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+
+        validReq = protectedRequest();
+        validReq.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + valid);
+        expiredReq = protectedRequest();
+        expiredReq.setCookies(new Cookie("APP_AUTH", expiredJwt.serialize()));
+        garbageReq = protectedRequest();
+        garbageReq.setCookies(new Cookie("APP_AUTH", "not-a-jwt"));
+        absentReq = protectedRequest();
+
+        publicReq = new MockHttpServletRequest("POST", "/auth/google");
+        publicReq.setCookies(new Cookie("APP_AUTH", expiredJwt.serialize()));
+        preflightReq = new MockHttpServletRequest("OPTIONS", "/api/tasks");
+        preflightReq.setCookies(new Cookie("APP_AUTH", valid));
+    }
+
+    private static MockHttpServletRequest protectedRequest() {
+        return new MockHttpServletRequest("GET", "/api/tasks");
+    }
+
+    // OncePerRequestFilter marks the request as filtered via an attribute; clear it between runs
+    private Object run(MockHttpServletRequest req) throws Exception {
+        SecurityContextHolder.clearContext();
+        req.removeAttribute(filter.getClass().getName() + ".FILTERED");
+        filter.doFilter(req, res, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object validToken() throws Exception { return run(validReq); }
+
+    @Benchmark
+    public Object expiredToken() throws Exception { return run(expiredReq); }
+
+    @Benchmark
+    public Object garbageToken() throws Exception { return run(garbageReq); }
+
+    @Benchmark
+    public Object absentToken() throws Exception { return run(absentReq); }
+
+    @Benchmark
+    public Object publicRoute() throws Exception { return run(publicReq); }
+
+    @Benchmark
+    public Object corsPreflight() throws Exception { return run(preflightReq); }
+}
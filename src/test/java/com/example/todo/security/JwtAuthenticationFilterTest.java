@@ -1,13 +1,21 @@
 // src/test/java/com/example/todo/security/JwtAuthenticationFilterTest.java
 package com.example.todo.security;
 
+import com.example.todo.metrics.RequestMetricsFilter;
+import com.example.todo.security.JwtService.Status;
+import com.example.todo.security.JwtService.Verification;
 import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -15,7 +23,10 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,12 +35,13 @@ import static org.mockito.Mockito.*;
 class JwtAuthenticationFilterTest {
 
     private final JwtService jwtService = Mockito.mock(JwtService.class);
-    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+    private final TokenRevocationService revocation = Mockito.mock(TokenRevocationService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, revocation);
 
     @AfterEach
     void cleanup() {
         SecurityContextHolder.clearContext();
-        Mockito.reset(jwtService);
+        Mockito.reset(jwtService, revocation);
     }
 
     private static JWTClaimsSet claims(UUID id, String email, String name) {
@@ -50,11 +62,11 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         UUID userId = UUID.randomUUID();
-        when(jwtService.verifyToken(token)).thenReturn(claims(userId, "user@example.com", "User Name"));
+        when(jwtService.verify(token)).thenReturn(Verification.valid(claims(userId, "user@example.com", "User Name")));
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService).verifyToken(token);
+        verify(jwtService).verify(token);
         verify(chain).doFilter(req, res);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -81,11 +93,11 @@ class JwtAuthenticationFilterTest {
         FilterChain chain = mock(FilterChain.class);
 
         UUID userId = UUID.randomUUID();
-        when(jwtService.verifyToken(token)).thenReturn(claims(userId, "cookie@ex.com", "Cookie User"));
+        when(jwtService.verify(token)).thenReturn(Verification.valid(claims(userId, "cookie@ex.com", "Cookie User")));
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService).verifyToken(token);
+        verify(jwtService).verify(token);
         verify(chain).doFilter(req, res);
 
         var auth = SecurityContextHolder.getContext().getAuthentication();
@@ -106,7 +118,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilter(req, res, chain);
 
-        verify(jwtService, never()).verifyToken(anyString());
+        verify(jwtService, never()).verify(anyString());
         verify(chain).doFilter(req, res);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
@@ -125,7 +137,7 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("verifyToken бросает исключение → контекст очищен, цепочка продолжается")
+    @DisplayName("verify возвращает ошибку → контекст очищен, цепочка продолжается")
     void invalidTokenClearsContext() throws Exception {
         String token = "bad";
         var req = new MockHttpServletRequest();
@@ -133,7 +145,7 @@ class JwtAuthenticationFilterTest {
         var res = new MockHttpServletResponse();
         FilterChain chain = mock(FilterChain.class);
 
-        when(jwtService.verifyToken(token)).thenThrow(new RuntimeException("jwt invalid"));
+        when(jwtService.verify(token)).thenReturn(new Verification(Status.BAD_SIGNATURE, null));
 
         // предварительно положим что-то в контекст, чтобы проверить очистку
         SecurityContextHolder.getContext().setAuthentication(
@@ -146,6 +158,155 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
+    @Test
+    @DisplayName("Отозванный jti (logout) → контекст очищен")
+    void revokedTokenClearsContext() throws Exception {
+        String token = "revoked";
+        var req = new MockHttpServletRequest();
+        req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        var res = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        var c = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .jwtID("jti-1")
+                .build();
+        when(jwtService.verify(token)).thenReturn(Verification.valid(c));
+        when(revocation.isRevoked("jti-1")).thenReturn(true);
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Просроченный cookie → verify не бросает, контекст очищен")
+    void expiredCookieClearsContext() throws Exception {
+        var req = new MockHttpServletRequest("GET", "/api/tasks");
+        req.setCookies(new Cookie("APP_AUTH", "expired"));
+        var res = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        when(jwtService.verify("expired")).thenReturn(new Verification(Status.EXPIRED, null));
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("e-mail из todo.admin.emails (без учёта регистра) → ROLE_ADMIN поверх ROLE_USER")
+    void adminEmailGetsAdminRole() throws Exception {
+        var adminFilter = new JwtAuthenticationFilter(jwtService, revocation, " ops@example.com , root@example.com",
+                ObservationRegistry.NOOP);
+        var req = new MockHttpServletRequest();
+        req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer admin");
+        when(jwtService.verify("admin")).thenReturn(Verification.valid(claims(UUID.randomUUID(), "Ops@Example.com", "Ops")));
+
+        adminFilter.doFilter(req, new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting((GrantedAuthority a) -> a.getAuthority())
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("X-Debug-Timing: 1 → тело буферизуется только для админа, и только после проверки токена")
+    void debugTimingBuffersOnlyForAdmins() throws Exception {
+        var adminFilter = new JwtAuthenticationFilter(jwtService, revocation, "ops@example.com", ObservationRegistry.NOOP);
+        var metrics = new RequestMetricsFilter(new SimpleMeterRegistry(), true, Duration.ZERO, 10);
+        when(jwtService.verify("admin")).thenReturn(Verification.valid(claims(UUID.randomUUID(), "ops@example.com", "Ops")));
+        when(jwtService.verify("user")).thenReturn(Verification.valid(claims(UUID.randomUUID(), "user@example.com", "User")));
+
+        for (String token : new String[]{"admin", "user", null}) {
+            var req = new MockHttpServletRequest("GET", "/api/tasks");
+            req.addHeader("X-Debug-Timing", "1");
+            if (token != null) req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            var res = new MockHttpServletResponse();
+            var seen = new ServletResponse[1];
+
+            metrics.doFilter(req, res, (rq, rs) -> adminFilter.doFilter(rq, rs, (rq2, rs2) -> {
+                seen[0] = rs2;
+                rs2.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            }));
+
+            boolean admin = "admin".equals(token);
+            assertThat(seen[0] instanceof ContentCachingResponseWrapper).as(String.valueOf(token)).isEqualTo(admin);
+            assertThat(res.getHeader("Server-Timing") != null).as(String.valueOf(token)).isEqualTo(admin);
+            assertThat(res.getContentAsString()).isEqualTo("[]");
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Nested
+    @DisplayName("Публичные маршруты и preflight → фильтр не трогает токен")
+    class PublicRoutes {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"/auth/google", "/auth/logout", "/swagger-ui/index.html", "/v3/api-docs",
+                "/actuator/health", "/actuator/health/liveness", "/readyz", "/livez"})
+        void skipsPermitAllRoutes(String path) throws Exception {
+            var req = new MockHttpServletRequest("POST", path);
+            req.setCookies(new Cookie("APP_AUTH", "garbage"));
+            var res = new MockHttpServletResponse();
+            FilterChain chain = mock(FilterChain.class);
+
+            filter.doFilter(req, res, chain);
+
+            verify(jwtService, never()).verify(anyString());
+            verify(chain).doFilter(req, res);
+        }
+
+        @Test
+        @DisplayName("OPTIONS preflight на защищённый маршрут → без проверки")
+        void skipsPreflight() throws Exception {
+            var req = new MockHttpServletRequest("OPTIONS", "/api/tasks");
+            req.addHeader(HttpHeaders.ORIGIN, "https://app.example.com");
+            req.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH");
+            req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer whatever");
+            var res = new MockHttpServletResponse();
+            FilterChain chain = mock(FilterChain.class);
+
+            filter.doFilter(req, res, chain);
+
+            verify(jwtService, never()).verify(anyString());
+            verify(chain).doFilter(req, res);
+        }
+
+        @Test
+        @DisplayName("Обычный OPTIONS (не preflight) с токеном → аутентифицируется как любой запрос")
+        void plainOptionsIsAuthenticated() throws Exception {
+            var req = new MockHttpServletRequest("OPTIONS", "/api/tasks");
+            req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer t");
+            var res = new MockHttpServletResponse();
+            FilterChain chain = mock(FilterChain.class);
+            UUID userId = UUID.randomUUID();
+            when(jwtService.verify("t")).thenReturn(Verification.valid(claims(userId, "user@example.com", "User")));
+
+            filter.doFilter(req, res, chain);
+
+            verify(jwtService).verify("t");
+            verify(chain).doFilter(req, res);
+            var auth = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(auth).isNotNull();
+            assertThat(((UserPrincipal) auth.getPrincipal()).getId()).isEqualTo(userId);
+        }
+
+        @Test
+        @DisplayName("Защищённый маршрут → токен проверяется")
+        void protectedRouteIsFiltered() throws Exception {
+            var req = new MockHttpServletRequest("GET", "/api/tasks");
+            req.addHeader(HttpHeaders.AUTHORIZATION, "Bearer t");
+            when(jwtService.verify("t")).thenReturn(new Verification(Status.MALFORMED, null));
+
+            filter.doFilter(req, new MockHttpServletResponse(), mock(FilterChain.class));
+
+            verify(jwtService).verify("t");
+        }
+    }
+
     @Nested
     @DisplayName("Плохие/некорректные claims")
     class BadClaims {
@@ -163,7 +324,7 @@ class JwtAuthenticationFilterTest {
                     .claim("email", "x@y.z")
                     .claim("name", "No Sub")
                     .build();
-            when(jwtService.verifyToken(token)).thenReturn(claims);
+            when(jwtService.verify(token)).thenReturn(Verification.valid(claims));
 
             filter.doFilter(req, res, chain);
 
@@ -185,7 +346,7 @@ class JwtAuthenticationFilterTest {
                     .claim("email", "x@y.z")
                     .claim("name", "Bad Sub")
                     .build();
-            when(jwtService.verifyToken(token)).thenReturn(claims);
+            when(jwtService.verify(token)).thenReturn(Verification.valid(claims));
 
             filter.doFilter(req, res, chain);
 
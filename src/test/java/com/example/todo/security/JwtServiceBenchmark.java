@@ -0,0 +1,44 @@
+// src/test/java/com/example/todo/security/JwtServiceBenchmark.java
+package com.example.todo.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS256 token issue (login / refresh) and verification (every authenticated request).
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=JwtServiceBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String ISS = "bench";
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private JwtService jwt;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwt = new JwtService(ISS, SECRET);
+        userId = UUID.randomUUID();
+        token = jwt.issueToken(userId, "alice@example.com", "Alice");
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return jwt.issueToken(userId, "alice@example.com", "Alice");
+    }
+
+    @Benchmark
+    public Object verifyToken() throws Exception {
+        return jwt.verifyToken(token);
+    }
+}
@@ -7,6 +7,7 @@ import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +37,18 @@ class JwtServiceTest {
         assertNotNull(claims.getExpirationTime());
     }
 
+    @Test
+    @DisplayName("issue: каждый токен получает уникальный jti (для отзыва)")
+    void issue_setsUniqueJti() throws Exception {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        var id = UUID.randomUUID();
+        var jti1 = svc.verifyToken(svc.issueToken(id, "u@e.com", "U")).getJWTID();
+        var jti2 = svc.verifyToken(svc.issueToken(id, "u@e.com", "U")).getJWTID();
+
+        assertNotNull(jti1);
+        assertNotEquals(jti1, jti2);
+    }
+
     @Test
     @DisplayName("verify: неверный issuer → IllegalArgumentException")
     void verify_failsOnWrongIssuer() throws Exception {
@@ -106,6 +119,57 @@ class JwtServiceTest {
         assertThrows(IllegalArgumentException.class, () -> svc.verifyToken(token));
     }
 
+    // ---------- verify(): результат без исключений ----------
+
+    @Test
+    @DisplayName("verify(): валидный токен → VALID + claims")
+    void verifyResult_valid() {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        var id = UUID.randomUUID();
+        var v = svc.verify(svc.issueToken(id, "ok@ex.com", "Ok"));
+
+        assertTrue(v.isValid());
+        assertEquals(id.toString(), v.claims().getSubject());
+    }
+
+    @Test
+    @DisplayName("verify(): мусор / null / пусто → MALFORMED")
+    void verifyResult_malformed() {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        assertEquals(JwtService.Status.MALFORMED, svc.verify(null).status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("").status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("garbage").status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("a.b").status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("a..c").status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("a.b.c.d").status());
+        assertEquals(JwtService.Status.MALFORMED, svc.verify("###.###.###").status());
+    }
+
+    @Test
+    @DisplayName("verify(): просрочен → EXPIRED (до проверки подписи)")
+    void verifyResult_expiredBeforeSignature() throws Exception {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        // подписан чужим ключом, но exp в прошлом — ответ EXPIRED, HMAC не считается
+        String token = buildTokenWith(SECRET_OTHER, b -> b
+                .issuer(ISS)
+                .subject(UUID.randomUUID().toString())
+                .expirationTime(Date.from(Instant.now().minusSeconds(10))));
+        var v = svc.verify(token);
+        assertEquals(JwtService.Status.EXPIRED, v.status());
+        assertNull(v.claims());
+    }
+
+    @Test
+    @DisplayName("verify(): чужой issuer / чужая подпись")
+    void verifyResult_issuerAndSignature() {
+        var svc = new JwtService(ISS, SECRET_OK_32);
+        var foreignIssuer = new JwtService("other", SECRET_OK_32).issueToken(UUID.randomUUID(), "a@b.c", "A");
+        var foreignKey = new JwtService(ISS, SECRET_OTHER).issueToken(UUID.randomUUID(), "a@b.c", "A");
+
+        assertEquals(JwtService.Status.WRONG_ISSUER, svc.verify(foreignIssuer).status());
+        assertEquals(JwtService.Status.BAD_SIGNATURE, svc.verify(foreignKey).status());
+    }
+
     // ---------- helper ----------
 
     @FunctionalInterface
@@ -118,4 +182,18 @@ class JwtServiceTest {
         jwt.sign(signer);
         return jwt.serialize();
     }
+
+    @Test
+    @DisplayName("verify: время проверки пишется в todo.jwt.verify с тегом status")
+    void verify_recordsTimerPerStatus() {
+        var meters = new SimpleMeterRegistry();
+        var svc = new JwtService(ISS, SECRET_OK_32, meters);
+        svc.verify(svc.issueToken(UUID.randomUUID(), "a@b.c", "A"));
+        svc.verify(svc.issueToken(UUID.randomUUID(), "a@b.c", "A"));
+        svc.verify("not-a-jwt");
+
+        assertEquals(2, meters.get("todo.jwt.verify").tag("status", "VALID").timer().count());
+        assertEquals(1, meters.get("todo.jwt.verify").tag("status", "MALFORMED").timer().count());
+        assertEquals(0, meters.get("todo.jwt.verify").tag("status", "EXPIRED").timer().count());
+    }
 }
@@ -0,0 +1,71 @@
+// src/test/java/com/example/todo/security/TokenRevocationServiceTest.java
+package com.example.todo.security;
+
+import com.example.todo.entity.RevokedToken;
+import com.example.todo.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    RevokedTokenRepository repo = mock(RevokedTokenRepository.class);
+    TokenRevocationService svc = new TokenRevocationService(repo, 1_000, 0.01);
+
+    @Test
+    @DisplayName("Не отозванный jti → ответ из Bloom-фильтра, без запроса в БД")
+    void notRevoked_noRepositoryCall() {
+        assertThat(svc.isRevoked("unknown")).isFalse();
+        assertThat(svc.isRevoked(null)).isFalse();
+        verify(repo, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("revoke → строка сохранена, isRevoked подтверждается таблицей")
+    void revoke_thenHitChecksTable() {
+        svc.revoke("jti-1", OffsetDateTime.now().plusHours(1));
+        verify(repo).save(any(RevokedToken.class));
+
+        when(repo.existsById("jti-1")).thenReturn(true);
+        assertThat(svc.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("revoke уже истёкшего токена → ничего не делаем")
+    void revoke_expiredIsNoop() {
+        svc.revoke("old", OffsetDateTime.now().minusSeconds(1));
+        verify(repo, never()).save(any());
+        assertThat(svc.isRevoked("old")).isFalse();
+    }
+
+    @Test
+    @DisplayName("sync подтягивает отзывы с других нод и чистит просроченные")
+    void sync_loadsFromTableAndPurges() {
+        when(repo.findActiveJtis(any())).thenReturn(List.of("remote-1"));
+        when(repo.existsById("remote-1")).thenReturn(true);
+
+        svc.sync();
+
+        verify(repo).deleteExpired(any());
+        assertThat(svc.isRevoked("remote-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("sync не теряет локальный отзыв, который ещё не виден в выборке")
+    void sync_keepsRecentLocalRevocations() {
+        svc.revoke("local-1", OffsetDateTime.now().plusHours(1));
+        when(repo.findActiveJtis(any())).thenReturn(List.of());
+        when(repo.existsById("local-1")).thenReturn(true);
+
+        svc.sync();
+
+        assertThat(svc.isRevoked("local-1")).isTrue();
+    }
+}
@@ -0,0 +1,202 @@
+// src/test/java/com/example/todo/service/DuplicateDetectionServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.dto.DuplicateCandidateDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskTextRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DuplicateDetectionServiceTest {
+
+    TaskRepository taskRepo = mock(TaskRepository.class);
+    DuplicateDetectionService svc = new DuplicateDetectionService(taskRepo, 0.4, 5, 10, Duration.ofMinutes(10));
+
+    UUID me = UUID.randomUUID();
+    UUID other = UUID.randomUUID();
+    Map<UUID, Task> db = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        when(taskRepo.findTextsByOwner(any())).thenAnswer(inv -> {
+            UUID owner = inv.getArgument(0);
+            return db.values().stream().filter(t -> t.getOwner().getId().equals(owner)).map(DuplicateDetectionServiceTest::row).toList();
+        });
+        when(taskRepo.findAllById(any())).thenAnswer(inv -> {
+            List<Task> out = new ArrayList<>();
+            for (Object id : (Iterable<?>) inv.getArgument(0)) if (db.containsKey(id)) out.add(db.get(id));
+            return out;
+        });
+    }
+
+    Task task(UUID owner, String title, String description) {
+        var t = new Task();
+        t.setId(UUID.randomUUID());
+        t.setTitle(title);
+        t.setDescription(description);
+        var u = new AppUser(); u.setId(owner); t.setOwner(u);
+        db.put(t.getId(), t);
+        return t;
+    }
+
+    static TaskTextRow row(Task t) {
+        return new TaskTextRow() {
+            public UUID getId() { return t.getId(); }
+            public String getTitle() { return t.getTitle(); }
+            public String getDescription() { return t.getDescription(); }
+        };
+    }
+
+    @Test
+    @DisplayName("findSimilar: near-duplicates of the caller's own tasks, most similar first")
+    void find_similar() {
+        Task invoice = task(me, "call bob re invoice", null);
+        Task exact = task(me, "Call Bob", null);
+        task(me, "buy milk", null);
+        task(other, "call bob", null);            // someone else's task never shows up
+
+        List<DuplicateCandidateDto> res = svc.findSimilar(me, "call Bob", null);
+
+        assertThat(res).extracting(d -> d.id).containsExactly(exact.getId(), invoice.getId());
+        assertThat(res.get(0).similarity).isEqualTo(1.0);
+        assertThat(res.get(0).title).isEqualTo("Call Bob");
+        verify(taskRepo, times(1)).findTextsByOwner(me);
+
+        svc.findSimilar(me, "buy milk", null);
+        verify(taskRepo, times(1)).findTextsByOwner(me);  // index is reused
+    }
+
+    @Test
+    @DisplayName("findSimilar: text without words → nothing, no index build")
+    void no_words() {
+        assertThat(svc.findSimilar(me, "!!", "a")).isEmpty();
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    @DisplayName("onCreated: warns about existing tasks, excludes the new one, indexes it")
+    void on_created() {
+        Task old = task(me, "Prepare quarterly report", "numbers for Q3");
+        Task created = task(me, "prepare the quarterly report", null);
+
+        List<DuplicateCandidateDto> warn = svc.onCreated(created);
+
+        assertThat(warn).extracting(d -> d.id).containsExactly(old.getId());
+        assertThat(svc.findSimilar(me, "quarterly report prepare", null)).extracting(d -> d.id)
+                .contains(old.getId(), created.getId());
+    }
+
+    @Test
+    @DisplayName("onChanged / onDeleted keep a loaded index current")
+    void change_and_delete() {
+        Task t = task(me, "water plants", null);
+        assertThat(svc.findSimilar(me, "water plants", null)).hasSize(1);
+
+        t.setTitle("book flights to Rome");
+        svc.onChanged(t);
+        assertThat(svc.findSimilar(me, "water plants", null)).isEmpty();
+        assertThat(svc.findSimilar(me, "book flights Rome", null)).hasSize(1);
+
+        svc.onDeleted(t);
+        db.remove(t.getId());
+        assertThat(svc.findSimilar(me, "book flights to Rome", null)).isEmpty();
+        verify(taskRepo, times(1)).findTextsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("stale index entries (deleted / moved elsewhere) are filtered by the DB re-read")
+    void stale_entries_filtered() {
+        Task t = task(me, "renew passport", null);
+        assertThat(svc.findSimilar(me, "renew passport", null)).hasSize(1);
+
+        db.remove(t.getId());                       // deleted on another node
+        assertThat(svc.findSimilar(me, "renew passport", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("lookups never rebuild on the request path; refreshStale() does, keeping local changes")
+    void background_refresh() {
+        var svc = new DuplicateDetectionService(taskRepo, 0.4, 5, 10, Duration.ZERO);
+        task(me, "renew passport", null);
+        svc.findSimilar(me, "renew passport", null);
+        svc.onCreated(task(me, "renew driving licence", null));
+        assertThat(svc.findSimilar(me, "renew passport", null)).hasSize(1);
+        verify(taskRepo, times(1)).findTextsByOwner(me);
+
+        Task remote = task(me, "renew passport photos", null);   // written on another node
+        // committed here while the refresh reads the table: not in its result, must survive the swap
+        Task local = new Task();
+        local.setId(UUID.randomUUID());
+        local.setTitle("renew passport soon");
+        var owner = new AppUser(); owner.setId(me); local.setOwner(owner);
+        when(taskRepo.findTextsByOwner(me)).thenAnswer(inv -> {
+            List<TaskTextRow> rows = db.values().stream().filter(t -> t.getOwner().getId().equals(me)).map(DuplicateDetectionServiceTest::row).toList();
+            svc.onChanged(local);
+            return rows;
+        });
+
+        svc.refreshStale();
+        db.put(local.getId(), local);
+
+        assertThat(svc.findSimilar(me, "renew passport", null)).extracting(d -> d.id)
+                .contains(remote.getId(), local.getId());
+        verify(taskRepo, times(2)).findTextsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("refreshStale() leaves indexes younger than the interval alone")
+    void refresh_skips_fresh() {
+        task(me, "renew passport", null);
+        svc.findSimilar(me, "renew passport", null);
+        svc.refreshStale();
+        verify(taskRepo, times(1)).findTextsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("findSimilarTo: 404 without access; excludes the task itself")
+    void find_similar_to() {
+        Task a = task(me, "plan team offsite", null);
+        Task b = task(me, "plan the team offsite", null);
+        when(taskRepo.findAuthorizedById(a.getId(), me)).thenReturn(Optional.of(a));
+
+        assertThat(svc.findSimilarTo(a.getId(), me)).extracting(d -> d.id).containsExactly(b.getId());
+        assertThatThrownBy(() -> svc.findSimilarTo(a.getId(), other)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("invalid threshold is rejected at startup")
+    void invalid_threshold() {
+        assertThatThrownBy(() -> new DuplicateDetectionService(taskRepo, 0, 5, 10, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("cache.* meters: first lookup per user is a miss, then hits; LRU evictions are counted")
+    void cache_meters() {
+        var small = new DuplicateDetectionService(taskRepo, 0.4, 5, 1, Duration.ofMinutes(10));
+        var meters = new SimpleMeterRegistry();
+        small.bindTo(meters);
+        task(me, "renew passport", null);
+
+        small.findSimilar(me, "renew passport", null);
+        small.findSimilar(me, "renew passport", null);
+        small.findSimilar(other, "renew passport", null);
+
+        assertThat(meters.get("cache.gets").tag("cache", "duplicates").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meters.get("cache.gets").tag("cache", "duplicates").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(meters.get("cache.evictions").tag("cache", "duplicates").functionCounter().count()).isEqualTo(1);
+        assertThat(meters.get("cache.size").tag("cache", "duplicates").gauge().value()).isEqualTo(1);
+    }
+}
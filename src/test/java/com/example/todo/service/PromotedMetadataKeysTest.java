@@ -0,0 +1,38 @@
+// src/test/java/com/example/todo/service/PromotedMetadataKeysTest.java
+package com.example.todo.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PromotedMetadataKeysTest {
+
+    @Test
+    @DisplayName("keys are trimmed, blanks and repeats ignored; lookups are case-sensitive")
+    void parses_keys() {
+        var keys = new PromotedMetadataKeys(List.of(" externalId", "", "project", "project"), false, null);
+
+        assertThat(keys.keys()).containsExactlyInAnyOrder("externalId", "project");
+        assertThat(keys.isPromoted("externalId")).isTrue();
+        assertThat(keys.isPromoted("externalid")).isFalse();
+        assertThat(PromotedMetadataKeys.indexName("externalId")).isEqualTo("idx_task_meta_externalid");
+    }
+
+    @Test
+    @DisplayName("keys differing only by case would share an index name → rejected at startup")
+    void rejects_case_only_duplicates() {
+        assertThatThrownBy(() -> new PromotedMetadataKeys(List.of("externalId", "externalid"), false, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("externalid");
+    }
+
+    @Test
+    @DisplayName("keys that can't be inlined as SQL literals are rejected")
+    void rejects_invalid_keys() {
+        assertThatThrownBy(() -> new PromotedMetadataKeys(List.of("bad'key"), false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
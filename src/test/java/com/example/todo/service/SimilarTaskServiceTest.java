@@ -0,0 +1,172 @@
+// src/test/java/com/example/todo/service/SimilarTaskServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.repository.TaskIndexRow;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskShareRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SimilarTaskServiceTest {
+
+    TaskRepository taskRepo = mock(TaskRepository.class);
+    TaskShareRepository shareRepo = mock(TaskShareRepository.class);
+    // inline writer: index updates apply synchronously
+    SimilarTaskService svc = new SimilarTaskService(taskRepo, shareRepo, 100, 5000, 2000, Runnable::run);
+
+    UUID me = UUID.randomUUID();
+    UUID other = UUID.randomUUID();
+    Map<UUID, Task> db = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setup() {
+        when(taskRepo.findAllById(any())).thenAnswer(inv -> {
+            List<Task> out = new ArrayList<>();
+            for (Object id : (Iterable<?>) inv.getArgument(0)) if (db.containsKey(id)) out.add(db.get(id));
+            return out;
+        });
+        when(taskRepo.findAuthorizedById(any(), any())).thenAnswer(inv -> {
+            Task t = db.get(inv.<UUID>getArgument(0));
+            return Optional.ofNullable(t).filter(x -> x.getOwner().getId().equals(inv.getArgument(1)));
+        });
+        when(shareRepo.findTaskIdsSharedWith(any())).thenReturn(List.of());
+    }
+
+    Task task(UUID owner, String title) {
+        var t = new Task();
+        t.setId(UUID.randomUUID());
+        t.setTitle(title);
+        var u = new AppUser(); u.setId(owner); t.setOwner(u);
+        db.put(t.getId(), t);
+        svc.onSaved(t);
+        return t;
+    }
+
+    @Test
+    @DisplayName("similar: most similar of the caller's tasks first, the task itself excluded")
+    void ranks_own_tasks() {
+        Task report = task(me, "prepare quarterly report");
+        Task typo = task(me, "prepare quartely report for finance");
+        task(me, "water the plants");
+        task(other, "prepare quarterly report");               // not visible to me
+
+        var res = svc.findSimilar(report.getId(), me, 2);
+
+        assertThat(res).hasSize(2);
+        assertThat(res.get(0).id).isEqualTo(typo.getId());
+        assertThat(res.get(0).similarity).isGreaterThan(res.get(1).similarity);
+        assertThat(res).extracting(d -> d.id).doesNotContain(report.getId());
+    }
+
+    @Test
+    @DisplayName("similar: tasks shared with the caller count, unshared foreign ones don't")
+    void respects_shares() {
+        Task mine = task(me, "book flights to Rome");
+        Task sharedWithMe = task(other, "book flights to Rome and hotel");
+        task(other, "book flights to Rome in May");
+        when(shareRepo.findTaskIdsSharedWith(me)).thenReturn(List.of(sharedWithMe.getId()));
+
+        assertThat(svc.findSimilar(mine.getId(), me, 10)).extracting(d -> d.id).containsExactly(sharedWithMe.getId());
+    }
+
+    @Test
+    @DisplayName("similar: graph search path (large accessible set) applies the same filter")
+    void graph_path() {
+        var graph = new SimilarTaskService(taskRepo, shareRepo, 100, 0, 2000, Runnable::run);
+        List<Task> mine = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            var t = new Task();
+            t.setId(UUID.randomUUID());
+            t.setTitle((i % 2 == 0 ? "invoice for client " : "call client ") + i);
+            var u = new AppUser(); u.setId(i % 3 == 0 ? other : me); t.setOwner(u);
+            db.put(t.getId(), t);
+            graph.onSaved(t);
+            if (u.getId().equals(me)) mine.add(t);
+        }
+        var res = graph.findSimilar(mine.get(0).getId(), me, 5);
+        assertThat(res).hasSize(5);
+        assertThat(res).allSatisfy(d -> assertThat(db.get(d.id).getOwner().getId()).isEqualTo(me));
+    }
+
+    @Test
+    @DisplayName("updates and deletes reach the index; stale hits are filtered by the DB re-read")
+    void updates_and_deletes() {
+        Task a = task(me, "renew passport");
+        Task b = task(me, "renew passport photos");
+        assertThat(svc.findSimilar(a.getId(), me, 5)).extracting(d -> d.id).containsExactly(b.getId());
+
+        b.setTitle("zzz qqq");
+        svc.onSaved(b);
+        assertThat(svc.findSimilar(a.getId(), me, 5).get(0).similarity).isLessThan(0.2);
+
+        svc.onDeleted(b);
+        assertThat(svc.findSimilar(a.getId(), me, 5)).isEmpty();
+
+        Task c = task(me, "renew passport soon");
+        db.remove(c.getId());                                   // deleted elsewhere, index not told yet
+        assertThat(svc.findSimilar(a.getId(), me, 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("memory bound: oldest vectors are evicted, compaction keeps the index usable")
+    void bounded() {
+        var small = new SimilarTaskService(taskRepo, shareRepo, 10, 5000, 2000, Runnable::run);
+        Task first = null;
+        for (int i = 0; i < 200; i++) {
+            var t = new Task();
+            t.setId(UUID.randomUUID());
+            t.setTitle("meeting notes " + i);
+            var u = new AppUser(); u.setId(me); t.setOwner(u);
+            db.put(t.getId(), t);
+            small.onSaved(t);
+            if (first == null) first = t;
+        }
+        var res = small.findSimilar(first.getId(), me, 100);
+        assertThat(res).hasSizeLessThanOrEqualTo(10).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("warm-up loads the most recent tasks")
+    void warm_up() {
+        Task a = new Task();
+        a.setId(UUID.randomUUID());
+        a.setTitle("plan team offsite");
+        var u = new AppUser(); u.setId(me); a.setOwner(u);
+        db.put(a.getId(), a);
+        UUID bId = UUID.randomUUID();
+        Task b = new Task(); b.setId(bId); b.setTitle("plan the team offsite"); b.setOwner(u);
+        db.put(bId, b);
+        when(taskRepo.findRecentForIndex(100)).thenReturn(List.of(row(b), row(a)));
+
+        svc.warmUp();
+
+        assertThat(svc.findSimilar(a.getId(), me, 5)).extracting(d -> d.id).containsExactly(bId);
+    }
+
+    @Test
+    @DisplayName("404 without access, 400 on a bad limit")
+    void errors() {
+        Task t = task(other, "x y z");
+        assertThatThrownBy(() -> svc.findSimilar(t.getId(), me, 5)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> svc.findSimilar(t.getId(), other, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static TaskIndexRow row(Task t) {
+        return new TaskIndexRow() {
+            public UUID getId() { return t.getId(); }
+            public UUID getOwnerId() { return t.getOwner().getId(); }
+            public String getTitle() { return t.getTitle(); }
+            public String getDescription() { return t.getDescription(); }
+        };
+    }
+}
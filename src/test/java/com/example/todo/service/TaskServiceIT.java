@@ -30,6 +30,10 @@ class TaskServiceIT {
     @Mock AppUserRepository userRepo;        // не используется в этих кейсах, но нужен для @InjectMocks
     @Mock TaskShareRepository shareRepo;
     @Mock TaskMapper mapper;
+    @Mock TaskStatsService stats;
+    @Mock DuplicateDetectionService duplicates;
+    @Mock SimilarTaskService similar;
+    @Mock TaskSuggestionService suggestions;
 
     @InjectMocks TaskService service;
 
@@ -81,8 +85,6 @@ class TaskServiceIT {
         t.setVersion(5); // фактическая версия в БД
 
         when(taskRepo.findById(taskId)).thenReturn(Optional.of(t));
-        // Шаринг не важен — владелец сам редактирует
-        when(shareRepo.findByTask_IdAndUser_Id(any(), any())).thenReturn(Optional.empty());
 
         // act + assert
         assertThrows(TaskService.PreconditionFailedException.class, () ->
@@ -90,5 +92,7 @@ class TaskServiceIT {
 
         verify(taskRepo, never()).save(any());
         verify(mapper, never()).updateFromPatch(any(), any());
+        // владелец сам редактирует — шаринг даже не читаем
+        verify(shareRepo, never()).findByTask_IdAndUser_Id(any(), any());
     }
 }
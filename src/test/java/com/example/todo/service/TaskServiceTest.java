@@ -10,6 +10,8 @@ import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
 import com.example.todo.mapper.TaskMapper;
 import com.example.todo.repository.AppUserRepository;
+import com.example.todo.repository.MetadataKeyFilter;
+import com.example.todo.repository.TagCountRow;
 import com.example.todo.repository.TaskRepository;
 import com.example.todo.repository.TaskShareRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -33,7 +35,12 @@ class TaskServiceTest {
     TaskShareRepository shareRepo = mock(TaskShareRepository.class);
     TaskMapper mapper = mock(TaskMapper.class);
 
-    TaskService svc = new TaskService(taskRepo, userRepo, shareRepo, mapper);
+    PromotedMetadataKeys promotedKeys = new PromotedMetadataKeys(List.of("externalId", "project", "sprint"), false, null);
+    TaskStatsService stats = mock(TaskStatsService.class);
+    DuplicateDetectionService duplicates = mock(DuplicateDetectionService.class);
+    SimilarTaskService similar = mock(SimilarTaskService.class);
+    TaskSuggestionService suggestions = mock(TaskSuggestionService.class);
+    TaskService svc = new TaskService(taskRepo, userRepo, shareRepo, mapper, promotedKeys, stats, duplicates, similar, suggestions);
 
     UUID ownerId = UUID.randomUUID();
     UUID editorId = UUID.randomUUID();
@@ -57,24 +64,94 @@ class TaskServiceTest {
     @DisplayName("listTasks: builds q like-param and returns mapped DTOs (not empty)")
     void listTasks_maps_and_returns() {
         var e = entityOwned();
-        when(taskRepo.findAllAccessibleNative(ownerId, null, null, null)).thenReturn(List.of(e));
+        when(taskRepo.findAllAccessibleNative(ownerId, null, null, null, null)).thenReturn(List.of(e));
         var dto = new TaskDto();
         when(mapper.toDto(e)).thenReturn(dto);
 
-        var result1 = svc.listTasks(ownerId, null, null, null);
+        var result1 = svc.listTasks(ownerId, null, null, null, null, null);
 
         assertThat(result1).hasSize(1).containsExactly(dto); // kill EMPTY_RETURNS(mutant on return)
-        verify(taskRepo).findAllAccessibleNative(ownerId, null, null, null);
+        verify(taskRepo).findAllAccessibleNative(ownerId, null, null, null, null);
         verify(mapper).toDto(e);
 
         reset(taskRepo, mapper);
-        when(taskRepo.findAllAccessibleNative(eq(ownerId), eq("%bug%"), eq("DONE"), eq("LOW")))
+        when(taskRepo.findAllAccessibleNative(eq(ownerId), eq("%bug%"), eq("DONE"), eq("LOW"), isNull()))
                 .thenReturn(List.of(e));
         when(mapper.toDto(e)).thenReturn(dto);
 
-        var result2 = svc.listTasks(ownerId, "bug", TaskStatus.DONE, TaskPriority.LOW);
+        var result2 = svc.listTasks(ownerId, "bug", TaskStatus.DONE, TaskPriority.LOW, null, null);
         assertThat(result2).hasSize(1).containsExactly(dto);
-        verify(taskRepo).findAllAccessibleNative(ownerId, "%bug%", "DONE", "LOW");
+        verify(taskRepo).findAllAccessibleNative(ownerId, "%bug%", "DONE", "LOW", null);
+    }
+
+    @Test
+    @DisplayName("listTasks: metadata filter is normalized JSON; non-objects are rejected")
+    void listTasks_metadata_filter() {
+        when(taskRepo.findAllAccessibleNative(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        svc.listTasks(ownerId, null, null, null, "{ \"project\" : \"X\" }", null);
+        verify(taskRepo).findAllAccessibleNative(ownerId, null, null, null, "{\"project\":\"X\"}");
+
+        svc.listTasks(ownerId, null, null, null, "{}", null);
+        verify(taskRepo).findAllAccessibleNative(ownerId, null, null, null, null);
+
+        assertThatThrownBy(() -> svc.listTasks(ownerId, null, null, null, "[1,2]", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> svc.listTasks(ownerId, null, null, null, "{broken", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("listTasks: key filters compare (metadata ->> key) whether promoted or not; ranges only on promoted keys")
+    void listTasks_routes_metadata_key_filters() {
+        var promoted = new MetadataKeyFilter("sprint", null, "S10", "S20");
+        when(taskRepo.findAllAccessibleByMetadataKey(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        svc.listTasks(ownerId, null, null, null, null, promoted);
+        verify(taskRepo).findAllAccessibleByMetadataKey(ownerId, promoted, null, null, null, null);
+
+        var other = new MetadataKeyFilter("color", "red", null, null);
+        svc.listTasks(ownerId, null, null, null, "{\"a\":1}", other);
+        verify(taskRepo).findAllAccessibleByMetadataKey(ownerId, other, null, null, null, "{\"a\":1}");
+        verify(taskRepo, never()).findAllAccessibleNative(any(), any(), any(), any(), any());
+
+        assertThatThrownBy(() -> svc.listTasks(ownerId, null, null, null, null, new MetadataKeyFilter("color", null, "a", "b")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("getTaskByExternalId: found → DTO, missing → EntityNotFoundException")
+    void getTaskByExternalId() {
+        var e = entityOwned();
+        var dto = new TaskDto();
+        when(taskRepo.findAccessibleByMetadataValue(ownerId, "externalId", "JIRA-1")).thenReturn(Optional.of(e));
+        when(mapper.toDto(e)).thenReturn(dto);
+
+        assertThat(svc.getTaskByExternalId("JIRA-1", ownerId)).isSameAs(dto);
+
+        when(taskRepo.findAccessibleByMetadataValue(ownerId, "externalId", "nope")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> svc.getTaskByExternalId("nope", ownerId)).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    // ---------- listTagFacets ----------
+
+    record Row(String getTag, String getStatus, String getPriority, long getCnt) implements TagCountRow {}
+
+    @Test
+    @DisplayName("listTagFacets: folds (tag,status,priority) rows into per-tag totals, sorted by count")
+    void listTagFacets_folds_rows() {
+        when(mapper.toUiPriority(any())).thenCallRealMethod();
+        when(taskRepo.countTagsAccessible(ownerId)).thenReturn(List.of(
+                new Row("work", "TODO", "HIGH", 3),
+                new Row("work", "DONE", "HIGH", 1),
+                new Row("work", "TODO", "LOW", 2),
+                new Row("home", "TODO", "MED", 1)));
+
+        var facets = svc.listTagFacets(ownerId);
+
+        assertThat(facets).extracting(f -> f.tag).containsExactly("work", "home");
+        var work = facets.get(0);
+        assertThat(work.count).isEqualTo(6);
+        assertThat(work.byStatus).containsEntry("TODO", 5L).containsEntry("DONE", 1L);
+        assertThat(work.byPriority).containsEntry("High", 4L).containsEntry("Low", 2L);
+        assertThat(facets.get(1).byPriority).containsEntry("Medium", 1L);
     }
 
     // ---------- createTask ----------
@@ -108,6 +185,22 @@ class TaskServiceTest {
         assertThat(result).isNotNull().isSameAs(expectedDto);   // kill NULL_RETURNS on method
     }
 
+    @Test
+    @DisplayName("createTask: possible duplicates are attached to the response only when found")
+    void createTask_duplicate_warning() {
+        when(mapper.toEntity(any())).thenReturn(new Task());
+        var owner = new AppUser(); owner.setId(ownerId);
+        when(userRepo.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(taskRepo.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toDto(any(Task.class))).thenAnswer(inv -> new TaskDto());
+
+        assertThat(svc.createTask(ownerId, new TaskCreateDto()).possibleDuplicates).isNull();
+
+        var dup = new DuplicateCandidateDto(UUID.randomUUID(), "Call Bob", 0.9);
+        when(duplicates.onCreated(any(Task.class))).thenReturn(List.of(dup));
+        assertThat(svc.createTask(ownerId, new TaskCreateDto()).possibleDuplicates).containsExactly(dup);
+    }
+
     @Test
     @DisplayName("createTask: owner not found → 404")
     void createTask_owner_not_found() {
@@ -325,4 +418,81 @@ class TaskServiceTest {
         assertThatThrownBy(() -> svc.revokeShare(taskId, ownerId, "z@e.com"))
                 .isInstanceOf(EntityNotFoundException.class);
     }
+
+    // ---------- stats maintenance ----------
+
+    @Test
+    @DisplayName("stats: create/patch report the saved task, patch with the pre-patch snapshot")
+    void stats_create_and_patch() {
+        var owner = new AppUser(); owner.setId(ownerId);
+        when(userRepo.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(mapper.toEntity(any())).thenReturn(new Task());
+        when(taskRepo.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        svc.createTask(ownerId, new TaskCreateDto());
+        verify(stats).onCreated(any(Task.class));
+
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        var before = new TaskStatsService.Contribution(true, TaskPriority.MED, null);
+        when(stats.snapshot(e)).thenReturn(before);
+        var patch = new TaskPatchDto();
+        svc.patchTask(taskId, ownerId, e.getVersion(), patch);
+
+        var order = inOrder(stats, mapper, taskRepo);
+        order.verify(stats).snapshot(e);
+        order.verify(mapper).updateFromPatch(patch, e);
+        order.verify(taskRepo).save(e);
+        order.verify(stats).onChanged(e, before);
+    }
+
+    @Test
+    @DisplayName("stats: delete collects viewers before the delete and applies after it")
+    void stats_delete_order() {
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        var viewers = List.of(ownerId, editorId);
+        when(stats.viewers(e)).thenReturn(viewers);
+
+        svc.deleteTask(taskId, ownerId);
+
+        var order = inOrder(stats, taskRepo);
+        order.verify(stats).viewers(e);
+        order.verify(taskRepo).delete(e);
+        order.verify(stats).onDeleted(e, viewers);
+    }
+
+    @Test
+    @DisplayName("stats: only a new share / an actually removed share changes the target's counters")
+    void stats_share_and_revoke() {
+        var e = entityOwned();
+        when(taskRepo.findById(taskId)).thenReturn(Optional.of(e));
+        var target = new AppUser(); target.setId(editorId); target.setEmail("ed@e.com");
+        when(userRepo.findByEmail("ed@e.com")).thenReturn(Optional.of(target));
+        var ownerUser = e.getOwner(); ownerUser.setEmail("me@e.com");
+        when(userRepo.findByEmail("me@e.com")).thenReturn(Optional.of(ownerUser));
+
+        // new share
+        when(shareRepo.existsById(any())).thenReturn(false);
+        svc.shareTask(taskId, ownerId, "ed@e.com", ShareRole.viewer);
+        verify(stats).onShared(e, editorId);
+
+        // role change on an existing share
+        when(shareRepo.existsById(any())).thenReturn(true);
+        svc.shareTask(taskId, ownerId, "ed@e.com", ShareRole.editor);
+        verify(stats, times(1)).onShared(any(), any());
+
+        // sharing with yourself
+        when(shareRepo.existsById(any())).thenReturn(false);
+        svc.shareTask(taskId, ownerId, "me@e.com", ShareRole.viewer);
+        verify(stats, times(1)).onShared(any(), any());
+
+        // revoke that removed nothing
+        when(shareRepo.deleteByTask_IdAndUser_Id(taskId, editorId)).thenReturn(0L);
+        svc.revokeShare(taskId, ownerId, "ed@e.com");
+        verify(stats, never()).onUnshared(any(), any());
+
+        when(shareRepo.deleteByTask_IdAndUser_Id(taskId, editorId)).thenReturn(1L);
+        svc.revokeShare(taskId, ownerId, "ed@e.com");
+        verify(stats).onUnshared(e, editorId);
+    }
 }
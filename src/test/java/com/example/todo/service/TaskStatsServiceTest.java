@@ -0,0 +1,189 @@
+// src/test/java/com/example/todo/service/TaskStatsServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.dto.UserTaskStatsDto;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.TaskShare;
+import com.example.todo.entity.UserTaskStats;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskShareRepository;
+import com.example.todo.repository.UserTaskStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskStatsServiceTest {
+
+    UserTaskStatsRepository statsRepo = mock(UserTaskStatsRepository.class);
+    TaskShareRepository shareRepo = mock(TaskShareRepository.class);
+    TaskMapper mapper = mock(TaskMapper.class);
+    PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    TaskStatsService svc = new TaskStatsService(statsRepo, shareRepo, mapper, txManager, 2);
+
+    UUID ownerId = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    UUID taskId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        when(mapper.toUiPriority(any())).thenCallRealMethod();
+    }
+
+    Task task(TaskStatus status, TaskPriority priority, OffsetDateTime due) {
+        var t = new Task();
+        t.setId(taskId);
+        var u = new AppUser(); u.setId(ownerId); t.setOwner(u);
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setDueAt(due);
+        return t;
+    }
+
+    TaskShare share(UUID userId) {
+        var s = new TaskShare();
+        s.setId(new TaskShare.TaskShareId(taskId, userId));
+        return s;
+    }
+
+    @Test
+    @DisplayName("created open task with a due date → +1 total/open/priority and +1 on its UTC day")
+    void created() {
+        // 23:30 at -05:00 is the next day in UTC
+        var t = task(TaskStatus.TODO, TaskPriority.HIGH, OffsetDateTime.parse("2025-03-01T23:30:00-05:00"));
+        svc.onCreated(t);
+        verify(statsRepo).applyDelta(ownerId, 1, 1, 0, 1, 0, 0, null, "2025-03-02");
+        verifyNoInteractions(shareRepo);
+    }
+
+    @Test
+    @DisplayName("completing a task moves it open→done for owner and all sharees, in lock order")
+    void completed_applies_to_all_viewers_sorted() {
+        UUID a = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID z = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+        when(shareRepo.findByTask_Id(taskId)).thenReturn(List.of(share(z), share(a)));
+        var t = task(TaskStatus.TODO, TaskPriority.LOW, OffsetDateTime.parse("2025-03-01T10:00:00Z"));
+        var before = svc.snapshot(t);
+        t.setStatus(TaskStatus.DONE);
+
+        svc.onChanged(t, before);
+
+        var order = inOrder(statsRepo);
+        order.verify(statsRepo).applyDelta(a, 0, -1, 1, 0, 0, -1, "2025-03-01", null);
+        order.verify(statsRepo).applyDelta(ownerId, 0, -1, 1, 0, 0, -1, "2025-03-01", null);
+        order.verify(statsRepo).applyDelta(z, 0, -1, 1, 0, 0, -1, "2025-03-01", null);
+    }
+
+    @Test
+    @DisplayName("rescheduling moves one day bucket; edits that don't touch counters write nothing")
+    void due_move_and_noop() {
+        var t = task(TaskStatus.TODO, TaskPriority.MED, OffsetDateTime.parse("2025-03-01T10:00:00Z"));
+        var before = svc.snapshot(t);
+        t.setDueAt(OffsetDateTime.parse("2025-03-05T10:00:00Z"));
+        svc.onChanged(t, before);
+        verify(statsRepo).applyDelta(ownerId, 0, 0, 0, 0, 0, 0, "2025-03-01", "2025-03-05");
+
+        clearInvocations(statsRepo, shareRepo);
+        var same = svc.snapshot(t);
+        t.setTitle("renamed");
+        t.setDueAt(OffsetDateTime.parse("2025-03-05T18:00:00Z")); // same UTC day
+        svc.onChanged(t, same);
+        verifyNoInteractions(statsRepo, shareRepo);
+    }
+
+    @Test
+    @DisplayName("delete / share / unshare apply the whole contribution")
+    void delete_share_unshare() {
+        var t = task(TaskStatus.DONE, TaskPriority.HIGH, OffsetDateTime.parse("2025-03-01T10:00:00Z"));
+        svc.onDeleted(t, List.of(ownerId));
+        verify(statsRepo).applyDelta(ownerId, -1, 0, -1, 0, 0, 0, null, null);
+
+        UUID other = UUID.randomUUID();
+        svc.onShared(t, other);
+        verify(statsRepo).applyDelta(other, 1, 0, 1, 0, 0, 0, null, null);
+        svc.onUnshared(t, other);
+        verify(statsRepo).applyDelta(other, -1, 0, -1, 0, 0, 0, null, null);
+    }
+
+    @Test
+    @DisplayName("viewers: owner plus sharees, without duplicates")
+    void viewers() {
+        UUID other = UUID.randomUUID();
+        when(shareRepo.findByTask_Id(taskId)).thenReturn(List.of(share(other), share(ownerId)));
+        assertThat(svc.viewers(task(TaskStatus.TODO, TaskPriority.MED, null))).containsExactly(ownerId, other);
+    }
+
+    @Test
+    @DisplayName("toDto derives overdue/dueToday from day buckets")
+    void toDto_buckets() {
+        var s = new UserTaskStats();
+        s.setUserId(ownerId);
+        s.setTotal(10); s.setOpenCount(7); s.setDoneCount(3);
+        s.setOpenHigh(2); s.setOpenMed(4); s.setOpenLow(1);
+        s.setDueBuckets("{\"2025-02-27\": 2, \"2025-03-01\": 1, \"2025-03-02\": 3, \"2025-03-09\": 1}");
+
+        UserTaskStatsDto dto = svc.toDto(s, LocalDate.of(2025, 3, 2));
+
+        assertThat(dto.total).isEqualTo(10);
+        assertThat(dto.open).isEqualTo(7);
+        assertThat(dto.done).isEqualTo(3);
+        assertThat(dto.openByPriority).containsEntry("High", 2L).containsEntry("Medium", 4L).containsEntry("Low", 1L);
+        assertThat(dto.overdue).isEqualTo(3);
+        assertThat(dto.dueToday).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("getStats: single PK read; missing row → zeros")
+    void getStats() {
+        var s = new UserTaskStats();
+        s.setUserId(ownerId); s.setTotal(1); s.setOpenCount(1); s.setOpenMed(1); s.setDueBuckets("{}");
+        when(statsRepo.findById(ownerId)).thenReturn(Optional.of(s));
+        assertThat(svc.getStats(ownerId).total).isEqualTo(1);
+        verify(statsRepo).findById(ownerId);
+        verifyNoMoreInteractions(statsRepo);
+
+        UUID fresh = UUID.randomUUID();
+        when(statsRepo.findById(fresh)).thenReturn(Optional.empty());
+        var empty = svc.getStats(fresh);
+        assertThat(empty.total).isZero();
+        assertThat(empty.openByPriority).containsOnlyKeys("High", "Medium", "Low");
+    }
+
+    @Test
+    @DisplayName("reconcile: walks users in batches, locking rows before recomputing each batch")
+    void reconcile_batches() {
+        UUID u1 = UUID.randomUUID(), u2 = UUID.randomUUID(), u3 = UUID.randomUUID();
+        when(statsRepo.findUserIdsAfter(null, 2)).thenReturn(List.of(u1, u2));
+        when(statsRepo.findUserIdsAfter(u2, 2)).thenReturn(List.of(u3));
+        List<List<UUID>> recomputed = new ArrayList<>();
+        when(statsRepo.recompute(anyCollection())).thenAnswer(inv -> {
+            recomputed.add(List.copyOf(inv.getArgument(0)));
+            return 1;
+        });
+
+        svc.reconcile();
+
+        assertThat(recomputed).containsExactly(List.of(u1, u2), List.of(u3));
+        var order = inOrder(statsRepo);
+        order.verify(statsRepo).lockRows(List.of(u1, u2));
+        order.verify(statsRepo).recompute(List.of(u1, u2));
+        order.verify(statsRepo).lockRows(List.of(u3));
+        order.verify(statsRepo).recompute(List.of(u3));
+        verify(txManager, times(2)).commit(any());
+    }
+}
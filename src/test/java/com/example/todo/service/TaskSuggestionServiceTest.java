@@ -0,0 +1,206 @@
+// src/test/java/com/example/todo/service/TaskSuggestionServiceTest.java
+package com.example.todo.service;
+
+import com.example.todo.ai.NaiveBayesModel;
+import com.example.todo.entity.AppUser;
+import com.example.todo.entity.Task;
+import com.example.todo.entity.UserSuggestionModel;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskLabelRow;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.UserSuggestionModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskSuggestionServiceTest {
+
+    static final Instant NOW = Instant.parse("2025-03-05T10:30:00Z");
+
+    TaskRepository taskRepo = mock(TaskRepository.class);
+    UserSuggestionModelRepository modelRepo = mock(UserSuggestionModelRepository.class);
+    TaskMapper mapper = mock(TaskMapper.class);
+    TaskSuggestionService svc = service(10);
+
+    UUID me = UUID.randomUUID();
+    List<Task> db = new ArrayList<>();
+
+    TaskSuggestionService service(int maxUsers) {
+        return new TaskSuggestionService(taskRepo, modelRepo, mapper, maxUsers, 16, 10, 0.6,
+                Duration.ofDays(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @BeforeEach
+    void setup() {
+        when(mapper.toUiPriority(any())).thenCallRealMethod();
+        when(modelRepo.findById(any())).thenReturn(Optional.empty());
+        when(taskRepo.findLabelsByOwner(any())).thenAnswer(inv -> db.stream()
+                .filter(t -> t.getOwner().getId().equals(inv.getArgument(0)))
+                .map(TaskSuggestionServiceTest::row).toList());
+        for (int i = 0; i < 4; i++) {
+            task("Buy milk", "Shopping", TaskPriority.LOW);
+            task("Buy bread and eggs", "Shopping", TaskPriority.LOW);
+            task("Dentist checkup", "Health", TaskPriority.HIGH);
+        }
+    }
+
+    Task task(String title, String category, TaskPriority priority) {
+        var t = new Task();
+        t.setId(UUID.randomUUID());
+        t.setTitle(title);
+        t.setCategory(category);
+        t.setPriority(priority);
+        var u = new AppUser(); u.setId(me); t.setOwner(u);
+        db.add(t);
+        return t;
+    }
+
+    static TaskLabelRow row(Task t) {
+        return new TaskLabelRow() {
+            public String getTitle() { return t.getTitle(); }
+            public String getCategory() { return t.getCategory(); }
+            public TaskPriority getPriority() { return t.getPriority(); }
+        };
+    }
+
+    NaiveBayesModel lastSnapshot(UUID userId) {
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(modelRepo, atLeastOnce()).upsert(eq(userId), bytes.capture(), anyInt(), any());
+        return NaiveBayesModel.fromBytes(bytes.getValue());
+    }
+
+    @Test
+    @DisplayName("Модель будується з історії задач; пріоритет у UI-формі")
+    void builds_from_history() {
+        var s = svc.forUser(me).suggest("buy coffee");
+        assertThat(s).isEqualTo(new TaskSuggestionService.Suggestion("Shopping", "Low"));
+        assertThat(svc.forUser(me).suggest("dentist").category()).isEqualTo("Health");
+        assertThat(svc.forUser(me).suggest("   ")).isNull();
+        verify(taskRepo, times(1)).findLabelsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("Замало історії → без підказок")
+    void needs_min_documents() {
+        db.subList(0, 6).clear();
+        assertThat(svc.forUser(me).suggest("buy coffee")).isNull();
+        assertThat(svc.forUser(UUID.randomUUID()).suggest("buy coffee")).isNull();
+    }
+
+    @Test
+    @DisplayName("Невпевнене поле лишається null")
+    void unsure_field_is_null() {
+        for (int i = 0; i < 4; i++) task("Buy flowers", "Gifts", TaskPriority.HIGH);
+        var s = svc.forUser(me).suggest("buy");
+        assertThat(s == null || s.priority() == null).isTrue();
+    }
+
+    @Test
+    @DisplayName("create/patch/delete оновлюють завантажену модель інкрементально")
+    void hooks_update_loaded_model() {
+        var suggester = svc.forUser(me);
+        assertThat(suggester.suggest("pay rent").category()).isNotEqualTo("Bills");
+
+        List<Task> bills = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Task t = task("Pay rent", "Bills", TaskPriority.HIGH);
+            svc.onCreated(t);
+            bills.add(t);
+        }
+        assertThat(suggester.suggest("pay rent")).isEqualTo(new TaskSuggestionService.Suggestion("Bills", "High"));
+
+        for (Task t : bills) {
+            var before = svc.snapshot(t);
+            t.setCategory("Home");
+            svc.onChanged(t, before);
+        }
+        assertThat(suggester.suggest("pay rent").category()).isEqualTo("Home");
+
+        for (Task t : bills) svc.onDeleted(t);
+        svc.writeSnapshots();
+        assertThat(lastSnapshot(me).documents()).isEqualTo(12);
+        verify(taskRepo, times(1)).findLabelsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("Знімок пишеться лише для змінених моделей і читається іншим вузлом")
+    void snapshots_round_trip() {
+        svc.forUser(me);
+        svc.writeSnapshots();
+        svc.writeSnapshots();
+        verify(modelRepo, times(1)).upsert(eq(me), any(), eq(12), eq(OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC)));
+
+        var row = new UserSuggestionModel();
+        row.setUserId(me);
+        row.setSnapshot(lastSnapshot(me).toBytes());
+        row.setBuiltAt(OffsetDateTime.ofInstant(NOW.minus(Duration.ofHours(3)), ZoneOffset.UTC));
+        when(modelRepo.findById(me)).thenReturn(Optional.of(row));
+
+        var other = service(10);
+        assertThat(other.forUser(me).suggest("buy coffee").category()).isEqualTo("Shopping");
+        verify(taskRepo, times(1)).findLabelsByOwner(me);
+        other.writeSnapshots();                          // loaded, unchanged: nothing to write
+        verify(modelRepo, times(1)).upsert(any(), any(), anyInt(), any());
+
+        // a write on a cold user is applied on top of the snapshot
+        other = service(10);
+        other.onCreated(task("Buy tea", "Shopping", TaskPriority.LOW));
+        other.writeSnapshots();
+        assertThat(lastSnapshot(me).documents()).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Старий або битий знімок → перебудова з таблиці без подвійного обліку")
+    void stale_or_corrupt_snapshot_is_rebuilt() {
+        var row = new UserSuggestionModel();
+        row.setUserId(me);
+        row.setSnapshot(new byte[]{1, 2, 3});
+        row.setBuiltAt(OffsetDateTime.ofInstant(NOW.minus(Duration.ofHours(1)), ZoneOffset.UTC));
+        when(modelRepo.findById(me)).thenReturn(Optional.of(row));
+
+        // the task is already committed when the hook runs, so the rebuild contains it
+        svc.onCreated(task("Buy tea", "Shopping", TaskPriority.LOW));
+        svc.writeSnapshots();
+        assertThat(lastSnapshot(me).documents()).isEqualTo(13);
+
+        row.setSnapshot(lastSnapshot(me).toBytes());
+        row.setBuiltAt(OffsetDateTime.ofInstant(NOW.minus(Duration.ofDays(2)), ZoneOffset.UTC));
+        service(10).forUser(me);
+        verify(taskRepo, times(2)).findLabelsByOwner(me);
+    }
+
+    @Test
+    @DisplayName("Витіснена брудна модель все одно записується; збій запису повторюється")
+    void evicted_and_failed_snapshots_are_retried() {
+        var small = service(1);
+        small.forUser(me);
+        small.forUser(UUID.randomUUID());
+        assertThat(small.loadedUsers()).isEqualTo(1);
+        // reloading an evicted dirty model takes it back instead of reading the DB again
+        small.forUser(me);
+        verify(taskRepo, times(1)).findLabelsByOwner(me);
+
+        small.forUser(UUID.randomUUID());
+        when(modelRepo.upsert(eq(me), any(), anyInt(), any())).thenThrow(new RuntimeException("db down")).thenReturn(1);
+        small.writeSnapshots();
+        small.writeSnapshots();
+        small.writeSnapshots();
+        verify(modelRepo, times(2)).upsert(eq(me), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Збій моделі не ламає запис задачі")
+    void hook_failures_are_swallowed() {
+        when(taskRepo.findLabelsByOwner(any())).thenThrow(new RuntimeException("boom"));
+        assertThatCode(() -> svc.onCreated(task("Buy tea", "Shopping", TaskPriority.LOW))).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,391 @@
+// src/test/java/com/example/todo/testdata/SyntheticDataGenerator.java
+package com.example.todo.testdata;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Reproducible users / tasks / tags / shares for benchmarks and load tests, bulk-loaded with COPY.
+ * <p>
+ * Everything derives from {@link Spec#seed()}: user {@code n}'s rows come from a random stream
+ * seeded by {@code (seed, n)} alone, so each table can be streamed in its own pass (no dataset in
+ * memory) and the same spec gives byte-identical CSV on every run. Tasks per user follow a Zipf
+ * law over a seeded permutation of users (the heavy users are spread out, not users 1..k); shares
+ * go mostly to teammates (blocks of {@link Spec#teamSize()} users), sometimes to anyone.
+ * <p>
+ * Target is the migrated schema (V1 tables, metadata as jsonb since V3). task_access (V8) is filled
+ * by its triggers as the rows are copied; other derived tables such as user_task_stats are left to
+ * the caller ({@code TaskStatsService.reconcile()}).
+ * <p>
+ * CLI (migrates an empty database first):
+ * <pre>{@code
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.todo.testdata.SyntheticDataGenerator \
+ *     -Dexec.args="--url=jdbc:postgresql://localhost:5432/todo --user=postgres --password=postgres --users=20000 --tasks=2000000"
+ * }</pre>
+ */
+public final class SyntheticDataGenerator {
+
+    /**
+     * @param zipfExponent  skew of tasks per user ({@code s} in 1/rank^s); 0 = uniform
+     * @param tagVocabulary distinct tags; tag popularity is Zipf(1) over the vocabulary
+     * @param shareRatio    fraction of tasks shared with anyone
+     * @param maxShareFanout shared tasks go to 1..maxShareFanout users
+     * @param metadataRatio fraction of tasks with metadata
+     * @param metadataKeys  keys per metadata object (externalId, project, sprint, then f4.. filler)
+     */
+    public record Spec(long seed, int users, int tasks, double zipfExponent, int tagVocabulary, int maxTagsPerTask,
+                       double shareRatio, int maxShareFanout, int teamSize, double metadataRatio, int metadataKeys,
+                       Instant now) {
+
+        public Spec {
+            if (users <= 0) throw new IllegalArgumentException("users must be > 0");
+            if (tasks < 0) throw new IllegalArgumentException("tasks must be >= 0");
+            if (zipfExponent < 0) throw new IllegalArgumentException("zipfExponent must be >= 0");
+            if (tagVocabulary <= 0 || maxTagsPerTask < 0) throw new IllegalArgumentException("bad tag settings");
+            if (shareRatio < 0 || shareRatio > 1 || maxShareFanout < 1) throw new IllegalArgumentException("bad share settings");
+            if (teamSize < 2) throw new IllegalArgumentException("teamSize must be >= 2");
+            if (metadataRatio < 0 || metadataRatio > 1 || metadataKeys < 1) throw new IllegalArgumentException("bad metadata settings");
+        }
+
+        public static Spec defaults(int users, int tasks) {
+            return new Spec(42, users, tasks, 1.1, 200, 3, 0.1, 3, 8, 0.3, 3, Instant.parse("2025-03-01T00:00:00Z"));
+        }
+
+        public Spec withSeed(long s) {
+            return new Spec(s, users, tasks, zipfExponent, tagVocabulary, maxTagsPerTask, shareRatio, maxShareFanout,
+                    teamSize, metadataRatio, metadataKeys, now);
+        }
+    }
+
+    private static final String[] VERBS = {"Call", "Email", "Buy", "Fix", "Plan", "Review", "Write", "Book", "Pay",
+            "Prepare", "Send", "Check", "Update", "Clean", "Renew", "Schedule"};
+    private static final String[] NOUNS = {"Alice", "Bob", "invoice", "report", "milk", "dentist", "roadmap", "slides",
+            "car", "tickets", "budget", "release", "garden", "flat", "contract", "backup", "passport", "insurance",
+            "newsletter", "demo", "taxes", "groceries", "laptop", "presentation"};
+    private static final String[] CATEGORIES = {"Work", "Home", "Health", "Shopping", "Finance", "Study", "Travel"};
+    private static final String[] PROJECTS = {"apollo", "zeus", "hermes", "athena", "hera", "ares"};
+    private static final String[] SOURCES = {"user", "user", "user", "user", "ai", "import"};
+    private static final String[] PRIORITIES = {"LOW", "MED", "MED", "HIGH"};
+
+    private final Spec spec;
+    private final int[] tasksPerUser;      // by user number (0-based)
+    private final long[] firstTask;        // global number of each user's first task
+    private final double[] tagCdf;
+
+    public SyntheticDataGenerator(Spec spec) {
+        this.spec = spec;
+        this.tasksPerUser = allocateTasks(spec);
+        this.firstTask = new long[spec.users()];
+        long next = 0;
+        for (int u = 0; u < spec.users(); u++) {
+            firstTask[u] = next;
+            next += tasksPerUser[u];
+        }
+        this.tagCdf = zipfCdf(spec.tagVocabulary(), 1.0);
+    }
+
+    public Spec spec() { return spec; }
+
+    public int tasksOf(int user) { return tasksPerUser[user]; }
+
+    // ---------- ids (stable: derived from seed + number only)
+
+    public UUID userId(int user) {
+        return uuid(spec.seed(), 0x55L, user);
+    }
+
+    public UUID taskId(long task) {
+        return uuid(spec.seed(), 0x77L, task);
+    }
+
+    public static String email(int user) {
+        return "user" + user + "@synthetic.test";
+    }
+
+    private static UUID uuid(long seed, long kind, long n) {
+        long hi = mix(seed ^ mix(kind * 0x9E3779B97F4A7C15L + n));
+        long lo = mix(hi ^ n ^ 0xD1B54A32D192ED03L);
+        hi = (hi & ~0xF000L) | 0x4000L;                              // version 4
+        lo = (lo & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;       // IETF variant
+        return new UUID(hi, lo);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ---------- distribution
+
+    // largest-remainder split of spec.tasks over Zipf ranks, ranks assigned by a seeded shuffle
+    static int[] allocateTasks(Spec spec) {
+        int n = spec.users();
+        double[] w = new double[n];
+        double sum = 0;
+        for (int r = 0; r < n; r++) sum += w[r] = 1.0 / Math.pow(r + 1, spec.zipfExponent());
+        int[] byRank = new int[n];
+        double[] rem = new double[n];
+        long assigned = 0;
+        for (int r = 0; r < n; r++) {
+            double exact = spec.tasks() * w[r] / sum;
+            byRank[r] = (int) exact;
+            rem[r] = exact - byRank[r];
+            assigned += byRank[r];
+        }
+        Integer[] order = new Integer[n];
+        for (int r = 0; r < n; r++) order[r] = r;
+        Arrays.sort(order, (a, b) -> rem[a] != rem[b] ? Double.compare(rem[b], rem[a]) : Integer.compare(a, b));
+        for (int i = 0; assigned < spec.tasks(); i++, assigned++) byRank[order[i % n]]++;
+
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        SplittableRandom rnd = new SplittableRandom(spec.seed());
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = perm[i]; perm[i] = perm[j]; perm[j] = t;
+        }
+        int[] byUser = new int[n];
+        for (int r = 0; r < n; r++) byUser[perm[r]] = byRank[r];
+        return byUser;
+    }
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double acc = 0;
+        for (int i = 0; i < n; i++) cdf[i] = acc += 1.0 / Math.pow(i + 1, s);
+        for (int i = 0; i < n; i++) cdf[i] /= acc;
+        return cdf;
+    }
+
+    private int sampleTag(SplittableRandom rnd) {
+        int i = Arrays.binarySearch(tagCdf, rnd.nextDouble());
+        return Math.min(i < 0 ? -i - 1 : i, tagCdf.length - 1);
+    }
+
+    // ---------- per-user generation
+
+    /** Receives rows of one table in a pass over all users. */
+    private interface Sink {
+        void task(int user, long task, SplittableRandom rnd) throws IOException;
+    }
+
+    private void eachTask(Sink sink) throws IOException {
+        for (int u = 0; u < spec.users(); u++) {
+            SplittableRandom rnd = new SplittableRandom(mix(spec.seed() ^ mix(u + 1L)));
+            for (int i = 0; i < tasksPerUser[u]; i++) {
+                // each task gets its own split, so a pass may draw as much or as little of it as it needs
+                SplittableRandom taskRnd = rnd.split();
+                sink.task(u, firstTask[u] + i, taskRnd);
+            }
+        }
+    }
+
+    public void writeUsers(Writer out) throws IOException {
+        Instant t0 = spec.now().minus(400, ChronoUnit.DAYS);
+        for (int u = 0; u < spec.users(); u++) {
+            out.write(userId(u).toString()); out.write(',');
+            out.write(email(u)); out.write(',');
+            out.write("User " + u); out.write(',');
+            out.write(t0.plusSeconds(u * 600L % (400 * 86400L)).toString()); out.write('\n');
+        }
+    }
+
+    // one task's random draws, in a fixed order; the tags/shares passes replay them to reach the same child streams
+    private final class TaskDraw {
+        final String title, description, category, priority, dueAt, status, source, metadata;
+        final int version;
+        final Instant createdAt, updatedAt;
+        final SplittableRandom tags, shares;
+
+        TaskDraw(long task, SplittableRandom rnd) {
+            title = VERBS[rnd.nextInt(VERBS.length)] + " " + NOUNS[rnd.nextInt(NOUNS.length)] + " " + task;
+            description = rnd.nextDouble() < 0.4 ? "Notes for task " + task + ": " + Long.toHexString(rnd.nextLong()) : null;
+            category = rnd.nextDouble() < 0.8 ? CATEGORIES[rnd.nextInt(CATEGORIES.length)] : null;
+            priority = PRIORITIES[rnd.nextInt(PRIORITIES.length)];
+            double dueDays = rnd.nextDouble() * 90 - 30;
+            dueAt = rnd.nextDouble() < 0.6 ? spec.now().plusSeconds((long) (dueDays * 86400)).toString() : null;
+            status = rnd.nextDouble() < 0.35 ? "DONE" : "TODO";
+            source = SOURCES[rnd.nextInt(SOURCES.length)];
+            metadata = rnd.nextDouble() < spec.metadataRatio() ? metadata(task, rnd) : null;
+            version = rnd.nextInt(5);
+            createdAt = spec.now().minusSeconds(rnd.nextLong(400 * 86400L));
+            updatedAt = createdAt.plusSeconds(rnd.nextLong(30 * 86400L));
+            // own streams for the child tables, so changing the tag draws doesn't reshuffle shares
+            tags = rnd.split();
+            shares = rnd.split();
+        }
+    }
+
+    private String metadata(long task, SplittableRandom rnd) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("externalId", "EXT-" + task);
+        if (spec.metadataKeys() > 1) m.put("project", PROJECTS[rnd.nextInt(PROJECTS.length)]);
+        if (spec.metadataKeys() > 2) m.put("sprint", 1 + rnd.nextInt(40));
+        for (int k = 4; k <= spec.metadataKeys(); k++) m.put("f" + k, NOUNS[rnd.nextInt(NOUNS.length)] + rnd.nextInt(1000));
+        StringBuilder sb = new StringBuilder("{");
+        m.forEach((k, v) -> {
+            if (sb.length() > 1) sb.append(',');
+            sb.append('"').append(k).append("\":");
+            if (v instanceof Number) sb.append(v);
+            else sb.append('"').append(v).append('"');
+        });
+        return sb.append('}').toString();
+    }
+
+    public void writeTasks(Writer out) throws IOException {
+        eachTask((u, task, rnd) -> {
+            TaskDraw d = new TaskDraw(task, rnd);
+            out.write(taskId(task).toString()); out.write(',');
+            out.write(userId(u).toString()); out.write(',');
+            out.write(d.title); out.write(',');
+            field(out, d.description); out.write(',');
+            field(out, d.category); out.write(',');
+            out.write(d.priority); out.write(',');
+            field(out, d.dueAt); out.write(',');
+            out.write(d.status); out.write(',');
+            out.write(d.source); out.write(',');
+            csv(out, d.metadata); out.write(',');
+            out.write(Integer.toString(d.version)); out.write(',');
+            out.write(d.createdAt.toString()); out.write(',');
+            out.write(d.updatedAt.toString()); out.write('\n');
+        });
+    }
+
+    public void writeTags(Writer out) throws IOException {
+        int[] picked = new int[Math.max(1, spec.maxTagsPerTask())];
+        eachTask((u, task, rnd) -> {
+            TaskDraw d = new TaskDraw(task, rnd);
+            int n = spec.maxTagsPerTask() == 0 ? 0 : d.tags.nextInt(spec.maxTagsPerTask() + 1);
+            int distinct = 0;
+            for (int i = 0; i < n; i++) {
+                int tag = sampleTag(d.tags);
+                boolean seen = false;
+                for (int j = 0; j < distinct; j++) seen |= picked[j] == tag;
+                if (seen) continue;
+                picked[distinct++] = tag;
+                out.write(taskId(task).toString()); out.write(",tag"); out.write(Integer.toString(tag)); out.write('\n');
+            }
+        });
+    }
+
+    public void writeShares(Writer out) throws IOException {
+        int[] picked = new int[spec.maxShareFanout()];
+        eachTask((u, task, rnd) -> {
+            TaskDraw d = new TaskDraw(task, rnd);
+            if (spec.users() < 2 || d.shares.nextDouble() >= spec.shareRatio()) return;
+            int fanout = 1 + d.shares.nextInt(spec.maxShareFanout());
+            int distinct = 0;
+            int teamStart = u / spec.teamSize() * spec.teamSize();
+            int teamLen = Math.min(spec.teamSize(), spec.users() - teamStart);
+            for (int i = 0; i < fanout; i++) {
+                int target = d.shares.nextDouble() < 0.85 && teamLen > 1
+                        ? teamStart + d.shares.nextInt(teamLen)
+                        : d.shares.nextInt(spec.users());
+                boolean seen = target == u;
+                for (int j = 0; j < distinct; j++) seen |= picked[j] == target;
+                if (seen) continue;
+                picked[distinct++] = target;
+                out.write(taskId(task).toString()); out.write(',');
+                out.write(userId(target).toString()); out.write(',');
+                out.write(d.shares.nextDouble() < 0.7 ? "viewer" : "editor"); out.write('\n');
+            }
+        });
+    }
+
+    private static void field(Writer out, String v) throws IOException {
+        if (v != null) out.write(v);   // empty unquoted field = NULL in COPY csv
+    }
+
+    private static void csv(Writer out, String v) throws IOException {
+        if (v == null) return;
+        out.write('"');
+        out.write(v.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    // ---------- loading
+
+    /** Streams all four tables into the (migrated, empty) database over {@code c}, then ANALYZEs. */
+    public void load(Connection c) throws SQLException, IOException {
+        copy(c, "app_user (id, email, display_name, created_at)", this::writeUsers);
+        copy(c, "task (id, owner_id, title, description, category, priority, due_at, status, source, metadata, "
+                + "version, created_at, updated_at)", this::writeTasks);
+        copy(c, "task_tags (task_id, tag)", this::writeTags);
+        copy(c, "task_share (task_id, user_id, role)", this::writeShares);
+        try (Statement st = c.createStatement()) {
+            st.execute("ANALYZE app_user, task, task_tags, task_share, task_access");
+        }
+    }
+
+    private interface TableWriter {
+        void write(Writer out) throws IOException;
+    }
+
+    private static void copy(Connection c, String target, TableWriter rows) throws SQLException, IOException {
+        PGConnection pg = c.unwrap(PGConnection.class);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pg, "COPY " + target + " FROM STDIN (FORMAT csv)", 1 << 16), StandardCharsets.UTF_8), 1 << 16)) {
+            rows.write(out);
+        }
+        if (!c.getAutoCommit()) c.commit();
+    }
+
+    // ---------- CLI
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> a = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("expected --key=value, got " + arg);
+            a.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Spec d = Spec.defaults(20_000, 2_000_000);
+        Spec spec = new Spec(
+                Long.parseLong(a.getOrDefault("seed", String.valueOf(d.seed()))),
+                Integer.parseInt(a.getOrDefault("users", String.valueOf(d.users()))),
+                Integer.parseInt(a.getOrDefault("tasks", String.valueOf(d.tasks()))),
+                Double.parseDouble(a.getOrDefault("zipf", String.valueOf(d.zipfExponent()))),
+                Integer.parseInt(a.getOrDefault("tags", String.valueOf(d.tagVocabulary()))),
+                Integer.parseInt(a.getOrDefault("tags-per-task", String.valueOf(d.maxTagsPerTask()))),
+                Double.parseDouble(a.getOrDefault("share-ratio", String.valueOf(d.shareRatio()))),
+                Integer.parseInt(a.getOrDefault("share-fanout", String.valueOf(d.maxShareFanout()))),
+                Integer.parseInt(a.getOrDefault("team-size", String.valueOf(d.teamSize()))),
+                Double.parseDouble(a.getOrDefault("metadata-ratio", String.valueOf(d.metadataRatio()))),
+                Integer.parseInt(a.getOrDefault("metadata-keys", String.valueOf(d.metadataKeys()))),
+                Instant.parse(a.getOrDefault("now", d.now().toString())));
+        String url = a.getOrDefault("url", "jdbc:postgresql://localhost:5432/todo");
+        String user = a.getOrDefault("user", "postgres");
+        String password = a.getOrDefault("password", "postgres");
+
+        if (!"false".equals(a.get("migrate"))) {
+            // same session-level lock as FlywayConfig (V7 builds indexes CONCURRENTLY)
+            Flyway.configure().dataSource(url, user, password).locations("classpath:db/migration")
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load().migrate();
+        }
+        long t0 = System.nanoTime();
+        try (Connection c = DriverManager.getConnection(url, user, password)) {
+            new SyntheticDataGenerator(spec).load(c);
+        }
+        System.out.printf("Loaded %s in %d s%n", spec, (System.nanoTime() - t0) / 1_000_000_000);
+    }
+}
@@ -0,0 +1,152 @@
+// src/test/java/com/example/todo/testdata/SyntheticDataGeneratorTest.java
+package com.example.todo.testdata;
+
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyntheticDataGeneratorTest {
+
+    private static final SyntheticDataGenerator.Spec SPEC = SyntheticDataGenerator.Spec.defaults(200, 5_000);
+
+    @Test
+    void same_seed_gives_identical_csv() throws IOException {
+        var a = new SyntheticDataGenerator(SPEC);
+        var b = new SyntheticDataGenerator(SPEC);
+        assertThat(tasks(a)).isEqualTo(tasks(b));
+        assertThat(tags(a)).isEqualTo(tags(b));
+        assertThat(shares(a)).isEqualTo(shares(b));
+        assertThat(users(a)).isEqualTo(users(b));
+    }
+
+    @Test
+    void other_seed_gives_other_data() throws IOException {
+        var a = new SyntheticDataGenerator(SPEC);
+        var b = new SyntheticDataGenerator(SPEC.withSeed(7));
+        assertThat(tasks(a)).isNotEqualTo(tasks(b));
+        assertThat(a.userId(0)).isNotEqualTo(b.userId(0));
+    }
+
+    @Test
+    void generates_exactly_the_requested_counts() throws IOException {
+        var gen = new SyntheticDataGenerator(SPEC);
+        assertThat(lines(users(gen))).hasSize(200);
+        assertThat(lines(tasks(gen))).hasSize(5_000);
+        assertThat(Arrays.stream(SyntheticDataGenerator.allocateTasks(SPEC)).sum()).isEqualTo(5_000);
+
+        Set<String> ids = new HashSet<>();
+        for (String row : lines(tasks(gen))) ids.add(row.substring(0, 36));
+        assertThat(ids).hasSize(5_000);
+    }
+
+    @Test
+    void tasks_per_user_are_zipf_skewed() {
+        int[] perUser = SyntheticDataGenerator.allocateTasks(SyntheticDataGenerator.Spec.defaults(1_000, 100_000));
+        int[] sorted = perUser.clone();
+        Arrays.sort(sorted);
+        long top10 = 0;
+        for (int i = 0; i < 10; i++) top10 += sorted[sorted.length - 1 - i];
+        // s=1.1 over 1000 ranks: the top 1% of users own roughly 40% of the tasks
+        assertThat(top10).isBetween(30_000L, 50_000L);
+        assertThat(sorted[sorted.length - 1]).isGreaterThan(100 * Math.max(1, sorted[500]));
+        // heavy users are not simply users 0..9
+        assertThat(perUser[0]).isLessThan(sorted[sorted.length - 1]);
+
+        int[] uniform = SyntheticDataGenerator.allocateTasks(new SyntheticDataGenerator.Spec(1, 10, 105, 0, 10, 1,
+                0, 1, 2, 0, 1, SPEC.now()));
+        assertThat(Arrays.stream(uniform).boxed().toList()).allSatisfy(n -> assertThat(n).isBetween(10, 11));
+    }
+
+    @Test
+    void shares_never_target_the_owner_and_stay_mostly_in_team() throws IOException {
+        var gen = new SyntheticDataGenerator(SPEC);
+        Map<String, String> owner = new HashMap<>();
+        for (String row : lines(tasks(gen))) owner.put(row.substring(0, 36), row.substring(37, 73));
+        Map<String, Integer> userNo = new HashMap<>();
+        for (int u = 0; u < SPEC.users(); u++) userNo.put(gen.userId(u).toString(), u);
+
+        List<String> shares = lines(shares(gen));
+        assertThat(shares.size()).isBetween(300, 1_500);    // ~10% of 5000 tasks, 1-3 users each
+        Set<String> pairs = new HashSet<>();
+        int inTeam = 0;
+        for (String row : shares) {
+            String[] f = row.split(",");
+            assertThat(f[1]).isNotEqualTo(owner.get(f[0]));
+            assertThat(f[2]).isIn("viewer", "editor");
+            assertThat(pairs.add(f[0] + f[1])).as("duplicate share " + row).isTrue();
+            if (userNo.get(f[1]) / SPEC.teamSize() == userNo.get(owner.get(f[0])) / SPEC.teamSize()) inTeam++;
+        }
+        assertThat(inTeam).isGreaterThan(shares.size() * 7 / 10);
+    }
+
+    @Test
+    void tags_come_from_the_vocabulary_without_duplicates() throws IOException {
+        var gen = new SyntheticDataGenerator(SPEC);
+        Set<String> pairs = new HashSet<>();
+        for (String row : lines(tags(gen))) {
+            String[] f = row.split(",");
+            assertThat(Integer.parseInt(f[1].substring("tag".length()))).isBetween(0, SPEC.tagVocabulary() - 1);
+            assertThat(pairs.add(row)).as("duplicate tag " + row).isTrue();
+        }
+        assertThat(pairs).isNotEmpty();
+    }
+
+    @Test
+    void metadata_is_valid_json_with_the_configured_key_count() throws IOException {
+        var spec = new SyntheticDataGenerator.Spec(3, 20, 500, 1.1, 50, 2, 0.1, 3, 8, 1.0, 6, SPEC.now());
+        for (String row : lines(tasks(new SyntheticDataGenerator(spec)))) {
+            int start = row.indexOf(",\"{");
+            String quoted = row.substring(start + 2, row.lastIndexOf("}\"") + 1);
+            JsonNode json = Json.MAPPER.readTree(quoted.replace("\"\"", "\""));
+            assertThat(json.size()).isEqualTo(6);
+            assertThat(json.get("externalId").asText()).startsWith("EXT-");
+        }
+    }
+
+    @Test
+    void rejects_nonsense_specs() {
+        assertThatThrownBy(() -> SyntheticDataGenerator.Spec.defaults(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SyntheticDataGenerator.Spec(1, 10, 10, 1, 10, 1, 1.5, 1, 8, 0, 1, SPEC.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String users(SyntheticDataGenerator g) throws IOException {
+        StringWriter w = new StringWriter();
+        g.writeUsers(w);
+        return w.toString();
+    }
+
+    private static String tasks(SyntheticDataGenerator g) throws IOException {
+        StringWriter w = new StringWriter();
+        g.writeTasks(w);
+        return w.toString();
+    }
+
+    private static String tags(SyntheticDataGenerator g) throws IOException {
+        StringWriter w = new StringWriter();
+        g.writeTags(w);
+        return w.toString();
+    }
+
+    private static String shares(SyntheticDataGenerator g) throws IOException {
+        StringWriter w = new StringWriter();
+        g.writeShares(w);
+        return w.toString();
+    }
+
+    private static List<String> lines(String csv) {
+        return csv.lines().toList();
+    }
+}
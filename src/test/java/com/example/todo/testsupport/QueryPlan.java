@@ -0,0 +1,106 @@
+// src/test/java/com/example/todo/testsupport/QueryPlan.java
+package com.example.todo.testsupport;
+
+import com.example.todo.util.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Postgres {@code EXPLAIN (FORMAT JSON)} of one statement, flattened into its plan nodes (subplans
+ * and CTEs included) for assertions like "no Seq Scan on task" or "uses idx_task_share_user".
+ * Statements are usually the ones the application really ran, captured by {@link SqlStatementCounter}
+ * and replayed here with the same bind values, so the plan is the one Postgres picks for Hibernate's
+ * SQL rather than for a hand-copied query.
+ */
+public final class QueryPlan {
+
+    /** One plan node; relation / index are null where they don't apply. */
+    public record Node(String type, String relation, String index) {
+        @Override
+        public String toString() {
+            return type + (relation != null ? " on " + relation : "") + (index != null ? " using " + index : "");
+        }
+    }
+
+    private final String sql;
+    private final JsonNode plan;
+    private final List<Node> nodes = new ArrayList<>();
+
+    private QueryPlan(String sql, JsonNode plan) {
+        this.sql = sql;
+        this.plan = plan;
+        collect(plan, nodes);
+    }
+
+    public static QueryPlan explain(Connection c, SqlStatementCounter.Executed statement) throws SQLException {
+        return explain(c, statement.sql(), statement.parameters());
+    }
+
+    public static QueryPlan explain(Connection c, String sql, List<ParameterSetOperation> parameters) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (ParameterSetOperation op : parameters) {
+                try {
+                    op.getMethod().invoke(ps, op.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("cannot replay " + op.getMethod().getName() + " for EXPLAIN", e);
+                }
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new QueryPlan(sql, Json.MAPPER.readTree(rs.getString(1)).get(0).get("Plan"));
+            } catch (JsonProcessingException e) {
+                throw new SQLException("unreadable EXPLAIN output", e);
+            }
+        }
+    }
+
+    private static void collect(JsonNode node, List<Node> out) {
+        out.add(new Node(node.path("Node Type").asText(),
+                node.hasNonNull("Relation Name") ? node.get("Relation Name").asText() : null,
+                node.hasNonNull("Index Name") ? node.get("Index Name").asText() : null));
+        for (JsonNode child : node.path("Plans")) collect(child, out);
+    }
+
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    /** Tables read with a plain Seq Scan anywhere in the plan. */
+    public Set<String> seqScans() {
+        Set<String> tables = new LinkedHashSet<>();
+        for (Node n : nodes) if ("Seq Scan".equals(n.type()) && n.relation() != null) tables.add(n.relation());
+        return tables;
+    }
+
+    /** Indexes used by Index / Index Only / Bitmap Index scans. */
+    public Set<String> indexes() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Node n : nodes) if (n.index() != null) names.add(n.index());
+        return names;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    /** Statement plus the pretty-printed plan, as a failure description. */
+    @Override
+    public String toString() {
+        try {
+            return sql + "\n" + Json.MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(plan);
+        } catch (JsonProcessingException e) {
+            return sql + "\n" + plan;
+        }
+    }
+}
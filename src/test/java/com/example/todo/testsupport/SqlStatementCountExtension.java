@@ -0,0 +1,76 @@
+// src/test/java/com/example/todo/testsupport/SqlStatementCountExtension.java
+package com.example.todo.testsupport;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Statement-count guard for Spring Boot ITs: hooks a {@link SqlStatementCounter} into the
+ * application's proxied DataSource (once per Spring context), binds it to the test thread for each
+ * test and hands it out as a {@code SqlStatementCounter} field or parameter.
+ * <pre>
+ *   &#64;SpringBootTest &#64;AutoConfigureMockMvc
+ *   &#64;ExtendWith(SqlStatementCountExtension.class)
+ *   class TaskControllerIT {
+ *       SqlStatementCounter sql;
+ *       ...
+ * </pre>
+ * Needs the DataSource wrapping from MetricsConfig, i.e. a full application context.
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    // one counter per DataSource (= per cached Spring context), listener registered once
+    private static final Map<DataSource, SqlStatementCounter> COUNTERS = new IdentityHashMap<>();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SqlStatementCounter counter = counter(context);
+        counter.bind(Thread.currentThread());
+        Object test = context.getRequiredTestInstance();
+        ReflectionUtils.doWithFields(test.getClass(), f -> {
+            ReflectionUtils.makeAccessible(f);
+            ReflectionUtils.setField(f, test, counter);
+        }, f -> f.getType() == SqlStatementCounter.class);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        counter(context).unbind();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementCounter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return counter(extensionContext);
+    }
+
+    private static SqlStatementCounter counter(ExtensionContext context) {
+        ApplicationContext app = SpringExtension.getApplicationContext(context);
+        DataSource ds = app.getBean(DataSource.class);
+        if (!(ds instanceof ProxyDataSource proxy)) {
+            throw new IllegalStateException("DataSource is not wrapped by datasource-proxy (MetricsConfig missing from the context?)");
+        }
+        synchronized (COUNTERS) {
+            return COUNTERS.computeIfAbsent(ds, k -> {
+                SqlStatementCounter c = new SqlStatementCounter();
+                proxy.getProxyConfig().getQueryListener().addListener(c);
+                return c;
+            });
+        }
+    }
+}
@@ -0,0 +1,116 @@
+// src/test/java/com/example/todo/testsupport/SqlStatementCounter.java
+package com.example.todo.testsupport;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements that reach the driver on the test thread, as seen by the application's
+ * datasource-proxy (see {@code JdbcTiming}). MockMvc runs the whole request on that thread, so
+ * wrapping a request gives its exact statement count — JPA, native and lazy loads in the mapper alike;
+ * work handed to executors is not counted. Installed by {@link SqlStatementCountExtension}:
+ * <pre>
+ *   mvc.perform(get("/api/tasks").with(authAs(ownerId)).with(sql))   // resets the counter
+ *      .andExpect(status().isOk())
+ *      .andExpect(sql.atMost(3));
+ * </pre>
+ * A batch counts once, the way it goes over the wire. {@link #executed()} keeps the bind values too,
+ * so a captured statement can be replayed under EXPLAIN ({@link QueryPlan}).
+ */
+public class SqlStatementCounter implements QueryExecutionListener, RequestPostProcessor {
+
+    /** A statement as executed: SQL plus the setter calls of its (first) parameter set. */
+    public record Executed(String sql, List<ParameterSetOperation> parameters) { }
+
+    private volatile Thread thread;
+    private final List<String> statements = new ArrayList<>();
+    private final List<Executed> executed = new ArrayList<>();
+
+    void bind(Thread thread) {
+        this.thread = thread;
+        reset();
+    }
+
+    void unbind() {
+        thread = null;
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+        executed.clear();
+    }
+
+    public synchronized int count() {
+        return statements.size();
+    }
+
+    public synchronized List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public synchronized List<Executed> executed() {
+        return List.copyOf(executed);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) { }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (Thread.currentThread() != thread) return;
+        QueryInfo first = queryInfoList.isEmpty() ? null : queryInfoList.get(0);
+        String sql = first == null ? "?" : first.getQuery();
+        // copied: the proxy reuses the list for the next execution of the same PreparedStatement
+        List<ParameterSetOperation> params = first == null || first.getParametersList().isEmpty()
+                ? List.of()
+                : List.copyOf(first.getParametersList().get(0));
+        synchronized (this) {
+            statements.add(execInfo.isBatch() ? "[batch " + execInfo.getBatchSize() + "] " + sql : sql);
+            executed.add(new Executed(sql, params));
+        }
+    }
+
+    /** As a request post-processor: start counting from this request on. */
+    @Override
+    public MockHttpServletRequest postProcessRequest(MockHttpServletRequest request) {
+        reset();
+        return request;
+    }
+
+    public ResultMatcher atMost(int max) {
+        return result -> check(result, count() <= max, "at most " + max);
+    }
+
+    public ResultMatcher exactly(int expected) {
+        return result -> check(result, count() == expected, "exactly " + expected);
+    }
+
+    /** Outside MockMvc: statements since the last {@link #reset()}. */
+    public void assertAtMost(int max) {
+        if (count() > max) throw new AssertionError(message("at most " + max, "the block"));
+    }
+
+    private void check(MvcResult result, boolean ok, String expectation) {
+        if (!ok) {
+            var req = result.getRequest();
+            throw new AssertionError(message(expectation, req.getMethod() + " " + req.getRequestURI()));
+        }
+    }
+
+    private String message(String expectation, String what) {
+        List<String> sql = statements();
+        StringBuilder sb = new StringBuilder("Expected ").append(expectation).append(" SQL statements for ")
+                .append(what).append(" but ").append(sql.size()).append(" were executed:");
+        for (int i = 0; i < sql.size(); i++) sb.append("\n  ").append(i + 1).append(". ").append(sql.get(i));
+        return sb.toString();
+    }
+}
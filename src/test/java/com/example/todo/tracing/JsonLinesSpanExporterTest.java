@@ -0,0 +1,77 @@
+// src/test/java/com/example/todo/tracing/JsonLinesSpanExporterTest.java
+package com.example.todo.tracing;
+
+import com.example.todo.util.Json;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLinesSpanExporterTest {
+
+    // epoch millis; the SDK reads a start timestamp of 0 as "now"
+    static final long T0 = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("one JSON line per span with OTLP field names, attributes and status")
+    void writes_json_lines() throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        try (var provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new JsonLinesSpanExporter(file, 1 << 20))).build()) {
+            var tracer = provider.get("test");
+            Span root = tracer.spanBuilder("http get /api/tasks").setStartTimestamp(T0 + 0, TimeUnit.MILLISECONDS).startSpan();
+            Span sql = tracer.spanBuilder("sql select").setParent(Context.root().with(root))
+                    .setStartTimestamp(T0 + 1, TimeUnit.MILLISECONDS).startSpan();
+            sql.setAttribute("db.statement", "select * from task where owner_id = ?");
+            sql.setAttribute("todo.rows", 3L);
+            sql.setStatus(StatusCode.ERROR, "timeout");
+            sql.end(T0 + 3, TimeUnit.MILLISECONDS);
+            root.setAttribute("todo.cache.duplicates.hit", true);
+            root.end(T0 + 12, TimeUnit.MILLISECONDS);
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        Map<String, Object> child = Json.MAP_READER.readValue(lines.get(0));
+        Map<String, Object> root = Json.MAP_READER.readValue(lines.get(1));
+
+        assertThat(child).containsEntry("name", "sql select")
+                .containsEntry("traceId", root.get("traceId"))
+                .containsEntry("parentSpanId", root.get("spanId"))
+                .containsEntry("durationMs", 2.0)
+                .containsEntry("attributes", Map.of("db.statement", "select * from task where owner_id = ?", "todo.rows", 3))
+                .containsEntry("status", Map.of("code", "ERROR", "message", "timeout"));
+        assertThat(root).doesNotContainKey("parentSpanId")
+                .containsEntry("startTimeUnixNano", T0 * 1_000_000)
+                .containsEntry("endTimeUnixNano", (T0 + 12) * 1_000_000)
+                .containsEntry("attributes", Map.of("todo.cache.duplicates.hit", true));
+    }
+
+    @Test
+    @DisplayName("the file is moved to .1 once it passes the size limit")
+    void rolls_over() throws Exception {
+        Path file = dir.resolve("spans.jsonl");
+        try (var provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new JsonLinesSpanExporter(file, 100))).build()) {
+            var tracer = provider.get("test");
+            for (int i = 0; i < 3; i++) tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+        assertThat(Files.readAllLines(dir.resolve("spans.jsonl.1"))).hasSize(1);
+        assertThat(Files.readAllLines(file)).hasSize(1).allMatch(l -> l.contains("span-2"));
+    }
+}
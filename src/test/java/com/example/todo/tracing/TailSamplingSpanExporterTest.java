@@ -0,0 +1,127 @@
+// src/test/java/com/example/todo/tracing/TailSamplingSpanExporterTest.java
+package com.example.todo.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanExporterTest {
+
+    final List<SpanData> exported = new ArrayList<>();
+    final SpanExporter collecting = new SpanExporter() {
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    };
+
+    // epoch millis; the SDK reads a start timestamp of 0 as "now"
+    static final long T0 = 1_700_000_000_000L;
+
+    SdkTracerProvider provider;
+
+    @AfterEach
+    void close() {
+        if (provider != null) provider.close();
+    }
+
+    private Tracer tracer(TailSamplingSpanExporter sampler) {
+        provider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(sampler)).build();
+        return provider.get("test");
+    }
+
+    // root [T0, T0 + rootMs] with one child; children end first, as in a real request
+    private void trace(Tracer tracer, long rootMs, boolean childFails) {
+        Span root = tracer.spanBuilder("GET /api/tasks").setStartTimestamp(T0 + 0, TimeUnit.MILLISECONDS).startSpan();
+        Span child = tracer.spanBuilder("sql select").setParent(Context.root().with(root))
+                .setStartTimestamp(T0 + 1, TimeUnit.MILLISECONDS).startSpan();
+        if (childFails) child.setStatus(StatusCode.ERROR);
+        child.end(T0 + 2, TimeUnit.MILLISECONDS);
+        root.end(T0 + rootMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("slow and failed traces are exported whole; fast ones are dropped at ratio 0")
+    void keeps_slow_and_failed() {
+        var sampler = new TailSamplingSpanExporter(collecting, Duration.ofMillis(500), 0.0, 1000);
+        Tracer tracer = tracer(sampler);
+
+        trace(tracer, 20, false);
+        assertThat(exported).isEmpty();
+
+        trace(tracer, 800, false);
+        assertThat(exported).extracting(SpanData::getName).containsExactly("sql select", "GET /api/tasks");
+
+        exported.clear();
+        trace(tracer, 20, true);
+        assertThat(exported).hasSize(2);
+
+        assertThat(sampler.decisions()).containsExactly(2, 1);
+        assertThat(sampler.buffered()).isZero();
+    }
+
+    @Test
+    @DisplayName("keep-ratio 1 exports everything")
+    void ratio_one_keeps_all() {
+        Tracer tracer = tracer(new TailSamplingSpanExporter(collecting, Duration.ofHours(1), 1.0, 1000));
+        for (int i = 0; i < 5; i++) trace(tracer, 10, false);
+        assertThat(exported).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("spans ending after their root follow the decision made for the trace")
+    void late_spans_follow_decision() {
+        Tracer tracer = tracer(new TailSamplingSpanExporter(collecting, Duration.ofMillis(500), 0.0, 1000));
+        Span root = tracer.spanBuilder("slow").setStartTimestamp(T0 + 0, TimeUnit.MILLISECONDS).startSpan();
+        Span async = tracer.spanBuilder("async").setParent(Context.root().with(root))
+                .setStartTimestamp(T0 + 1, TimeUnit.MILLISECONDS).startSpan();
+        root.end(T0 + 900, TimeUnit.MILLISECONDS);
+        async.end(T0 + 950, TimeUnit.MILLISECONDS);
+        assertThat(exported).extracting(SpanData::getName).containsExactly("slow", "async");
+    }
+
+    @Test
+    @DisplayName("traces whose root never ends are dropped once the buffer is full, oldest first")
+    void bounded_buffer() {
+        var sampler = new TailSamplingSpanExporter(collecting, Duration.ZERO, 1.0, 3);
+        Tracer tracer = tracer(sampler);
+        List<Span> roots = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Span root = tracer.spanBuilder("open-" + i).startSpan();
+            roots.add(root);
+            tracer.spanBuilder("child-" + i).setParent(Context.root().with(root)).startSpan().end();
+        }
+        assertThat(sampler.buffered()).isEqualTo(3);
+        roots.get(0).end();            // its child was evicted: the trace stays dropped
+        roots.get(3).end();
+        assertThat(exported).extracting(SpanData::getName).containsExactly("child-3", "open-3");
+    }
+}
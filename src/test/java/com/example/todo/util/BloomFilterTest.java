@@ -0,0 +1,46 @@
+// src/test/java/com/example/todo/util/BloomFilterTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void noFalseNegatives() {
+        var bf = new BloomFilter(1_000, 0.01);
+        String[] keys = new String[1_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            bf.put(keys[i]);
+        }
+        for (String k : keys) assertTrue(bf.mightContain(k));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        var bf = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) bf.put("in-" + i);
+        int fp = 0;
+        for (int i = 0; i < 100_000; i++) if (bf.mightContain("out-" + i)) fp++;
+        // 1% target; allow generous slack so the test isn't flaky
+        assertTrue(fp < 2_500, "false positives: " + fp);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        var bf = new BloomFilter(100, 0.01);
+        assertFalse(bf.mightContain("anything"));
+        assertTrue(bf.bitSize() >= 64);
+        assertTrue(bf.hashCount() >= 1);
+    }
+
+    @Test
+    void rejectsBadFpp() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+}
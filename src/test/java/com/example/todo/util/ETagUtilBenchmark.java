@@ -0,0 +1,39 @@
+// src/test/java/com/example/todo/util/ETagUtilBenchmark.java
+package com.example.todo.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETag formatting (every task response) and If-Match parsing (every PATCH).
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=ETagUtilBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ETagUtilBenchmark {
+
+    // not a constant, so the JIT can't fold the call away
+    public Integer version = 1234;
+    public String weak = "W/\"1234\"";
+    public String strong = "\"1234\"";
+
+    @Benchmark
+    public String formatWeak() {
+        return ETagUtil.formatWeak(version);
+    }
+
+    @Benchmark
+    public Integer parseWeak() {
+        return ETagUtil.parseIfMatch(weak);
+    }
+
+    @Benchmark
+    public Integer parseStrong() {
+        return ETagUtil.parseIfMatch(strong);
+    }
+}
@@ -0,0 +1,62 @@
+// src/test/java/com/example/todo/util/HnswIndexBenchmark.java
+package com.example.todo.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Similar-task lookup over 100k task-like titles (trigram vectors, 256 dims, M = 12 as in
+ * SimilarTaskService): graph search vs the exact scan, unfiltered and restricted to one owner.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=HnswIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HnswIndexBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final int OWNERS = 10;
+
+    private HnswIndex<Integer> index;
+    private float[][] probes;
+    private int i;
+
+    @Setup
+    public void setup() {
+        var rnd = new SplittableRandom(42);
+        var vectorizer = new NgramVectorizer(256, 3);
+        String[] vocab = new String[3000];
+        for (int w = 0; w < vocab.length; w++) vocab[w] = Long.toString(rnd.nextLong(36L * 36 * 36 * 36 * 36), 36);
+        index = new HnswIndex<>(256, 12, 100, TASKS, 1);
+        for (int t = 0; t < TASKS; t++) index.insert(t, vectorizer.vectorize(title(rnd, vocab), 512), t % OWNERS);
+        probes = new float[256][];
+        for (int p = 0; p < probes.length; p++) probes[p] = vectorizer.vectorize(title(rnd, vocab), 512);
+    }
+
+    private static String title(SplittableRandom rnd, String[] vocab) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = 2 + rnd.nextInt(5); n > 0; n--) sb.append(vocab[(int) (vocab.length * Math.pow(rnd.nextDouble(), 2))]).append(' ');
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<HnswIndex.Hit<Integer>> graph() {
+        return index.search(probes[i++ & 255], 10, 64, HnswIndex.NO_TAG, null, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Hit<Integer>> graphOneOwner() {
+        return index.search(probes[i++ & 255], 10, 64, 3, null, 2000);
+    }
+
+    @Benchmark
+    public List<HnswIndex.Hit<Integer>> exactScan() {
+        return index.exact(probes[i++ & 255], 10, HnswIndex.NO_TAG, null);
+    }
+}
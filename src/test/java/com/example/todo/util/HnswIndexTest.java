@@ -0,0 +1,95 @@
+// src/test/java/com/example/todo/util/HnswIndexTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static float[] randomUnit(Random rnd, int dim) {
+        float[] v = new float[dim];
+        double n = 0;
+        for (int i = 0; i < dim; i++) { v[i] = (float) rnd.nextGaussian(); n += v[i] * v[i]; }
+        for (int i = 0; i < dim; i++) v[i] /= (float) Math.sqrt(n);
+        return v;
+    }
+
+    @Test
+    void recallAgainstExactScan() {
+        var rnd = new Random(1);
+        var idx = new HnswIndex<Integer>(32, 12, 100, 3_000, 7);
+        for (int i = 0; i < 3_000; i++) assertTrue(idx.insert(i, randomUnit(rnd, 32), i % 10));
+
+        int found = 0, total = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomUnit(rnd, 32);
+            Set<Integer> truth = new HashSet<>();
+            idx.exact(query, 10, HnswIndex.NO_TAG, null).forEach(h -> truth.add(h.key()));
+            for (var h : idx.search(query, 10, 64, HnswIndex.NO_TAG, null, Integer.MAX_VALUE)) {
+                if (truth.contains(h.key())) found++;
+            }
+            total += truth.size();
+        }
+        assertTrue(found >= total * 0.9, "recall " + found + "/" + total);
+    }
+
+    @Test
+    void filterByTagAndExtraKeys() {
+        var rnd = new Random(2);
+        var idx = new HnswIndex<Integer>(16, 8, 50, 500, 3);
+        for (int i = 0; i < 500; i++) idx.insert(i, randomUnit(rnd, 16), i % 5);
+        assertEquals(100, idx.countTag(3));
+
+        float[] q = randomUnit(rnd, 16);
+        for (var h : idx.search(q, 20, 50, 3, Set.of(7), Integer.MAX_VALUE)) {
+            assertTrue(h.key() % 5 == 3 || h.key() == 7);
+        }
+        var exact = idx.exact(q, 200, 3, Set.of(7));
+        assertEquals(101, exact.size());
+        for (int i = 1; i < exact.size(); i++) assertTrue(exact.get(i - 1).similarity() >= exact.get(i).similarity());
+    }
+
+    @Test
+    void removeReplaceEvictCompact() {
+        var rnd = new Random(3);
+        var idx = new HnswIndex<String>(16, 4, 20, 6, 1);
+        float[] a = randomUnit(rnd, 16);
+        idx.insert("a", a, 1);
+        idx.insert("b", randomUnit(rnd, 16), 1);
+        idx.insert("c", randomUnit(rnd, 16), 2);
+
+        assertEquals("a", idx.exact(a, 1, HnswIndex.NO_TAG, null).get(0).key());
+        assertEquals(1.0f, idx.exact(a, 1, HnswIndex.NO_TAG, null).get(0).similarity(), 0.02f);
+
+        idx.insert("a", randomUnit(rnd, 16), 1);            // replace: old slot is deleted
+        assertEquals(3, idx.size());
+        assertEquals(2, idx.countTag(1));
+
+        assertEquals("b", idx.evictOldest());                // oldest live slot; old "a" is skipped
+        assertFalse(idx.contains("b"));
+        assertTrue(idx.remove("c"));
+        assertFalse(idx.remove("c"));
+        assertTrue(idx.search(a, 5, 10, 2, null, 100).isEmpty());
+
+        idx.insert("d", randomUnit(rnd, 16), 2);
+        idx.insert("e", randomUnit(rnd, 16), 2);
+        assertFalse(idx.hasFreeSlot());
+        assertFalse(idx.insert("f", randomUnit(rnd, 16), 2));
+
+        var compacted = idx.compact(6, 2);
+        assertEquals(3, compacted.size());
+        assertTrue(compacted.hasFreeSlot());
+        assertEquals("a", compacted.evictOldest());          // age order survives compaction
+    }
+
+    @Test
+    void emptyIndex() {
+        var idx = new HnswIndex<String>(8, 4, 10, 4, 1);
+        assertTrue(idx.search(new float[8], 3, 10, HnswIndex.NO_TAG, null, 10).isEmpty());
+        assertNull(idx.evictOldest());
+        assertThrows(IllegalArgumentException.class, () -> idx.insert("x", new float[7], 0));
+    }
+}
@@ -0,0 +1,50 @@
+// src/test/java/com/example/todo/util/KeywordAutomatonTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordAutomatonTest {
+
+    // "keyword@start" for every match, in the order they end
+    private static List<String> scan(KeywordAutomaton ac, List<String> kws, String text) {
+        List<String> found = new ArrayList<>();
+        int s = ac.root();
+        for (int i = 0; i < text.length(); i++) {
+            s = ac.step(s, text.charAt(i));
+            for (int k : ac.matches(s)) found.add(kws.get(k) + "@" + (i - ac.length(k) + 1));
+        }
+        return found;
+    }
+
+    @Test
+    void overlappingKeywords() {
+        var kws = List.of("he", "she", "his", "hers");
+        var ac = new KeywordAutomaton(kws);
+        assertEquals(List.of("she@1", "he@2", "hers@2"), scan(ac, kws, "ushers"));
+    }
+
+    @Test
+    void caseInsensitiveAndUnknownCharsResetToRoot() {
+        var kws = List.of("!high", "tomorrow", "über");
+        var ac = new KeywordAutomaton(kws);
+        assertEquals(List.of("!high@3", "tomorrow@10", "über@20"), scan(ac, kws, "do !HiGh, TOMORROW. ÜBER"));
+        assertEquals(List.of(), scan(ac, kws, "!hi gh tomor-row"));
+    }
+
+    @Test
+    void duplicateKeywordsBothReported() {
+        var kws = List.of("done", "DONE");
+        var ac = new KeywordAutomaton(kws);
+        assertEquals(List.of("done@0", "DONE@0"), scan(ac, kws, "Done"));
+    }
+
+    @Test
+    void emptyKeywordRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new KeywordAutomaton(List.of("a", "")));
+    }
+}
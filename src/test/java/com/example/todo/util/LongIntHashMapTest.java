@@ -0,0 +1,52 @@
+// src/test/java/com/example/todo/util/LongIntHashMapTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void addCountsAndDropsZeros() {
+        var m = new LongIntHashMap(4);
+        assertEquals(0, m.get(42));
+        assertEquals(1, m.add(42, 1));
+        assertEquals(3, m.add(42, 2));
+        assertEquals(-1, m.add(-7, -1));
+        assertEquals(2, m.size());
+        assertEquals(0, m.add(42, -3));
+        assertEquals(1, m.size());
+        assertEquals(0, m.get(42));
+        assertEquals(0, m.add(5, 0));
+        assertEquals(1, m.size());
+    }
+
+    @Test
+    void reservedKeyIsRejected() {
+        var m = new LongIntHashMap(4);
+        assertThrows(IllegalArgumentException.class, () -> m.add(Long.MIN_VALUE, 1));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChurn() {
+        var m = new LongIntHashMap(2);
+        Map<Long, Integer> ref = new HashMap<>();
+        Random rnd = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            // few distinct keys with colliding low bits, so deletes shift probe chains around
+            long key = (long) rnd.nextInt(512) << 32 | rnd.nextInt(4);
+            int delta = rnd.nextBoolean() ? 1 : -1;
+            int expected = ref.merge(key, delta, Integer::sum);
+            if (expected == 0) ref.remove(key);
+            assertEquals(expected, m.add(key, delta));
+        }
+        assertEquals(ref.size(), m.size());
+        Map<Long, Integer> seen = new HashMap<>();
+        m.forEach(seen::put);
+        assertEquals(ref, seen);
+        for (var e : ref.entrySet()) assertEquals(e.getValue(), m.get(e.getKey()));
+    }
+}
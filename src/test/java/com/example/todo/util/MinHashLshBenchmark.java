@@ -0,0 +1,69 @@
+// src/test/java/com/example/todo/util/MinHashLshBenchmark.java
+package com.example.todo.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate-candidate lookup against one user's index of 100k task titles (20 bands x 3 rows,
+ * as in DuplicateDetectionService), plus the cost of building a signature.
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=MinHashLshBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinHashLshBenchmark {
+
+    @Param({"100000"})
+    public int tasks;
+
+    private MinHashLsh<Integer> lsh;
+    private String[] titles;
+    private int[][] probes;
+    private int i;
+
+    @Setup
+    public void setup() {
+        var rnd = new SplittableRandom(42);
+        String[] vocab = new String[3000];
+        for (int w = 0; w < vocab.length; w++) vocab[w] = "word" + w;
+        // quick-add style titles: 2-6 words, skewed towards the common ones
+        titles = new String[tasks];
+        for (int t = 0; t < tasks; t++) {
+            StringBuilder sb = new StringBuilder();
+            for (int n = 2 + rnd.nextInt(5); n > 0; n--) {
+                int w = (int) (vocab.length * Math.pow(rnd.nextDouble(), 2));
+                sb.append(vocab[w]).append(' ');
+            }
+            titles[t] = sb.toString();
+        }
+        lsh = new MinHashLsh<>(20, 3);
+        for (int t = 0; t < tasks; t++) lsh.put(t, signature(titles[t]));
+        probes = new int[1024][];
+        for (int p = 0; p < probes.length; p++) probes[p] = signature(titles[rnd.nextInt(tasks)] + " extra");
+    }
+
+    private static int[] signature(String text) {
+        int[] sig = new int[60];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        MinHashLsh.addWords(sig, text, Integer.MAX_VALUE);
+        return sig;
+    }
+
+    @Benchmark
+    public List<MinHashLsh.Hit<Integer>> query() {
+        return lsh.query(probes[i++ & 1023], 0.4, 6);
+    }
+
+    @Benchmark
+    public int[] signatureOnly() {
+        return signature(titles[i++ % tasks]);
+    }
+}
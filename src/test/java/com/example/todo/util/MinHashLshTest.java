@@ -0,0 +1,104 @@
+// src/test/java/com/example/todo/util/MinHashLshTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshTest {
+
+    private static int[] sig(int n, String text) {
+        int[] s = new int[n];
+        Arrays.fill(s, Integer.MAX_VALUE);
+        MinHashLsh.addWords(s, text, Integer.MAX_VALUE);
+        return s;
+    }
+
+    @Test
+    void signatureIgnoresCaseAndPunctuation() {
+        assertArrayEquals(sig(64, "Call Bob!"), sig(64, "call, BOB"));
+        assertEquals(1.0, MinHashLsh.similarity(sig(64, "buy milk"), sig(64, "milk; buy buy")));
+    }
+
+    @Test
+    void singleCharsAreNotWords() {
+        int[] s = new int[8];
+        Arrays.fill(s, Integer.MAX_VALUE);
+        assertEquals(0, MinHashLsh.addWords(s, "a b - c", 10));
+        assertEquals(2, MinHashLsh.addWords(s, "to be or not", 2));
+    }
+
+    @Test
+    void similarityEstimatesJaccard() {
+        // 10 shared words of 30 distinct → J = 1/3
+        StringBuilder a = new StringBuilder(), b = new StringBuilder();
+        for (int i = 0; i < 10; i++) { a.append(" shared").append(i); b.append(" shared").append(i); }
+        for (int i = 0; i < 10; i++) { a.append(" left").append(i); b.append(" right").append(i); }
+        double est = MinHashLsh.similarity(sig(256, a.toString()), sig(256, b.toString()));
+        assertEquals(1.0 / 3, est, 0.1);
+    }
+
+    @Test
+    void putQueryReplaceRemove() {
+        var lsh = new MinHashLsh<String>(20, 3);
+        lsh.put("a", sig(60, "call bob about the invoice"));
+        lsh.put("b", sig(60, "buy milk"));
+        assertEquals(2, lsh.size());
+
+        var hits = lsh.query(sig(60, "Call Bob about invoice"), 0.5, 5);
+        assertEquals("a", hits.get(0).key());
+        assertTrue(hits.stream().noneMatch(h -> h.key().equals("b")));
+
+        lsh.put("a", sig(60, "water plants"));              // replace: old buckets are unlinked
+        assertTrue(lsh.query(sig(60, "call bob about the invoice"), 0.1, 5).isEmpty());
+        assertEquals(2, lsh.size());
+
+        assertTrue(lsh.remove("b"));
+        assertFalse(lsh.remove("b"));
+        assertTrue(lsh.query(sig(60, "buy milk"), 0.1, 5).isEmpty());
+        assertEquals("a", lsh.query(sig(60, "water the plants"), 0.3, 5).get(0).key());
+    }
+
+    @Test
+    void randomChurnMatchesBruteForce() {
+        var rnd = new Random(7);
+        String[] vocab = new String[60];
+        for (int i = 0; i < vocab.length; i++) vocab[i] = "w" + i;
+        var lsh = new MinHashLsh<Integer>(20, 3);
+        Map<Integer, int[]> live = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int key = rnd.nextInt(400);
+            if (rnd.nextInt(4) == 0) {
+                assertEquals(live.remove(key) != null, lsh.remove(key));
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (int w = 1 + rnd.nextInt(4); w > 0; w--) text.append(vocab[rnd.nextInt(vocab.length)]).append(' ');
+                int[] s = sig(60, text.toString());
+                lsh.put(key, s);
+                live.put(key, s);
+            }
+        }
+        assertEquals(live.size(), lsh.size());
+
+        // every hit is live with the right estimate; identical signatures are always found
+        for (var e : live.entrySet()) {
+            var hits = lsh.query(e.getValue(), 0.0, Integer.MAX_VALUE);
+            assertTrue(hits.stream().anyMatch(h -> h.key().equals(e.getKey()) && h.similarity() == 1.0));
+            for (var h : hits) {
+                assertTrue(live.containsKey(h.key()));
+                assertEquals(MinHashLsh.similarity(live.get(h.key()), e.getValue()), h.similarity());
+            }
+        }
+    }
+
+    @Test
+    void rejectsBadShapes() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashLsh<String>(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashLsh<String>(64, 8));
+        var lsh = new MinHashLsh<String>(4, 2);
+        assertThrows(IllegalArgumentException.class, () -> lsh.put("x", new int[7]));
+    }
+}
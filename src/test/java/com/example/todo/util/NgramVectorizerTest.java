@@ -0,0 +1,45 @@
+// src/test/java/com/example/todo/util/NgramVectorizerTest.java
+package com.example.todo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramVectorizerTest {
+
+    private final NgramVectorizer v = new NgramVectorizer(256, 3);
+
+    @Test
+    void unitLengthAndNormalization() {
+        float[] a = v.vectorize("Call Bob!", 512);
+        assertEquals(1.0, NgramVectorizer.dot(a, a), 1e-5);
+        assertArrayEquals(a, v.vectorize("  call,  BOB ", 512));
+    }
+
+    @Test
+    void similarTextsScoreHigher() {
+        float[] base = v.vectorize("prepare quarterly report", 512);
+        float[] typo = v.vectorize("prepare quartely reports", 512);
+        float[] other = v.vectorize("water the plants", 512);
+        assertTrue(NgramVectorizer.dot(base, typo) > 0.6f);
+        assertTrue(NgramVectorizer.dot(base, typo) > NgramVectorizer.dot(base, other) + 0.3f);
+    }
+
+    @Test
+    void emptyTextHasNoVector() {
+        assertNull(v.vectorize(null, 512));
+        assertNull(v.vectorize(" -- !! ", 512));
+        assertNotNull(v.vectorize("x", 512));            // " x " is one trigram
+    }
+
+    @Test
+    void maxCharsTruncates() {
+        assertArrayEquals(v.vectorize("hello", 512), v.vectorize("hello world", 5));
+    }
+
+    @Test
+    void rejectsBadShapes() {
+        assertThrows(IllegalArgumentException.class, () -> new NgramVectorizer(100, 3));
+        assertThrows(IllegalArgumentException.class, () -> new NgramVectorizer(256, 1));
+    }
+}
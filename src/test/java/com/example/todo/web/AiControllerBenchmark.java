@@ -0,0 +1,86 @@
+// src/test/java/com/example/todo/web/AiControllerBenchmark.java
+package com.example.todo.web;
+
+import com.example.todo.ai.RuleEngine;
+import com.example.todo.entity.enums.TaskPriority;
+import com.example.todo.mapper.TaskMapper;
+import com.example.todo.repository.TaskLabelRow;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.UserSuggestionModelRepository;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskSuggestionService;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code POST /ai/interpret} below the HTTP layer: rules only (anonymous) and with the caller's
+ * suggestion model (already loaded, as for any active user).
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=AiControllerBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiControllerBenchmark {
+
+    private static final List<Map<String, Object>> BODIES = List.of(
+            Map.of("text", "call Alice #work !high 2025-12-31 done"),
+            Map.of("text", "buy milk and bread tomorrow", "timezone", "Europe/Kyiv"),
+            Map.of("text", "Plan roadmap for Q1 #planning"),
+            Map.of("text", "email Bob about the invoice next friday 14:00"));
+
+    private AiController controller;
+    private TestingAuthenticationToken auth;
+
+    @Setup
+    public void setup() {
+        UUID userId = UUID.randomUUID();
+        List<TaskLabelRow> history = new ArrayList<>();
+        String[][] samples = {{"Buy milk", "Shopping"}, {"Call the bank", "Finance"}, {"Plan the sprint", "Work"}, {"Email the team", "Work"}};
+        for (int i = 0; i < 200; i++) {
+            String[] s = samples[i % samples.length];
+            history.add(row(s[0] + " " + i, s[1], i % 3 == 0 ? TaskPriority.HIGH : TaskPriority.MED));
+        }
+        TaskRepository taskRepo = Mockito.mock(TaskRepository.class);
+        Mockito.when(taskRepo.findLabelsByOwner(userId)).thenReturn(history);
+        var suggestions = new TaskSuggestionService(taskRepo, Mockito.mock(UserSuggestionModelRepository.class),
+                Mappers.getMapper(TaskMapper.class), 10, 64, 20, 0.6, Duration.ofDays(1));
+
+        controller = new AiController(RuleEngine.defaults(), suggestions, ForkJoinPool.commonPool(), 1, Duration.ofMillis(50), 1000);
+        auth = new TestingAuthenticationToken(new UserPrincipal(userId, "me@example.com", "Me"), null, "ROLE_USER");
+        controller.interpret(BODIES.get(0), auth);   // loads the model
+    }
+
+    private static TaskLabelRow row(String title, String category, TaskPriority priority) {
+        return new TaskLabelRow() {
+            public String getTitle() { return title; }
+            public String getCategory() { return category; }
+            public TaskPriority getPriority() { return priority; }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void rulesOnly(Blackhole bh) {
+        for (Map<String, Object> body : BODIES) bh.consume(controller.interpret(body, null));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void withHistory(Blackhole bh) {
+        for (Map<String, Object> body : BODIES) bh.consume(controller.interpret(body, auth));
+    }
+}
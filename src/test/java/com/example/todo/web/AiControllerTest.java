@@ -1,11 +1,15 @@
 package com.example.todo.web;
 
+import com.example.todo.ai.RuleEngine;
 import com.example.todo.web.AiController.AiResponse;
 import com.example.todo.web.AiController.AiResponse.Proposal;
 import com.example.todo.dto.TaskPatchDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskSuggestionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -17,7 +21,7 @@ class AiControllerUnitTest {
     private final AiController ctrl = new AiController();
 
     private Proposal call(Map<String, Object> body) {
-        ResponseEntity<AiResponse> resp = ctrl.interpret(body);
+        ResponseEntity<AiResponse> resp = ctrl.interpret(body, null);
         assertEquals(200, resp.getStatusCodeValue(), "HTTP 200 expected");
         assertNotNull(resp.getBody());
         assertNotNull(resp.getBody().proposal);
@@ -30,7 +34,7 @@ class AiControllerUnitTest {
     @DisplayName("400 на пустому тексті")
     void bad_request_on_blank() {
         Map<String, Object> body = Map.of("text", "   ");
-        ResponseEntity<AiResponse> resp = ctrl.interpret(body);
+        ResponseEntity<AiResponse> resp = ctrl.interpret(body, null);
         assertEquals(400, resp.getStatusCodeValue());
     }
 
@@ -198,4 +202,120 @@ class AiControllerUnitTest {
         Proposal p = call(Map.of("text", base));
         assertEquals(base, p.task_patch.title);
     }
+
+    // -------- batch
+
+    @Test
+    @DisplayName("batch: результати в порядку входу, такі самі як у /interpret; порожні рядки -> blank")
+    void batch_in_order() {
+        var req = new AiController.BatchRequest();
+        req.texts = List.of("call Alice #work !high", "   ", "buy milk !low", "Plan roadmap for Q1");
+
+        var pool = java.util.concurrent.Executors.newFixedThreadPool(2);
+        ResponseEntity<AiController.BatchResponse> resp;
+        try {
+            resp = new AiController(RuleEngine.defaults(), null, pool, 2, java.time.Duration.ofSeconds(5), 100).interpretBatch(req, null);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(200, resp.getStatusCodeValue());
+        var items = resp.getBody().items;
+        assertEquals(4, items.size());
+        for (int i = 0; i < items.size(); i++) assertEquals(i, items.get(i).index);
+
+        assertEquals("Call Alice", items.get(0).proposal.task_patch.title);
+        assertEquals(call(Map.of("text", "call Alice #work !high")).confidence, items.get(0).proposal.confidence, 1e-9);
+        assertNull(items.get(1).proposal);
+        assertEquals("blank", items.get(1).error);
+        assertEquals("Low", items.get(2).proposal.task_patch.priority);
+        assertEquals("Plan roadmap for Q1", items.get(3).proposal.task_patch.title);
+        assertNull(items.get(3).error);
+    }
+
+    @Test
+    @DisplayName("batch: порожній / завеликий батч -> 400")
+    void batch_bad_request() {
+        var small = new AiController(RuleEngine.defaults(), null, Runnable::run, 1, java.time.Duration.ofMillis(50), 2);
+        var req = new AiController.BatchRequest();
+        req.texts = List.of();
+        assertEquals(400, small.interpretBatch(req, null).getStatusCodeValue());
+        req.texts = List.of("a", "b", "c");
+        assertEquals(400, small.interpretBatch(req, null).getStatusCodeValue());
+        assertEquals(400, small.interpretBatch(new AiController.BatchRequest(), null).getStatusCodeValue());
+    }
+
+    @Test
+    @DisplayName("batch: елемент, що перевищив бюджет, -> timeout, інші не страждають")
+    void batch_item_budget() {
+        // inline executor: items run in the request thread, so only the per-item budget applies
+        var noBudget = new AiController(RuleEngine.defaults(), null, Runnable::run, 1, java.time.Duration.ZERO, 10);
+        var req = new AiController.BatchRequest();
+        req.texts = List.of("#" + "a".repeat(5000));
+        var items = noBudget.interpretBatch(req, null).getBody().items;
+        assertEquals("timeout", items.get(0).error);
+        assertNull(items.get(0).proposal);
+    }
+
+    // -------- timezone
+
+    @Test
+    @DisplayName("timezone: відносні дати рахуються в поясі клієнта")
+    void timezone_applies_to_relative_dates() {
+        Proposal p = call(Map.of("text", "call Bob tomorrow 14:00", "timezone", "Europe/Kyiv"));
+        assertEquals(14, p.task_patch.dueDate.getHour());
+        assertEquals(java.time.ZoneId.of("Europe/Kyiv").getRules().getOffset(p.task_patch.dueDate.toInstant()),
+                p.task_patch.dueDate.getOffset());
+    }
+
+    @Test
+    @DisplayName("timezone: невалідний пояс -> 400 (і в batch теж)")
+    void timezone_invalid() {
+        assertEquals(400, ctrl.interpret(Map.of("text", "call Bob", "timezone", "Mars/Olympus"), null).getStatusCodeValue());
+
+        var req = new AiController.BatchRequest();
+        req.texts = List.of("call Bob");
+        req.timezone = "+25:00";
+        var inline = new AiController(RuleEngine.defaults(), null, Runnable::run, 1, java.time.Duration.ofSeconds(5), 10);
+        assertEquals(400, inline.interpretBatch(req, null).getStatusCodeValue());
+    }
+
+    // -------- personal history
+
+    @Test
+    @DisplayName("history: заповнює category і priority, яких не дали правила; один load на batch")
+    void personal_history_fills_open_fields() {
+        var suggestions = org.mockito.Mockito.mock(TaskSuggestionService.class);
+        var principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        var auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        org.mockito.Mockito.when(suggestions.forUser(principal.getId())).thenReturn(title -> {
+            seen.add(title);
+            return new TaskSuggestionService.Suggestion("Health", "Low");
+        });
+        var personal = new AiController(RuleEngine.defaults(), suggestions, Runnable::run, 1, java.time.Duration.ofSeconds(5), 10);
+
+        Proposal p = personal.interpret(Map.of("text", "call dentist tomorrow"), auth).getBody().proposal;
+        assertEquals("Health", p.task_patch.category);
+        assertEquals("Low", p.task_patch.priority);
+        assertEquals("Rule-based heuristics + personal history", p.reason);
+        assertEquals("Call dentist", seen.get(0));
+
+        // a priority keyword wins over the history
+        p = personal.interpret(Map.of("text", "call dentist !high"), auth).getBody().proposal;
+        assertEquals("High", p.task_patch.priority);
+        assertEquals("Health", p.task_patch.category);
+
+        var req = new AiController.BatchRequest();
+        req.texts = List.of("call dentist", "call Bob");
+        var items = personal.interpretBatch(req, auth).getBody().items;
+        assertEquals("Health", items.get(1).proposal.task_patch.category);
+        org.mockito.Mockito.verify(suggestions, org.mockito.Mockito.times(3)).forUser(principal.getId());
+
+        // no auth / nothing learned → rules only
+        assertNull(personal.interpret(Map.of("text", "call dentist"), null).getBody().proposal.task_patch.category);
+        org.mockito.Mockito.when(suggestions.forUser(principal.getId())).thenReturn(title -> null);
+        p = personal.interpret(Map.of("text", "call dentist"), auth).getBody().proposal;
+        assertNull(p.task_patch.category);
+        assertEquals("Rule-based heuristics", p.reason);
+    }
 }
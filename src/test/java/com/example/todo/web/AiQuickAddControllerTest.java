@@ -0,0 +1,121 @@
+// src/test/java/com/example/todo/web/AiQuickAddControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.ai.RuleEngine;
+import com.example.todo.dto.TaskCreateDto;
+import com.example.todo.dto.TaskDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AiQuickAddControllerTest {
+
+    TaskService taskService = mock(TaskService.class);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new AiQuickAddController(RuleEngine.defaults(), taskService, null, 0.5)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("confident proposal → task created in the same call (201 + Location + ETag)")
+    void creates_when_confident() throws Exception {
+        var created = new TaskDto();
+        created.id = UUID.randomUUID();
+        created.title = "Call Alice";
+        created.version = 0;
+        when(taskService.createTask(eq(principal.getId()), any())).thenReturn(created);
+
+        // confidence 0.2 + tag 0.2 + !high 0.2 + date 0.15 + title 0.1 = 0.85
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"call Alice #work !high 2030-01-15\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/tasks/" + created.id))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""))
+                .andExpect(jsonPath("$.created").value(true))
+                .andExpect(jsonPath("$.task.title").value("Call Alice"))
+                .andExpect(jsonPath("$.proposal.confidence").value(org.hamcrest.Matchers.closeTo(0.85, 1e-9)));
+
+        ArgumentCaptor<TaskCreateDto> cap = ArgumentCaptor.forClass(TaskCreateDto.class);
+        verify(taskService).createTask(eq(principal.getId()), cap.capture());
+        TaskCreateDto dto = cap.getValue();
+        assertThat(dto.title).isEqualTo("Call Alice");
+        assertThat(dto.priority).isEqualTo("High");
+        assertThat(dto.tags).isEqualTo(List.of("work"));
+        assertThat(dto.dueDate.getYear()).isEqualTo(2030);
+        assertThat(dto.source).isEqualTo("ai");
+    }
+
+    @Test
+    @DisplayName("below threshold → only the proposal, nothing persisted")
+    void below_threshold() throws Exception {
+        // "Plan roadmap" → 0.2 + 0.05 = 0.25
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Plan roadmap\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(false))
+                .andExpect(jsonPath("$.notCreatedReason").value("below_threshold"))
+                .andExpect(jsonPath("$.proposal.task_patch.title").value("Plan roadmap"))
+                .andExpect(jsonPath("$.task").doesNotExist());
+
+        // a per-request threshold can lower the bar
+        when(taskService.createTask(any(), any())).thenReturn(new TaskDto());
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Plan roadmap\",\"minConfidence\":0.2}"))
+                .andExpect(status().isCreated());
+        verify(taskService, times(1)).createTask(any(), any());
+    }
+
+    @Test
+    @DisplayName("confident but no title (text too long for the fallback) → not created")
+    void no_title() throws Exception {
+        String text = "x".repeat(90) + " #a !high 2030-01-01 done";
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"" + text + "\",\"minConfidence\":0.1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notCreatedReason").value("no_title"));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("blank text / threshold out of range → 400")
+    void bad_request() throws Exception {
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"  \"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/ai/interpret-and-create").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"call Bob\",\"minConfidence\":1.5}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+}
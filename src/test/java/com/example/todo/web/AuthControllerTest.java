@@ -4,6 +4,8 @@ package com.example.todo.web;
 import com.example.todo.entity.AppUser;
 import com.example.todo.security.FirebaseIdTokenVerifier;
 import com.example.todo.security.JwtService;
+import com.example.todo.security.TokenRevocationService;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.example.todo.service.UserService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -15,9 +17,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +45,9 @@ class AuthControllerFirebaseTest {
     @MockBean
     JwtService jwtService;
 
+    @MockBean
+    TokenRevocationService revocation;
+
     @Test
     void google_success_setsHttpOnlyCookie() throws Exception {
         var payload = new FirebaseIdTokenVerifier.Payload("a@b.com", "User", true);
@@ -103,4 +112,27 @@ class AuthControllerFirebaseTest {
                         Matchers.not(Matchers.containsString("Secure"))
                 )));
     }
+
+    @Test
+    void logout_revokesCookieToken() throws Exception {
+        var exp = Date.from(Instant.now().plusSeconds(3600));
+        var claims = new JWTClaimsSet.Builder().jwtID("jti-42").expirationTime(exp).build();
+        when(jwtService.verify("live-jwt")).thenReturn(JwtService.Verification.valid(claims));
+
+        mvc.perform(post("/auth/logout").cookie(new jakarta.servlet.http.Cookie("APP_AUTH", "live-jwt")))
+                .andExpect(status().isNoContent());
+
+        verify(revocation).revoke(eq("jti-42"), any());
+    }
+
+    @Test
+    void logout_withInvalidToken_doesNotRevoke() throws Exception {
+        when(jwtService.verify("junk"))
+                .thenReturn(new JwtService.Verification(JwtService.Status.MALFORMED, null));
+
+        mvc.perform(post("/auth/logout").header("Authorization", "Bearer junk"))
+                .andExpect(status().isNoContent());
+
+        verify(revocation, never()).revoke(any(), any());
+    }
 }
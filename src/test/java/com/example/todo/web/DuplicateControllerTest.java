@@ -0,0 +1,62 @@
+// src/test/java/com/example/todo/web/DuplicateControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.DuplicateCandidateDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.DuplicateDetectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class DuplicateControllerTest {
+
+    DuplicateDetectionService duplicates = mock(DuplicateDetectionService.class);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new DuplicateController(duplicates)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/duplicates?title=… checks text against the caller's tasks")
+    void check_text() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(duplicates.findSimilar(principal.getId(), "call bob", null))
+                .thenReturn(List.of(new DuplicateCandidateDto(id, "Call Bob", 1.0)));
+
+        mvc.perform(get("/api/tasks/duplicates").param("title", "call bob").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].title").value("Call Bob"))
+                .andExpect(jsonPath("$[0].similarity").value(1.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id}/duplicates")
+    void for_task() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(duplicates.findSimilarTo(id, principal.getId())).thenReturn(List.of());
+
+        mvc.perform(get("/api/tasks/{id}/duplicates", id).principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        verify(duplicates).findSimilarTo(id, principal.getId());
+    }
+}
@@ -0,0 +1,77 @@
+// src/test/java/com/example/todo/web/ProfilingControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.JfrRecordingDto;
+import com.example.todo.dto.JfrSummaryDto;
+import com.example.todo.exception.RestExceptionHandler;
+import com.example.todo.profiling.JfrProfiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProfilingControllerTest {
+
+    JfrProfiler profiler = mock(JfrProfiler.class);
+    MockMvc mvc;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProfilingController(profiler))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/admin/jfr starts a recording: 202 with its id; a second one is 409")
+    void start() throws Exception {
+        when(profiler.start("profile", Duration.ofSeconds(60)))
+                .thenReturn(new JfrRecordingDto(1, "profile", "RUNNING", Instant.now(), Duration.ofSeconds(60), null))
+                .thenThrow(new JfrProfiler.RecordingConflict("Recording 1 is still running"));
+
+        mvc.perform(post("/api/admin/jfr").param("profile", "profile").param("duration", "PT60S"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        mvc.perform(post("/api/admin/jfr").param("profile", "profile").param("duration", "PT60S"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("GET /file returns the .jfr as an attachment")
+    void download(@TempDir Path dir) throws Exception {
+        Path jfr = Files.write(dir.resolve("todo-3.jfr"), new byte[] {'F', 'L', 'R', 0});
+        when(profiler.file(3)).thenReturn(jfr);
+
+        mvc.perform(get("/api/admin/jfr/3/file"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"todo-3.jfr\""))
+                .andExpect(content().bytes(new byte[] {'F', 'L', 'R', 0}));
+    }
+
+    @Test
+    @DisplayName("GET /summary clamps top and returns the ranked entries")
+    void summary() throws Exception {
+        var dto = new JfrSummaryDto();
+        dto.executionSamples = 10;
+        dto.hotMethods.add(new JfrSummaryDto.Entry("com.example.todo.mapper.TaskMapperImpl.toDto", 6, 60.0));
+        when(profiler.summary(2, 100)).thenReturn(dto);
+
+        mvc.perform(get("/api/admin/jfr/2/summary").param("top", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hotMethods[0].name").value("com.example.todo.mapper.TaskMapperImpl.toDto"))
+                .andExpect(jsonPath("$.hotMethods[0].percent").value(60.0));
+    }
+}
@@ -0,0 +1,54 @@
+// src/test/java/com/example/todo/web/SimilarTaskControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.SimilarTaskDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.SimilarTaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SimilarTaskControllerTest {
+
+    SimilarTaskService similarService = mock(SimilarTaskService.class);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new SimilarTaskController(similarService)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id}/similar — default limit 10, custom limit passed through")
+    void similar() throws Exception {
+        UUID id = UUID.randomUUID(), hit = UUID.randomUUID();
+        when(similarService.findSimilar(id, principal.getId(), 10))
+                .thenReturn(List.of(new SimilarTaskDto(hit, "Call Bob", 0.87)));
+
+        mvc.perform(get("/api/tasks/{id}/similar", id).principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(hit.toString()))
+                .andExpect(jsonPath("$[0].title").value("Call Bob"))
+                .andExpect(jsonPath("$[0].similarity").value(0.87));
+
+        mvc.perform(get("/api/tasks/{id}/similar", id).param("limit", "3").principal(auth))
+                .andExpect(status().isOk());
+        verify(similarService).findSimilar(id, principal.getId(), 3);
+    }
+}
@@ -0,0 +1,56 @@
+// src/test/java/com/example/todo/web/StatsControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.UserTaskStatsDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class StatsControllerTest {
+
+    TaskStatsService statsService = mock(TaskStatsService.class);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new StatsController(statsService)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("GET /api/stats returns the caller's counters")
+    void stats() throws Exception {
+        var dto = new UserTaskStatsDto();
+        dto.total = 5; dto.open = 4; dto.done = 1;
+        dto.openByPriority.put("High", 2L);
+        dto.overdue = 1; dto.dueToday = 2;
+        when(statsService.getStats(principal.getId())).thenReturn(dto);
+
+        mvc.perform(get("/api/stats").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.open").value(4))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.openByPriority.High").value(2))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.dueToday").value(2));
+
+        verify(statsService).getStats(principal.getId());
+    }
+}
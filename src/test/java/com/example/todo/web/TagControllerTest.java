@@ -0,0 +1,55 @@
+// src/test/java/com/example/todo/web/TagControllerTest.java
+package com.example.todo.web;
+
+import com.example.todo.dto.TagFacetDto;
+import com.example.todo.security.UserPrincipal;
+import com.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TagControllerTest {
+
+    TaskService taskService = mock(TaskService.class);
+    MockMvc mvc;
+
+    UserPrincipal principal;
+    TestingAuthenticationToken auth;
+
+    @BeforeEach
+    void setup() {
+        mvc = MockMvcBuilders.standaloneSetup(new TagController(taskService)).build();
+        principal = new UserPrincipal(UUID.randomUUID(), "me@example.com", "Me");
+        auth = new TestingAuthenticationToken(principal, null, "ROLE_USER");
+        auth.setAuthenticated(true);
+    }
+
+    @Test
+    @DisplayName("GET /api/tags returns facets for the current user")
+    void facets() throws Exception {
+        var f = new TagFacetDto("work");
+        f.count = 3;
+        f.byStatus.put("TODO", 3L);
+        f.byPriority.put("High", 3L);
+        when(taskService.listTagFacets(principal.getId())).thenReturn(List.of(f));
+
+        mvc.perform(get("/api/tags").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tag").value("work"))
+                .andExpect(jsonPath("$[0].count").value(3))
+                .andExpect(jsonPath("$[0].byStatus.TODO").value(3))
+                .andExpect(jsonPath("$[0].byPriority.High").value(3));
+
+        verify(taskService).listTagFacets(principal.getId());
+    }
+}
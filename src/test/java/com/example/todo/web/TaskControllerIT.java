@@ -8,10 +8,13 @@ import com.example.todo.repository.AppUserRepository;
 import com.example.todo.repository.TaskRepository;
 import com.example.todo.repository.TaskShareRepository;
 import com.example.todo.security.UserPrincipal;
+import com.example.todo.testsupport.SqlStatementCountExtension;
+import com.example.todo.testsupport.SqlStatementCounter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -27,6 +30,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
@@ -36,7 +41,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Full integration tests for TaskController using MockMvc + Testcontainers.
- * Covers happy path, optimistic locking, access control and roles.
+ * Covers happy path, optimistic locking, access control and roles, and the SQL statement budget
+ * of the hot endpoints (N+1 guard, see {@link SqlStatementCounter}).
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -44,6 +50,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Tag("web")
+@ExtendWith(SqlStatementCountExtension.class)
 class TaskControllerIT {
 
     @Container
@@ -65,6 +72,8 @@ class TaskControllerIT {
     @Autowired TaskRepository tasks;
     @Autowired TaskShareRepository shares;
 
+    SqlStatementCounter sql;
+
     private final ObjectMapper json = new ObjectMapper();
     private UUID ownerId;
 
@@ -184,6 +193,113 @@ class TaskControllerIT {
                 .andExpect(jsonPath("$[*].title").value(Matchers.not(Matchers.hasItem("Invisible"))));
     }
 
+    @Test
+    @DisplayName("GET list with metadata containment filter is evaluated in SQL")
+    void list_filters_by_metadata() throws Exception {
+        var owner = users.findById(ownerId).orElseThrow();
+
+        var a = new Task();
+        a.setOwner(owner);
+        a.setTitle("In X");
+        a.setMetadata("{\"project\":\"X\",\"externalId\":\"JIRA-1\"}");
+        tasks.save(a);
+
+        var b = new Task();
+        b.setOwner(owner);
+        b.setTitle("In Y");
+        b.setMetadata("{\"project\":\"Y\"}");
+        tasks.save(b);
+
+        mvc.perform(get("/api/tasks").with(authAs(ownerId)).param("metadata", "{\"project\":\"X\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("In X"))
+                .andExpect(jsonPath("$[0].metadata.externalId").value("JIRA-1"));
+
+        mvc.perform(get("/api/tasks").with(authAs(ownerId)).param("metadata", "not-json"))
+                .andExpect(status().isBadRequest());
+
+        // promoted key (externalId) → expression-index lookup
+        mvc.perform(get("/api/tasks/by-external-id/{externalId}", "JIRA-1").with(authAs(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("In X"));
+        mvc.perform(get("/api/tasks").with(authAs(ownerId)).param("metaKey", "project").param("metaFrom", "X").param("metaTo", "Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title").value(Matchers.contains("In X", "In Y")));
+    }
+
+    // ─── statement budgets: constant in the number of rows (lazy owner / tags / share users are batch-fetched)
+
+    @Test
+    @DisplayName("GET list: 3 statements however many tasks (tasks, owners, tags)")
+    void list_statement_budget() throws Exception {
+        var owner = users.findById(ownerId).orElseThrow();
+        var stranger = new AppUser();
+        stranger.setEmail("stranger@example.com");
+        stranger = users.save(stranger);
+        for (int i = 0; i < 5; i++) tasks.save(task(owner, "Mine " + i, "a", "b"));
+        var theirs = tasks.save(task(stranger, "Theirs", "c"));
+        shares.save(new TaskShare(theirs, owner, ShareRole.viewer));
+
+        mvc.perform(get("/api/tasks").with(authAs(ownerId)).with(sql))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[*].ownerEmail").value(Matchers.hasItem("stranger@example.com")))
+                .andExpect(sql.atMost(3));
+    }
+
+    @Test
+    @DisplayName("GET one: 3 statements (authorized task, owner, tags)")
+    void get_statement_budget() throws Exception {
+        var saved = tasks.save(task(users.findById(ownerId).orElseThrow(), "One", "x", "y"));
+
+        mvc.perform(get("/api/tasks/{id}", saved.getId()).with(authAs(ownerId)).with(sql))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(2))
+                .andExpect(sql.atMost(3));
+    }
+
+    @Test
+    @DisplayName("GET shares: 3 statements however many shares (task, shares, users)")
+    void list_shares_statement_budget() throws Exception {
+        var saved = tasks.save(task(users.findById(ownerId).orElseThrow(), "Shared"));
+        for (int i = 0; i < 4; i++) {
+            var u = new AppUser();
+            u.setEmail("viewer" + i + "@example.com");
+            shares.save(new TaskShare(saved, users.save(u), ShareRole.viewer));
+        }
+
+        mvc.perform(get("/api/tasks/{id}/share", saved.getId()).with(authAs(ownerId)).with(sql))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(sql.atMost(3));
+    }
+
+    @Test
+    @DisplayName("PATCH by owner: 4 statements (task, owner + tags for the response, update)")
+    void patch_statement_budget() throws Exception {
+        var saved = tasks.save(task(users.findById(ownerId).orElseThrow(), "Draft", "t"));
+
+        // first write for this owner also loads the per-user suggestion model (cached after)
+        var first = mvc.perform(patch("/api/tasks/{id}", saved.getId())
+                        .with(authAs(ownerId))
+                        .header("If-Match", "W/\"" + saved.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Draft 2\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        mvc.perform(patch("/api/tasks/{id}", saved.getId())
+                        .with(authAs(ownerId))
+                        .with(sql)
+                        .header("If-Match", first.getResponse().getHeader("ETag"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Draft 3\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Draft 3"))
+                .andExpect(sql.atMost(4));
+    }
+
     // ───────────────────────────────────────────────────────────────────────────────
     private RequestPostProcessor authAs(UUID userId) {
         var principal = new UserPrincipal(userId, "user+" + userId + "@example.com", "TestUser");
@@ -192,6 +308,14 @@ class TaskControllerIT {
         return authentication(auth);
     }
 
+    private static Task task(AppUser owner, String title, String... tags) {
+        var t = new Task();
+        t.setOwner(owner);
+        t.setTitle(title);
+        t.setTags(new ArrayList<>(List.of(tags)));
+        return t;
+    }
+
     private UUID extractId(String jsonBody) throws Exception {
         JsonNode node = json.readTree(jsonBody);
         return UUID.fromString(node.get("id").asText());
@@ -5,6 +5,8 @@ import com.example.todo.dto.*;
 import com.example.todo.entity.enums.ShareRole;
 import com.example.todo.entity.enums.TaskPriority;
 import com.example.todo.entity.enums.TaskStatus;
+import com.example.todo.exception.RestExceptionHandler;
+import com.example.todo.repository.MetadataKeyFilter;
 import com.example.todo.security.UserPrincipal;
 import com.example.todo.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -61,7 +63,7 @@ class TaskControllerTest {
         var dto = new TaskDto();
         dto.id = UUID.randomUUID();
         dto.version = 7;
-        when(taskService.listTasks(eq(principal.getId()), eq("search"), eq(TaskStatus.DONE), eq(TaskPriority.HIGH)))
+        when(taskService.listTasks(eq(principal.getId()), eq("search"), eq(TaskStatus.DONE), eq(TaskPriority.HIGH), isNull(), isNull()))
                 .thenReturn(List.of(dto));
 
         mvc.perform(get("/api/tasks")
@@ -72,7 +74,67 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(dto.id.toString()));
 
-        verify(taskService).listTasks(principal.getId(), "search", TaskStatus.DONE, TaskPriority.HIGH);
+        verify(taskService).listTasks(principal.getId(), "search", TaskStatus.DONE, TaskPriority.HIGH, null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?metadata=... passes the JSON filter through")
+    void list_tasks_with_metadata_filter() throws Exception {
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        mvc.perform(get("/api/tasks")
+                        .param("metadata", "{\"project\":\"X\"}")
+                        .principal(auth))
+                .andExpect(status().isOk());
+
+        verify(taskService).listTasks(principal.getId(), null, null, null, "{\"project\":\"X\"}", null);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?metaKey=&metaFrom=&metaTo= builds a key range filter")
+    void list_tasks_with_metadata_key_range() throws Exception {
+        when(taskService.listTasks(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        mvc.perform(get("/api/tasks")
+                        .param("metaKey", "sprint")
+                        .param("metaFrom", "S10")
+                        .param("metaTo", "S20")
+                        .principal(auth))
+                .andExpect(status().isOk());
+
+        verify(taskService).listTasks(principal.getId(), null, null, null, null,
+                new MetadataKeyFilter("sprint", null, "S10", "S20"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?metaKey=&metaEq=&metaFrom= → 400, a value and a range don't combine")
+    void list_tasks_with_metadata_value_and_range() throws Exception {
+        var withAdvice = MockMvcBuilders.standaloneSetup(new TaskController(taskService))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+
+        withAdvice.perform(get("/api/tasks")
+                        .param("metaKey", "sprint")
+                        .param("metaEq", "S12")
+                        .param("metaFrom", "S10")
+                        .principal(auth))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/by-external-id/{externalId} returns task + ETag")
+    void get_by_external_id() throws Exception {
+        var dto = new TaskDto();
+        dto.id = UUID.randomUUID();
+        dto.version = 2;
+        when(taskService.getTaskByExternalId("JIRA-7", principal.getId())).thenReturn(dto);
+
+        mvc.perform(get("/api/tasks/by-external-id/{externalId}", "JIRA-7").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(jsonPath("$.id").value(dto.id.toString()));
     }
 
     @Test
@@ -0,0 +1,80 @@
+// src/test/java/com/example/todo/web/TaskListJsonBenchmark.java
+package com.example.todo.web;
+
+import com.example.todo.dto.RawJson;
+import com.example.todo.dto.TaskDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code GET /api/tasks} response body, with the ObjectMapper set up the
+ * way Spring Boot sets it up (ISO dates).
+ * Run: {@code mvn -Pbench test-compile exec:exec -Djmh.include=TaskListJsonBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListJsonBenchmark {
+
+    @Param({"20", "200"})
+    public int tasks;
+
+    private ObjectWriter writer;
+    private List<TaskDto> page;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<TaskDto>>() {});
+        page = new ArrayList<>(tasks);
+        UUID owner = UUID.randomUUID();
+        OffsetDateTime t0 = OffsetDateTime.of(2025, 3, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < tasks; i++) {
+            var d = new TaskDto();
+            d.id = UUID.randomUUID();
+            d.title = "Task number " + i + " with a realistic length";
+            d.description = i % 3 == 0 ? null : "Some notes about task " + i + ", a sentence or two long.";
+            d.category = i % 2 == 0 ? "Work" : "Home";
+            d.priority = i % 3 == 0 ? "High" : "Medium";
+            d.dueDate = i % 4 == 0 ? null : t0.plusDays(i);
+            d.completed = i % 5 == 0;
+            d.status = d.completed ? "DONE" : "TODO";
+            d.tags = List.of("work", "q" + (i % 4 + 1));
+            d.source = "web";
+            d.metadata = RawJson.of("{\"externalId\":\"JIRA-" + i + "\",\"project\":\"apollo\",\"estimate\":" + (i % 8) + "}");
+            d.ownerId = owner;
+            d.ownerEmail = "alice@example.com";
+            d.version = i % 7;
+            d.createdAt = t0;
+            d.updatedAt = t0.plusHours(i);
+            page.add(d);
+        }
+    }
+
+    // streamed, as MappingJackson2HttpMessageConverter writes the response
+    @Benchmark
+    public void writeToStream() throws Exception {
+        writer.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public byte[] writeToBytes() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}